@@ -102,7 +102,19 @@ class JMHDistGraalJsBenchmarkSuite(JMHDistBenchmarkSuite):
     def subgroup(self):
         return "graal-js"
 
+    def filter_distribution(self, dist):
+        return super(JMHDistGraalJsBenchmarkSuite, self).filter_distribution(dist) and dist.name == 'JS_INTEROP_MICRO_BENCHMARKS'
+
+
+class JMHDistGraalJsMultiContextBenchmarkSuite(JMHDistGraalJsBenchmarkSuite):
+    def name(self):
+        return "js-multi-context-jmh"
+
+    def filter_distribution(self, dist):
+        return super(JMHDistGraalJsBenchmarkSuite, self).filter_distribution(dist) and dist.name == 'JS_MULTI_CONTEXT_MICRO_BENCHMARKS'
+
 add_bm_suite(JMHDistGraalJsBenchmarkSuite())
+add_bm_suite(JMHDistGraalJsMultiContextBenchmarkSuite())
 
 mx_sdk_vm.register_vm_config('ce', ['cmp', 'icu4j', 'js', 'jss', 'nfi', 'rgx', 'sdk', 'svm', 'svmnfi', 'svmsl', 'tfl', 'tflm'], _suite)
 mx_sdk_vm.register_vm_config('ee', ['cmp', 'cmpee', 'icu4j', 'js', 'jss', 'nfi', 'rgx', 'sdk', 'svm', 'svmee', 'svmeegc', 'svmnfi', 'svmsl', 'tfl', 'tflllm', 'tflm'], _suite)
@@ -351,6 +351,24 @@ suite = {
       "spotbugsIgnoresGenerated" : True,
     },
 
+    "com.oracle.truffle.js.jmh.multicontext" : {
+      "subDir" : "src",
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "sdk:GRAAL_SDK",
+        "GRAALJS",
+        "mx:JMH_1_21"
+      ],
+      "requires" : [
+        "java.management",
+      ],
+      "checkstyle" : "com.oracle.truffle.js",
+      "spotbugs" : "true",
+      "javaCompliance" : "17+",
+      "annotationProcessors" : ["mx:JMH_1_21"],
+      "spotbugsIgnoresGenerated" : True,
+    },
+
     "com.oracle.truffle.js.test.external" : {
       "subDir" : "src",
       "sourceDirs" : ["src"],
@@ -399,11 +417,15 @@ suite = {
         "exports" : [
           "com.oracle.truffle.js.lang to org.graalvm.truffle",
         ],
+        "uses" : [
+          "com.oracle.truffle.js.parser.CodeCacheRecorder",
+        ],
       },
       "subDir" : "src",
       "dependencies" : [
         "com.oracle.truffle.js",
         "com.oracle.truffle.js.parser",
+        "com.oracle.truffle.js.snapshot",
       ],
       "distDependencies" : [
         "regex:TREGEX",
@@ -473,7 +495,7 @@ suite = {
 
     "TRUFFLE_JS_SNAPSHOT_TOOL" : {
       "subDir" : "src",
-      "dependencies" : ["com.oracle.truffle.js.snapshot"],
+      "dependencies" : [],
       "mainClass" : "com.oracle.truffle.js.snapshot.SnapshotTool",
       "distDependencies" : [
         "GRAALJS",
@@ -565,6 +587,19 @@ suite = {
         "sdk:GRAAL_SDK",
         "GRAALJS"
       ]
+    },
+
+    "JS_MULTI_CONTEXT_MICRO_BENCHMARKS" : {
+      "subDir" : "src",
+      "description" : "Graal.js JMH Multi-Context Suite",
+      "dependencies" : ["com.oracle.truffle.js.jmh.multicontext"],
+      "exclude" : [
+        "mx:JUNIT"
+      ],
+      "distDependencies" : [
+        "sdk:GRAAL_SDK",
+        "GRAALJS"
+      ]
     }
   }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh.multicontext;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Interpreter throughput of megamorphic keyed property accesses ({@code obj[key]}) executed
+ * concurrently by several threads, each owning a {@link Context} on one shared engine with
+ * compilation disabled. All threads run the same shared AST, so this exercises the key frequency
+ * sampling of the keyed access nodes. Use {@code -t} to vary the number of threads.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@Threads(4)
+public class JMHKeyedAccessInterpreterBenchmark {
+
+    /**
+     * Reads and writes properties with computed keys, with a few hot keys and a long tail of rarely
+     * used ones, on objects of many different shapes.
+     */
+    static final Source KEYED_ACCESS = Source.create("js", "" +
+                    "(function() {\n" +
+                    "  var hot = ['id', 'name', 'value'];\n" +
+                    "  var keys = [];\n" +
+                    "  for (var i = 0; i < 64; i++) {\n" +
+                    "    keys.push(i % 4 === 0 ? 'k' + i : hot[i % 3]);\n" +
+                    "  }\n" +
+                    "  var objects = [];\n" +
+                    "  for (var i = 0; i < 16; i++) {\n" +
+                    "    var o = {};\n" +
+                    "    o['extra' + i] = i;\n" +
+                    "    o.id = i; o.name = 'n' + i; o.value = i * 2;\n" +
+                    "    objects.push(o);\n" +
+                    "  }\n" +
+                    "  function get(o, k) { return o[k]; }\n" +
+                    "  function set(o, k, v) { o[k] = v; }\n" +
+                    "  return function() {\n" +
+                    "    var sum = 0;\n" +
+                    "    for (var i = 0; i < 1000; i++) {\n" +
+                    "      var o = objects[i & 15];\n" +
+                    "      var k = keys[i & 63];\n" +
+                    "      set(o, k, i);\n" +
+                    "      sum += get(o, k);\n" +
+                    "    }\n" +
+                    "    return sum;\n" +
+                    "  };\n" +
+                    "})()");
+
+    @State(Scope.Benchmark)
+    public static class InterpreterEngineState {
+        Engine engine;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            engine = Engine.newBuilder("js").option("engine.Compilation", "false").option("engine.WarnInterpreterOnly", "false").build();
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            engine.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ContextState {
+        Context context;
+        Value function;
+
+        @Setup(Level.Trial)
+        public void doSetup(InterpreterEngineState engineState) {
+            context = Context.newBuilder("js").engine(engineState.engine).build();
+            function = context.eval(KEYED_ACCESS);
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Value testKeyedAccess(ContextState state) {
+        return state.function.execute();
+    }
+}
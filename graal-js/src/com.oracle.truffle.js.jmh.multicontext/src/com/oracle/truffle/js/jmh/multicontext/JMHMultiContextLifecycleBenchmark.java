@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh.multicontext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Context creation and disposal on a shared engine, measured concurrently from several threads.
+ *
+ * <ul>
+ * <li>{@code testCreateClose}: latency of creating, initializing and closing an empty context.</li>
+ * <li>{@code testCreateEvalClose}: latency of a request-style context that runs a library-sized
+ * script. Comparing {@code shareEngine=true} with {@code shareEngine=false} shows the benefit of
+ * code sharing, i.e. how much of the parsing and compilation work is reused by new contexts.</li>
+ * <li>{@code testFootprint}: retained heap per live context, reported as the
+ * {@code retainedBytesPerContext} secondary result. Allocated bytes per context can be obtained
+ * from any of the above with {@code -prof gc} ({@code gc.alloc.rate.norm}).</li>
+ * </ul>
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@Threads(4)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JMHMultiContextLifecycleBenchmark {
+
+    protected static final int FOOTPRINT_CONTEXT_COUNT = 16;
+
+    @State(Scope.Benchmark)
+    public static class LifecycleState {
+        @Param({"true", "false"}) boolean shareEngine;
+
+        SharedEngineState engineState;
+
+        @Setup(Level.Trial)
+        public void doSetup(SharedEngineState sharedEngineState) {
+            this.engineState = sharedEngineState;
+        }
+
+        Context newContext() {
+            return (shareEngine ? engineState.newContextBuilder() : Context.newBuilder("js").option("engine.WarnInterpreterOnly", "false")).build();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FootprintCounters {
+        public long retainedBytesPerContext;
+    }
+
+    @Benchmark
+    public void testCreateClose(LifecycleState state) {
+        try (Context context = state.newContext()) {
+            context.initialize("js");
+        }
+    }
+
+    @Benchmark
+    public int testCreateEvalClose(LifecycleState state) {
+        try (Context context = state.newContext()) {
+            return context.eval(Workloads.STARTUP).asInt();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Threads(1)
+    @Warmup(iterations = 5, batchSize = 1)
+    @Measurement(iterations = 10, batchSize = 1)
+    public long testFootprint(LifecycleState state, FootprintCounters counters) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Context[] contexts = new Context[FOOTPRINT_CONTEXT_COUNT];
+        long before = usedHeapAfterGC(memory);
+        long checksum = 0;
+        try {
+            for (int i = 0; i < contexts.length; i++) {
+                contexts[i] = state.newContext();
+                Value result = contexts[i].eval(Workloads.STARTUP);
+                checksum += result.asInt();
+            }
+            long after = usedHeapAfterGC(memory);
+            counters.retainedBytesPerContext = Math.max(0, after - before) / FOOTPRINT_CONTEXT_COUNT;
+        } finally {
+            for (Context context : contexts) {
+                if (context != null) {
+                    context.close();
+                }
+            }
+        }
+        return checksum;
+    }
+
+    private static long usedHeapAfterGC(MemoryMXBean memory) {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh.multicontext;
+
+import org.graalvm.polyglot.Source;
+
+/**
+ * JavaScript workloads shared by the multi-context benchmarks. Every workload is a single
+ * {@link Source} object so that it can be cached and shared by all contexts of an engine.
+ */
+final class Workloads {
+
+    private Workloads() {
+    }
+
+    /**
+     * Parses and serializes a payload of repeated object layouts.
+     */
+    static final Source JSON_ROUND_TRIP = Source.create("js", "" +
+                    "(function() {\n" +
+                    "  var items = [];\n" +
+                    "  for (var i = 0; i < 100; i++) {\n" +
+                    "    items.push({id: i, name: 'item' + i, price: i * 1.5, tags: ['a', 'b', 'c'], nested: {valid: (i & 1) === 0, count: i}});\n" +
+                    "  }\n" +
+                    "  var text = JSON.stringify({items: items, total: items.length});\n" +
+                    "  var parsed = JSON.parse(text);\n" +
+                    "  return JSON.stringify(parsed).length;\n" +
+                    "})()");
+
+    /**
+     * Exercises regular expression compilation, matching and replacement with a mix of literal
+     * and dynamically constructed patterns.
+     */
+    static final Source REGEX = Source.create("js", "" +
+                    "(function() {\n" +
+                    "  var log = [];\n" +
+                    "  for (var i = 0; i < 100; i++) {\n" +
+                    "    log.push('2023-01-' + (10 + i % 20) + ' INFO [worker-' + (i % 8) + '] request /api/v1/items/' + i + ' took ' + (i * 7 % 300) + 'ms');\n" +
+                    "  }\n" +
+                    "  var text = log.join('\\n');\n" +
+                    "  var count = 0;\n" +
+                    "  var re = /^(\\d{4})-(\\d{2})-(\\d{2}) (\\w+) \\[([\\w-]+)\\] request (\\S+) took (\\d+)ms$/gm;\n" +
+                    "  var m;\n" +
+                    "  while ((m = re.exec(text)) !== null) {\n" +
+                    "    count += parseInt(m[7], 10);\n" +
+                    "  }\n" +
+                    "  for (var w = 0; w < 8; w++) {\n" +
+                    "    count += text.split(new RegExp('worker-' + w, 'g')).length;\n" +
+                    "  }\n" +
+                    "  return count + text.replace(/\\/items\\/(\\d+)/g, '/items/:id').length;\n" +
+                    "})()");
+
+    /**
+     * Runs chains of promises and async functions. The microtask queue is drained before
+     * {@code eval} returns, so the result is read from a global variable afterwards.
+     */
+    static final Source PROMISES = Source.create("js", "" +
+                    "(function() {\n" +
+                    "  globalThis.promiseResult = 0;\n" +
+                    "  async function step(x) { return x + await Promise.resolve(1); }\n" +
+                    "  async function chain(n) { var x = 0; for (var i = 0; i < n; i++) { x = await step(x); } return x; }\n" +
+                    "  var all = [];\n" +
+                    "  for (var i = 0; i < 20; i++) {\n" +
+                    "    all.push(chain(10).then(function(v) { return v * 2; }));\n" +
+                    "  }\n" +
+                    "  Promise.all(all).then(function(values) { globalThis.promiseResult = values.reduce(function(a, b) { return a + b; }, 0); });\n" +
+                    "})()");
+
+    static final Source PROMISES_RESULT = Source.create("js", "globalThis.promiseResult");
+
+    /**
+     * A larger library-like script that is dominated by parsing and first execution, used to
+     * measure warm starts of fresh contexts on an engine that already has the code.
+     */
+    static final Source STARTUP = createStartupSource(200);
+
+    private static Source createStartupSource(int functionCount) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("var lib = {};\n");
+        for (int i = 0; i < functionCount; i++) {
+            sb.append("lib.f").append(i).append(" = function(a, b) { var r = [];");
+            sb.append(" for (var k in a) { if (Object.prototype.hasOwnProperty.call(a, k)) { r.push(k + '=' + a[k]); } }");
+            sb.append(" return r.join('&') + (b || ").append(i).append("); };\n");
+        }
+        sb.append("var acc = 0;\n");
+        sb.append("for (var i = 0; i < ").append(functionCount).append("; i++) { acc += lib['f' + i]({x: i, y: 'v'}).length; }\n");
+        sb.append("acc;\n");
+        return Source.create("js", sb.toString());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a single {@code await}. Each invocation runs an async function that awaits
+ * {@value #AWAITS} times and drains the resulting promise jobs; the score is normalized to one
+ * await. Run with {@code -prof gc} and read {@code gc.alloc.rate.norm} as bytes allocated per
+ * await.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+public class JMHAwaitAllocationBenchmark {
+
+    static final int AWAITS = 1000;
+
+    private static final String SETUP = "var resolved = Promise.resolve(1);\n" +
+                    "var result = 0;\n" +
+                    "async function awaitValues(n) {\n" +
+                    "  var sum = 0;\n" +
+                    "  for (var i = 0; i < n; i++) {\n" +
+                    "    sum += await i;\n" +
+                    "  }\n" +
+                    "  return sum;\n" +
+                    "}\n" +
+                    "async function awaitPromises(n) {\n" +
+                    "  var sum = 0;\n" +
+                    "  for (var i = 0; i < n; i++) {\n" +
+                    "    sum += await resolved;\n" +
+                    "  }\n" +
+                    "  return sum;\n" +
+                    "}\n";
+
+    @State(Scope.Thread)
+    public static class AwaitState {
+        Context context;
+        Source awaitValues;
+        Source awaitPromises;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            context.eval(Source.create("js", SETUP));
+            // Pending promise jobs are run before Context.eval returns.
+            awaitValues = Source.create("js", "awaitValues(" + AWAITS + ").then(v => result = v); result");
+            awaitPromises = Source.create("js", "awaitPromises(" + AWAITS + ").then(v => result = v); result");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AWAITS)
+    public Value awaitNonPromiseValue(AwaitState state) {
+        return state.context.eval(state.awaitValues);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AWAITS)
+    public Value awaitResolvedPromise(AwaitState state) {
+        return state.context.eval(state.awaitPromises);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the memory footprint of the two dictionary object layouts: data properties stored as
+ * compact value slots (default) and one property descriptor per property (enabled with
+ * {@code -Dtruffle.js.DescriptorDictionaryObject=true}).
+ * <p>
+ * Each benchmark invocation populates an object used as a hash map (beyond the dictionary
+ * threshold) with integer-keyed entries. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} (bytes per operation) of the {@code Compact} and {@code Descriptor}
+ * variants; the retained size of one such object is additionally printed after each trial.
+ */
+public class JMHDictionaryObjectMemoryBenchmark {
+
+    private static final String POPULATE = "(function populate(n) {\n" +
+                    "  var map = {};\n" +
+                    "  for (var i = 0; i < n; i++) {\n" +
+                    "    map['user' + i] = i;\n" +
+                    "  }\n" +
+                    "  return map;\n" +
+                    "})";
+
+    @State(Scope.Thread)
+    public static class DictionaryState {
+        @Param({"1000", "100000"}) int entries;
+
+        Context context;
+        Value populate;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            populate = context.eval(Source.create("js", POPULATE));
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            long retained = measureRetainedBytes(populate, entries);
+            System.out.printf("%nretained bytes per dictionary object with %d entries: %d (%.1f per entry)%n", entries, retained, (double) retained / entries);
+            context.close();
+        }
+    }
+
+    static long measureRetainedBytes(Value populate, int entries) {
+        Runtime runtime = Runtime.getRuntime();
+        final int count = 8;
+        Value[] keepAlive = new Value[count];
+        long before = usedMemoryAfterGC(runtime);
+        for (int i = 0; i < count; i++) {
+            keepAlive[i] = populate.execute(entries);
+        }
+        long after = usedMemoryAfterGC(runtime);
+        if (keepAlive[count - 1].isNull()) {
+            throw new AssertionError();
+        }
+        return (after - before) / count;
+    }
+
+    private static long usedMemoryAfterGC(Runtime runtime) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 5)
+    public abstract static class Layout {
+        @Benchmark
+        public Value populateDictionary(DictionaryState state) {
+            return state.populate.execute(state.entries);
+        }
+    }
+
+    @Fork(value = 2, jvmArgsAppend = "-Dtruffle.js.DescriptorDictionaryObject=false")
+    public static class Compact extends Layout {
+    }
+
+    @Fork(value = 2, jvmArgsAppend = "-Dtruffle.js.DescriptorDictionaryObject=true")
+    public static class Descriptor extends Layout {
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.ServiceLoader;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.graalvm.home.HomeFinder;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
+/**
+ * Persistent code cache that stores binary snapshots of translated scripts in the directory given
+ * by {@link JSContextOptions#CODE_CACHE_DIR}.
+ *
+ * Entries are named after a hash of the engine version, the snapshot format checksum, the context
+ * options and the script itself, so a changed script or engine never picks up a stale entry.
+ * Entries are written to a temporary file and atomically renamed, so concurrent processes never
+ * observe a partially written entry; since equal keys imply equal contents, a lost race is
+ * harmless. All file access goes through the polyglot file system, so the cache is disabled if the
+ * embedder denies I/O. All I/O errors are ignored and fall back to regular parsing, as do scripts
+ * that the recorder cannot encode.
+ */
+final class CodeCache {
+
+    private static final String ENTRY_SUFFIX = ".jsbin";
+    private static final String VERSION = HomeFinder.getInstance().getVersion();
+
+    private static final DebugCounter cacheHits = DebugCounter.create("Code cache hits");
+    private static final DebugCounter cacheMisses = DebugCounter.create("Code cache misses");
+    private static final DebugCounter cacheRejected = DebugCounter.create("Code cache entries rejected");
+    private static final DebugCounter recordingFailures = DebugCounter.create("Code cache recording failures");
+
+    private CodeCache() {
+    }
+
+    private static final class RecorderHolder {
+        static final CodeCacheRecorder RECORDER = ServiceLoader.load(CodeCacheRecorder.class, CodeCache.class.getClassLoader()).findFirst().orElse(null);
+    }
+
+    /**
+     * Returns the cache directory to be used for the script, or {@code null} if the script cannot
+     * be cached.
+     */
+    static TruffleFile getCacheDirectory(JSContext context, Source source) {
+        String dir = context.getContextOptions().getCodeCacheDir();
+        if (dir.isEmpty() || source.getPath() == null || !source.hasCharacters()) {
+            return null;
+        }
+        // Recording requires all functions to be translated eagerly.
+        if (context.getContextOptions().isLazyTranslation() || RecorderHolder.RECORDER == null) {
+            return null;
+        }
+        TruffleLanguage.Env env = JavaScriptLanguage.getCurrentEnv();
+        if (!env.isFileIOAllowed()) {
+            return null;
+        }
+        try {
+            return env.getPublicTruffleFile(dir);
+        } catch (SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static ScriptNode parseScript(TruffleFile cacheDir, JSContext context, Source source, String prolog, String epilog, boolean strict) {
+        TruffleFile entry = cacheDir.resolve(computeKey(context, source, prolog, epilog, strict) + ENTRY_SUFFIX);
+        ByteBuffer snapshot = load(entry);
+        if (snapshot != null) {
+            try {
+                ScriptNode script = ScriptNode.fromFunctionRoot((FunctionRootNode) new BinarySnapshotProvider(snapshot).apply(NodeFactory.getInstance(context), context, source));
+                cacheHits.inc();
+                return script;
+            } catch (RuntimeException e) {
+                // Corrupt or incompatible entry: translate and overwrite it below.
+                cacheRejected.inc();
+            }
+        }
+        cacheMisses.inc();
+        try {
+            return RecorderHolder.RECORDER.recordScript(context, source, strict, prolog, epilog, buffer -> store(cacheDir, entry, buffer));
+        } catch (AbstractTruffleException e) {
+            // Syntax errors and other guest language errors of the translation.
+            throw e;
+        } catch (RuntimeException e) {
+            // The recorder does not support every node argument and constant: translate normally.
+            recordingFailures.inc();
+            return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, strict, prolog, epilog);
+        }
+    }
+
+    private static ByteBuffer load(TruffleFile entry) {
+        try {
+            if (!entry.isRegularFile()) {
+                return null;
+            }
+            // Entries are only ever replaced by rename, never modified in place, so they can be
+            // mapped. File systems other than the default one may not provide a FileChannel.
+            try (SeekableByteChannel channel = entry.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    return null;
+                }
+                if (channel instanceof FileChannel) {
+                    return ((FileChannel) channel).map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+                ByteBuffer snapshot = ByteBuffer.allocate((int) size);
+                while (snapshot.hasRemaining()) {
+                    if (channel.read(snapshot) < 0) {
+                        return null;
+                    }
+                }
+                return snapshot.flip();
+            }
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static void store(TruffleFile cacheDir, TruffleFile entry, ByteBuffer snapshot) {
+        TruffleFile temp = null;
+        try {
+            cacheDir.createDirectories();
+            temp = cacheDir.resolve(entry.getName() + '.' + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try (SeekableByteChannel channel = temp.newByteChannel(EnumSet.of(StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW))) {
+                while (snapshot.hasRemaining()) {
+                    channel.write(snapshot);
+                }
+            }
+            try {
+                temp.move(entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                temp.move(entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            // The cache is best effort.
+        } finally {
+            if (temp != null) {
+                try {
+                    temp.delete();
+                } catch (IOException | SecurityException | UnsupportedOperationException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static String computeKey(JSContext context, Source source, String prolog, String epilog, boolean strict) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+        updateInt(digest, JSNodeDecoder.getChecksum());
+        updateOptions(digest, context.getContextOptions());
+        digest.update((byte) (strict ? 1 : 0));
+        updateString(digest, prolog);
+        updateString(digest, epilog);
+        updateString(digest, source.getCharacters().toString());
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Hashes the values of all explicitly set options (including those that do not affect
+     * translation, which only costs cache hits) and the effective parser options, which may also
+     * have been changed programmatically.
+     */
+    private static void updateOptions(MessageDigest digest, JSContextOptions options) {
+        options.forEachSetOption((name, value) -> {
+            updateString(digest, name);
+            updateString(digest, String.valueOf(value));
+        });
+        updateString(digest, options.getParserOptions().toString());
+    }
+
+    private static void updateString(MessageDigest digest, String value) {
+        if (value == null) {
+            updateInt(digest, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+}
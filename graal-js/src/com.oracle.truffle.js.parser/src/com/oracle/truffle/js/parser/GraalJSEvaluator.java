@@ -66,6 +66,7 @@ import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.MaterializedFrame;
@@ -243,6 +244,12 @@ public final class GraalJSEvaluator implements JSParser {
             return fakeScriptForModule(context, source);
         }
         try {
+            if (argumentNames == null) {
+                TruffleFile codeCacheDir = CodeCache.getCacheDirectory(context, source);
+                if (codeCacheDir != null) {
+                    return CodeCache.parseScript(codeCacheDir, context, source, prolog, epilog, isStrict);
+                }
+            }
             return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, isStrict, prolog, epilog, argumentNames);
         } catch (com.oracle.js.parser.ParserException e) {
             throw Errors.createSyntaxError(e.getMessage());
@@ -389,6 +396,16 @@ public final class GraalJSEvaluator implements JSParser {
 
     }
 
+    @TruffleBoundary
+    @Override
+    public JSModuleData parseModuleOrNull(JSContext context, Source source) {
+        try {
+            return JavaScriptTranslator.translateModuleOrNull(NodeFactory.getInstance(context), context, source);
+        } catch (com.oracle.js.parser.ParserException e) {
+            return null;
+        }
+    }
+
     @TruffleBoundary
     @Override
     public JSModuleData envParseModule(JSRealm realm, Source source) {
@@ -603,12 +620,18 @@ public final class GraalJSEvaluator implements JSParser {
     public void moduleLinking(JSRealm realm, JSModuleRecord moduleRecord) {
         assert moduleRecord.getStatus() != Status.Linking && moduleRecord.getStatus() != Status.Evaluating;
         Deque<JSModuleRecord> stack = new ArrayDeque<>(4);
+        boolean profileTime = realm.getContext().getContextOptions().isProfileTime();
+        long startTime = profileTime ? System.nanoTime() : 0L;
 
         try {
             innerModuleLinking(realm, moduleRecord, stack, 0);
         } catch (AbstractTruffleException e) {
             handleModuleLinkingError(moduleRecord, stack);
             throw e;
+        } finally {
+            if (profileTime) {
+                realm.getContext().getTimeProfiler().printElapsed(startTime, "loading and linking " + moduleRecord.getSource().getName());
+            }
         }
 
         assert moduleRecord.getStatus() == Status.Linked || moduleRecord.getStatus() == Status.EvaluatingAsync || moduleRecord.getStatus() == Status.Evaluated;
@@ -687,6 +710,8 @@ public final class GraalJSEvaluator implements JSParser {
         // Evaluate ( ) Concrete Method
         JSModuleRecord module = moduleRecord;
         Deque<JSModuleRecord> stack = new ArrayDeque<>(4);
+        boolean profileTime = realm.getContext().getContextOptions().isProfileTime();
+        long startTime = profileTime ? System.nanoTime() : 0L;
         if (realm.getContext().isOptionTopLevelAwait()) {
             assert module.getStatus() == Status.Linked || module.getStatus() == Status.EvaluatingAsync || module.getStatus() == Status.Evaluated;
             if (module.getStatus() == Status.EvaluatingAsync || module.getStatus() == Status.Evaluated) {
@@ -709,6 +734,10 @@ public final class GraalJSEvaluator implements JSParser {
             } catch (AbstractTruffleException e) {
                 handleModuleEvaluationError(module, stack, e);
                 throw e;
+            } finally {
+                if (profileTime) {
+                    realm.getContext().getTimeProfiler().printElapsed(startTime, "evaluating " + module.getSource().getName());
+                }
             }
             return capability.getPromise();
         } else {
@@ -717,6 +746,10 @@ public final class GraalJSEvaluator implements JSParser {
             } catch (AbstractTruffleException e) {
                 handleModuleEvaluationError(module, stack, e);
                 throw e;
+            } finally {
+                if (profileTime) {
+                    realm.getContext().getTimeProfiler().printElapsed(startTime, "evaluating " + module.getSource().getName());
+                }
             }
             assert module.getStatus() == Status.EvaluatingAsync || module.getStatus() == Status.Evaluated;
             assert module.getEvaluationError() == null;
@@ -94,6 +94,19 @@ public final class GraalJSParserHelper {
         return parseSource(context, truffleSource, parserOptions, true, false, false, null, "", "", null);
     }
 
+    /**
+     * Like {@link #parseModule}, but returns {@code null} if the module has syntax errors.
+     */
+    public static FunctionNode parseModuleOrNull(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), truffleSource.getCharacters(), false);
+        ErrorManager errors = new ErrorManager.StringBuilderErrorManager();
+        errors.setLimit(0);
+        Parser parser = createParser(context, makeScriptEnvironment(parserOptions), source, errors, parserOptions);
+        FunctionNode parsed = parser.parseModule(COLON_MODULE);
+        return errors.hasErrors() ? null : parsed;
+    }
+
     private static FunctionNode parseSource(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions,
                     boolean parseModule, boolean eval, boolean evalInFunction, Scope evalScope, String prologue, String epilogue, List<String> argumentNames) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
@@ -381,7 +381,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             blockScopeSlot = needsParentFrame && environment != null ? environment.getCurrentBlockScopeSlot() : null;
 
             functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
-                            needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
+                            needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget, numericComparatorOrder(functionNode));
 
             LexicalContext savedLC = lc.copy();
             Environment parentEnv = environment;
@@ -423,7 +423,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
                 blockScopeSlot = needsParentFrame && prevEnv != null ? prevEnv.getCurrentBlockScopeSlot() : null;
 
                 functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
-                                needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
+                                needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget, numericComparatorOrder(functionNode));
 
                 if (functionNode.isModule()) {
                     functionRoot = createModuleRoot(functionNode, functionData, currentFunction, body);
@@ -457,6 +457,43 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         return functionExpression;
     }
 
+    /**
+     * Recognizes the numeric comparators {@code (a, b) => a - b} (returns 1) and
+     * {@code (a, b) => b - a} (returns -1), written as arrow functions or function expressions with
+     * arbitrary parameter names. Such a function has no side effects on numeric arguments, so that
+     * sorting with it may be replaced by a primitive numeric sort. Returns 0 for any other function.
+     */
+    private static int numericComparatorOrder(FunctionNode functionNode) {
+        if (functionNode.isGenerator() || functionNode.isAsync() || functionNode.getNumOfParams() != 2 || !functionNode.hasSimpleParameterList()) {
+            return 0;
+        }
+        List<Statement> statements = functionNode.getBody().getStatements();
+        if (statements.size() != 1 || !(statements.get(0) instanceof com.oracle.js.parser.ir.ReturnNode)) {
+            return 0;
+        }
+        Expression returned = ((com.oracle.js.parser.ir.ReturnNode) statements.get(0)).getExpression();
+        if (!(returned instanceof BinaryNode) || !returned.isTokenType(TokenType.SUB)) {
+            return 0;
+        }
+        Expression lhs = ((BinaryNode) returned).getLhs();
+        Expression rhs = ((BinaryNode) returned).getRhs();
+        if (!(lhs instanceof IdentNode) || !(rhs instanceof IdentNode)) {
+            return 0;
+        }
+        String first = functionNode.getParameters().get(0).getName();
+        String second = functionNode.getParameters().get(1).getName();
+        String left = ((IdentNode) lhs).getName();
+        String right = ((IdentNode) rhs).getName();
+        if (first.equals(second)) {
+            return 0;
+        } else if (left.equals(first) && right.equals(second)) {
+            return 1;
+        } else if (left.equals(second) && right.equals(first)) {
+            return -1;
+        }
+        return 0;
+    }
+
     JavaScriptNode translateFunctionBody(FunctionNode functionNode, List<JavaScriptNode> declarations) {
         JavaScriptNode body = transform(functionNode.getBody());
 
@@ -129,6 +129,19 @@ public final class JavaScriptTranslator extends GraalJSTranslator {
         return translator.translateModule(parsed);
     }
 
+    /**
+     * Like {@link #translateModule(NodeFactory, JSContext, Source)}, but returns {@code null} if
+     * the module has syntax errors instead of creating a JS error, which requires the realm.
+     */
+    public static JSModuleData translateModuleOrNull(NodeFactory factory, JSContext context, Source source) {
+        FunctionNode parsed = GraalJSParserHelper.parseModuleOrNull(context, source, context.getParserOptions().putStrict(true));
+        if (parsed == null) {
+            return null;
+        }
+        JavaScriptTranslator translator = new JavaScriptTranslator(factory, context, source, 0, null, true);
+        return translator.translateModule(parsed);
+    }
+
     private ScriptNode translateScript(FunctionNode functionNode) {
         if (!functionNode.isScript()) {
             throw new IllegalArgumentException("root function node is not a script");
@@ -60,6 +60,7 @@ import javax.script.SimpleScriptContext;
 import org.graalvm.polyglot.HostAccess;
 import org.junit.Test;
 
+import com.oracle.truffle.js.scriptengine.GraalJSContextPool;
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
 
 public class TestBindings {
@@ -471,4 +472,27 @@ public class TestBindings {
         assertTrue((boolean) engine.eval("typeof key === 'undefined'"));
     }
 
+    @Test
+    public void contextPool() throws Exception {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 2)) {
+            GraalJSContextPool pool = engine.getContextPool();
+            assertNotNull(pool);
+            assertEquals(2, pool.getSize());
+            for (int i = 0; i < 3; i++) {
+                Bindings bindings = engine.createBindings();
+                ScriptContext scriptContext = new SimpleScriptContext();
+                scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+                // contexts handed out by the pool must not share global state
+                assertTrue((boolean) engine.eval("typeof x === 'undefined'", scriptContext));
+                assertEquals(i, ((Number) engine.eval("var x = " + i + "; x", scriptContext)).intValue());
+                ((AutoCloseable) bindings).close();
+            }
+            assertEquals(3, pool.getAcquireCount());
+            assertEquals(3, pool.getReleaseCount());
+            assertTrue(pool.getCreationCount() >= pool.getAcquireCount());
+        }
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            assertNull(engine.getContextPool());
+        }
+    }
 }
@@ -53,12 +53,14 @@ import java.util.NoSuchElementException;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
 
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.proxy.ProxyObject;
@@ -97,6 +99,24 @@ public class TestEngine {
         assertEquals(true, ((Compilable) getEngine()).compile("true").eval());
     }
 
+    @Test
+    public void compileAndEvalInManyContexts() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        CompiledScript script = ((Compilable) engine).compile("var counter = (typeof counter === 'undefined') ? 1 : counter + 1; counter");
+        ScriptContext[] contexts = new ScriptContext[10];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = new SimpleScriptContext();
+            contexts[i].setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+        }
+        for (int round = 1; round <= 3; round++) {
+            for (ScriptContext context : contexts) {
+                assertEquals(round, ((Number) script.eval(context)).intValue());
+            }
+        }
+        assertEquals(1, ((Number) script.eval()).intValue());
+        assertEquals(2, ((Number) script.eval()).intValue());
+    }
+
     @Test
     public void compileSyntaxError() throws ScriptException {
         expectedException.expect(ScriptException.class);
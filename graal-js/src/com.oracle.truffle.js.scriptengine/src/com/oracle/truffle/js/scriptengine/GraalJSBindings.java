@@ -45,11 +45,14 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.script.Bindings;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.TypeLiteral;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyObject;
@@ -69,10 +72,16 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Context.Builder contextBuilder;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
+    // pool to take the context from, unless the context builder was customized
+    private GraalJSContextPool contextPool;
+    private boolean pooledContext;
+    // parsed values of compiled scripts evaluated in the context; weakly keyed by the script
+    private Map<CompiledScript, Value> parsedScripts;
 
-    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
+    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext, GraalJSContextPool contextPool) {
         this.contextBuilder = contextBuilder;
         this.engineScriptContext = scriptContext;
+        this.contextPool = contextPool;
     }
 
     GraalJSBindings(Context context, ScriptContext scriptContext) {
@@ -88,7 +97,12 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (contextPool != null) {
+            context = contextPool.acquire();
+            pooledContext = true;
+        } else {
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        }
         initGlobal();
     }
 
@@ -120,6 +134,7 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
                     contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    contextPool = null;
                     return true;
                 }
             } else {
@@ -167,6 +182,27 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return context;
     }
 
+    /**
+     * Returns the value of {@code source} parsed in the context of these bindings, parsing it on
+     * first use by {@code script}.
+     */
+    Value getParsed(CompiledScript script, Source source) {
+        requireContext();
+        Value parsed = parsedScripts == null ? null : parsedScripts.get(script);
+        if (parsed == null) {
+            parsed = context.parse(source);
+            putParsed(script, parsed);
+        }
+        return parsed;
+    }
+
+    void putParsed(CompiledScript script, Value parsed) {
+        if (parsedScripts == null) {
+            parsedScripts = new WeakHashMap<>();
+        }
+        parsedScripts.put(script, parsed);
+    }
+
     @Override
     public Set<Entry<String, Object>> entrySet() {
         requireContext();
@@ -175,8 +211,14 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
 
     @Override
     public void close() {
+        parsedScripts = null;
         if (context != null) {
-            context.close();
+            if (pooledContext) {
+                contextPool.release(context);
+                pooledContext = false;
+            } else {
+                context.close();
+            }
         }
     }
 
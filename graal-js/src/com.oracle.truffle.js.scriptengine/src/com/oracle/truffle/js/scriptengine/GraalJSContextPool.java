@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.lang.System.Logger.Level;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.graalvm.polyglot.Context;
+
+/**
+ * A pool of pre-initialized polyglot contexts used by a {@link GraalJSScriptEngine} to avoid
+ * paying realm initialization on the request path when a context is created for a new
+ * {@link javax.script.ScriptContext}.
+ *
+ * The pool keeps up to {@link #getSize() size} idle contexts that are created on a background
+ * thread using the script engine's context configuration (and therefore its shared polyglot
+ * engine). A context handed out by the pool is owned by a single script context. A JavaScript
+ * realm cannot be reset to its pristine state, so a released context is closed and the pool is
+ * refilled with a fresh one.
+ *
+ * @see GraalJSScriptEngine#create(org.graalvm.polyglot.Engine, Context.Builder, int)
+ */
+public final class GraalJSContextPool implements AutoCloseable {
+
+    /** Maximum time an acquirer waits for a pending refill before creating a context itself. */
+    private static final long MAX_WAIT_MILLIS = 5000;
+
+    private static final System.Logger LOGGER = System.getLogger(GraalJSContextPool.class.getName());
+
+    private final Context.Builder contextConfig;
+    private final int size;
+    private final BlockingQueue<Context> idle;
+    private final AtomicInteger pendingRefills = new AtomicInteger();
+    private final ExecutorService refillExecutor;
+    /** Guards setting {@link #closed} against adding contexts to {@link #idle}. */
+    private final Object closeLock = new Object();
+    private volatile boolean closed;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder releaseCount = new LongAdder();
+    private final LongAdder creationCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+
+    GraalJSContextPool(Context.Builder contextConfig, int size) {
+        assert size > 0;
+        this.contextConfig = contextConfig;
+        this.size = size;
+        this.idle = new LinkedBlockingQueue<>(size);
+        this.refillExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "graaljs-context-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refill();
+    }
+
+    /**
+     * Takes an idle pre-initialized context from the pool. If none is available, waits for a
+     * pending refill or creates a new context on the calling thread.
+     */
+    Context acquire() {
+        if (closed) {
+            throw new IllegalStateException("context pool is closed");
+        }
+        acquireCount.increment();
+        Context context = idle.poll();
+        if (context == null && pendingRefills.get() > 0) {
+            waitCount.increment();
+            try {
+                context = idle.poll(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (context == null) {
+            context = createContext();
+        }
+        refill();
+        return context;
+    }
+
+    /**
+     * Returns a context obtained from {@link #acquire()} to the pool. The context is closed and
+     * replaced by a fresh one.
+     */
+    void release(Context context) {
+        releaseCount.increment();
+        context.close();
+        refill();
+    }
+
+    private void refill() {
+        while (!closed) {
+            int pending = pendingRefills.get();
+            if (idle.size() + pending >= size) {
+                return;
+            }
+            if (pendingRefills.compareAndSet(pending, pending + 1)) {
+                try {
+                    refillExecutor.execute(this::refillOne);
+                } catch (RejectedExecutionException e) {
+                    // pool closed concurrently
+                    pendingRefills.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void refillOne() {
+        try {
+            if (closed) {
+                return;
+            }
+            Context context;
+            try {
+                context = createContext();
+            } catch (RuntimeException e) {
+                // acquire() falls back to creating a context on the calling thread
+                LOGGER.log(Level.WARNING, "Failed to create a pooled context", e);
+                return;
+            }
+            boolean added;
+            synchronized (closeLock) {
+                // close() drains the idle contexts after setting closed
+                added = !closed && idle.offer(context);
+            }
+            if (!added) {
+                context.close();
+            }
+        } finally {
+            pendingRefills.decrementAndGet();
+        }
+    }
+
+    private Context createContext() {
+        Context context = GraalJSScriptEngine.createDefaultContext(contextConfig);
+        context.initialize("js");
+        creationCount.increment();
+        return context;
+    }
+
+    /**
+     * Returns the maximum number of idle contexts kept by this pool.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of pre-initialized contexts currently available.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the number of contexts handed out by this pool.
+     */
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    /**
+     * Returns the number of contexts returned to this pool.
+     */
+    public long getReleaseCount() {
+        return releaseCount.sum();
+    }
+
+    /**
+     * Returns the number of contexts created by this pool, in the background or on demand.
+     */
+    public long getCreationCount() {
+        return creationCount.sum();
+    }
+
+    /**
+     * Returns how often an acquirer found the pool empty and had to wait for a refill.
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    /**
+     * Closes all idle contexts and stops refilling. Contexts that are in use are not affected.
+     */
+    @Override
+    public void close() {
+        synchronized (closeLock) {
+            closed = true;
+        }
+        refillExecutor.shutdownNow();
+        Context context;
+        while ((context = idle.poll()) != null) {
+            context.close();
+        }
+    }
+}
@@ -97,6 +97,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final String JS_CHARSET_OPTION = "js.charset";
     private static final String NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY = "polyglot.js.nashorn-compat";
     private static final String INSECURE_SCRIPTENGINE_ACCESS_SYSTEM_PROPERTY = "graaljs.insecure-scriptengine-access";
+    private static final String CONTEXT_POOL_SIZE_SYSTEM_PROPERTY = "graaljs.scriptengine-context-pool-size";
     static final String MAGIC_OPTION_PREFIX = "polyglot.js.";
 
     private static final HostAccess NASHORN_HOST_ACCESS = createNashornHostAccess();
@@ -304,6 +305,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    private final GraalJSContextPool contextPool;
 
     private boolean evalCalled;
 
@@ -312,6 +314,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig) {
+        this(factory, engine, contextConfig, Integer.getInteger(CONTEXT_POOL_SIZE_SYSTEM_PROPERTY, 0));
+    }
+
+    GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig, int contextPoolSize) {
         Engine engineToUse = engine;
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
@@ -339,7 +345,8 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         }
         this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
         this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        this.contextPool = contextPoolSize > 0 ? new GraalJSContextPool(this.contextConfig, contextPoolSize) : null;
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context, this.contextPool), ScriptContext.ENGINE_SCOPE);
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -356,8 +363,12 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         DelegatingInputStream in = new DelegatingInputStream();
         DelegatingOutputStream out = new DelegatingOutputStream();
         DelegatingOutputStream err = new DelegatingOutputStream();
-        builder.in(in).out(out).err(err);
-        Context ctx = builder.build();
+        Context ctx;
+        // the builder is shared by all script contexts (and the context pool)
+        synchronized (builder) {
+            builder.in(in).out(out).err(err);
+            ctx = builder.build();
+        }
         ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
         ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
         ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
@@ -371,6 +382,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     @Override
     public void close() {
         getPolyglotContext().close();
+        if (contextPool != null) {
+            contextPool.close();
+        }
     }
 
     /**
@@ -380,6 +394,16 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return factory.getPolyglotEngine();
     }
 
+    /**
+     * Returns the pool of pre-initialized polyglot contexts used for new script contexts, or
+     * <code>null</code> if this engine does not use a context pool.
+     *
+     * @see #create(Engine, Context.Builder, int)
+     */
+    public GraalJSContextPool getContextPool() {
+        return contextPool;
+    }
+
     /**
      * Returns the polyglot context associated with the default ScriptContext of the engine.
      *
@@ -405,7 +429,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig, null);
+        return new GraalJSBindings(contextConfig, null, contextPool);
     }
 
     @Override
@@ -474,6 +498,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private Object eval(Source source, ScriptContext scriptContext) throws ScriptException {
+        return eval(source, scriptContext, null);
+    }
+
+    private Object eval(Source source, ScriptContext scriptContext, GraalJSCompiledScript compiledScript) throws ScriptException {
         GraalJSBindings engineBindings = getOrCreateGraalJSBindings(scriptContext);
         Context polyglotContext = engineBindings.getContext();
         updateDelegatingIOStreams(polyglotContext, scriptContext);
@@ -482,7 +510,13 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                 jrunscriptInitWorkaround(source, polyglotContext);
             }
             engineBindings.importGlobalBindings(scriptContext);
-            return polyglotContext.eval(source).as(Object.class);
+            Value result;
+            if (compiledScript == null) {
+                result = polyglotContext.eval(source);
+            } else {
+                result = engineBindings.getParsed(compiledScript, compiledScript.getSource()).execute();
+            }
+            return result.as(Object.class);
         } catch (PolyglotException e) {
             throw toScriptException(e);
         } finally {
@@ -540,14 +574,20 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         Object ctx = engineB.get(POLYGLOT_CONTEXT);
         if (!(ctx instanceof Context)) {
             Context.Builder builder = contextConfig;
+            boolean customized = false;
             for (MagicBindingsOptionSetter optionSetter : MAGIC_OPTION_SETTERS) {
                 Object value = engineB.get(optionSetter.getOptionKey());
                 if (value != null) {
                     builder = optionSetter.setOption(builder, value);
                     engineB.remove(optionSetter.getOptionKey());
+                    customized = true;
                 }
             }
-            ctx = createDefaultContext(builder);
+            if (contextPool != null && !customized) {
+                ctx = contextPool.acquire();
+            } else {
+                ctx = createDefaultContext(builder);
+            }
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
         return (Context) ctx;
@@ -656,26 +696,44 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private CompiledScript compile(Source source) throws ScriptException {
-        checkSyntax(source);
-        return new CompiledScript() {
-            @Override
-            public ScriptEngine getEngine() {
-                return GraalJSScriptEngine.this;
-            }
-
-            @Override
-            public Object eval(ScriptContext ctx) throws ScriptException {
-                return GraalJSScriptEngine.this.eval(source, ctx);
-            }
-        };
-    }
-
-    private void checkSyntax(Source source) throws ScriptException {
+        GraalJSBindings engineBindings = getOrCreateGraalJSBindings(context);
+        Value parsed;
         try {
-            getPolyglotContext().parse(source);
+            parsed = engineBindings.getContext().parse(source);
         } catch (PolyglotException pex) {
             throw toScriptException(pex);
         }
+        GraalJSCompiledScript compiledScript = new GraalJSCompiledScript(source);
+        engineBindings.putParsed(compiledScript, parsed);
+        return compiledScript;
+    }
+
+    /**
+     * A compiled script whose parsed {@link Value} is kept by the {@link GraalJSBindings} of each
+     * polyglot context it is evaluated in, so that repeated evaluations in the same context execute
+     * the parsed script directly without parsing or looking up the source again. The script itself
+     * does not reference any polyglot context.
+     */
+    private final class GraalJSCompiledScript extends CompiledScript {
+        private final Source source;
+
+        GraalJSCompiledScript(Source source) {
+            this.source = source;
+        }
+
+        Source getSource() {
+            return source;
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+            return GraalJSScriptEngine.this;
+        }
+
+        @Override
+        public Object eval(ScriptContext ctx) throws ScriptException {
+            return GraalJSScriptEngine.this.eval(source, ctx, this);
+        }
     }
 
     private static class DelegatingInputStream extends InputStream implements Proxy {
@@ -778,6 +836,26 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return new GraalJSScriptEngine(null, engine, newContextConfig);
     }
 
+    /**
+     * Creates a new GraalJS script engine like {@link #create(Engine, Context.Builder)} that keeps a
+     * pool of pre-initialized polyglot contexts on the shared engine. New {@link ScriptContext}
+     * instances take their polyglot context from this pool, unless their bindings configure
+     * options that require a dedicated context. Closing the bindings of a script context releases
+     * its polyglot context to the pool. The default pool size of script engines obtained through
+     * {@link javax.script.ScriptEngineManager} can be set with the
+     * {@code graaljs.scriptengine-context-pool-size} system property.
+     *
+     * @param contextPoolSize the number of pre-initialized contexts to keep, or <code>0</code> to
+     *            disable pooling.
+     * @see #getContextPool()
+     */
+    public static GraalJSScriptEngine create(Engine engine, Context.Builder newContextConfig, int contextPoolSize) {
+        if (contextPoolSize < 0) {
+            throw new IllegalArgumentException("contextPoolSize must not be negative");
+        }
+        return new GraalJSScriptEngine(null, engine, newContextConfig, contextPoolSize);
+    }
+
     private static boolean isInterfaceImplemented(final Class<?> iface, final Value obj) {
         for (final Method method : iface.getMethods()) {
             // ignore methods of java.lang.Object class
@@ -1814,9 +1814,18 @@ public class Recording {
 
     public static Recording recordSource(Source source, JSContext context, boolean strict, String prefix, String suffix) {
         Recording rec = new Recording();
+        recordScript(rec, source, context, strict, prefix, suffix);
+        return rec;
+    }
+
+    /**
+     * Translates the script using a recording node factory and returns the translated script, which
+     * is fully functional and can be executed like any other script.
+     */
+    public static ScriptNode recordScript(Recording rec, Source source, JSContext context, boolean strict, String prefix, String suffix) {
         ScriptNode program = JavaScriptTranslator.translateScript(RecordingProxy.createRecordingNodeFactory(rec, NodeFactory.getInstance(context)), context, source, strict, prefix, suffix);
         rec.finish(program.getRootNode());
-        return rec;
+        return program;
     }
 
     public void saveToStream(String fileName, OutputStream outs, boolean binary) {
@@ -1829,6 +1838,24 @@ public class Recording {
     }
 
     private ByteBuffer saveAsBinary(OutputStream outs) {
+        ByteBuffer buffer = toBinarySnapshot();
+        try {
+            outs.write(byteBufferToByteArray(buffer.duplicate()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (TEST_DECODE) {
+            testDecode(buffer.duplicate());
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Encodes the recording in the binary snapshot format read by {@link BinarySnapshotProvider}.
+     */
+    public ByteBuffer toBinarySnapshot() {
         BinaryEncoder sink = new BinaryEncoder();
         JSNodeEncoder encoder = new JSNodeEncoder(sink, source.getCharacters());
 
@@ -1839,16 +1866,6 @@ public class Recording {
         } else {
             encodeMethod(encoder, ENTRY_METHOD_NAME, insts, Collections.emptyList());
         }
-        try {
-            outs.write(byteBufferToByteArray(sink.getBuffer()));
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-
-        if (TEST_DECODE) {
-            testDecode(sink.getBuffer());
-        }
-
         return sink.getBuffer();
     }
 
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.threading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Test;
+
+public class WorkerTest {
+
+    private static Context newWorkerContext() {
+        return TestUtil.newContextBuilder().allowCreateThread(true).allowIO(IOAccess.ALL).option("js.worker", "true").build();
+    }
+
+    private static String writeModule(String code) throws IOException {
+        Path file = Files.createTempFile("worker", ".mjs");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, code);
+        return file.toAbsolutePath().toString().replace("\\", "/");
+    }
+
+    @Test(timeout = 30000)
+    public void testStructuredClone() throws IOException {
+        String worker = writeModule("" +
+                        "onmessage = (e) => {\n" +
+                        "    const data = e.data;\n" +
+                        "    postMessage({sum: data.values.reduce((a, b) => a + b, 0), echo: data});\n" +
+                        "    close();\n" +
+                        "};\n");
+        try (Context context = newWorkerContext()) {
+            Value result = context.eval("js", "" +
+                            "const w = new Worker('" + worker + "');\n" +
+                            "const msg = {values: [1, 2, 3], date: new Date(0), map: new Map([[1, 'a']]), bytes: new Uint8Array([7, 8])};\n" +
+                            "msg.self = msg;\n" +
+                            "w.postMessage(msg);\n" +
+                            "const r = w.receiveMessage();\n" +
+                            "[r.sum, r.echo.self === r.echo, r.echo.date.getTime(), r.echo.map.get(1), r.echo.bytes.join(), w.receiveMessage()].join();");
+            assertEquals("6,true,0,a,7,8,", result.asString());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testStructuredCloneSparseArrays() throws IOException {
+        String worker = writeModule("" +
+                        "onmessage = (e) => {\n" +
+                        "    const {huge, holes, sparse} = e.data;\n" +
+                        "    postMessage([huge.length, Object.keys(huge).length, huge[5], holes.length, 1 in holes, holes[2], holes.foo,\n" +
+                        "                 sparse.length, Object.keys(sparse).join(':')].join());\n" +
+                        "    close();\n" +
+                        "};\n");
+        try (Context context = newWorkerContext()) {
+            Value result = context.eval("js", "" +
+                            "const w = new Worker('" + worker + "');\n" +
+                            "const huge = new Array(2 ** 31 - 2);\n" +
+                            "huge[5] = 'x';\n" +
+                            "const holes = [1, , 3];\n" +
+                            "holes.foo = 'bar';\n" +
+                            "const sparse = [];\n" +
+                            "sparse[4294967294] = 'last';\n" +
+                            "sparse[7] = 7;\n" +
+                            "w.postMessage({huge, holes, sparse});\n" +
+                            "w.receiveMessage();");
+            assertEquals("2147483646,1,x,3,false,3,bar,4294967295,7:4294967294", result.asString());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testSharedArrayBufferAndAtomics() throws IOException {
+        String worker = writeModule("" +
+                        "onmessage = (e) => {\n" +
+                        "    const ia = new Int32Array(e.data);\n" +
+                        "    postMessage('waiting');\n" +
+                        "    const r = Atomics.wait(ia, 0, 0, 20000);\n" +
+                        "    postMessage(r + ':' + ia[1]);\n" +
+                        "    close();\n" +
+                        "};\n");
+        try (Context context = newWorkerContext()) {
+            Value result = context.eval("js", "" +
+                            "const w = new Worker('" + worker + "');\n" +
+                            "const ia = new Int32Array(new SharedArrayBuffer(8));\n" +
+                            "w.postMessage(ia.buffer);\n" +
+                            "w.receiveMessage();\n" +
+                            "ia[1] = 42;\n" +
+                            "while (Atomics.notify(ia, 0) === 0) {}\n" +
+                            "w.receiveMessage();");
+            assertEquals("ok:42", result.asString());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testNotCloneable() throws IOException {
+        String worker = writeModule("onmessage = () => {};\n");
+        try (Context context = newWorkerContext()) {
+            Value result = context.eval("js", "" +
+                            "const w = new Worker('" + worker + "');\n" +
+                            "let error;\n" +
+                            "try { w.postMessage({f: () => 42}); } catch (e) { error = e; }\n" +
+                            "w.terminate();\n" +
+                            "error instanceof TypeError;");
+            assertTrue(result.asBoolean());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testTerminateBusyWorker() throws IOException {
+        String worker = writeModule("postMessage('started'); while (true) {}\n");
+        try (Context context = newWorkerContext()) {
+            Value result = context.eval("js", "" +
+                            "const w = new Worker('" + worker + "');\n" +
+                            "const started = w.receiveMessage();\n" +
+                            "w.terminate();\n" +
+                            "[started, w.receiveMessage()].join();");
+            assertEquals("started,", result.asString());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testCloseParentWithBusyWorker() throws IOException {
+        String worker = writeModule("postMessage('started'); while (true) {}\n");
+        try (Context context = newWorkerContext()) {
+            context.eval("js", "" +
+                            "const w = new Worker('" + worker + "');\n" +
+                            "w.receiveMessage();");
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testUncaughtError() throws IOException {
+        String worker = writeModule("" +
+                        "onmessage = (e) => {\n" +
+                        "    postMessage('before');\n" +
+                        "    throw new RangeError('boom ' + e.data);\n" +
+                        "};\n");
+        try (Context context = newWorkerContext()) {
+            Value result = context.eval("js", "" +
+                            "const w = new Worker('" + worker + "');\n" +
+                            "w.postMessage(42);\n" +
+                            "const before = w.receiveMessage();\n" +
+                            "let error;\n" +
+                            "try { w.receiveMessage(); } catch (e) { error = e; }\n" +
+                            "[before, error.message.startsWith('Uncaught error in worker') && error.message.includes('boom 42'), w.receiveMessage()].join();");
+            assertEquals("before,true,", result.asString());
+        }
+    }
+}
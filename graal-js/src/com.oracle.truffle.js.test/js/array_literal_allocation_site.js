@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Test of array literal allocation site feedback: arrays created by an empty
+ * array literal after the site has seen other element kinds and lengths must
+ * still behave like fresh empty arrays.
+ */
+
+load('assert.js');
+
+function fill(values) {
+    const out = [];
+    for (const v of values) {
+        out.push(v);
+    }
+    return out;
+}
+
+function checkEmpty(a) {
+    assertSame(0, a.length);
+    assertSame(undefined, a[0]);
+    assertFalse(0 in a);
+    assertSame('', a.join());
+}
+
+const ints = [];
+for (let i = 0; i < 100; i++) {
+    ints.push(i);
+}
+const doubles = ints.map(i => i + 0.5);
+const objects = ints.map(i => ({i}));
+const mixed = ints.map(i => i % 2 ? 'x' + i : i);
+
+for (let round = 0; round < 3; round++) {
+    for (const values of [ints, doubles, objects, mixed, [], [1], [1.5, 2]]) {
+        const a = fill(values);
+        assertSame(values.length, a.length);
+        for (let i = 0; i < values.length; i++) {
+            assertSame(values[i], a[i]);
+        }
+        assertSame(values.join(), a.join());
+    }
+}
+
+// Empty literals that are not written to must stay empty after feedback.
+function make() {
+    return [];
+}
+for (let i = 0; i < 10; i++) {
+    const a = make();
+    checkEmpty(a);
+    for (let j = 0; j < 50; j++) {
+        a.push(j * 0.25);
+    }
+    assertSame(50, a.length);
+    assertSame(12.25, a[49]);
+}
+checkEmpty(make());
+
+// Holes, out-of-bounds writes, and length changes on pre-allocated arrays.
+for (let i = 0; i < 3; i++) {
+    const a = make();
+    a[5] = 1;
+    assertSame(6, a.length);
+    assertFalse(0 in a);
+    assertSame(',,,,,1', a.join());
+
+    const b = make();
+    b.length = 3;
+    assertSame(3, b.length);
+    assertFalse(1 in b);
+    b.push('a');
+    assertSame(',,,a', b.join());
+
+    const c = make();
+    c.unshift(1, 2);
+    c.push({});
+    assertSame(3, c.length);
+    assertSame(1, c[0]);
+    assertSame('object', typeof c[2]);
+
+    const d = make();
+    Object.freeze(d);
+    assertThrows(() => { 'use strict'; d.push(1); }, TypeError);
+    checkEmpty(d);
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Test of sorting int/double arrays and typed arrays with the default
+ * comparator and with recognized numeric comparators.
+ */
+
+load('assert.js');
+
+function reference(array, comparefn) {
+    // insertion sort (stable), independent of Array.prototype.sort
+    var result = Array.from(array);
+    for (var i = 1; i < result.length; i++) {
+        var x = result[i];
+        var j = i - 1;
+        while (j >= 0 && comparefn(result[j], x) > 0) {
+            result[j + 1] = result[j];
+            j--;
+        }
+        result[j + 1] = x;
+    }
+    return result;
+}
+
+function assertSameElements(expected, actual) {
+    assertSame(expected.length, actual.length);
+    for (var i = 0; i < expected.length; i++) {
+        assertTrue(Object.is(expected[i], actual[i]));
+    }
+}
+
+var ascending = (a, b) => a - b;
+var descending = function (x, y) { return y - x; };
+var ascendingBlock = (a, b) => { return a - b; };
+var ascendingCommented = (a, b) => /* ascending */ (a) - (b);
+
+var ints = [5, -3, 100, 7, 0, -3, 42, 2147483647, -2147483648, 10];
+var doubles = [5.5, -3.25, 100, 7.125, 0.5, -3.25, 42, 1e300, -1e-300, 10];
+
+[ascending, descending, ascendingBlock, ascendingCommented].forEach(function (cmp) {
+    assertSameElements(reference(ints, cmp), ints.slice().sort(cmp));
+    assertSameElements(reference(doubles, cmp), doubles.slice().sort(cmp));
+});
+
+// default comparator on int arrays is still lexicographic
+assertSameContent([-2147483648, -3, -3, 0, 10, 2147483647, 42, 5, 7, 100].map(String).sort(), ints.slice().sort().map(String));
+
+// -0 and +0 are equal for a - b, so their relative order must be preserved
+var zeros = [0, -0, 1.5, -0, 0];
+var sortedZeros = zeros.slice().sort(ascending);
+assertSameElements(reference(zeros, ascending), sortedZeros);
+assertTrue(Object.is(sortedZeros[0], 0) && Object.is(sortedZeros[1], -0));
+
+// comparators that are not recognized keep their side effects
+var calls = 0;
+[3, 1, 2].sort(function (a, b) { calls++; return a - b; });
+assertTrue(calls > 0);
+var c = 0;
+assertSameElements([3, 1, 2], [3, 1, 2].sort((a, b) => a - c));
+assertSameElements([1, 2, 3], [3, 1, 2].sort(function (a, b) { 'use strict'; return a - b; }));
+
+// holes and frozen arrays
+var holes = [3, , 1, 2];
+holes.sort(ascending);
+assertSame(3, holes[2]);
+assertFalse(3 in holes);
+assertThrows(() => Object.freeze([3, 1, 2]).sort(ascending), TypeError);
+
+// typed arrays, default comparator
+assertSameElements([-0, 0, 1, Infinity, NaN], Array.from(new Float64Array([NaN, 1, 0, -0, Infinity]).sort()));
+assertSameElements([-0, 0, 1, Infinity, NaN], Array.from(new Float32Array([NaN, 1, 0, -0, Infinity]).sort()));
+assertSameContent([0, 1, 2147483648, 4294967295], Array.from(new Uint32Array([4294967295, 2147483648, 1, 0]).sort()));
+assertSameContent([-128, -1, 0, 127], Array.from(new Int8Array([127, -1, 0, -128]).sort()));
+assertSameContent([0, 1, 255], Array.from(new Uint8ClampedArray([255, 1, 0]).sort()));
+assertSameContent([-(2n ** 63n), -1n, 0n, 2n ** 63n - 1n], Array.from(new BigInt64Array([0n, 2n ** 63n - 1n, -1n, -(2n ** 63n)]).sort()));
+assertSameContent([0n, 1n, 2n ** 63n, 2n ** 64n - 1n], Array.from(new BigUint64Array([2n ** 64n - 1n, 2n ** 63n, 1n, 0n]).sort()));
+
+// typed arrays, recognized comparators
+assertSameContent([100, 42, 7, 5, 0, -3], Array.from(new Int16Array([5, -3, 100, 7, 0, 42]).sort(descending)));
+assertSameContent([4294967295, 2147483648, 1, 0], Array.from(new Uint32Array([0, 1, 2147483648, 4294967295]).sort(descending)));
+var typedZeros = new Float64Array([0, -0, 1.5, -0, 0]).sort(ascending);
+assertSameElements(reference(zeros, ascending), Array.from(typedZeros));
+
+// typed array on a subrange of a buffer
+var buffer = new ArrayBuffer(32);
+var whole = new Int32Array(buffer);
+whole.set([9, 8, 7, 6, 5, 4, 3, 2]);
+new Int32Array(buffer, 8, 4).sort();
+assertSameContent([9, 8, 4, 5, 6, 7, 3, 2], Array.from(whole));
+
+true;
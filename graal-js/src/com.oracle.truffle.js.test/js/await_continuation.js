@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Await resumes the suspended function directly from the promise reaction job. Checks resumption
+ * values, rejections, job ordering, and async generators.
+ *
+ * @option unhandled-rejections=throw
+ */
+
+load('assert.js');
+
+var log = [];
+
+async function awaitValues() {
+    var a = await 1;
+    var b = await Promise.resolve(2);
+    var c = await { then(resolve) { resolve(3); } };
+    return a + b + c;
+}
+
+async function awaitRejection() {
+    try {
+        await Promise.reject(new TypeError('rejected'));
+        fail('should have thrown');
+    } catch (e) {
+        assertTrue(e instanceof TypeError);
+        return e.message;
+    }
+}
+
+async function* generator() {
+    var x = await 10;
+    yield x;
+    yield await Promise.resolve(x + 1);
+}
+
+async function tick(name) {
+    log.push(name + 1);
+    await undefined;
+    log.push(name + 2);
+    await undefined;
+    log.push(name + 3);
+}
+
+async function main() {
+    assertSame(6, await awaitValues());
+    assertSame('rejected', await awaitRejection());
+
+    var values = [];
+    for await (var v of generator()) {
+        values.push(v);
+    }
+    assertSame('10,11', values.join());
+
+    // Interleaving of concurrently running async functions follows the spec job order.
+    await Promise.all([tick('a'), tick('b')]);
+    assertSame('a1,b1,a2,b2,a3,b3', log.join());
+}
+
+main();
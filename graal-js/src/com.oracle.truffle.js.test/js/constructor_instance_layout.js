@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Test of constructor instance layout prediction: instances of constructors
+ * that create objects with many properties must behave like ordinary objects.
+ */
+
+load('assert.js');
+
+function Point(i) {
+    this.a = i;
+    this.b = i + 0.5;
+    this.c = 'c' + i;
+    this.d = {i};
+    this.e = i % 2 === 0;
+    this.f = null;
+    this.g = undefined;
+    this.h = [i];
+    this.i = i * 2;
+    this.j = 'j';
+    this.k = i - 1;
+    this.l = Symbol.iterator;
+    this.m = i / 3;
+    this.n = 13;
+    this.o = 'o';
+    this.p = i;
+    this.q = i + 1;
+    this.r = 'r';
+}
+Point.prototype.sum = function() {
+    return this.a + this.i + this.k;
+};
+
+class Record {
+    x0 = 0; x1 = 1; x2 = 2; x3 = 3; x4 = 4; x5 = 5; x6 = 6; x7 = 7; x8 = 8; x9 = 9;
+    constructor(v) {
+        this.v = v;
+    }
+}
+
+const keys = 'abcdefghijklmnopqr'.split('');
+const points = [];
+for (let i = 0; i < 50; i++) {
+    const p = new Point(i);
+    points.push(p);
+    assertSame(Point.prototype, Object.getPrototypeOf(p));
+    assertSame(keys.join(), Object.keys(p).join());
+    assertSame(i * 4 - 1, p.sum());
+    assertSame(i + 0.5, p.b);
+    assertSame('c' + i, p.c);
+    assertSame(i, p.d.i);
+    assertSame(i, p.h[0]);
+    assertSame(Symbol.iterator, p.l);
+    assertTrue(p instanceof Point);
+
+    const r = new Record(i);
+    assertSame(i, r.v);
+    assertSame(9, r.x9);
+    assertSame(11, Object.keys(r).length);
+}
+
+// Additional properties after construction.
+const extra = points[10];
+for (let k = 0; k < 20; k++) {
+    extra['extra' + k] = k;
+}
+assertSame(19, extra.extra19);
+assertSame(38, Object.keys(extra).length);
+
+// Copies, JSON and spreading.
+const copy = {...points[3]};
+assertSame(3, copy.a);
+assertSame('r', copy.r);
+const json = JSON.parse(JSON.stringify(points[4]));
+assertSame(4, json.a);
+assertSame(false, 'g' in json);
+assertSame(Object.keys(points[5]).join(), Object.keys(Object.assign({}, points[5])).join());
+
+// Prototype changes.
+const p1 = points[20];
+Object.setPrototypeOf(p1, null);
+assertSame(null, Object.getPrototypeOf(p1));
+assertSame(20, p1.a);
+assertSame('r', p1.r);
+assertSame(undefined, p1.sum);
+Object.setPrototypeOf(p1, {sum() { return -1; }});
+assertSame(-1, p1.sum());
+assertSame(40, p1.i);
+
+// Transition to dictionary mode.
+const p2 = points[30];
+for (const k of keys) {
+    if (k !== 'a') {
+        delete p2[k];
+    }
+}
+for (let k = 0; k < 300; k++) {
+    p2['d' + k] = k;
+}
+assertSame(30, p2.a);
+assertSame(299, p2.d299);
+assertSame(301, Object.keys(p2).length);
+
+// Freezing and property redefinition.
+const p3 = points[40];
+Object.freeze(p3);
+assertTrue(Object.isFrozen(p3));
+assertThrows(() => { 'use strict'; p3.a = 1; }, TypeError);
+const p4 = points[41];
+Object.defineProperty(p4, 'a', {get() { return 'getter'; }});
+assertSame('getter', p4.a);
+assertSame(41, points[41].p);
+
+// Constructors returning a different object.
+function Other() {
+    this.a = 1; this.b = 2; this.c = 3; this.d = 4; this.e = 5;
+    this.f = 6; this.g = 7; this.h = 8; this.i = 9; this.j = 10;
+    return {replaced: true};
+}
+for (let i = 0; i < 20; i++) {
+    assertSame(true, new Other().replaced);
+}
+
+// Many different prototypes (megamorphic) while the layout is still being sampled.
+function Poly(i) {
+    this.a = i; this.b = i; this.c = i; this.d = i; this.e = i;
+    this.f = i; this.g = i; this.h = i; this.i = i; this.j = i;
+}
+for (let i = 0; i < 50; i++) {
+    const proto = {index: i};
+    const o = Reflect.construct(Poly, [i], function() {}.bind());
+    const q = Reflect.construct(Poly, [i], Object.assign(function() {}, {prototype: proto}));
+    assertSame(i, o.j);
+    assertSame(proto, Object.getPrototypeOf(q));
+    assertSame(i, q.index);
+    assertSame(10, Object.keys(q).length);
+}
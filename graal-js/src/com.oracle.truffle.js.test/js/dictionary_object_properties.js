@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Test of property attributes, accessors, deletion and key order of objects
+ * with many properties (dictionary mode).
+ */
+
+load('assert.js');
+
+var o = {};
+for (var i = 0; i < 2000; i++) {
+    o['k' + i] = i;
+}
+Object.defineProperty(o, 'ro', {value: 'read-only', writable: false, enumerable: true, configurable: true});
+Object.defineProperty(o, 'hidden', {value: 'hidden', writable: true, enumerable: false, configurable: false});
+var getterCalls = 0;
+var stored;
+Object.defineProperty(o, 'acc', {get: function () { getterCalls++; return stored; }, set: function (v) { stored = v * 2; }, enumerable: true, configurable: true});
+
+assertSame(1999, o.k1999);
+o.k5 = 'five';
+assertSame('five', o.k5);
+
+o.ro = 'changed';
+assertSame('read-only', o.ro);
+assertThrows(function () { 'use strict'; o.ro = 'changed'; }, TypeError);
+
+o.acc = 21;
+assertSame(42, o.acc);
+assertSame(1, getterCalls);
+
+var d = Object.getOwnPropertyDescriptor(o, 'hidden');
+assertSame('hidden', d.value);
+assertTrue(d.writable);
+assertFalse(d.enumerable);
+assertFalse(d.configurable);
+assertFalse(delete o.hidden);
+assertThrows(function () { 'use strict'; delete o.hidden; }, TypeError);
+assertThrows(() => Object.defineProperty(o, 'hidden', {enumerable: true}), TypeError);
+
+// redefine a data property; attribute changes must stick
+Object.defineProperty(o, 'k7', {enumerable: false});
+d = Object.getOwnPropertyDescriptor(o, 'k7');
+assertSame(7, d.value);
+assertFalse(d.enumerable);
+assertTrue(d.writable);
+Object.defineProperty(o, 'k7', {writable: false});
+o.k7 = 8;
+assertSame(7, o.k7);
+Object.defineProperty(o, 'k8', {value: 'eight'});
+assertSame('eight', o.k8);
+assertTrue(Object.getOwnPropertyDescriptor(o, 'k8').enumerable);
+
+// data <-> accessor conversion
+Object.defineProperty(o, 'k9', {get: () => 'nine'});
+assertSame('nine', o.k9);
+Object.defineProperty(o, 'k9', {value: 9});
+assertSame(9, o.k9);
+assertFalse(Object.getOwnPropertyDescriptor(o, 'k9').writable);
+
+// deletion and insertion order
+for (var i = 100; i < 1900; i++) {
+    assertTrue(delete o['k' + i]);
+}
+o.k150 = 'again';
+var keys = Object.keys(o);
+assertSame('k0', keys[0]);
+assertSame(keys.indexOf('k99') + 1, keys.indexOf('k1900'));
+assertSame(99 + 100 + 2 + 1, keys.length);
+assertSame('k150', keys[keys.length - 1]);
+assertFalse(keys.includes('k7'));
+assertFalse(keys.includes('hidden'));
+assertTrue(Object.getOwnPropertyNames(o).includes('hidden'));
+assertSame(undefined, o.k100);
+assertFalse('k1000' in o);
+
+Object.freeze(o);
+assertTrue(Object.isFrozen(o));
+o.k0 = 'x';
+assertSame(0, o.k0);
+
+true;
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Test of Map/Set iteration while the backing store changes its layout
+ * (growth, compaction, clear and the switch from int/string keys to mixed keys).
+ */
+
+load('assert.js');
+
+function keysOf(iterable) {
+    var result = [];
+    for (var k of iterable) {
+        result.push(k);
+    }
+    return result;
+}
+
+// int keys: deletion and growth during live iteration
+var map = new Map();
+for (var i = 0; i < 20; i++) {
+    map.set(i, 'v' + i);
+}
+var seen = [];
+for (var [k, v] of map) {
+    assertSame('v' + k, v);
+    seen.push(k);
+    if (k < 20) {
+        map.delete(k + 1);
+        map.set(k + 100, 'v' + (k + 100));
+    }
+}
+assertSameContent([0, 2, 4, 6, 8, 10, 12, 14, 16, 18, 100, 102, 104, 106, 108, 110, 112, 114, 116, 118], seen);
+
+// -0 and integral doubles are the same keys as ints
+var set = new Set([1, 2, 3]);
+set.add(-0);
+set.add(2.0);
+assertSameContent([1, 2, 3, 0], keysOf(set));
+assertTrue(set.has(0));
+assertFalse(set.has(2.5));
+assertFalse(set.has('1'));
+
+// string keys, switching to mixed keys in the middle of an iteration
+var strings = new Map([['a', 1], ['b', 2], ['c', 3]]);
+var iter = strings.keys();
+assertSame('a', iter.next().value);
+strings.set(42, 4);
+strings.delete('b');
+strings.set({}, 5);
+assertSame('c', iter.next().value);
+assertSame(42, iter.next().value);
+assertSame('object', typeof iter.next().value);
+assertTrue(iter.next().done);
+strings.set('d', 6);
+assertTrue(iter.next().done);
+assertSame(4, strings.get(42));
+assertSame(undefined, strings.get('b'));
+
+// clear during iteration continues with newly added entries
+var cleared = new Set(['x', 'y']);
+var it2 = cleared.values();
+assertSame('x', it2.next().value);
+cleared.clear();
+cleared.add('z');
+assertSame('z', it2.next().value);
+assertTrue(it2.next().done);
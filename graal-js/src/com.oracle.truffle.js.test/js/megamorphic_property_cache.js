@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Test of megamorphic property accesses: results must follow changes of
+ * the receivers and their prototype chains.
+ */
+
+load('assert.js');
+
+function getX(o) {
+    return o.x;
+}
+function setX(o, v) {
+    o.x = v;
+}
+function hasX(o) {
+    return 'x' in o;
+}
+
+var proto = {};
+var objects = [];
+for (var i = 0; i < 20; i++) {
+    var o = Object.create(proto);
+    o['p' + i] = i;
+    objects.push(o);
+}
+
+function checkAll(expected) {
+    for (var k = 0; k < 3; k++) {
+        for (var i = 0; i < objects.length; i++) {
+            assertSame(expected, getX(objects[i]));
+            assertSame(expected !== undefined, hasX(objects[i]));
+        }
+    }
+}
+
+// absent from the whole prototype chain
+checkAll(undefined);
+
+// added to the prototype
+proto.x = 'proto';
+checkAll('proto');
+
+// changed in the prototype
+proto.x = 'changed';
+checkAll('changed');
+
+// replaced by an accessor in the prototype
+var stored = [];
+Object.defineProperty(proto, 'x', {
+    get: function() { return 'getter:' + this.p0; },
+    set: function(v) { stored.push(v); },
+    configurable: true
+});
+for (var i = 0; i < objects.length; i++) {
+    setX(objects[i], i);
+}
+assertSame(objects.length, stored.length);
+assertSame(5, stored[5]);
+assertSame('getter:0', getX(objects[0]));
+assertSame('getter:undefined', getX(objects[1]));
+
+// prototype of the prototype changes
+delete proto.x;
+checkAll(undefined);
+Object.setPrototypeOf(proto, {x: 'grandparent'});
+checkAll('grandparent');
+
+// own properties shadow the prototype
+for (var i = 0; i < objects.length; i++) {
+    objects[i].x = 'own' + i;
+}
+for (var i = 0; i < objects.length; i++) {
+    assertSame('own' + i, getX(objects[i]));
+}
+for (var k = 0; k < 3; k++) {
+    for (var i = 0; i < objects.length; i++) {
+        setX(objects[i], i + k);
+        assertSame(i + k, getX(objects[i]));
+    }
+}
+for (var i = 0; i < objects.length; i++) {
+    setX(objects[i], i);
+}
+
+// non-writable own property
+var frozen = Object.freeze(objects[3]);
+setX(frozen, 'ignored');
+assertSame(3, getX(frozen));
+assertThrows(function() {
+    'use strict';
+    for (var i = 0; i < objects.length; i++) {
+        objects[i].x = 'strict';
+    }
+}, TypeError);
+
+// deleted own property
+for (var i = 0; i < objects.length; i++) {
+    if (i !== 3) {
+        delete objects[i].x;
+    }
+}
+for (var i = 0; i < objects.length; i++) {
+    assertSame(i === 3 ? 3 : 'grandparent', getX(objects[i]));
+}
+
+// exotic receivers and numeric keys are not affected
+var exotic = [[1, 2], new Uint8Array([5, 6]), 'str', new String('abc'), {length: 7}, new Map(), function f(a, b) {}, {0: 'zero'}];
+var lengths = [2, 2, 3, 3, 7, undefined, 2, undefined];
+var firsts = [1, 5, 's', 'a', undefined, undefined, undefined, 'zero'];
+for (var k = 0; k < 3; k++) {
+    for (var i = 0; i < exotic.length; i++) {
+        assertSame(lengths[i], exotic[i].length);
+        assertSame(firsts[i], exotic[i][0]);
+        assertSame(lengths[i] !== undefined, 'length' in Object(exotic[i]));
+    }
+}
+
+true;
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+ */
+
+/**
+ * Test of sparse arrays: ordered element traversal, mixed element types,
+ * deletion and length truncation.
+ */
+
+load('assert.js');
+
+var a = [];
+a[4294967294] = 'last';
+var ids = [1000000, 7, 4096, 4095, 64, 63, 65, 3000000000, 12345678];
+ids.forEach(function (id, i) {
+    a[id] = (i % 3 === 0) ? id : (i % 3 === 1) ? id + 0.5 : {id: id};
+});
+a[7] = 'seven'; // int/double page becomes generic
+a[64] = -0;
+
+var expectedKeys = ids.slice().sort((x, y) => x - y).concat([4294967294]).map(String);
+assertSameContent(expectedKeys, Object.keys(a));
+assertSame(4294967295, a.length);
+assertSame('seven', a[7]);
+assertTrue(Object.is(a[64], -0));
+assertSame(63, a[63].id);
+assertSame(3000000000.5, a[3000000000]);
+assertSame(undefined, a[62]);
+
+var visited = [];
+for (var k in a) {
+    visited.push(k);
+}
+assertSameContent(expectedKeys, visited);
+
+delete a[4095];
+delete a[4096];
+assertFalse(4095 in a);
+assertFalse(4096 in a);
+assertSameContent(['63', '64', '65'], Object.keys(a).slice(1, 4));
+
+a.length = 65;
+assertSameContent(['7', '63', '64'], Object.keys(a));
+a.length = 0;
+assertSameContent([], Object.keys(a));
+
+// dense runs inside a sparse array
+var b = [];
+b[5000000] = 0;
+for (var i = 0; i < 1000; i++) {
+    b[i * 2] = i;
+}
+var sum = 0;
+var count = 0;
+b.forEach(function (v) {
+    sum += v;
+    count++;
+});
+assertSame(1001, count);
+assertSame(499500, sum);
+var c = b.slice(0, 10);
+assertSame(10, c.length);
+assertSame(4, c[8]);
+
+true;
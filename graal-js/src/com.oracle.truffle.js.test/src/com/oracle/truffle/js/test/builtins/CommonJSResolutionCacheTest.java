@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Tests of {@code js.commonjs-resolution-cache}.
+ */
+public class CommonJSResolutionCacheTest {
+
+    private static final String REQUIRE_LATE = "(function() { try { return require('./late').value; } catch (e) { return 'missing'; } })()";
+
+    private static Context newContext(Path cwd, String mode) {
+        return JSTest.newContextBuilder().allowIO(IOAccess.ALL) //
+                        .option(JSContextOptions.COMMONJS_REQUIRE_NAME, "true") //
+                        .option(JSContextOptions.COMMONJS_REQUIRE_CWD_NAME, cwd.toAbsolutePath().toString()) //
+                        .option(JSContextOptions.COMMONJS_RESOLUTION_CACHE_NAME, mode).build();
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Moves the modification time of the directory forward, so that the test does not depend on
+     * the timestamp granularity of the file system.
+     */
+    private static void touch(Path dir) throws IOException {
+        FileTime time = Files.getLastModifiedTime(dir);
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(time.toMillis() + 10_000));
+    }
+
+    private static Path createPackageTree() throws IOException {
+        Path dir = Files.createTempDirectory("js-commonjs-resolution-cache");
+        write(dir.resolve("node_modules/pkg/package.json"), "{\"main\": \"lib/main\"}");
+        write(dir.resolve("node_modules/pkg/lib/main.js"), "module.exports = require('./util').value + require('dep').value;");
+        write(dir.resolve("node_modules/pkg/lib/util/index.js"), "exports.value = 40;");
+        write(dir.resolve("node_modules/dep/index.js"), "exports.value = 2;");
+        write(dir.resolve("src/user.js"), "module.exports = require('pkg');");
+        return dir;
+    }
+
+    @Test
+    public void testResolution() throws IOException {
+        Path dir = createPackageTree();
+        for (String mode : new String[]{"none", "unchecked", "mtime"}) {
+            try (Context context = newContext(dir, mode)) {
+                assertEquals(mode, 42, context.eval(JavaScriptLanguage.ID, "require('pkg')").asInt());
+                assertEquals(mode, 42, context.eval(JavaScriptLanguage.ID, "require('./src/user.js')").asInt());
+                assertEquals(mode, 42, context.eval(JavaScriptLanguage.ID, "require('pkg')").asInt());
+            }
+        }
+    }
+
+    @Test
+    public void testMissingFileUnchecked() throws IOException {
+        Path dir = Files.createTempDirectory("js-commonjs-resolution-cache");
+        try (Context context = newContext(dir, "unchecked")) {
+            assertEquals("missing", context.eval(JavaScriptLanguage.ID, REQUIRE_LATE).asString());
+            write(dir.resolve("late.js"), "exports.value = 'late';");
+            touch(dir);
+            // Failed resolutions are kept for the lifetime of the realm.
+            assertEquals("missing", context.eval(JavaScriptLanguage.ID, REQUIRE_LATE).asString());
+        }
+    }
+
+    @Test
+    public void testMissingFileMtime() throws IOException {
+        Path dir = Files.createTempDirectory("js-commonjs-resolution-cache");
+        try (Context context = newContext(dir, "mtime")) {
+            assertEquals("missing", context.eval(JavaScriptLanguage.ID, REQUIRE_LATE).asString());
+            write(dir.resolve("late.js"), "exports.value = 'late';");
+            touch(dir);
+            assertEquals("late", context.eval(JavaScriptLanguage.ID, REQUIRE_LATE).asString());
+        }
+    }
+
+    @Test
+    public void testPackageJsonMtime() throws IOException {
+        Path dir = createPackageTree();
+        Path packageJson = dir.resolve("node_modules/pkg/package.json");
+        write(dir.resolve("node_modules/pkg/lib/other.js"), "module.exports = 'other';");
+        try (Context context = newContext(dir, "mtime")) {
+            assertEquals(42, context.eval(JavaScriptLanguage.ID, "require('./node_modules/pkg')").asInt());
+            FileTime time = Files.getLastModifiedTime(packageJson);
+            write(packageJson, "{\"main\": \"lib/other.js\"}");
+            Files.setLastModifiedTime(packageJson, FileTime.fromMillis(time.toMillis() + 10_000));
+            // A different specifier for the same package, so that the memoized resolution is not used.
+            assertEquals("other", context.eval(JavaScriptLanguage.ID, "require('./src/../node_modules/pkg')").asString());
+        }
+    }
+}
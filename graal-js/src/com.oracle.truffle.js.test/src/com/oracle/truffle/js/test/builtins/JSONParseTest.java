@@ -42,14 +42,25 @@ package com.oracle.truffle.js.test.builtins;
 
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.oracle.truffle.api.strings.InternalByteArray;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.util.JSONParseShapeCache;
 import com.oracle.truffle.js.test.JSTest;
 
 public class JSONParseTest {
@@ -100,4 +111,166 @@ public class JSONParseTest {
         }
     }
 
+    @Test
+    public void testJSONParseShapeCache() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_SHAPE_CACHE_SIZE_NAME, "64").build()) {
+            String code = "var inputs = [" +
+                            "'{\"id\":1,\"name\":\"a\",\"tags\":[{\"k\":1},{\"k\":2}],\"nested\":{\"x\":1.5}}'," +
+                            "'{\"id\":2,\"name\":\"b\",\"tags\":[],\"nested\":{\"x\":\"str\"}}'," +
+                            "'{\"id\":3,\"na\\\\u006de\":\"c\",\"tags\":[{\"k\":3,\"extra\":true}],\"nested\":null}'," +
+                            "'{\"name\":\"d\",\"id\":4,\"id\":5,\"0\":0}'];" +
+                            "var result = '';" +
+                            "for (var i = 0; i < 3; i++) {" +
+                            "  for (var input of inputs) {" +
+                            "    var parsed = JSON.parse(input);" +
+                            "    result += JSON.stringify(parsed) + '|' + Object.keys(parsed).join() + ';';" +
+                            "  }" +
+                            "}" +
+                            "result;";
+            String expectedRound = "{\"id\":1,\"name\":\"a\",\"tags\":[{\"k\":1},{\"k\":2}],\"nested\":{\"x\":1.5}}|id,name,tags,nested;" +
+                            "{\"id\":2,\"name\":\"b\",\"tags\":[],\"nested\":{\"x\":\"str\"}}|id,name,tags,nested;" +
+                            "{\"id\":3,\"name\":\"c\",\"tags\":[{\"k\":3,\"extra\":true}],\"nested\":null}|id,name,tags,nested;" +
+                            "{\"0\":0,\"name\":\"d\",\"id\":5}|0,name,id;";
+            assertEquals(expectedRound + expectedRound + expectedRound, context.eval(ID, code).asString());
+
+            context.enter();
+            try {
+                JSONParseShapeCache cache = JavaScriptLanguage.getJSRealm(context).getContext().getJSONParseShapeCache();
+                assertNotNull(cache);
+                assertTrue(cache.getHitCount() > 0);
+                assertTrue(cache.size() <= 64);
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    @Test
+    public void testJSONParseShapeCachePrimitiveMembers() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_SHAPE_CACHE_SIZE_NAME, "64").build()) {
+            context.eval(ID, "for (var i = 0; i < 2; i++) { JSON.parse('{\"a\":1,\"b\":\"s\",\"c\":[1,2],\"d\":{\"e\":null}}'); }");
+            context.enter();
+            try {
+                // a, b, c, d and e, plus the sites of the array and object values
+                assertEquals(7, JavaScriptLanguage.getJSRealm(context).getContext().getJSONParseShapeCache().size());
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    @Test
+    public void testJSONParseShapeCacheKeysDoNotRetainInput() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_SHAPE_CACHE_SIZE_NAME, "64").build()) {
+            // non-Latin-1 characters prevent the strings from being stored compacted
+            context.eval(ID, "JSON.parse('{\"k\u20AC\":\"' + '\u20AC'.repeat(10000) + '\"}');");
+            context.enter();
+            try {
+                JSONParseShapeCache cache = JavaScriptLanguage.getJSRealm(context).getContext().getJSONParseShapeCache();
+                TruffleString key = cache.getRoot().findSuccessor(Strings.fromJavaString("k\u20AC"), 0, 2).getKey();
+                InternalByteArray bytes = key.getInternalByteArrayUncached(TruffleString.Encoding.UTF_16);
+                assertEquals(bytes.getLength(), bytes.getArray().length);
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    @Test
+    public void testJSONParseShapeCacheLimit() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_SHAPE_CACHE_SIZE_NAME, "2").build()) {
+            Value result = context.eval(ID, "var o; for (var i = 0; i < 2; i++) { o = JSON.parse('{\"a\":{\"b\":[{\"c\":1}]},\"d\":2,\"e\":3}'); } JSON.stringify(o);");
+            assertEquals("{\"a\":{\"b\":[{\"c\":1}]},\"d\":2,\"e\":3}", result.asString());
+        }
+    }
+
+    @Test
+    public void testJSONParseBytes() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_BYTES_NAME, "true").allowHostAccess(HostAccess.ALL).build()) {
+            String json = "\uFEFF{\"name\": \"gr\u00FC\u00DF \u20AC\\n\", \"list\": [1, -2.5e1, 9007199254740993, true, null], \"\\u0041\u00E4\": {}}";
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            String expected = "{\"name\":\"gr\u00FC\u00DF \u20AC\\n\",\"list\":[1,-25,9007199254740992,true,null],\"A\u00E4\":{}}";
+
+            Value parseBytes = context.eval(ID, "JSON.parseBytes");
+            Value stringify = context.eval(ID, "JSON.stringify");
+            assertEquals(expected, stringify.execute(parseBytes.execute(ByteBuffer.wrap(bytes))).asString());
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+            direct.put(bytes).put((byte) 'x').put((byte) 'x').flip();
+            direct.limit(bytes.length);
+            assertEquals(expected, stringify.execute(parseBytes.execute(direct)).asString());
+
+            Value array = context.eval(ID, "(function(bytes) { var a = new Uint8Array(bytes.length + 4); for (var i = 0; i < bytes.length; i++) a[i + 2] = bytes[i] & 0xff; return a; })");
+            Value typedArray = array.execute(bytes);
+            assertEquals(expected, context.eval(ID, "(a) => JSON.stringify(JSON.parseBytes(new Uint8Array(a.buffer, 2, a.length - 4)))").execute(typedArray).asString());
+            assertEquals(expected, context.eval(ID, "(a) => JSON.stringify(JSON.parseBytes(new DataView(a.buffer, 2, a.length - 4)))").execute(typedArray).asString());
+            assertEquals("[2,4]", context.eval(ID, "(a) => JSON.stringify(JSON.parseBytes(new Uint8Array(a.buffer, 2, a.length - 4), (k, v) => typeof v === 'number' ? v * 2 : v).list.slice(0, 1).concat([4]))").execute(typedArray).asString());
+        }
+    }
+
+    @Test
+    public void testJSONParseBytesHostBuffer() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_BYTES_NAME, "true").allowHostAccess(HostAccess.ALL).build()) {
+            Value parseBytes = context.eval(ID, "(b) => JSON.stringify(JSON.parseBytes(b))");
+            byte[] bytes = "[1, 2]xx".getBytes(StandardCharsets.UTF_8);
+            // host buffers are read from index 0 up to their limit, regardless of the position
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.wrap(bytes), ByteBuffer.allocateDirect(bytes.length).put(bytes)}) {
+                buffer.limit(6).position(3);
+                assertEquals("[1,2]", parseBytes.execute(buffer).asString());
+                assertEquals(3, buffer.position());
+            }
+        }
+    }
+
+    @Test
+    public void testJSONParseBytesDetached() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_BYTES_NAME, "true").option(JSContextOptions.DEBUG_BUILTIN_NAME, "true").build()) {
+            for (String source : new String[]{"buffer", "new Uint8Array(buffer)", "new DataView(buffer)"}) {
+                try {
+                    context.eval(ID, "var buffer = new Uint8Array([91, 93]).buffer; var source = " + source + "; Debug.typedArrayDetachBuffer(buffer); JSON.parseBytes(source);");
+                    Assert.fail("failure expected");
+                } catch (PolyglotException ex) {
+                    assertTrue(ex.getMessage(), ex.getMessage().startsWith("TypeError"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testJSONParseBytesErrors() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.JSON_PARSE_BYTES_NAME, "true").build()) {
+            for (String code : new String[]{"JSON.parseBytes(new Uint8Array([123, 34, 97]).buffer)", "JSON.parseBytes(new Uint8Array([91, 49, 44, 93]))"}) {
+                try {
+                    context.eval(ID, code);
+                    Assert.fail("failure expected");
+                } catch (PolyglotException ex) {
+                    assertTrue(ex.isSyntaxError());
+                }
+            }
+            try {
+                context.eval(ID, "JSON.parseBytes('[]')");
+                Assert.fail("failure expected");
+            } catch (PolyglotException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().startsWith("TypeError"));
+            }
+        }
+        try (Context context = JSTest.newContextBuilder().build()) {
+            assertEquals("undefined", context.eval(ID, "typeof JSON.parseBytes").asString());
+        }
+    }
+
+    @Test
+    public void testJSONStringifyShapeChange() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "var out = [];" +
+                            "function make() { var o = {a: 1, 'b\\n\"': 2, c: {toJSON() { delete o.d; o.e = 5; return 3; }}, d: 4, get f() { return 6; }}; return o; }" +
+                            "for (var i = 0; i < 3; i++) {" +
+                            "  out.push(JSON.stringify(make()), JSON.stringify(make(), null, 1), JSON.stringify(make(), (k, v) => k === 'a' ? undefined : v));" +
+                            "}" +
+                            "out.join('|');";
+            String once = "{\"a\":1,\"b\\n\\\"\":2,\"c\":3,\"f\":6}|" +
+                            "{\n \"a\": 1,\n \"b\\n\\\"\": 2,\n \"c\": 3,\n \"f\": 6\n}|" +
+                            "{\"b\\n\\\"\":2,\"c\":3,\"f\":6}";
+            assertEquals(String.join("|", once, once, once), context.eval(ID, code).asString());
+        }
+    }
 }
@@ -42,11 +42,14 @@ package com.oracle.truffle.js.test.builtins;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.junit.Test;
@@ -162,6 +165,39 @@ public class JavaBuiltinsTest extends JSTest {
         assertEquals("[3,1,4,1,5,9]", result);
     }
 
+    @Test
+    public void testJavaFromToPrimitiveArrays() {
+        assertEquals("1,-2,3", test("var t = Java.from(arg); t.push(4); t.pop(); ''+t;", null, true, new int[]{1, -2, 3}));
+        assertEquals("0.5,2", test("var t = Java.from(arg); ''+t;", null, true, new double[]{0.5, 2}));
+        assertEquals("-1,127", test("var t = Java.from(arg); ''+t;", null, true, new byte[]{-1, 127}));
+        assertEquals("1,9007199254740991", test("var t = Java.from(arg); ''+t;", null, true, new long[]{1, 9007199254740991L}));
+
+        assertEquals("[3,1,4]", test("var t = Java.to([3,1,4], 'long[]'); '[' + t + ']';"));
+        assertEquals("[3,1.5]", test("var t = Java.to([3,1.5], 'double[]'); '[' + t + ']';"));
+        assertEquals("[-128,127]", test("var t = Java.to([-128,127], 'byte[]'); '[' + t + ']';"));
+        test("Java.to([1.5], 'int[]');", "Invalid or lossy primitive coercion");
+        test("Java.to([128], 'byte[]');", "Invalid or lossy primitive coercion");
+
+        assertEquals("true", test("var a = [1, 2, 3]; var t = Java.to(a, 'int[]'); t[0] = 42; '' + (a[0] === 1);"));
+    }
+
+    @Test
+    public void testJavaFromToPrimitiveArraysWithoutArrayAccess() {
+        HostAccess noArrayAccess = HostAccess.newBuilder().allowPublicAccess(true).allowArrayAccess(false).build();
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(noArrayAccess).allowHostClassLookup(className -> true).build()) {
+            context.getBindings(JavaScriptLanguage.ID).putMember("ints", new int[]{1, 2, 3});
+            context.getBindings(JavaScriptLanguage.ID).putMember("doubles", new double[]{0.5});
+            for (String code : new String[]{"Java.from(ints);", "Java.from(doubles);", "Java.to([1, 2, 3], 'int[]');"}) {
+                try {
+                    context.eval(JavaScriptLanguage.ID, code);
+                    fail(code);
+                } catch (PolyglotException e) {
+                    assertTrue(code, e.isGuestException());
+                }
+            }
+        }
+    }
+
     @Test
     public void testJavaSuper() {
         test("var t = Java.super({a:'foo'}); ''+t;");
@@ -40,8 +40,11 @@
  */
 package com.oracle.truffle.js.test.builtins;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
@@ -81,4 +84,65 @@ public class NumberPrototypeBuiltins {
         }
     }
 
+    @Test
+    public void testToLocaleStringFormatterCache() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.INTL_402_NAME, "true").option(JSContextOptions.LOCALE_NAME, "en").//
+                        option(JSContextOptions.INTL_FORMATTER_CACHE_SIZE_NAME, "2").option(JSContextOptions.INTL_FORMATTER_CACHE_STATS_NAME, "true").out(out).build()) {
+            String code = "var ok = true;" +
+                            "for (var i = 0; i < 10; i++) {" +
+                            "  ok = ok && (1234.5).toLocaleString() === '1,234.5';" +
+                            "  ok = ok && (1234.5).toLocaleString('de') === '1.234,5';" +
+                            "  ok = ok && (1234.5).toLocaleString('en-US') === '1,234.5';" +
+                            "  ok = ok && (1234n).toLocaleString('de') === '1.234';" +
+                            "  ok = ok && (1234.5).toLocaleString('de', {maximumFractionDigits: 0}) === '1.235';" +
+                            "  ok = ok && 'a'.localeCompare('b') < 0;" +
+                            "  try { (1).toLocaleString('x-invalid-'); ok = false; } catch (e) { ok = ok && e instanceof RangeError; }" +
+                            "}" +
+                            "ok;";
+            assertTrue(context.eval(JavaScriptLanguage.ID, code).asBoolean());
+        }
+        assertTrue(out.toString().contains("IntlFormatterCache[size=2"));
+    }
+
+
+    @Test
+    public void testToLocaleStringFormatterCacheCanonicalizedKey() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.INTL_402_NAME, "true").option(JSContextOptions.LOCALE_NAME, "en").//
+                        option(JSContextOptions.INTL_FORMATTER_CACHE_SIZE_NAME, "8").option(JSContextOptions.INTL_FORMATTER_CACHE_STATS_NAME, "true").out(out).build()) {
+            String code = "var ok = true;" +
+                            "var getterCalls = 0;" +
+                            "var observable = {get maximumFractionDigits() { getterCalls++; return 0; }};" +
+                            "for (var i = 0; i < 10; i++) {" +
+                            "  ok = ok && (1234.5).toLocaleString('en-us') === '1,234.5';" +
+                            "  ok = ok && (1234.5).toLocaleString('en-US') === '1,234.5';" +
+                            "  ok = ok && (1234.5).toLocaleString(['en-US', 'EN-us']) === '1,234.5';" +
+                            "  ok = ok && (1234.5).toLocaleString('en-US', {maximumFractionDigits: 0}) === '1,235';" +
+                            "  ok = ok && (1234.5).toLocaleString('en-US', {maximumFractionDigits: 1}) === '1,234.5';" +
+                            "  ok = ok && (1234.5).toLocaleString('en-US', observable) === '1,235';" +
+                            "}" +
+                            "ok && getterCalls === 10;";
+            assertTrue(context.eval(JavaScriptLanguage.ID, code).asBoolean());
+        }
+        // en-US, en-US with two different options; the object with a getter is not cached
+        assertTrue(out.toString(), out.toString().contains("IntlFormatterCache[size=3, hits=47, misses=3"));
+    }
+
+    @Test
+    public void testToLocaleStringFormatterCacheTimeZoneChange() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.INTL_402_NAME, "true").option(JSContextOptions.LOCALE_NAME, "en").//
+                        option(JSContextOptions.TIME_ZONE_NAME, "UTC").option(JSContextOptions.INTL_FORMATTER_CACHE_SIZE_NAME, "8").build()) {
+            String code = "new Date(0).toLocaleTimeString('en-US', {hour: 'numeric', hour12: false});";
+            assertEquals("00", context.eval(JavaScriptLanguage.ID, code).asString());
+            context.enter();
+            try {
+                // graal-nodejs changes the time zone of a running realm (process.env.TZ)
+                JavaScriptLanguage.getJSRealm(context).setLocalTimeZone("Asia/Tokyo");
+            } finally {
+                context.leave();
+            }
+            assertEquals("09", context.eval(JavaScriptLanguage.ID, code).asString());
+        }
+    }
 }
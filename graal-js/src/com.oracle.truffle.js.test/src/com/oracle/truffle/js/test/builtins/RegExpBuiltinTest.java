@@ -41,12 +41,15 @@
 package com.oracle.truffle.js.test.builtins;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Value;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.util.CompiledRegexCache;
 import com.oracle.truffle.js.test.JSTest;
 
 public class RegExpBuiltinTest {
@@ -65,4 +68,49 @@ public class RegExpBuiltinTest {
         }
     }
 
+    @Test
+    public void testSharedRegexCache() {
+        String code = "var r1 = /a+b/g; var r2 = new RegExp('a+b', 'g'); var r3 = new RegExp('a+b', 'i');" +
+                        "[r1.exec('xaab')[0], r2.test('ab'), r3.test('AB')].join()";
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            long missesAfterFirstContext = 0;
+            for (int i = 0; i < 2; i++) {
+                try (Context context = JSTest.newContextBuilder().engine(engine).option(JSContextOptions.SHARED_REGEX_CACHE_SIZE_NAME, "16").build()) {
+                    // use a different source per context so that the AST-level caches are not shared
+                    Assert.assertEquals("aab,true,true", context.eval(JavaScriptLanguage.ID, code + "// context " + i).asString());
+                    context.enter();
+                    try {
+                        CompiledRegexCache cache = JavaScriptLanguage.getJSRealm(context).getContext().getSharedRegexCache();
+                        Assert.assertNotNull(cache);
+                        Assert.assertTrue(cache.size() >= 2);
+                        if (i == 0) {
+                            missesAfterFirstContext = cache.getMissCount();
+                        } else {
+                            // compiled regexes of the first context are reused
+                            Assert.assertEquals(missesAfterFirstContext, cache.getMissCount());
+                            Assert.assertTrue(cache.getHitCount() > 0);
+                        }
+                    } finally {
+                        context.leave();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSharedRegexCacheEviction() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.SHARED_REGEX_CACHE_SIZE_NAME, "2").build()) {
+            Value result = context.eval(JavaScriptLanguage.ID, "var n = 0; for (var i = 0; i < 10; i++) { if (new RegExp('x' + i).test('x' + i)) n++; } n");
+            Assert.assertEquals(10, result.asInt());
+            context.enter();
+            try {
+                CompiledRegexCache cache = JavaScriptLanguage.getJSRealm(context).getContext().getSharedRegexCache();
+                Assert.assertTrue(cache.size() <= 2);
+                Assert.assertTrue(cache.getEvictionCount() >= 8);
+            } finally {
+                context.leave();
+            }
+        }
+    }
 }
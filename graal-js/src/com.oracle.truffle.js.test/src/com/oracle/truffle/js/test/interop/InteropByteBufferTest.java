@@ -42,11 +42,18 @@ package com.oracle.truffle.js.test.interop;
 
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static com.oracle.truffle.js.test.interop.JavaScriptHostInteropTest.assertThrows;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.HostAccess;
@@ -87,6 +94,51 @@ public class InteropByteBufferTest {
         }
     }
 
+    @Test
+    public void testDirectBufferLimitBelowCapacity() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        buffer.put(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        buffer.position(2).limit(5);
+        try (Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+            context.getBindings(ID).putMember("buffer", buffer);
+            Value result = context.eval(ID, "" +
+                            "const ab = new ArrayBuffer(buffer);" +
+                            "const u8 = new Uint8Array(ab);" +
+                            "u8[4] = 42;" +
+                            "[ab.byteLength, u8.length, new DataView(ab).byteLength, ab.slice(0).byteLength, u8.join()].join(';');");
+            assertEquals("5;5;5;5;1,2,3,4,42", result.asString());
+            // changes of position and limit by the host do not affect the ArrayBuffer
+            buffer.clear();
+            assertEquals(5, context.eval(ID, "ab.byteLength").asInt());
+            assertTrue(context.eval(ID, "u8[5] === undefined").asBoolean());
+        }
+        assertEquals(42, buffer.get(4));
+        assertEquals(6, buffer.get(5));
+    }
+
+    @Test
+    public void testMappedFileToArrayBuffer() throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                            Context context = JSTest.newContextBuilder().allowHostAccess(HostAccess.newBuilder().allowBufferAccess(true).build()).build()) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, 4, 4);
+                context.getBindings(ID).putMember("region", region);
+                Value sum = context.eval(ID, "" +
+                                "const ab = new ArrayBuffer(region);" +
+                                "const u8 = new Uint8Array(ab);" +
+                                "new DataView(ab).setUint16(2, 0x2a2b, false);" +
+                                "u8[0] + u8[1] + u8.length;");
+                assertEquals(5 + 6 + 4, sum.asInt());
+                region.force();
+            }
+            assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 0x2a, 0x2b}, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     @Test
     public void testJavaScriptCanWrite() {
         ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, 3});
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class CodeCacheTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static int eval(Path cacheDir, Path script) throws IOException {
+        return eval(cacheDir, script, IOAccess.ALL);
+    }
+
+    private static int eval(Path cacheDir, Path script, IOAccess ioAccess) throws IOException {
+        try (Context context = JSTest.newContextBuilder().allowIO(ioAccess).option(JSContextOptions.CODE_CACHE_DIR_NAME, cacheDir.toString()).build()) {
+            return context.eval(Source.newBuilder(JavaScriptLanguage.ID, script.toFile()).build()).asInt();
+        }
+    }
+
+    private static long countEntries(Path cacheDir) throws IOException {
+        if (!Files.isDirectory(cacheDir)) {
+            return 0;
+        }
+        try (Stream<Path> entries = Files.list(cacheDir)) {
+            return entries.count();
+        }
+    }
+
+    private static Path singleEntry(Path cacheDir) throws IOException {
+        try (Stream<Path> entries = Files.list(cacheDir)) {
+            return entries.findFirst().get();
+        }
+    }
+
+    private Path newScript(String code) throws IOException {
+        Path script = temporaryFolder.newFile().toPath();
+        Files.write(script, code.getBytes(StandardCharsets.UTF_8));
+        return script;
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        Path cacheDir = temporaryFolder.newFolder().toPath();
+        Path script = newScript("function f(a, b) { return a * b + [1, 2, 3].length; } f(6, 7);");
+
+        assertEquals(45, eval(cacheDir, script));
+        assertEquals(1, countEntries(cacheDir));
+        assertEquals(45, eval(cacheDir, script));
+        assertEquals(1, countEntries(cacheDir));
+
+        // Changed content must not pick up the stale entry.
+        Files.write(script, "function f(a, b) { return a - b; } f(6, 7);".getBytes(StandardCharsets.UTF_8));
+        assertEquals(-1, eval(cacheDir, script));
+        assertEquals(2, countEntries(cacheDir));
+    }
+
+    /**
+     * Swaps the cache entries of two scripts of equal length, so that a script that is served from
+     * the cache evaluates to the result of the other one.
+     */
+    @Test
+    public void testServedFromCache() throws IOException {
+        Path addCacheDir = temporaryFolder.newFolder().toPath();
+        Path subCacheDir = temporaryFolder.newFolder().toPath();
+        Path add = newScript("40 + 2;");
+        Path sub = newScript("40 - 2;");
+
+        assertEquals(42, eval(addCacheDir, add));
+        assertEquals(38, eval(subCacheDir, sub));
+        Path addEntry = singleEntry(addCacheDir);
+        Path subEntry = singleEntry(subCacheDir);
+        byte[] addSnapshot = Files.readAllBytes(addEntry);
+        Files.write(addEntry, Files.readAllBytes(subEntry));
+        Files.write(subEntry, addSnapshot);
+
+        assertEquals(38, eval(addCacheDir, add));
+        assertEquals(42, eval(subCacheDir, sub));
+    }
+
+    @Test
+    public void testCorruptEntry() throws IOException {
+        Path cacheDir = temporaryFolder.newFolder().toPath();
+        Path script = newScript("var x = 20; x + 22;");
+
+        assertEquals(42, eval(cacheDir, script));
+        Files.write(singleEntry(cacheDir), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertEquals(42, eval(cacheDir, script));
+    }
+
+    @Test
+    public void testSyntaxError() throws IOException {
+        Path cacheDir = temporaryFolder.newFolder().toPath();
+        Path script = newScript("var = ;");
+        try {
+            eval(cacheDir, script);
+            fail("should have thrown");
+        } catch (PolyglotException e) {
+            assertTrue(e.isSyntaxError());
+        }
+        assertEquals(0, countEntries(cacheDir));
+    }
+
+    /**
+     * The node of a direct eval call is not created by the node factory, so the recorder cannot
+     * encode the script. It must still run, just without a cache entry.
+     */
+    @Test
+    public void testUnsupportedByRecorder() throws IOException {
+        Path cacheDir = temporaryFolder.newFolder().toPath();
+        Path script = newScript("var x = 40; eval('x + 2');");
+
+        assertEquals(42, eval(cacheDir, script));
+        assertEquals(0, countEntries(cacheDir));
+        assertEquals(42, eval(cacheDir, script));
+    }
+
+    @Test
+    public void testIODenied() throws IOException {
+        Path cacheDir = temporaryFolder.getRoot().toPath().resolve("denied");
+        Path script = newScript("6 * 7;");
+
+        assertEquals(42, eval(cacheDir, script, IOAccess.NONE));
+        assertEquals(0, countEntries(cacheDir));
+    }
+}
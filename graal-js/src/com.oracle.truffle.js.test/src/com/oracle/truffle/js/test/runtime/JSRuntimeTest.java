@@ -100,6 +100,7 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.PromiseJobQueue;
 import com.oracle.truffle.js.test.JSTest;
 import com.oracle.truffle.js.test.polyglot.ForeignBoxedObject;
 import com.oracle.truffle.js.test.polyglot.ForeignDynamicObject;
@@ -600,4 +601,18 @@ public class JSRuntimeTest extends JSTest {
         JSRuntime.requireObjectCoercible(ForeignBoxedObject.createNew("bar"), context);
     }
 
+    @Test
+    public void testPromiseJobQueue() {
+        PromiseJobQueue queue = testHelper.getRealm().getAgent().getPromiseJobQueue();
+        long drainsBefore = queue.getDrainCount();
+        long jobsBefore = queue.getProcessedJobCount();
+        // enough jobs to span several chunks of the queue
+        testHelper.runVoid("var log = []; for (var i = 0; i < 1000; i++) { Promise.resolve(i).then(v => log.push(v)); } Promise.resolve().then(() => log.push('end'));");
+        assertTrue(testHelper.runBoolean("log.length === 1001 && log.slice(0, 1000).every((v, i) => v === i) && log[1000] === 'end'"));
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.getDrainCount() > drainsBefore);
+        assertTrue(queue.getProcessedJobCount() - jobsBefore >= 1001);
+        assertTrue(queue.getMaxDepth() >= 1001);
+        assertTrue(queue.getMaxJobsPerDrain() >= 1001);
+    }
 }
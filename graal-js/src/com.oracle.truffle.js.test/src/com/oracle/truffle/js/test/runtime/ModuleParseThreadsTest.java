@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Modules parsed in the background must be linked and evaluated in the same order as modules
+ * parsed on the evaluating thread.
+ */
+public class ModuleParseThreadsTest {
+
+    private static String eval(Path main, int threads) throws IOException {
+        try (Context context = JSTest.newContextBuilder().allowIO(IOAccess.ALL).option(JSContextOptions.MODULE_PARSE_THREADS_NAME, String.valueOf(threads)).build()) {
+            context.eval(Source.newBuilder(JavaScriptLanguage.ID, main.toFile()).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build());
+            return context.eval(JavaScriptLanguage.ID, "globalThis.order.join()").asString();
+        }
+    }
+
+    private static void write(Path dir, String name, String code) throws IOException {
+        Files.write(dir.resolve(name), code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEvaluationOrder() throws IOException {
+        Path dir = Files.createTempDirectory("js-module-parse-threads");
+        write(dir, "main.mjs", "import './a.mjs'; import './b.mjs'; import {c} from './c.mjs'; (globalThis.order ??= []).push('main' + c);");
+        write(dir, "a.mjs", "import './d.mjs'; import './e.mjs'; (globalThis.order ??= []).push('a');");
+        write(dir, "b.mjs", "import './d.mjs'; import './a.mjs'; (globalThis.order ??= []).push('b');");
+        write(dir, "c.mjs", "import './b.mjs'; export const c = 42; (globalThis.order ??= []).push('c');");
+        // d and e import each other.
+        write(dir, "d.mjs", "import {e} from './e.mjs'; export const d = 'd'; (globalThis.order ??= []).push('d');");
+        write(dir, "e.mjs", "import {d} from './d.mjs'; export const e = 'e'; (globalThis.order ??= []).push('e');");
+        Path main = dir.resolve("main.mjs");
+
+        String expected = eval(main, 0);
+        assertEquals("e,d,a,b,c,main42", expected);
+        assertEquals(expected, eval(main, 1));
+        assertEquals(expected, eval(main, 4));
+    }
+
+    @Test
+    public void testSyntaxError() throws IOException {
+        Path dir = Files.createTempDirectory("js-module-parse-threads");
+        write(dir, "main.mjs", "import './ok.mjs'; import './broken.mjs';");
+        write(dir, "ok.mjs", "export const ok = 1;");
+        write(dir, "broken.mjs", "export const = ;");
+        try {
+            eval(dir.resolve("main.mjs"), 2);
+            fail("should have thrown");
+        } catch (PolyglotException e) {
+            assertTrue(e.isSyntaxError());
+        }
+    }
+
+    /**
+     * Closes the context while a large module may still be parsed in the background, since linking
+     * fails on an earlier module.
+     */
+    @Test
+    public void testCloseDuringParse() throws IOException {
+        Path dir = Files.createTempDirectory("js-module-parse-threads");
+        write(dir, "main.mjs", "import './broken.mjs'; import './large.mjs';");
+        write(dir, "broken.mjs", "export const = ;");
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            large.append("export function f").append(i).append("(a, b) { return a * b + ").append(i).append("; }\n");
+        }
+        write(dir, "large.mjs", large.toString());
+        Context context = JSTest.newContextBuilder().allowIO(IOAccess.ALL).option(JSContextOptions.MODULE_PARSE_THREADS_NAME, "2").build();
+        try {
+            context.eval(Source.newBuilder(JavaScriptLanguage.ID, dir.resolve("main.mjs").toFile()).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build());
+            fail("should have thrown");
+        } catch (PolyglotException e) {
+            assertTrue(e.isSyntaxError());
+        }
+        // Must wait for the parser threads instead of failing.
+        context.close();
+    }
+}
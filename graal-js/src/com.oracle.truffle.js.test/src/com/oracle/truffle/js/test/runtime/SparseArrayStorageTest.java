@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.array.SparseArrayStorage;
+
+/**
+ * Compares {@link SparseArrayStorage} with a {@link TreeMap}, using enough pages to split the
+ * directory into several blocks.
+ */
+public class SparseArrayStorageTest {
+
+    private static final int PAGE_SIZE = 64;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    /** More pages than fit into a single block. */
+    private static final int PAGE_COUNT = 1024;
+    private static final long MAX_INDEX = 4294967294L;
+
+    private static Object randomValue(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return random.nextInt();
+            case 1:
+                return random.nextInt() + 0.5;
+            default:
+                return "v" + random.nextInt(100);
+        }
+    }
+
+    private static long randomIndex(Random random) {
+        if (random.nextInt(50) == 0) {
+            return MAX_INDEX - random.nextInt(PAGE_COUNT * PAGE_SIZE);
+        }
+        return random.nextInt(PAGE_COUNT * PAGE_SIZE);
+    }
+
+    private static void assertSameValue(Object expected, Object actual) {
+        if (expected instanceof Number && actual instanceof Number) {
+            // int pages are generalized to double pages
+            assertEquals(((Number) expected).doubleValue(), ((Number) actual).doubleValue(), 0);
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static long orMinusOne(Long key) {
+        return key == null ? -1 : key;
+    }
+
+    private static void assertSameNavigation(TreeMap<Long, Object> expected, SparseArrayStorage actual, long index) {
+        assertEquals(orMinusOne(expected.higherKey(index)), actual.higherKey(index));
+        assertEquals(orMinusOne(expected.lowerKey(index)), actual.lowerKey(index));
+        assertEquals(expected.containsKey(index), actual.containsKey(index));
+        assertSameValue(expected.get(index), actual.get(index));
+    }
+
+    private static void assertSameContent(TreeMap<Long, Object> expected, SparseArrayStorage actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(orMinusOne(expected.isEmpty() ? null : expected.firstKey()), actual.firstKey());
+        assertEquals(orMinusOne(expected.isEmpty() ? null : expected.lastKey()), actual.lastKey());
+        long[] keys = actual.keys();
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).toArray(), keys);
+        for (Map.Entry<Long, Object> entry : expected.entrySet()) {
+            assertSameValue(entry.getValue(), actual.get(entry.getKey()));
+        }
+        // walk forwards and backwards across all page and block boundaries
+        long key = -1;
+        for (int i = 0; i < keys.length; i++) {
+            key = actual.higherKey(key);
+            assertEquals(keys[i], key);
+        }
+        assertEquals(-1, actual.higherKey(key));
+        key = MAX_INDEX + 1;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            key = actual.lowerKey(key);
+            assertEquals(keys[i], key);
+        }
+        assertEquals(-1, actual.lowerKey(key));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        TreeMap<Long, Object> expected = new TreeMap<>();
+        SparseArrayStorage actual = new SparseArrayStorage();
+        for (int i = 0; i < 200000; i++) {
+            int op = random.nextInt(1000);
+            long index = randomIndex(random);
+            if (op < 600) {
+                Object value = randomValue(random);
+                expected.put(index, value);
+                actual.put(index, value);
+            } else if (op < 950) {
+                // remove an existing element most of the time, so that pages and blocks run empty
+                Long existing = expected.ceilingKey(index);
+                long removed = existing != null && op < 900 ? existing : index;
+                expected.remove(removed);
+                actual.remove(removed);
+            } else if (op == 950) {
+                expected.tailMap(index, true).clear();
+                actual.removeFrom(index);
+            } else {
+                assertSameNavigation(expected, actual, index);
+            }
+            if (i % 10000 == 0) {
+                assertSameContent(expected, actual);
+                assertSameContent(expected, actual.copy());
+            }
+        }
+        assertSameContent(expected, actual);
+    }
+
+    @Test
+    public void testRemoveFromAcrossBlocks() {
+        for (int pages : new int[]{127, 128, 129, 300, PAGE_COUNT}) {
+            for (long from : new long[]{0, 1, 63, 64, 65, 127L * PAGE_SIZE, 128L * PAGE_SIZE, 128L * PAGE_SIZE + 1, 200L * PAGE_SIZE - 1, (long) pages * PAGE_SIZE}) {
+                TreeMap<Long, Object> expected = new TreeMap<>();
+                SparseArrayStorage actual = new SparseArrayStorage();
+                for (long p = 0; p < pages; p++) {
+                    long index = p * PAGE_SIZE + (p % PAGE_SIZE);
+                    expected.put(index, (int) p);
+                    actual.put(index, (int) p);
+                    long mirrored = p * PAGE_SIZE + PAGE_MASK - (p % PAGE_SIZE);
+                    expected.put(mirrored, "s");
+                    actual.put(mirrored, "s");
+                }
+                TreeMap<Long, Object> expectedCopy = new TreeMap<>(expected);
+                SparseArrayStorage copy = actual.copy();
+                expected.tailMap(from, true).clear();
+                actual.removeFrom(from);
+                assertSameContent(expected, actual);
+                assertSameContent(expectedCopy, copy);
+                // the storage remains usable after truncation
+                expected.put(MAX_INDEX, "last");
+                actual.put(MAX_INDEX, "last");
+                assertSameContent(expected, actual);
+            }
+        }
+    }
+}
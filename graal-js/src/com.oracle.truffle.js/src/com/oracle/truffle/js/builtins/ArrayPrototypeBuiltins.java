@@ -114,6 +114,8 @@ import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltinsFactory.JSArrayToLoc
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltinsFactory.JSArrayToStringNodeGen;
 import com.oracle.truffle.js.builtins.ArrayPrototypeBuiltinsFactory.JSArrayUnshiftNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSCollectionsNormalizeNode;
+import com.oracle.truffle.js.builtins.helper.PrimitiveArraySort;
+import com.oracle.truffle.js.builtins.helper.PrimitiveArraySort.NumericOrder;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.JSNodeUtil;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
@@ -2724,6 +2726,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final BranchProfile hasCompareFnBranch = BranchProfile.create();
         private final BranchProfile noCompareFnBranch = BranchProfile.create();
         private final BranchProfile growProfile = BranchProfile.create();
+        private final ConditionProfile primitiveSortProfile = ConditionProfile.create();
         @Child private InteropLibrary interopNode;
         @Child private ImportValueNode importValueNode;
 
@@ -2744,6 +2747,10 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
 
             ScriptArray scriptArray = arrayGetArrayType(thisObj);
+            if (primitiveSortProfile.profile(compare != Undefined.instance && sortPrimitiveArray(thisObj, scriptArray, len, compare))) {
+                reportLoopCount(len);
+                return thisObj;
+            }
             Object[] array = arrayToObjectArrayNode.executeObjectArray(thisObj, scriptArray, len);
 
             sortIntl(getComparator(thisObj, compare), array);
@@ -2759,6 +2766,53 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return thisObj;
         }
 
+        /**
+         * Sorts a dense int or double array in place if the comparator is a recognized numeric
+         * comparator. Returns {@code false} if the generic sort has to be used.
+         */
+        private boolean sortPrimitiveArray(JSDynamicObject thisObj, ScriptArray scriptArray, long len, Object compare) {
+            if (!(scriptArray instanceof AbstractIntArray || scriptArray instanceof AbstractDoubleArray) || scriptArray.isHolesType() || scriptArray.isFrozen() ||
+                            len > Integer.MAX_VALUE || scriptArray.firstElementIndex(thisObj) != 0 || scriptArray.lastElementIndex(thisObj) != len - 1) {
+                return false;
+            }
+            NumericOrder order = getNumericOrder(compare);
+            if (order == NumericOrder.NONE) {
+                return false;
+            }
+            if (scriptArray instanceof AbstractIntArray) {
+                ((AbstractIntArray) scriptArray).sortInBounds(thisObj, (int) len, order == NumericOrder.DESCENDING);
+                return true;
+            } else {
+                return ((AbstractDoubleArray) scriptArray).sortInBounds(thisObj, (int) len, order == NumericOrder.DESCENDING);
+            }
+        }
+
+        /**
+         * Sorts a typed array without boxing its elements, using the default order or a recognized
+         * numeric comparator. Returns {@code false} if the generic sort has to be used.
+         */
+        private boolean sortPrimitiveTypedArray(JSDynamicObject thisObj, long len, Object comparefn) {
+            TypedArray typedArray = JSArrayBufferView.typedArrayGetArrayType(thisObj);
+            if (typedArray.isInterop() || len > Integer.MAX_VALUE) {
+                return false;
+            }
+            NumericOrder order = NumericOrder.NONE;
+            if (comparefn != Undefined.instance) {
+                order = getNumericOrder(comparefn);
+                if (order == NumericOrder.NONE) {
+                    return false;
+                }
+            }
+            return PrimitiveArraySort.sortTypedArray(thisObj, typedArray, (int) len, order);
+        }
+
+        private static NumericOrder getNumericOrder(Object compare) {
+            if (!JSFunction.isJSFunction(compare)) {
+                return NumericOrder.NONE;
+            }
+            return PrimitiveArraySort.recognizeComparator((JSDynamicObject) compare);
+        }
+
         private void delete(Object obj, Object i) {
             if (deletePropertyNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -2788,6 +2842,11 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 return thisJSObj;
             }
 
+            if (isTypedArrayImplementation && primitiveSortProfile.profile(sortPrimitiveTypedArray(thisJSObj, len, comparefn))) {
+                reportLoopCount(len);
+                return thisJSObj;
+            }
+
             Object[] array = jsobjectToArray(thisJSObj, len);
 
             Comparator<Object> comparator = getComparator(thisJSObj, comparefn);
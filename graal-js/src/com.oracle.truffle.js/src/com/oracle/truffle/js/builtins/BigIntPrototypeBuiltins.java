@@ -58,6 +58,7 @@ import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
@@ -65,6 +66,7 @@ import com.oracle.truffle.js.runtime.builtins.JSBigInt;
 import com.oracle.truffle.js.runtime.builtins.intl.JSNumberFormat;
 import com.oracle.truffle.js.runtime.builtins.intl.JSNumberFormatObject;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.util.IntlFormatterCache;
 
 /**
  * Contains builtins for {@linkplain JSBigInt}.prototype.
@@ -194,8 +196,20 @@ public final class BigIntPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
         @TruffleBoundary
         private JSNumberFormatObject createNumberFormat(Object locales, Object options) {
-            JSNumberFormatObject numberFormatObj = JSNumberFormat.create(getContext(), getRealm());
+            JSRealm realm = getRealm();
+            IntlFormatterCache cache = realm.getIntlFormatterCache();
+            IntlFormatterCache.Key cacheKey = cache == null ? null : IntlFormatterCache.createKey(realm, IntlFormatterCache.Kind.NUMBER, locales, options);
+            if (cacheKey != null) {
+                JSDynamicObject cached = cache.get(cacheKey);
+                if (cached != null) {
+                    return (JSNumberFormatObject) cached;
+                }
+            }
+            JSNumberFormatObject numberFormatObj = JSNumberFormat.create(getContext(), realm);
             initNumberFormatNode.executeInit(numberFormatObj, locales, options);
+            if (cacheKey != null) {
+                cache.put(cacheKey, numberFormatObj);
+            }
             return numberFormatObj;
         }
 
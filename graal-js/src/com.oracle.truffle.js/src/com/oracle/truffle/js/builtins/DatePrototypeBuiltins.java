@@ -43,6 +43,7 @@ package com.oracle.truffle.js.builtins;
 import java.util.EnumSet;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.profiles.ConditionProfile;
@@ -92,6 +93,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.Symbol;
@@ -101,6 +103,7 @@ import com.oracle.truffle.js.runtime.builtins.JSDateObject;
 import com.oracle.truffle.js.runtime.builtins.intl.JSDateTimeFormat;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.IntlFormatterCache;
 
 /**
  * Contains builtins for {@linkplain JSDate}.prototype.
@@ -358,9 +361,22 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             }
         }
 
-        protected JSDynamicObject createDateTimeFormat(InitializeDateTimeFormatNode initDateTimeFormatNode, Object locales, Object options) {
-            JSDynamicObject dateTimeFormatObj = JSDateTimeFormat.create(getContext(), getRealm());
+        @TruffleBoundary
+        protected JSDynamicObject createDateTimeFormat(InitializeDateTimeFormatNode initDateTimeFormatNode, IntlFormatterCache.Kind kind, Object locales, Object options) {
+            JSRealm realm = getRealm();
+            IntlFormatterCache cache = realm.getIntlFormatterCache();
+            IntlFormatterCache.Key cacheKey = cache == null ? null : IntlFormatterCache.createKey(realm, kind, locales, options);
+            if (cacheKey != null) {
+                JSDynamicObject cached = cache.get(cacheKey);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            JSDynamicObject dateTimeFormatObj = JSDateTimeFormat.create(getContext(), realm);
             initDateTimeFormatNode.executeInit(dateTimeFormatObj, locales, options);
+            if (cacheKey != null) {
+                cache.put(cacheKey, dateTimeFormatObj);
+            }
             return dateTimeFormatObj;
         }
     }
@@ -424,7 +440,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            JSDynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
+            JSDynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, IntlFormatterCache.Kind.DATE_TIME_ANY_ALL, locales, options);
             return JSDateTimeFormat.format(formatter, t);
         }
     }
@@ -492,7 +508,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            JSDynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
+            JSDynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, IntlFormatterCache.Kind.DATE_TIME_DATE_DATE, locales, options);
             return JSDateTimeFormat.format(formatter, t);
         }
     }
@@ -528,7 +544,7 @@ public final class DatePrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<
             if (isNaN.profile(Double.isNaN(t))) {
                 return JSDate.INVALID_DATE_STRING;
             }
-            JSDynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, locales, options);
+            JSDynamicObject formatter = createDateTimeFormat(initDateTimeFormatNode, IntlFormatterCache.Kind.DATE_TIME_TIME_TIME, locales, options);
             return JSDateTimeFormat.format(formatter, t);
         }
     }
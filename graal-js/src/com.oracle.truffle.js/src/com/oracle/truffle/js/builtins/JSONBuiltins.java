@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -49,15 +50,20 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
+import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseBytesNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSONData;
 import com.oracle.truffle.js.builtins.helper.JSONStringifyStringNode;
 import com.oracle.truffle.js.builtins.helper.TruffleJSONParser;
+import com.oracle.truffle.js.builtins.helper.TruffleJSONUTF8Parser;
 import com.oracle.truffle.js.nodes.access.CreateDataPropertyNode;
 import com.oracle.truffle.js.nodes.cast.JSToIntegerAsIntNode;
 import com.oracle.truffle.js.nodes.cast.JSToNumberNode;
@@ -66,11 +72,19 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.nodes.unary.JSIsArrayNode;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.builtins.JSAbstractBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSDataView;
+import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
 import com.oracle.truffle.js.runtime.builtins.JSString;
@@ -79,6 +93,7 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 
 /**
@@ -87,6 +102,7 @@ import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuiltins.JSON> {
 
     public static final JSBuiltinsContainer BUILTINS = new JSONBuiltins();
+    public static final JSBuiltinsContainer BUILTINS_PARSE_BYTES = new JSONParseBytesBuiltins();
 
     protected JSONBuiltins() {
         super(com.oracle.truffle.js.runtime.builtins.JSON.CLASS_NAME, JSON.class);
@@ -119,6 +135,39 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         return null;
     }
 
+    /**
+     * Optional, non-standard JSON functions enabled by {@code js.json-parse-bytes}.
+     */
+    public static final class JSONParseBytesBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONParseBytesBuiltins.JSONParseBytes> {
+        protected JSONParseBytesBuiltins() {
+            super(com.oracle.truffle.js.runtime.builtins.JSON.CLASS_NAME, JSONParseBytes.class);
+        }
+
+        public enum JSONParseBytes implements BuiltinEnum<JSONParseBytes> {
+            parseBytes(2);
+
+            private final int length;
+
+            JSONParseBytes(int length) {
+                this.length = length;
+            }
+
+            @Override
+            public int getLength() {
+                return length;
+            }
+        }
+
+        @Override
+        protected Object createNode(JSContext context, JSBuiltin builtin, boolean construct, boolean newTarget, JSONParseBytes builtinEnum) {
+            switch (builtinEnum) {
+                case parseBytes:
+                    return JSONParseBytesNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
+            }
+            return null;
+        }
+    }
+
     public abstract static class JSONOperation extends JSBuiltinNode {
         public JSONOperation(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -137,40 +186,19 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         protected boolean isArray(Object replacer) {
             return JSRuntime.isArray(replacer);
         }
-    }
 
-    public abstract static class JSONParseNode extends JSONOperation {
-
-        public JSONParseNode(JSContext context, JSBuiltin builtin) {
-            super(context, builtin);
-        }
-
-        @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
-        protected Object parse(Object text, Object reviver,
-                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
-            Object unfiltered = parseIntl(toString(text));
+        protected final Object revive(Object unfiltered, Object reviver) {
             JSObject root = JSOrdinary.create(getContext(), getRealm());
             JSObjectUtil.putDataProperty(root, Strings.EMPTY_STRING, unfiltered, JSAttributes.getDefault());
             return walk(reviver, root, Strings.EMPTY_STRING);
         }
 
-        @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
-        protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver,
-                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
-            return parseIntl(toString(text));
-        }
-
-        @TruffleBoundary(transferToInterpreterOnException = false)
-        private Object parseIntl(TruffleString jsonString) {
-            return new TruffleJSONParser(getContext()).parse(jsonString, getRealm());
-        }
-
         @TruffleBoundary
-        private Object walk(Object reviverFn, JSObject holder, Object property) {
+        private static Object walk(Object reviverFn, JSObject holder, Object property) {
             Object value = JSObject.get(holder, property);
             if (JSRuntime.isObject(value)) {
                 JSObject object = (JSObject) value;
-                if (isArray(object)) {
+                if (JSRuntime.isArray(object)) {
                     int len = (int) JSRuntime.toLength(JSObject.get(object, JSArray.LENGTH));
                     for (int i = 0; i < len; i++) {
                         Object stringIndex = Strings.fromInt(i);
@@ -196,6 +224,140 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         }
     }
 
+    public abstract static class JSONParseNode extends JSONOperation {
+
+        private static final DebugCounter shapeCacheHitCount = DebugCounter.create("JSON.parse calls hitting the shape cache");
+        private static final DebugCounter shapeCacheMissCount = DebugCounter.create("JSON.parse calls missing the shape cache");
+
+        public JSONParseNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parse(Object text, Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            Object unfiltered = parseIntl(toString(text));
+            return revive(unfiltered, reviver);
+        }
+
+        @Specialization(guards = "!isCallable.executeBoolean(reviver)", limit = "1")
+        protected Object parseUnfiltered(Object text, @SuppressWarnings("unused") Object reviver,
+                        @Cached @Shared("isCallable") @SuppressWarnings("unused") IsCallableNode isCallable) {
+            return parseIntl(toString(text));
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseIntl(TruffleString jsonString) {
+            TruffleJSONParser parser = new TruffleJSONParser(getContext());
+            Object result = parser.parse(jsonString, getRealm());
+            if (getContext().getJSONParseShapeCache() != null) {
+                if (parser.getShapeCacheHits() > 0) {
+                    shapeCacheHitCount.inc();
+                } else {
+                    shapeCacheMissCount.inc();
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * {@code JSON.parseBytes(source[, reviver])}: parses UTF-8 encoded JSON text from an
+     * ArrayBuffer, SharedArrayBuffer, ArrayBufferView or a foreign buffer (e.g. a host
+     * {@link ByteBuffer}) without converting it to a string first.
+     */
+    public abstract static class JSONParseBytesNode extends JSONOperation {
+
+        public JSONParseBytesNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object parseBytes(Object source, Object reviver,
+                        @Cached IsCallableNode isCallable) {
+            Object unfiltered = parseBytesIntl(source);
+            if (isCallable.executeBoolean(reviver)) {
+                return revive(unfiltered, reviver);
+            }
+            return unfiltered;
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private Object parseBytesIntl(Object source) {
+            JSRealm realm = getRealm();
+            return new TruffleJSONUTF8Parser(getContext()).parse(toByteBuffer(source, realm), realm);
+        }
+
+        private ByteBuffer toByteBuffer(Object source, JSRealm realm) {
+            if (JSAbstractBuffer.isJSAbstractBuffer(source)) {
+                return bufferRange((JSArrayBufferObject) source, 0, -1, realm);
+            } else if (JSArrayBufferView.isJSArrayBufferView(source)) {
+                JSDynamicObject view = (JSDynamicObject) source;
+                JSArrayBufferObject arrayBuffer = JSArrayBufferView.getArrayBuffer(view);
+                if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+                    throw Errors.createTypeErrorDetachedBuffer();
+                }
+                return bufferRange(arrayBuffer, JSArrayBufferView.getByteOffset(view, getContext()), JSArrayBufferView.getByteLength(view, getContext()), realm);
+            } else if (JSDataView.isJSDataView(source)) {
+                JSArrayBufferObject arrayBuffer = JSDataView.getArrayBuffer(source);
+                if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+                    throw Errors.createTypeErrorDetachedBuffer();
+                }
+                return bufferRange(arrayBuffer, JSDataView.typedArrayGetOffset(source), JSDataView.typedArrayGetLength(source), realm);
+            } else if (!JSRuntime.isObject(source) && InteropLibrary.getUncached().hasBufferElements(source)) {
+                return foreignBuffer(source, realm);
+            }
+            throw Errors.createTypeError("ArrayBuffer, ArrayBufferView or buffer expected");
+        }
+
+        private static ByteBuffer bufferRange(JSArrayBufferObject arrayBuffer, int offset, int length, JSRealm realm) {
+            if (JSArrayBuffer.isDetachedBuffer(arrayBuffer)) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            ByteBuffer bytes;
+            if (JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer)) {
+                bytes = ByteBuffer.wrap(JSArrayBufferObject.getByteArray(arrayBuffer));
+            } else if (JSArrayBuffer.isJSDirectArrayBuffer(arrayBuffer) || JSSharedArrayBuffer.isJSSharedArrayBuffer(arrayBuffer)) {
+                bytes = JSArrayBufferObject.getDirectByteBuffer(arrayBuffer).duplicate();
+            } else if (JSArrayBuffer.isJSInteropArrayBuffer(arrayBuffer)) {
+                bytes = foreignBuffer(JSArrayBufferObject.getInteropBuffer(arrayBuffer), realm);
+            } else {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            if (length >= 0) {
+                bytes.position(offset);
+                bytes.limit(offset + length);
+            }
+            return bytes;
+        }
+
+        private static ByteBuffer foreignBuffer(Object buffer, JSRealm realm) {
+            if (buffer == null) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            if (realm.getEnv().isHostObject(buffer)) {
+                Object hostObject = realm.getEnv().asHostObject(buffer);
+                if (hostObject instanceof ByteBuffer) {
+                    // read the host buffer directly; its contents are not copied. Like the
+                    // interop path below, read from index 0 up to the limit.
+                    ByteBuffer bytes = ((ByteBuffer) hostObject).duplicate();
+                    bytes.position(0);
+                    return bytes;
+                }
+            }
+            InteropLibrary interop = InteropLibrary.getUncached(buffer);
+            try {
+                byte[] bytes = new byte[Math.toIntExact(interop.getBufferSize(buffer))];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = interop.readBufferByte(buffer, i);
+                }
+                return ByteBuffer.wrap(bytes);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException | ArithmeticException e) {
+                throw Errors.createTypeError("buffer cannot be read");
+            }
+        }
+    }
+
     public abstract static class JSONStringifyNode extends JSONOperation {
 
         public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
@@ -278,7 +440,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
                         @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
                         @Cached TruffleStringBuilder.ToStringNode builderToStringNode) {
             TruffleStringBuilder builder = Strings.builderCreate(Strings.length(str) + 8);
-            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str, appendRawValueNode, appendStringNode);
+            JSRuntime.jsonQuote(stringBuilderProfile, builder, str, appendRawValueNode, appendStringNode);
             return StringBuilderProfile.toString(builderToStringNode, builder);
         }
 
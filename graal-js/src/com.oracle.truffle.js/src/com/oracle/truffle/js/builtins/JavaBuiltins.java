@@ -89,6 +89,9 @@ import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
@@ -395,7 +398,12 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                         @Cached BranchProfile errorBranch) {
             JSRealm realm = getRealm();
             TruffleLanguage.Env env = realm.getEnv();
-            if (env.isHostObject(javaArray)) {
+            // hasArrayElements also checks that the host access policy allows array access.
+            if (env.isHostObject(javaArray) && interop.hasArrayElements(javaArray)) {
+                JSDynamicObject primitiveArray = fromPrimitiveArray(env.asHostObject(javaArray), realm);
+                if (primitiveArray != null) {
+                    return primitiveArray;
+                }
                 // Handles Java arrays and java.util.List.
                 try {
                     long size = interop.getArraySize(javaArray);
@@ -415,6 +423,38 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             errorBranch.enter();
             throw Errors.createTypeError("Cannot convert to JavaScript array.");
         }
+
+        /**
+         * Copies a primitive Java array into an int or double backed JavaScript array at once.
+         * Returns {@code null} if the array has to be converted element by element.
+         */
+        @TruffleBoundary
+        private JSDynamicObject fromPrimitiveArray(Object hostObject, JSRealm realm) {
+            if (hostObject instanceof int[]) {
+                return JSArray.createZeroBasedIntArray(getContext(), realm, ((int[]) hostObject).clone());
+            } else if (hostObject instanceof double[]) {
+                return JSArray.createZeroBasedDoubleArray(getContext(), realm, ((double[]) hostObject).clone());
+            } else if (hostObject instanceof byte[]) {
+                byte[] bytes = (byte[]) hostObject;
+                int[] ints = new int[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    ints[i] = bytes[i];
+                }
+                return JSArray.createZeroBasedIntArray(getContext(), realm, ints);
+            } else if (hostObject instanceof long[]) {
+                long[] longs = (long[]) hostObject;
+                int[] ints = new int[longs.length];
+                for (int i = 0; i < longs.length; i++) {
+                    if (!JSRuntime.longIsRepresentableAsInt(longs[i])) {
+                        // imported as long values, keep the generic path
+                        return null;
+                    }
+                    ints[i] = (int) longs[i];
+                }
+                return JSArray.createZeroBasedIntArray(getContext(), realm, ints);
+            }
+            return null;
+        }
     }
 
     @ImportStatic({JSConfig.class})
@@ -492,6 +532,12 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         }
 
         private Object toArray(Object jsObj, Object arrayType) {
+            Object primitiveArray = toPrimitiveArray(jsObj, arrayType);
+            // Like the element-wise conversion, requires that the host access policy allows array
+            // access; otherwise, let the element-wise conversion report the error.
+            if (primitiveArray != null && arrayElements.hasArrayElements(primitiveArray)) {
+                return primitiveArray;
+            }
             Object[] arr = toObjectArrayNode.executeObjectArray(jsObj);
             try {
                 Object result = newArray.instantiate(arrayType, arr.length);
@@ -503,6 +549,69 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 throw Errors.createTypeError(e, this);
             }
         }
+
+        /**
+         * Copies a dense int or double backed JavaScript array into a primitive Java array at once.
+         * Returns {@code null} if the array has to be converted element by element, i.e., if the
+         * array has holes or the values do not fit the element type without a conversion.
+         */
+        @TruffleBoundary
+        private Object toPrimitiveArray(Object jsObj, Object arrayType) {
+            TruffleLanguage.Env env = getRealm().getEnv();
+            if (!JSArray.isJSFastArray(jsObj) || !env.isHostObject(arrayType)) {
+                return null;
+            }
+            Object arrayClass = env.asHostObject(arrayType);
+            JSDynamicObject array = (JSDynamicObject) jsObj;
+            ScriptArray arrayStrategy = JSArray.arrayGetArrayType(array);
+            long length = arrayStrategy.length(array);
+            if (length > Integer.MAX_VALUE || (length > 0 && (arrayStrategy.firstElementIndex(array) != 0 || arrayStrategy.lastElementIndex(array) != length - 1)) ||
+                            arrayStrategy.isHolesType()) {
+                return null;
+            }
+            int len = (int) length;
+            if (arrayStrategy instanceof AbstractIntArray) {
+                AbstractIntArray intArray = (AbstractIntArray) arrayStrategy;
+                if (arrayClass == int[].class) {
+                    int[] result = new int[len];
+                    for (int i = 0; i < len; i++) {
+                        result[i] = intArray.getInBoundsFastInt(array, i);
+                    }
+                    return env.asGuestValue(result);
+                } else if (arrayClass == long[].class) {
+                    long[] result = new long[len];
+                    for (int i = 0; i < len; i++) {
+                        result[i] = intArray.getInBoundsFastInt(array, i);
+                    }
+                    return env.asGuestValue(result);
+                } else if (arrayClass == double[].class) {
+                    double[] result = new double[len];
+                    for (int i = 0; i < len; i++) {
+                        result[i] = intArray.getInBoundsFastInt(array, i);
+                    }
+                    return env.asGuestValue(result);
+                } else if (arrayClass == byte[].class) {
+                    byte[] result = new byte[len];
+                    for (int i = 0; i < len; i++) {
+                        int value = intArray.getInBoundsFastInt(array, i);
+                        if (value != (byte) value) {
+                            // lossy conversion, let interop report the error
+                            return null;
+                        }
+                        result[i] = (byte) value;
+                    }
+                    return env.asGuestValue(result);
+                }
+            } else if (arrayStrategy instanceof AbstractDoubleArray && arrayClass == double[].class) {
+                AbstractDoubleArray doubleArray = (AbstractDoubleArray) arrayStrategy;
+                double[] result = new double[len];
+                for (int i = 0; i < len; i++) {
+                    result[i] = doubleArray.getInBoundsFastDouble(array, i);
+                }
+                return env.asGuestValue(result);
+            }
+            return null;
+        }
     }
 
     abstract static class JavaSuperNode extends JSBuiltinNode {
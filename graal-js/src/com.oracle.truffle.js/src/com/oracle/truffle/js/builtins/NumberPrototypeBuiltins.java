@@ -71,6 +71,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
@@ -79,6 +80,7 @@ import com.oracle.truffle.js.runtime.builtins.JSNumberObject;
 import com.oracle.truffle.js.runtime.builtins.intl.JSNumberFormat;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.IntlFormatterCache;
 
 /**
  * Contains builtins for {@linkplain JSNumber}.prototype.
@@ -324,8 +326,20 @@ public final class NumberPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
         @TruffleBoundary
         private JSDynamicObject createNumberFormat(Object locales, Object options) {
-            JSDynamicObject numberFormatObj = JSNumberFormat.create(getContext(), getRealm());
+            JSRealm realm = getRealm();
+            IntlFormatterCache cache = realm.getIntlFormatterCache();
+            IntlFormatterCache.Key cacheKey = cache == null ? null : IntlFormatterCache.createKey(realm, IntlFormatterCache.Kind.NUMBER, locales, options);
+            if (cacheKey != null) {
+                JSDynamicObject cached = cache.get(cacheKey);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            JSDynamicObject numberFormatObj = JSNumberFormat.create(getContext(), realm);
             initNumberFormatNode.executeInit(numberFormatObj, locales, options);
+            if (cacheKey != null) {
+                cache.put(cacheKey, numberFormatObj);
+            }
             return numberFormatObj;
         }
 
@@ -143,6 +143,7 @@ import com.oracle.truffle.js.runtime.builtins.intl.JSCollator;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.IntlFormatterCache;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
@@ -2415,8 +2416,20 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
         @TruffleBoundary
         private JSDynamicObject createCollator(Object locales, Object options) {
-            JSDynamicObject collatorObj = JSCollator.create(getContext(), getRealm());
+            JSRealm realm = getRealm();
+            IntlFormatterCache cache = realm.getIntlFormatterCache();
+            IntlFormatterCache.Key cacheKey = cache == null ? null : IntlFormatterCache.createKey(realm, IntlFormatterCache.Kind.COLLATOR, locales, options);
+            if (cacheKey != null) {
+                JSDynamicObject cached = cache.get(cacheKey);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            JSDynamicObject collatorObj = JSCollator.create(getContext(), realm);
             initCollatorNode.executeInit(collatorObj, locales, options);
+            if (cacheKey != null) {
+                cache.put(cacheKey, collatorObj);
+            }
             return collatorObj;
         }
 
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.builtins.WorkerGlobalScopeBuiltinsFactory.WorkerScopeCloseNodeGen;
+import com.oracle.truffle.js.builtins.WorkerGlobalScopeBuiltinsFactory.WorkerScopePostMessageNodeGen;
+import com.oracle.truffle.js.builtins.WorkerGlobalScopeBuiltinsFactory.WorkerScopeReceiveMessageNodeGen;
+import com.oracle.truffle.js.nodes.cast.JSToDoubleNode;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.WorkerAgent;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Global functions of the global object of a {@code Worker}.
+ */
+public final class WorkerGlobalScopeBuiltins extends JSBuiltinsContainer.Lambda {
+
+    public static final JSBuiltinsContainer BUILTINS = new WorkerGlobalScopeBuiltins();
+
+    private static final TruffleString POST_MESSAGE = Strings.constant("postMessage");
+    private static final TruffleString RECEIVE_MESSAGE = Strings.constant("receiveMessage");
+    private static final TruffleString CLOSE = Strings.constant("close");
+
+    protected WorkerGlobalScopeBuiltins() {
+        super(Strings.constant("WorkerGlobalScope"));
+        defineFunction(POST_MESSAGE, 1, JSAttributes.getDefaultNotEnumerable(),
+                        (context, builtin) -> WorkerScopePostMessageNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+        defineFunction(RECEIVE_MESSAGE, 0, JSAttributes.getDefaultNotEnumerable(),
+                        (context, builtin) -> WorkerScopeReceiveMessageNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+        defineFunction(CLOSE, 0, JSAttributes.getDefaultNotEnumerable(),
+                        (context, builtin) -> WorkerScopeCloseNodeGen.create(context, builtin, args().createArgumentNodes(context)));
+    }
+
+    abstract static class WorkerScopeOperation extends JSBuiltinNode {
+        WorkerScopeOperation(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        protected final WorkerAgent getWorkerAgent() {
+            return (WorkerAgent) getRealm().getAgent();
+        }
+    }
+
+    /**
+     * Sends a message to the parent of the worker.
+     */
+    public abstract static class WorkerScopePostMessageNode extends WorkerScopeOperation {
+        public WorkerScopePostMessageNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object postMessage(Object message) {
+            getWorkerAgent().postMessageToParent(message);
+            return Undefined.instance;
+        }
+    }
+
+    /**
+     * Waits for the next message from the parent, for workers that do not use an
+     * {@code onmessage} handler.
+     */
+    public abstract static class WorkerScopeReceiveMessageNode extends WorkerScopeOperation {
+        public WorkerScopeReceiveMessageNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object receiveMessage(Object timeout,
+                        @Cached JSToDoubleNode toDoubleNode) {
+            double t = timeout == Undefined.instance ? Double.POSITIVE_INFINITY : toDoubleNode.executeDouble(timeout);
+            return getWorkerAgent().receiveMessageFromParent(getRealm(), Double.isNaN(t) ? Double.POSITIVE_INFINITY : t, this);
+        }
+    }
+
+    /**
+     * Ends the worker once the current message has been handled.
+     */
+    public abstract static class WorkerScopeCloseNode extends WorkerScopeOperation {
+        public WorkerScopeCloseNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object close() {
+            getWorkerAgent().close();
+            return Undefined.instance;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.js.builtins.WorkerPrototypeBuiltinsFactory.WorkerPostMessageNodeGen;
+import com.oracle.truffle.js.builtins.WorkerPrototypeBuiltinsFactory.WorkerReceiveMessageNodeGen;
+import com.oracle.truffle.js.builtins.WorkerPrototypeBuiltinsFactory.WorkerTerminateNodeGen;
+import com.oracle.truffle.js.nodes.cast.JSToDoubleNode;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
+import com.oracle.truffle.js.runtime.builtins.JSWorker;
+import com.oracle.truffle.js.runtime.builtins.JSWorkerObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Contains builtins for {@linkplain JSWorker}.prototype.
+ */
+public final class WorkerPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum<WorkerPrototypeBuiltins.WorkerPrototype> {
+
+    public static final JSBuiltinsContainer BUILTINS = new WorkerPrototypeBuiltins();
+
+    protected WorkerPrototypeBuiltins() {
+        super(JSWorker.PROTOTYPE_NAME, WorkerPrototype.class);
+    }
+
+    public enum WorkerPrototype implements BuiltinEnum<WorkerPrototype> {
+        postMessage(1),
+        receiveMessage(0),
+        terminate(0);
+
+        private final int length;
+
+        WorkerPrototype(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public int getLength() {
+            return length;
+        }
+    }
+
+    @Override
+    protected Object createNode(JSContext context, JSBuiltin builtin, boolean construct, boolean newTarget, WorkerPrototype builtinEnum) {
+        switch (builtinEnum) {
+            case postMessage:
+                return WorkerPostMessageNodeGen.create(context, builtin, args().withThis().fixedArgs(1).createArgumentNodes(context));
+            case receiveMessage:
+                return WorkerReceiveMessageNodeGen.create(context, builtin, args().withThis().fixedArgs(1).createArgumentNodes(context));
+            case terminate:
+                return WorkerTerminateNodeGen.create(context, builtin, args().withThis().createArgumentNodes(context));
+        }
+        return null;
+    }
+
+    /**
+     * Implementation of Worker.prototype.postMessage(message).
+     */
+    public abstract static class WorkerPostMessageNode extends JSBuiltinNode {
+
+        public WorkerPostMessageNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected static Object postMessage(JSWorkerObject thisObj, Object message) {
+            thisObj.getWorkerAgent().postMessageToWorker(message);
+            return Undefined.instance;
+        }
+
+        @Fallback
+        protected static Object notWorker(@SuppressWarnings("unused") Object thisObj, @SuppressWarnings("unused") Object message) {
+            throw Errors.createTypeError("Worker expected");
+        }
+    }
+
+    /**
+     * Implementation of Worker.prototype.receiveMessage(timeout): waits for the next message from
+     * the worker and returns it, or returns {@code undefined} if the timeout (in milliseconds)
+     * elapsed or the worker has ended.
+     */
+    public abstract static class WorkerReceiveMessageNode extends JSBuiltinNode {
+
+        public WorkerReceiveMessageNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object receiveMessage(JSWorkerObject thisObj, Object timeout,
+                        @Cached JSToDoubleNode toDoubleNode) {
+            double t = timeout == Undefined.instance ? Double.POSITIVE_INFINITY : toDoubleNode.executeDouble(timeout);
+            return thisObj.getWorkerAgent().receiveMessageFromWorker(getRealm(), Double.isNaN(t) ? Double.POSITIVE_INFINITY : t, this);
+        }
+
+        @Fallback
+        protected static Object notWorker(@SuppressWarnings("unused") Object thisObj, @SuppressWarnings("unused") Object timeout) {
+            throw Errors.createTypeError("Worker expected");
+        }
+    }
+
+    /**
+     * Implementation of Worker.prototype.terminate().
+     */
+    public abstract static class WorkerTerminateNode extends JSBuiltinNode {
+
+        public WorkerTerminateNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        protected Object terminate(JSWorkerObject thisObj) {
+            thisObj.getWorkerAgent().requestTermination(this);
+            return Undefined.instance;
+        }
+
+        @Fallback
+        protected static Object notWorker(@SuppressWarnings("unused") Object thisObj) {
+            throw Errors.createTypeError("Worker expected");
+        }
+    }
+}
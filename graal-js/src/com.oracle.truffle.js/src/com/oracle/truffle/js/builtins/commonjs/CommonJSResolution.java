@@ -131,6 +131,14 @@ public final class CommonJSResolution {
         if (moduleIdentifier.isEmpty()) {
             return null;
         }
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+        if (cache != null) {
+            return cache.resolve(entryPath, moduleIdentifier, () -> resolveModule(realm, moduleIdentifier, entryPath));
+        }
+        return resolveModule(realm, moduleIdentifier, entryPath);
+    }
+
+    private static TruffleFile resolveModule(JSRealm realm, String moduleIdentifier, TruffleFile entryPath) {
         TruffleLanguage.Env env = realm.getEnv();
         // 2. If X begins with '/'
         TruffleFile currentWorkingPath = entryPath;
@@ -160,7 +168,8 @@ public final class CommonJSResolution {
          *
          * @formatter:on
          */
-        List<TruffleFile> nodeModulesPaths = getNodeModulesPaths(startFolder);
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+        List<TruffleFile> nodeModulesPaths = cache != null ? cache.getNodeModulesPaths(startFolder) : getNodeModulesPaths(startFolder);
         for (TruffleFile s : nodeModulesPaths) {
             TruffleFile module = loadAsFileOrDirectory(realm, joinPaths(s, moduleIdentifier));
             if (module != null) {
@@ -171,6 +180,10 @@ public final class CommonJSResolution {
     }
 
     public static TruffleFile loadIndex(TruffleFile modulePath) {
+        return loadIndex(null, modulePath);
+    }
+
+    private static TruffleFile loadIndex(CommonJSResolutionCache cache, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_INDEX(X)
@@ -181,20 +194,20 @@ public final class CommonJSResolution {
          * @formatter:on
          */
         TruffleFile indexJs = joinPaths(modulePath, INDEX_JS);
-        if (fileExists(indexJs)) {
+        if (fileExists(cache, indexJs)) {
             return indexJs;
         }
         TruffleFile indexJson = joinPaths(modulePath, INDEX_JSON);
-        if (fileExists(indexJson)) {
+        if (fileExists(cache, indexJson)) {
             return indexJson;
-        } else if (fileExists(joinPaths(modulePath, INDEX_NODE))) {
+        } else if (fileExists(cache, joinPaths(modulePath, INDEX_NODE))) {
             // Ignore .node files.
             return null;
         }
         return null;
     }
 
-    static TruffleFile loadAsFile(TruffleLanguage.Env env, TruffleFile modulePath) {
+    static TruffleFile loadAsFile(JSRealm realm, TruffleFile modulePath) {
         /* @formatter:off
          *
          * LOAD_AS_FILE(X)
@@ -205,18 +218,20 @@ public final class CommonJSResolution {
          *
          * @formatter:on
          */
-        if (fileExists(modulePath)) {
+        TruffleLanguage.Env env = realm.getEnv();
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+        if (fileExists(cache, modulePath)) {
             return modulePath;
         }
         TruffleFile moduleJs = env.getPublicTruffleFile(modulePath.toString() + Strings.JS_EXT);
-        if (fileExists(moduleJs)) {
+        if (fileExists(cache, moduleJs)) {
             return moduleJs;
         }
         TruffleFile moduleJson = env.getPublicTruffleFile(modulePath.toString() + Strings.JSON_EXT);
-        if (fileExists(moduleJson)) {
+        if (fileExists(cache, moduleJson)) {
             return moduleJson;
         }
-        if (fileExists(env.getPublicTruffleFile(modulePath.toString() + Strings.NODE_EXT))) {
+        if (fileExists(cache, env.getPublicTruffleFile(modulePath.toString() + Strings.NODE_EXT))) {
             // .node files not supported.
             return null;
         }
@@ -238,7 +253,7 @@ public final class CommonJSResolution {
     }
 
     private static TruffleFile loadAsFileOrDirectory(JSRealm realm, TruffleFile modulePath) {
-        TruffleFile maybeFile = loadAsFile(realm.getEnv(), modulePath);
+        TruffleFile maybeFile = loadAsFile(realm, modulePath);
         if (maybeFile == null) {
             return loadAsDirectory(realm, modulePath);
         } else {
@@ -257,28 +272,41 @@ public final class CommonJSResolution {
     }
 
     private static TruffleFile loadAsDirectory(JSRealm realm, TruffleFile modulePath) {
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
         TruffleFile packageJson = joinPaths(modulePath, PACKAGE_JSON);
-        if (fileExists(packageJson)) {
-            JSDynamicObject jsonObj = loadJsonObject(packageJson, realm);
+        if (fileExists(cache, packageJson)) {
+            JSDynamicObject jsonObj = loadPackageJson(packageJson, realm);
             if (JSDynamicObject.isJSDynamicObject(jsonObj)) {
                 Object main = JSObject.get(jsonObj, Strings.PACKAGE_JSON_MAIN_PROPERTY_NAME);
                 if (!Strings.isTString(main)) {
-                    return loadIndex(modulePath);
+                    return loadIndex(cache, modulePath);
                 }
                 TruffleFile module = joinPaths(modulePath, JSRuntime.safeToString(main).toJavaStringUncached());
-                TruffleFile asFile = loadAsFile(realm.getEnv(), module);
+                TruffleFile asFile = loadAsFile(realm, module);
                 if (asFile != null) {
                     return asFile;
                 } else {
-                    return loadIndex(module);
+                    return loadIndex(cache, module);
                 }
             }
         } else {
-            return loadIndex(modulePath);
+            return loadIndex(cache, modulePath);
         }
         return null;
     }
 
+    /**
+     * Like {@link #loadJsonObject}, but served from the resolution cache if enabled. The returned
+     * object must not be exposed to user code.
+     */
+    public static JSDynamicObject loadPackageJson(TruffleFile packageJson, JSRealm realm) {
+        CommonJSResolutionCache cache = realm.getCommonJSResolutionCache();
+        if (cache != null) {
+            return cache.getPackageJson(packageJson, () -> loadJsonObject(packageJson, realm));
+        }
+        return loadJsonObject(packageJson, realm);
+    }
+
     public static JSDynamicObject loadJsonObject(TruffleFile jsonFile, JSRealm realm) {
         try {
             if (fileExists(jsonFile)) {
@@ -315,6 +343,10 @@ public final class CommonJSResolution {
         return modulePath.exists() && modulePath.isRegularFile();
     }
 
+    private static boolean fileExists(CommonJSResolutionCache cache, TruffleFile modulePath) {
+        return cache != null ? cache.isRegularFile(modulePath) : fileExists(modulePath);
+    }
+
     private static boolean isPathFileName(String moduleIdentifier) {
         return moduleIdentifier.startsWith(SLASH) || moduleIdentifier.startsWith(DOT_SLASH) || moduleIdentifier.startsWith(DOT_DOT_SLASH);
     }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.commonjs;
+
+import java.io.IOException;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+
+/**
+ * Per-realm cache of CommonJS module resolution ({@code js.commonjs-resolution-cache}). Memoizes
+ * resolved modules by requesting directory and module identifier, file probes including missing
+ * files, parsed {@code package.json} files, and {@code node_modules} lookup paths.
+ * <p>
+ * Without validation, entries are kept for the lifetime of the realm, like the module path cache
+ * of Node.js. With validation, each hit costs a single stat: existing files are checked against
+ * their last modified time, missing files against the last modified time of their parent
+ * directory, which changes when a file is added to it. A resolved module is only revalidated
+ * against the resolved file, so a file added later that would take precedence over it is not
+ * noticed; failed resolutions are not memoized in this mode.
+ */
+public final class CommonJSResolutionCache {
+
+    private final boolean validate;
+    private final Map<String, Resolution> resolutions = new HashMap<>();
+    private final Map<TruffleFile, FileEntry> files = new HashMap<>();
+    private final Map<TruffleFile, PackageJsonEntry> packageJsons = new HashMap<>();
+    private final Map<TruffleFile, List<TruffleFile>> nodeModulesPaths = new HashMap<>();
+
+    public CommonJSResolutionCache(boolean validate) {
+        this.validate = validate;
+    }
+
+    TruffleFile resolve(TruffleFile entryPath, String moduleIdentifier, Supplier<TruffleFile> resolver) {
+        String key = entryPath.getPath() + '\0' + moduleIdentifier;
+        Resolution cached = resolutions.get(key);
+        if (cached != null && (!validate || Objects.equals(cached.lastModified, lastModified(cached.module)))) {
+            return cached.module;
+        }
+        TruffleFile module = resolver.get();
+        if (module != null) {
+            resolutions.put(key, new Resolution(module, validate ? lastModified(module) : null));
+        } else if (!validate) {
+            resolutions.put(key, new Resolution(null, null));
+        } else {
+            resolutions.remove(key);
+        }
+        return module;
+    }
+
+    boolean isRegularFile(TruffleFile file) {
+        FileEntry cached = files.get(file);
+        if (cached != null && (!validate || Objects.equals(cached.lastModified, lastModifiedOfEntry(file, cached.regularFile)))) {
+            return cached.regularFile;
+        }
+        boolean regularFile = CommonJSResolution.fileExists(file);
+        files.put(file, new FileEntry(regularFile, validate ? lastModifiedOfEntry(file, regularFile) : null));
+        return regularFile;
+    }
+
+    JSDynamicObject getPackageJson(TruffleFile packageJson, Supplier<JSDynamicObject> loader) {
+        PackageJsonEntry cached = packageJsons.get(packageJson);
+        if (cached != null && (!validate || Objects.equals(cached.lastModified, lastModified(packageJson)))) {
+            return cached.json;
+        }
+        FileTime lastModified = validate ? lastModified(packageJson) : null;
+        JSDynamicObject json = loader.get();
+        packageJsons.put(packageJson, new PackageJsonEntry(json, lastModified));
+        return json;
+    }
+
+    List<TruffleFile> getNodeModulesPaths(TruffleFile startFolder) {
+        return nodeModulesPaths.computeIfAbsent(startFolder, CommonJSResolution::getNodeModulesPaths);
+    }
+
+    /**
+     * A missing file is represented by its parent directory, whose modification time changes when
+     * the file is created.
+     */
+    private static FileTime lastModifiedOfEntry(TruffleFile file, boolean exists) {
+        if (exists) {
+            return lastModified(file);
+        }
+        TruffleFile parent = file.getParent();
+        return parent == null ? null : lastModified(parent);
+    }
+
+    private static FileTime lastModified(TruffleFile file) {
+        try {
+            return file.getLastModifiedTime();
+        } catch (IOException | SecurityException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static final class Resolution {
+        final TruffleFile module;
+        final FileTime lastModified;
+
+        Resolution(TruffleFile module, FileTime lastModified) {
+            this.module = module;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static final class FileEntry {
+        final boolean regularFile;
+        final FileTime lastModified;
+
+        FileEntry(boolean regularFile, FileTime lastModified) {
+            this.regularFile = regularFile;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static final class PackageJsonEntry {
+        final JSDynamicObject json;
+        final FileTime lastModified;
+
+        PackageJsonEntry(JSDynamicObject json, FileTime lastModified) {
+            this.json = json;
+            this.lastModified = lastModified;
+        }
+    }
+}
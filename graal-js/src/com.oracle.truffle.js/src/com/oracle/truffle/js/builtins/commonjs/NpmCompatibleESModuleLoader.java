@@ -50,7 +50,7 @@ import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.NODE_MO
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.PACKAGE_JSON;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.hasCoreModuleReplacement;
 import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.joinPaths;
-import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.loadJsonObject;
+import static com.oracle.truffle.js.builtins.commonjs.CommonJSResolution.loadPackageJson;
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static com.oracle.truffle.js.runtime.Strings.EXPORTS_PROPERTY_NAME;
 import static com.oracle.truffle.js.runtime.Strings.MODULE;
@@ -156,6 +156,21 @@ public final class NpmCompatibleESModuleLoader extends DefaultESModuleLoader {
         }
     }
 
+    @TruffleBoundary
+    @Override
+    protected TruffleFile resolveModuleFileAhead(ScriptOrModule referencingModule, ModuleRequest moduleRequest) throws IOException {
+        String specifier = moduleRequest.getSpecifier().toJavaStringUncached();
+        if (hasCoreModuleReplacement(realm.getContext(), specifier)) {
+            return null;
+        }
+        TruffleLanguage.Env env = realm.getEnv();
+        URI resolution = esmResolve(specifier, getFullPath(referencingModule).toUri(), env);
+        if (resolution == null || resolution == TryCommonJS || resolution == TryCustomESM) {
+            return null;
+        }
+        return env.getPublicTruffleFile(resolution);
+    }
+
     private JSModuleRecord loadCoreModuleReplacement(ScriptOrModule referencingModule, ModuleRequest moduleRequest) {
         String specifier = moduleRequest.getSpecifier().toJavaStringUncached();
         log("IMPORT resolve built-in ", specifier);
@@ -575,7 +590,7 @@ public final class NpmCompatibleESModuleLoader extends DefaultESModuleLoader {
         if (!fileExists(pjsonUrl, env)) {
             return null;
         }
-        JSDynamicObject jsonObj = loadJsonObject(env.getPublicTruffleFile(pjsonUrl), realm);
+        JSDynamicObject jsonObj = loadPackageJson(env.getPublicTruffleFile(pjsonUrl), realm);
         if (!JSDynamicObject.isJSDynamicObject(jsonObj)) {
             throw failMessage(INVALID_PACKAGE_CONFIGURATION);
         }
@@ -58,6 +58,7 @@ import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
@@ -70,7 +71,10 @@ import com.oracle.truffle.js.runtime.builtins.JSNumber;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.interop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSONSerializationPlan;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
@@ -282,7 +286,12 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         int lengthBefore = StringBuilderProfile.length(sb);
         if (data.getPropertyList() == null) {
             if (JSDynamicObject.isJSDynamicObject(value)) {
-                serializeJSONObjectProperties(sb, data, value, indent, JSObject.enumerableOwnNames((JSDynamicObject) value));
+                JSDynamicObject valueObj = (JSDynamicObject) value;
+                if (JSConfig.FastOwnKeys && data.getReplacerFnObj() == null && JSObject.getJSClass(valueObj).hasOnlyShapeProperties(valueObj)) {
+                    serializeJSONObjectProperties(sb, data, valueObj, indent, JSShape.getJSONSerializationPlan(valueObj.getShape()));
+                } else {
+                    serializeJSONObjectProperties(sb, data, value, indent, JSObject.enumerableOwnNames(valueObj));
+                }
             } else {
                 serializeForeignObjectProperties(sb, data, value, indent);
             }
@@ -316,6 +325,41 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         return sb;
     }
 
+    /**
+     * Serializes the properties of an object using the serialization plan of its shape, avoiding
+     * per-key property lookups and escaping of the keys. If the shape of the object changes during
+     * serialization (e.g. by a toJSON function or a getter), the remaining values are read
+     * generically.
+     */
+    private TruffleStringBuilder serializeJSONObjectProperties(TruffleStringBuilder sb, JSONData data, JSDynamicObject obj, int indent, JSONSerializationPlan plan) {
+        boolean isFirst = true;
+        boolean hasGap = Strings.length(data.getGap()) > 0;
+        for (int i = 0; i < plan.size(); i++) {
+            TruffleString name = plan.getKey(i);
+            Object value;
+            if (obj.getShape() == plan.getShape()) {
+                value = JSProperty.getValue(plan.getProperty(i), obj, obj, this);
+            } else {
+                value = JSObject.get(obj, name);
+            }
+            Object strPPrepared = jsonStrPreparePart2(data, name, obj, value);
+            if (isStringifyable(strPPrepared)) {
+                if (isFirst) {
+                    concatFirstStep(sb, data);
+                    isFirst = false;
+                } else {
+                    appendSeparator(sb, data, indent);
+                }
+                append(sb, plan.getKeyPrefix(i));
+                if (hasGap) {
+                    append(sb, ' ');
+                }
+                jsonStrExecute(sb, data, strPPrepared);
+            }
+        }
+        return sb;
+    }
+
     private void appendColon(TruffleStringBuilder sb, JSONData data) {
         append(sb, ':');
         if (Strings.length(data.getGap()) > 0) {
@@ -467,75 +511,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     }
 
     private TruffleStringBuilder jsonQuote(TruffleStringBuilder builder, TruffleString valueStr) {
-        return jsonQuote(stringBuilderProfile, builder, valueStr, getAppendCharNode(), getAppendStringNode());
-    }
-
-    public static TruffleStringBuilder jsonQuote(StringBuilderProfile stringBuilderProfile, TruffleStringBuilder sb, TruffleString valueStr,
-                    TruffleStringBuilder.AppendCharUTF16Node appendCharNode,
-                    TruffleStringBuilder.AppendStringNode appendStringNode) {
-        stringBuilderProfile.append(appendCharNode, sb, '"');
-        for (int i = 0; i < Strings.length(valueStr);) {
-            char ch = Strings.charAt(valueStr, i);
-            if (ch < ' ') {
-                if (ch == '\b') {
-                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_B);
-                } else if (ch == '\f') {
-                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_F);
-                } else if (ch == '\n') {
-                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_N);
-                } else if (ch == '\r') {
-                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_R);
-                } else if (ch == '\t') {
-                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_T);
-                } else {
-                    jsonQuoteUnicode(stringBuilderProfile, sb, ch, appendCharNode, appendStringNode);
-                }
-            } else {
-                if (ch == '\\') {
-                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_BACKSLASH);
-                } else if (ch == '"') {
-                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_DOUBLE_QUOTE);
-                } else if (Character.isSurrogate(ch)) {
-                    if (Character.isHighSurrogate(ch)) {
-                        char nextCh;
-                        if (i + 1 < Strings.length(valueStr) && (Character.isLowSurrogate(nextCh = Strings.charAt(valueStr, i + 1)))) {
-                            // paired surrogates
-                            stringBuilderProfile.append(appendCharNode, sb, ch);
-                            stringBuilderProfile.append(appendCharNode, sb, nextCh);
-                            i++;
-                        } else {
-                            // unpaired high surrogate
-                            jsonQuoteSurrogate(stringBuilderProfile, sb, ch, appendCharNode, appendStringNode);
-                        }
-                    } else {
-                        // unpaired low surrogate
-                        jsonQuoteSurrogate(stringBuilderProfile, sb, ch, appendCharNode, appendStringNode);
-                    }
-                } else {
-                    stringBuilderProfile.append(appendCharNode, sb, ch);
-                }
-            }
-            i++;
-        }
-        stringBuilderProfile.append(appendCharNode, sb, '"');
-        return sb;
-    }
-
-    private static void jsonQuoteUnicode(StringBuilderProfile stringBuilderProfile, TruffleStringBuilder sb, char c,
-                    TruffleStringBuilder.AppendCharUTF16Node appendCharNode,
-                    TruffleStringBuilder.AppendStringNode appendStringNode) {
-        stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_U00);
-        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit((c >> 4) & 0xF, 16));
-        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit(c & 0xF, 16));
-    }
-
-    private static void jsonQuoteSurrogate(StringBuilderProfile stringBuilderProfile, TruffleStringBuilder sb, char c,
-                    TruffleStringBuilder.AppendCharUTF16Node appendCharNode,
-                    TruffleStringBuilder.AppendStringNode appendStringNode) {
-        stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_UD);
-        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit((c >> 8) & 0xF, 16));
-        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit((c >> 4) & 0xF, 16));
-        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit(c & 0xF, 16));
+        return JSRuntime.jsonQuote(stringBuilderProfile, builder, valueStr, getAppendCharNode(), getAppendStringNode());
     }
 
     private Object truffleGetSize(Object obj) {
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
+import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+
+/**
+ * Sorting of primitive array elements without boxing, used by {@code Array.prototype.sort} and
+ * {@code %TypedArray%.prototype.sort} for the default comparator of typed arrays and for
+ * recognized numeric comparator functions like {@code (a, b) => a - b}.
+ */
+public final class PrimitiveArraySort {
+
+    /**
+     * Numeric order established by a comparator function.
+     */
+    public enum NumericOrder {
+        /** Not a recognized numeric comparator. */
+        NONE,
+        /** {@code (a, b) => a - b}. */
+        ASCENDING,
+        /** {@code (a, b) => b - a}. */
+        DESCENDING
+    }
+
+    private static final InteropLibrary UNUSED_INTEROP = InteropLibrary.getUncached();
+
+    private PrimitiveArraySort() {
+    }
+
+    /**
+     * Checks whether the given comparator function is one of the trivial numeric comparators
+     * {@code (a, b) => a - b} or {@code (a, b) => b - a}, as recognized by the translator (see
+     * {@link JSFunctionData#isAscendingNumericComparator()}). Such a function has no side effects on
+     * numeric arguments, so it may be replaced by a primitive numeric sort.
+     */
+    public static NumericOrder recognizeComparator(JSDynamicObject compareFn) {
+        if (!JSFunction.isJSFunction(compareFn)) {
+            return NumericOrder.NONE;
+        }
+        JSFunctionData functionData = JSFunction.getFunctionData(compareFn);
+        if (functionData.isAscendingNumericComparator()) {
+            return NumericOrder.ASCENDING;
+        } else if (functionData.isDescendingNumericComparator()) {
+            return NumericOrder.DESCENDING;
+        }
+        return NumericOrder.NONE;
+    }
+
+    /**
+     * Sorts the elements of a (non-interop) typed array in numeric order. With
+     * {@link NumericOrder#NONE}, sorts according to the default comparator of
+     * {@code %TypedArray%.prototype.sort}. Returns {@code false} (and leaves the typed array
+     * unmodified) if the primitive sort would not be equivalent to a stable sort with the given
+     * comparator.
+     */
+    @TruffleBoundary
+    public static boolean sortTypedArray(JSDynamicObject typedArrayObj, TypedArray typedArray, int length, NumericOrder order) {
+        assert !typedArray.isInterop();
+        boolean defaultOrder = order == NumericOrder.NONE;
+        boolean descending = order == NumericOrder.DESCENDING;
+        if (typedArray instanceof TypedArray.TypedIntArray) {
+            TypedArray.TypedIntArray intArray = (TypedArray.TypedIntArray) typedArray;
+            // unsigned 32-bit values are sorted as signed ints with the sign bit flipped
+            int flip = typedArray instanceof TypedArray.AbstractUint32Array ? Integer.MIN_VALUE : 0;
+            int[] values = new int[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = intArray.getInt(typedArrayObj, i, UNUSED_INTEROP) ^ flip;
+            }
+            Arrays.sort(values);
+            for (int i = 0; i < length; i++) {
+                intArray.setInt(typedArrayObj, i, values[descending ? length - 1 - i : i] ^ flip, UNUSED_INTEROP);
+            }
+            return true;
+        } else if (typedArray instanceof TypedArray.TypedFloatArray) {
+            TypedArray.TypedFloatArray floatArray = (TypedArray.TypedFloatArray) typedArray;
+            double[] values = new double[length];
+            for (int i = 0; i < length; i++) {
+                double value = floatArray.getDouble(typedArrayObj, i, UNUSED_INTEROP);
+                if (!defaultOrder && (Double.isNaN(value) || (value == 0d && Double.doubleToRawLongBits(value) != 0L))) {
+                    // comparator treats NaN and -0 differently than the default order
+                    return false;
+                }
+                values[i] = value;
+            }
+            // Arrays.sort orders -0 before +0 and NaN last, as required by the default order
+            Arrays.sort(values);
+            for (int i = 0; i < length; i++) {
+                floatArray.setDouble(typedArrayObj, i, values[descending ? length - 1 - i : i], UNUSED_INTEROP);
+            }
+            return true;
+        } else if (typedArray instanceof TypedArray.TypedBigIntArray) {
+            if (!defaultOrder) {
+                // subtraction of BigInts does not yield a valid comparator result
+                return false;
+            }
+            TypedArray.TypedBigIntArray bigIntArray = (TypedArray.TypedBigIntArray) typedArray;
+            Object buffer = TypedArray.getBufferFromTypedArray(typedArrayObj);
+            int offset = typedArray.getOffset(typedArrayObj);
+            long flip = typedArray.getFactory() == TypedArrayFactory.BigUint64Array ? Long.MIN_VALUE : 0L;
+            long[] values = new long[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = bigIntArray.getLongImpl(buffer, offset, i, UNUSED_INTEROP) ^ flip;
+            }
+            Arrays.sort(values);
+            for (int i = 0; i < length; i++) {
+                bigIntArray.setLongImpl(buffer, offset, i, values[i] ^ flip, UNUSED_INTEROP);
+            }
+            return true;
+        }
+        return false;
+    }
+}
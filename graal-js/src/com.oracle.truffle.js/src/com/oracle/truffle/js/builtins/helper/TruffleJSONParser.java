@@ -55,8 +55,11 @@ import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.util.JSONParseShapeCache;
 
 public class TruffleJSONParser {
 
@@ -65,6 +68,9 @@ public class TruffleJSONParser {
     protected int len;
     protected TruffleString parseStr;
     protected int parseDepth;
+    protected final JSONParseShapeCache shapeCache;
+    protected int shapeCacheHits;
+    protected int shapeCacheMisses;
 
     protected static final char[] NullLiteral = new char[]{'n', 'u', 'l', 'l'};
     protected static final char[] BooleanTrueLiteral = new char[]{'t', 'r', 'u', 'e'};
@@ -74,17 +80,35 @@ public class TruffleJSONParser {
     private static final String MALFORMED_NUMBER = "malformed number";
 
     public TruffleJSONParser(JSContext context) {
+        this(context, context.getJSONParseShapeCache());
+    }
+
+    protected TruffleJSONParser(JSContext context, JSONParseShapeCache shapeCache) {
         this.context = context;
+        this.shapeCache = shapeCache;
     }
 
     public Object parse(TruffleString value, JSRealm realm) {
-        this.pos = 0;
-        this.parseDepth = 0;
         this.parseStr = value;
         this.len = Strings.length(parseStr);
+        try {
+            return parseText(realm);
+        } finally {
+            parseStr = null;
+        }
+    }
+
+    /**
+     * Parses the whole input of length {@link #len} as accessed by {@link #get(int)}.
+     */
+    protected final Object parseText(JSRealm realm) {
+        this.pos = 0;
+        this.parseDepth = 0;
+        this.shapeCacheHits = 0;
+        this.shapeCacheMisses = 0;
         try {
             skipWhitespace();
-            Object result = parseJSONValue(realm);
+            Object result = parseJSONValue(realm, shapeCache == null ? null : shapeCache.getRoot());
             skipWhitespace();
             if (posValid()) {
                 error("JSON cannot be fully parsed");
@@ -99,24 +123,41 @@ public class TruffleJSONParser {
         } catch (Exception ex) {
             throwSyntaxError(null);
         } finally {
-            parseStr = null;
+            if (shapeCache != null) {
+                shapeCache.recordParse(shapeCacheHits, shapeCacheMisses);
+            }
         }
         return null;
     }
 
+    /**
+     * Returns the number of object members of the last parse that followed a layout remembered by
+     * the {@linkplain JSONParseShapeCache shape cache}.
+     */
+    public int getShapeCacheHits() {
+        return shapeCacheHits;
+    }
+
     private String unexpectedEndOfInputMessage() {
         return context.isOptionNashornCompatibilityMode() ? "Unexpected end of input" : "Unexpected end of JSON input";
     }
 
     protected Object parseJSONValue(JSRealm realm) {
+        return parseJSONValue(realm, null);
+    }
+
+    /**
+     * @param site the shape cache site of the value's position, or {@code null} if not cached
+     */
+    protected Object parseJSONValue(JSRealm realm, JSONParseShapeCache.Node site) {
         char c = get();
 
         if (isStringQuote(c)) {
             return parseJSONString();
         } else if (isObjectStart(c)) {
-            return parseJSONObject(realm);
+            return parseJSONObject(realm, site);
         } else if (isArrayStart(c)) {
-            return parseJSONArray(realm);
+            return parseJSONArray(realm, site);
         } else if (isNullLiteral(c)) {
             return parseNullLiteral();
         } else if (isBooleanLiteral(c)) {
@@ -139,14 +180,18 @@ public class TruffleJSONParser {
         return c == '[';
     }
 
-    private Object parseJSONObject(JSRealm realm) {
+    private Object parseJSONObject(JSRealm realm, JSONParseShapeCache.Node site) {
         assert isObjectStart(get());
         incDepth();
         skipChar('{');
         skipWhitespace();
         JSObject object = JSOrdinary.create(context, realm);
         if (get() != '}') {
-            parseJSONMemberList(object, realm);
+            if (site == null) {
+                parseJSONMemberList(object, realm);
+            } else {
+                parseJSONMemberListCached(object, realm, site);
+            }
             if (get() != '}') {
                 if (get() == '"') {
                     unexpectedString();
@@ -172,6 +217,77 @@ public class TruffleJSONParser {
         }
     }
 
+    private void parseJSONMemberListCached(JSObject object, JSRealm realm, JSONParseShapeCache.Node site) {
+        JSONParseShapeCache.Node current = parseJSONMemberCached(object, realm, site);
+        while (get() == ',') {
+            skipChar(',');
+            skipWhitespace();
+            if (current == null) {
+                // left the recorded layouts, continue generically
+                parseJSONMemberList(object, realm);
+                return;
+            }
+            current = parseJSONMemberCached(object, realm, current);
+        }
+    }
+
+    /**
+     * Parses a member of an object whose layout so far is described by {@code parent}. Returns the
+     * node describing the layout including the new member, or {@code null} if the member could not
+     * be recorded and the rest of the object has to be parsed generically.
+     */
+    private JSONParseShapeCache.Node parseJSONMemberCached(JSObject object, JSRealm realm, JSONParseShapeCache.Node parent) {
+        checkStringStart();
+        skipChar('"');
+        int startPos = pos;
+        int firstEscape = scanJSONStringCharacters();
+        int keyLength = pos - startPos;
+        JSONParseShapeCache.Node node = firstEscape < 0 ? parent.findSuccessor(parseStr, startPos, keyLength) : null;
+        TruffleString key;
+        if (node != null) {
+            key = node.getKey();
+            shapeCacheHits++;
+        } else {
+            if (firstEscape < 0) {
+                // The key may be recorded in the context-wide cache, so it must not be a lazy
+                // substring that keeps the whole input alive.
+                key = Strings.substring(false, TruffleString.SubstringByteIndexNode.getUncached(), parseStr, startPos, keyLength);
+            } else {
+                key = materializeJSONString(startPos, keyLength, firstEscape);
+            }
+            shapeCacheMisses++;
+            if (object.getShape().getProperty(key) == null) {
+                node = parent.addSuccessor(key);
+            }
+        }
+        skipStringEnd();
+        expectChar(':');
+        skipWhitespace();
+        if (node == null) {
+            JSRuntime.createDataProperty(object, key, parseJSONValue(realm));
+            return null;
+        }
+        Object value = parseJSONValue(realm, nestedSite(node));
+        // The path from the site root determines the keys already present in the object,
+        // so the key is known to be absent and can be added directly.
+        assert object.getShape().getProperty(key) == null;
+        JSObjectUtil.defineDataProperty(context, object, key, value, JSAttributes.getDefault());
+        return node;
+    }
+
+    /**
+     * Returns the site for objects nested in the value starting at the current position, or
+     * {@code null} if the value cannot contain objects. Sites are only created on demand so that
+     * members with primitive values do not take up cache capacity.
+     */
+    private JSONParseShapeCache.Node nestedSite(JSONParseShapeCache.Node node) {
+        char c = get();
+        if (isObjectStart(c) || isArrayStart(c)) {
+            return node.getNested();
+        }
+        return null;
+    }
+
     private Member parseJSONMember(JSRealm realm) {
         TruffleString jsonString = parseJSONString();
         expectChar(':');
@@ -180,14 +296,14 @@ public class TruffleJSONParser {
         return new Member(jsonString, jsonValue);
     }
 
-    private Object parseJSONArray(JSRealm realm) {
+    private Object parseJSONArray(JSRealm realm, JSONParseShapeCache.Node site) {
         assert isArrayStart(get());
         incDepth();
         skipChar('[');
         skipWhitespace();
         JSArrayObject array = JSArray.createEmptyZeroLength(context, realm);
         if (get() != ']') {
-            parseJSONElementList(array, realm);
+            parseJSONElementList(array, realm, site == null ? null : nestedSite(site));
             if (get() != ']') {
                 error("closing quote ] expected");
             }
@@ -218,20 +334,35 @@ public class TruffleJSONParser {
     }
 
     protected ScriptArray parseJSONElementList(JSArrayObject arrayObject, JSRealm realm) {
+        return parseJSONElementList(arrayObject, realm, null);
+    }
+
+    /**
+     * @param elementSite the shape cache site shared by all elements, or {@code null}
+     */
+    protected ScriptArray parseJSONElementList(JSArrayObject arrayObject, JSRealm realm, JSONParseShapeCache.Node elementSite) {
         int index = 0;
         ScriptArray scriptArray = JSAbstractArray.arrayGetArrayType(arrayObject);
-        scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(realm), false);
+        scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(realm, elementSite), false);
         while (get() == ',') {
             skipChar(',');
             skipWhitespace();
             index++;
-            scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(realm), false);
+            scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(realm, elementSite), false);
         }
         JSAbstractArray.arraySetArrayType(arrayObject, scriptArray);
         return scriptArray;
     }
 
     protected TruffleString parseJSONString() {
+        checkStringStart();
+        skipChar('"');
+        TruffleString str = parseJSONStringCharacters();
+        skipStringEnd();
+        return str;
+    }
+
+    private void checkStringStart() {
         if (!isStringQuote(get())) {
             if (isDigit(get())) {
                 unexpectedNumber();
@@ -239,14 +370,14 @@ public class TruffleJSONParser {
                 unexpectedToken();
             }
         }
-        skipChar('"');
-        TruffleString str = parseJSONStringCharacters();
+    }
+
+    private void skipStringEnd() {
         if (!isStringQuote(get())) {
             error("String quote expected");
         }
         skipChar('"');
         skipWhitespace();
-        return str;
     }
 
     protected static boolean isStringQuote(char c) {
@@ -259,25 +390,39 @@ public class TruffleJSONParser {
 
     protected TruffleString parseJSONStringCharacters() {
         int startPos = pos;
-        boolean hasEscapes = false;
+        int firstEscape = scanJSONStringCharacters();
+        return materializeJSONString(startPos, pos - startPos, firstEscape);
+    }
+
+    /**
+     * Advances to the closing quote of the current string. Returns the position of the first
+     * escape sequence or -1 if there is none.
+     */
+    private int scanJSONStringCharacters() {
         int firstEscape = -1;
         char c = get();
         while (!isStringQuote(c)) {
             if (c < ' ') {
                 error("invalid string");
             } else if (c == '\\') {
-                if (!hasEscapes) {
+                if (firstEscape < 0) {
                     firstEscape = pos;
                 }
-                hasEscapes = true;
                 skipChar('\\');
             }
             skipChar();
             c = get();
         }
-        int sLength = pos - startPos;
+        return firstEscape;
+    }
+
+    /**
+     * Creates the value of the string in the range [{@code startPos}, {@code startPos + sLength}),
+     * unescaping it if {@code firstEscape} is not negative.
+     */
+    protected TruffleString materializeJSONString(int startPos, int sLength, int firstEscape) {
         TruffleString s = Strings.substring(context, parseStr, startPos, sLength);
-        if (hasEscapes) {
+        if (firstEscape >= 0) {
             return unquoteJSON(s, sLength, firstEscape - startPos);
         } else {
             return s;
@@ -414,8 +559,7 @@ public class TruffleJSONParser {
             }
         } else if (fractionPos == -1 && !hasExponent && (endPos - startPos <= JSRuntime.MAX_SAFE_INTEGER_DIGITS)) {
             // safe integer but not zero
-            final int radix = 10;
-            long safeInt = JSRuntime.parseSafeInteger(parseStr, startPos, endPos, radix);
+            long safeInt = parseSafeInteger(startPos, endPos);
             assert safeInt != 0;
             if (safeInt != JSRuntime.INVALID_SAFE_INTEGER) {
                 safeInt *= sign;
@@ -426,10 +570,23 @@ public class TruffleJSONParser {
                 }
             }
         }
-        TruffleString valueStr = Strings.lazySubstring(parseStr, startPos, endPos - startPos);
+        TruffleString valueStr = numberSubstring(startPos, endPos - startPos);
         return parseAsDouble(sign, valueStr);
     }
 
+    /**
+     * Parses the decimal digits in the range [{@code startPos}, {@code endPos}).
+     *
+     * @return the parsed value or {@link JSRuntime#INVALID_SAFE_INTEGER}
+     */
+    protected long parseSafeInteger(int startPos, int endPos) {
+        return JSRuntime.parseSafeInteger(parseStr, startPos, endPos, 10);
+    }
+
+    protected TruffleString numberSubstring(int startPos, int length) {
+        return Strings.lazySubstring(parseStr, startPos, length);
+    }
+
     protected Number parseAsDouble(int sign, TruffleString valueStr) {
         try {
             return Strings.parseDouble(valueStr) * sign;
@@ -501,7 +658,7 @@ public class TruffleJSONParser {
     protected Object error(String message) {
         if (context.isOptionNashornCompatibilityMode()) {
             // use the Nashorn parser to get the proper error
-            NashornJSONParser parser = new NashornJSONParser(parseStr, context);
+            NashornJSONParser parser = new NashornJSONParser(getParseText(), context);
             try {
                 parser.parse(); // should throw
             } catch (ParserException ex) {
@@ -532,6 +689,13 @@ public class TruffleJSONParser {
 
     // ************************* Helper Functions ****************************************//
 
+    /**
+     * Returns the complete input as a string. Only used for error reporting.
+     */
+    protected TruffleString getParseText() {
+        return parseStr;
+    }
+
     protected char get() {
         return get(pos);
     }
@@ -544,11 +708,20 @@ public class TruffleJSONParser {
     protected void skipString(TruffleString expected) {
         int length = Strings.length(expected);
         assert len >= pos + length;
-        assert Strings.equals(Strings.lazySubstring(parseStr, pos, length), expected);
+        assert matches(expected);
         pos += length;
         skipWhitespace();
     }
 
+    private boolean matches(TruffleString expected) {
+        for (int i = 0; i < Strings.length(expected); i++) {
+            if (get(pos + i) != Strings.charAt(expected, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected void expectChar(char expected) {
         if (get(pos) != expected) {
             error(expected + " expected");
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Strings;
+
+/**
+ * JSON parser reading UTF-8 encoded bytes directly, without decoding the whole input into a string
+ * first.
+ *
+ * All structural characters of JSON are ASCII, so the grammar of {@link TruffleJSONParser} can
+ * operate on the bytes as if they were characters; bytes of multi-byte sequences can only occur
+ * within strings. Only the contents of string values and keys are decoded, each one separately
+ * when it is reached, so the memory needed in addition to the input is proportional to the
+ * resulting values rather than to the UTF-16 representation of the whole document.
+ */
+public final class TruffleJSONUTF8Parser extends TruffleJSONParser {
+
+    private ByteBuffer buffer;
+
+    public TruffleJSONUTF8Parser(JSContext context) {
+        super(context, null);
+    }
+
+    /**
+     * Parses the remaining bytes of {@code utf8}. The position of the buffer is not modified. A
+     * leading byte order mark is ignored.
+     */
+    public Object parse(ByteBuffer utf8, JSRealm realm) {
+        ByteBuffer input = utf8.slice();
+        if (input.remaining() >= 3 && input.get(0) == (byte) 0xEF && input.get(1) == (byte) 0xBB && input.get(2) == (byte) 0xBF) {
+            input.position(3);
+            input = input.slice();
+        }
+        this.buffer = input;
+        this.len = input.remaining();
+        try {
+            return parseText(realm);
+        } finally {
+            buffer = null;
+        }
+    }
+
+    @Override
+    protected char get(int posParam) {
+        return (char) (buffer.get(posParam) & 0xFF);
+    }
+
+    @Override
+    protected TruffleString materializeJSONString(int startPos, int sLength, int firstEscape) {
+        TruffleString s = decode(startPos, sLength);
+        if (firstEscape >= 0) {
+            // escapes are ASCII, but the decoded string may be shorter than the byte range
+            return unquoteJSON(s, Strings.length(s), Strings.indexOf(s, '\\'));
+        } else {
+            return s;
+        }
+    }
+
+    @Override
+    protected long parseSafeInteger(int startPos, int endPos) {
+        // the caller guarantees a plain sequence of at most MAX_SAFE_INTEGER_DIGITS digits
+        long value = 0;
+        for (int i = startPos; i < endPos; i++) {
+            value = value * 10 + (get(i) - '0');
+        }
+        return value <= JSRuntime.MAX_SAFE_INTEGER_LONG ? value : JSRuntime.INVALID_SAFE_INTEGER;
+    }
+
+    @Override
+    protected TruffleString numberSubstring(int startPos, int length) {
+        return decode(startPos, length);
+    }
+
+    @Override
+    protected TruffleString getParseText() {
+        return decode(0, len);
+    }
+
+    private TruffleString decode(int startPos, int length) {
+        byte[] bytes;
+        int offset;
+        if (buffer.hasArray()) {
+            bytes = buffer.array();
+            offset = buffer.arrayOffset() + startPos;
+        } else {
+            bytes = new byte[length];
+            offset = 0;
+            ByteBuffer range = buffer.duplicate();
+            range.position(startPos);
+            range.get(bytes, 0, length);
+        }
+        TruffleString utf8 = TruffleString.fromByteArrayUncached(bytes, offset, length, TruffleString.Encoding.UTF_8, true);
+        return utf8.switchEncodingUncached(TruffleString.Encoding.UTF_16);
+    }
+}
@@ -188,8 +188,11 @@ public final class JavaScriptLanguage extends TruffleLanguage<JSRealm> {
 
     @Override
     protected void finalizeContext(JSRealm realm) {
-        // Terminate spawned agent threads
+        // Terminate spawned agent and worker threads
+        realm.getAgent().terminateWorkers();
         realm.getAgent().terminate();
+        // Stop background module parsing threads
+        realm.disposeModuleLoader();
     }
 
     @TruffleBoundary
@@ -434,6 +437,9 @@ public final class JavaScriptLanguage extends TruffleLanguage<JSRealm> {
         if (options.isProfileTime() && options.isProfileTimePrintCumulative()) {
             context.getTimeProfiler().printCumulative();
         }
+        if (options.isIntlFormatterCacheStats() && realm.getIntlFormatterCache() != null) {
+            realm.getOutputWriter().println(realm.getIntlFormatterCache());
+        }
         realm.dispose();
     }
 
@@ -42,9 +42,11 @@ package com.oracle.truffle.js.nodes.access;
 
 import java.util.Set;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.GenerateWrapper;
 import com.oracle.truffle.api.instrumentation.ProbeNode;
@@ -63,13 +65,24 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.array.ArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.dyn.AbstractConstantArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractConstantEmptyArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractJSObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractWritableArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
 import com.oracle.truffle.js.runtime.array.dyn.ConstantObjectArray;
 import com.oracle.truffle.js.runtime.array.dyn.HolesIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedJSObjectArray;
+import com.oracle.truffle.js.runtime.array.dyn.ZeroBasedObjectArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayObject;
 import com.oracle.truffle.js.runtime.objects.IteratorRecord;
@@ -536,18 +549,139 @@ public abstract class ArrayLiteralNode extends JavaScriptNode {
 
     private static final class ConstantEmptyArrayLiteralNode extends ArrayLiteralNode {
 
+        private final ArrayLiteralAllocationSite allocationSite;
+
         ConstantEmptyArrayLiteralNode(JSContext context) {
             super(context);
+            this.allocationSite = ArrayLiteralAllocationSite.create(context);
         }
 
         @Override
         public JSArrayObject execute(VirtualFrame frame) {
-            return JSArray.createConstantEmptyArray(context, getRealm());
+            if (allocationSite != null) {
+                ScriptArray initialType = allocationSite.getInitialArrayType();
+                if (initialType != null) {
+                    Object storage = ((AbstractWritableArray) initialType).allocateArray(allocationSite.getInitialCapacity());
+                    return JSArray.create(context, getRealm(), initialType, storage, allocationSite, 0, 0, 0, 0, 0);
+                }
+            }
+            return JSArray.createConstantEmptyArray(context, getRealm(), allocationSite);
         }
 
         @Override
         protected JavaScriptNode copyUninitialized(Set<Class<? extends Tag>> materializedTags) {
-            return copy();
+            return new ConstantEmptyArrayLiteralNode(context);
+        }
+    }
+
+    /**
+     * Remembers the elements kind and the capacity of the arrays created by an empty array literal,
+     * so that subsequent arrays can be allocated with a matching writable array type and backing
+     * store instead of transitioning and regrowing from the constant empty array each time.
+     *
+     * The elements kind only ever generalizes (int, double, object or JS object) and the capacity
+     * only ever grows up to the configured limit, so the number of invalidations is bounded.
+     */
+    private static final class ArrayLiteralAllocationSite implements ArrayAllocationSite {
+        private static final byte KIND_NONE = 0;
+        private static final byte KIND_INT = 1;
+        private static final byte KIND_DOUBLE = 2;
+        private static final byte KIND_JSOBJECT = 3;
+        private static final byte KIND_OBJECT = 4;
+        private static final byte KIND_GENERIC = 5;
+
+        private final int capacityLimit;
+        @CompilationFinal private byte kind = KIND_NONE;
+        @CompilationFinal private int capacity = JSConfig.InitialArraySize;
+        @CompilationFinal private Assumption assumption = Truffle.getRuntime().createAssumption("Array literal allocation site");
+
+        private ArrayLiteralAllocationSite(int capacityLimit) {
+            this.capacityLimit = capacityLimit;
+        }
+
+        static ArrayLiteralAllocationSite create(JSContext context) {
+            int limit = context.getArrayLiteralPreallocationLimit();
+            return limit > 0 ? new ArrayLiteralAllocationSite(Math.max(limit, JSConfig.InitialArraySize)) : null;
+        }
+
+        @Override
+        public ScriptArray getInitialArrayType() {
+            if (!assumption.isValid()) {
+                return null;
+            }
+            switch (kind) {
+                case KIND_INT:
+                    return ZeroBasedIntArray.createZeroBasedIntArray();
+                case KIND_DOUBLE:
+                    return ZeroBasedDoubleArray.createZeroBasedDoubleArray();
+                case KIND_JSOBJECT:
+                    return ZeroBasedJSObjectArray.createZeroBasedJSObjectArray();
+                case KIND_OBJECT:
+                    return ZeroBasedObjectArray.createZeroBasedObjectArray();
+                default:
+                    return null;
+            }
+        }
+
+        int getInitialCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public void notifyArrayTypeChange(ScriptArray arrayType) {
+            CompilerAsserts.neverPartOfCompilation("do not notify array transitions from compiled code");
+            byte newKind = generalize(kind, kindOf(arrayType));
+            if (newKind != kind) {
+                kind = newKind;
+                invalidate("Array literal elements kind change");
+            }
+        }
+
+        @Override
+        public void notifyArrayGrowth(int minCapacity) {
+            CompilerAsserts.neverPartOfCompilation("do not notify array growth from compiled code");
+            if (kind == KIND_GENERIC || capacity >= capacityLimit || minCapacity <= capacity) {
+                return;
+            }
+            int newCapacity = Integer.highestOneBit(minCapacity - 1) << 1;
+            capacity = newCapacity > 0 ? Math.min(newCapacity, capacityLimit) : capacityLimit;
+            invalidate("Array literal capacity change");
+        }
+
+        private void invalidate(String reason) {
+            Assumption oldAssumption = assumption;
+            assumption = Truffle.getRuntime().createAssumption("Array literal allocation site");
+            oldAssumption.invalidate(reason);
+        }
+
+        private static byte kindOf(ScriptArray arrayType) {
+            if (arrayType instanceof AbstractConstantEmptyArray) {
+                return KIND_NONE;
+            } else if (arrayType instanceof AbstractIntArray) {
+                return KIND_INT;
+            } else if (arrayType instanceof AbstractDoubleArray) {
+                return KIND_DOUBLE;
+            } else if (arrayType instanceof AbstractJSObjectArray) {
+                return KIND_JSOBJECT;
+            } else if (arrayType instanceof AbstractObjectArray) {
+                return KIND_OBJECT;
+            } else {
+                return KIND_GENERIC;
+            }
+        }
+
+        private static byte generalize(byte kind1, byte kind2) {
+            if (kind1 == kind2 || kind2 == KIND_NONE) {
+                return kind1;
+            } else if (kind1 == KIND_NONE) {
+                return kind2;
+            } else if (kind1 == KIND_GENERIC || kind2 == KIND_GENERIC) {
+                return KIND_GENERIC;
+            } else if (kind1 <= KIND_DOUBLE && kind2 <= KIND_DOUBLE) {
+                return KIND_DOUBLE;
+            } else {
+                return KIND_OBJECT;
+            }
         }
     }
 
@@ -42,8 +42,6 @@ package com.oracle.truffle.js.nodes.access;
 
 import static com.oracle.truffle.api.nodes.ExplodeLoop.LoopExplosionKind.FULL_UNROLL_UNTIL_RETURN;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.locks.Lock;
 
 import com.oracle.truffle.api.CompilerAsserts;
@@ -60,8 +58,14 @@ abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?
 
     // Do not cache keys used less than this perc. of total accesses (interpreter only).
     private static final int MIN_CACHING_PERC = 10;
-    // Do not sample more than this number of keys (interpreter only).
-    private static final int MAX_DISTRIBUTION_MAP_SIZE = 1024;
+    // Width of each of the two rows of the key frequency sketch (interpreter only).
+    private static final int SKETCH_WIDTH = 256;
+    // Stop sampling once this many counters of the first sketch row are in use, i.e., once too
+    // many different keys have been seen for the estimates to be useful (interpreter only).
+    private static final int MAX_SKETCH_OCCUPANCY = SKETCH_WIDTH * 3 / 4;
+    // Halve all counters after this many accesses, so that they cannot overflow and old accesses
+    // fade out (interpreter only).
+    private static final int AGING_PERIOD = 1 << 20;
     // Do not cache locations accessed less than this value (interpreter only).
     private static final int MIN_KEYS_ACCESSES = 100;
     // Compute distribution statistics every XX accesses (e.g., every 10 reads).
@@ -80,9 +84,16 @@ abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?
 
     protected final JSContext context;
 
+    /*
+     * Key frequencies are estimated with a count-min sketch of two rows of counters, which is
+     * updated without synchronization: concurrent increments may occasionally be lost, which only
+     * makes the (sampled) estimates slightly less precise. The AST lock is only taken to update
+     * the high frequency nodes, i.e., when a key not cached yet becomes frequent enough.
+     */
+    private int[] sketch = new int[2 * SKETCH_WIDTH];
+    private int sketchOccupancy;
     private int totalHits;
     private final int[] topHits;
-    private Map<Object, HitsCount> hitsDistributionMap = new HashMap<>();
 
     private FrequencyBasedPolymorphicAccessNode(JSContext context, int size) {
         this.context = context;
@@ -94,43 +105,85 @@ abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?
     protected abstract void setHighFrequencyNode(int position, Object key);
 
     protected void interpreterSample(Object key) {
+        CompilerAsserts.neverPartOfCompilation();
+        assert JSRuntime.isPropertyKey(key);
+        int[] counts = sketch;
+        if (counts == null) {
+            return;
+        }
+        int hash = key.hashCode();
+        int index0 = sketchIndex0(hash);
+        int index1 = sketchIndex1(hash);
+        int count0 = counts[index0];
+        if (count0 == 0 && ++sketchOccupancy >= MAX_SKETCH_OCCUPANCY) {
+            // Bailout
+            sketch = null;
+            return;
+        }
+        counts[index0] = ++count0;
+        int count1 = ++counts[index1];
+        int hits = Math.min(count0, count1);
+        int total = ++totalHits;
+        if (total >= AGING_PERIOD) {
+            age();
+            return;
+        }
+        if (hits % SAMPLE_EVERY != 0 || total < MIN_KEYS_ACCESSES) {
+            // Do not sample on every property access, and ignore keys and locations not used
+            // too often.
+            return;
+        }
+        if (percentage(hits, total) < MIN_CACHING_PERC || isHighFrequencyKey(key)) {
+            return;
+        }
+        updateHighFrequencyNodes(key);
+    }
+
+    private static int sketchIndex0(int hash) {
+        return (hash ^ (hash >>> 16)) & (SKETCH_WIDTH - 1);
+    }
+
+    private static int sketchIndex1(int hash) {
+        int h = hash * 0x9E3779B9;
+        return SKETCH_WIDTH + ((h ^ (h >>> 16)) & (SKETCH_WIDTH - 1));
+    }
+
+    private static int estimateHits(int[] counts, Object key) {
+        int hash = key.hashCode();
+        return Math.min(counts[sketchIndex0(hash)], counts[sketchIndex1(hash)]);
+    }
+
+    private boolean isHighFrequencyKey(Object key) {
+        for (T node : getHighFrequencyNodes()) {
+            if (node != null && node.getKey().equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateHighFrequencyNodes(Object key) {
         final Lock lock = getLock();
         lock.lock();
         try {
-            CompilerAsserts.neverPartOfCompilation();
-            assert JSRuntime.isPropertyKey(key);
-            if (hitsDistributionMap == null) {
-                return;
-            } else if (hitsDistributionMap.size() >= MAX_DISTRIBUTION_MAP_SIZE) {
-                // Bailout
-                hitsDistributionMap = null;
+            int[] counts = sketch;
+            if (counts == null || isHighFrequencyKey(key)) {
                 return;
             }
-            totalHits++;
-
-            HitsCount hitsCounter = hitsDistributionMap.get(key);
-            if (hitsCounter == null) {
-                hitsCounter = new HitsCount();
-                hitsDistributionMap.put(key, hitsCounter);
-            }
-            int hits = hitsCounter.incrementAndGet();
-            if (hits % SAMPLE_EVERY != 0 || totalHits < MIN_KEYS_ACCESSES) {
-                // Do not sample on every property access, and ignore keys and locations not used
-                // too often.
-                return;
+            T[] highFrequencyNodes = getHighFrequencyNodes();
+            for (int i = 0; i < topHits.length; i++) {
+                if (highFrequencyNodes[i] != null) {
+                    topHits[i] = estimateHits(counts, highFrequencyNodes[i].getKey());
+                }
             }
+            int hits = estimateHits(counts, key);
             for (int i = 0; i < topHits.length; i++) {
-                T[] highFrequencyNodes = getHighFrequencyNodes();
                 if (hits > topHits[i]) {
                     if (highFrequencyNodes[i] == null) {
                         // new IC entry
                         setHighFrequencyNode(i, key);
                         topHits[i] = hits;
                         break;
-                    } else if (highFrequencyNodes[i].getKey().equals(key)) {
-                        // update IC entry at same position
-                        topHits[i] = hits;
-                        break;
                     } else {
                         // shift IC entries, and insert
                         for (int j = topHits.length - 1; j > i; j--) {
@@ -148,7 +201,7 @@ abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?
                 if (topHits[i] == 0) {
                     break;
                 }
-                int perc = percentage(topHits[i]);
+                int perc = percentage(topHits[i], totalHits);
                 if (perc < MIN_CACHING_PERC) {
                     topHits[i] = 0;
                     getHighFrequencyNodes()[i] = null;
@@ -159,20 +212,33 @@ abstract class FrequencyBasedPolymorphicAccessNode<T extends PropertyCacheNode<?
         }
     }
 
-    private int percentage(int hits) {
-        return (int) (((float) hits / (float) totalHits) * 100);
-    }
-
-    private static class HitsCount {
-        private int hits;
-
-        HitsCount() {
-            this.hits = 0;
+    private void age() {
+        final Lock lock = getLock();
+        lock.lock();
+        try {
+            int[] counts = sketch;
+            if (counts == null || totalHits < AGING_PERIOD) {
+                return;
+            }
+            int occupancy = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] >>>= 1;
+                if (i < SKETCH_WIDTH && counts[i] != 0) {
+                    occupancy++;
+                }
+            }
+            for (int i = 0; i < topHits.length; i++) {
+                topHits[i] >>>= 1;
+            }
+            sketchOccupancy = occupancy;
+            totalHits >>>= 1;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        public int incrementAndGet() {
-            return ++(this.hits);
-        }
+    private static int percentage(int hits, int totalHits) {
+        return (int) (((float) hits / (float) totalHits) * 100);
     }
 
     public static final class FrequencyBasedPropertySetNode extends FrequencyBasedPolymorphicAccessNode<PropertySetNode> {
@@ -276,16 +276,25 @@ public class HasPropertyCacheNode extends PropertyCacheNode<HasPropertyCacheNode
     public static final class GenericHasPropertyCacheNode extends HasCacheNode {
         @Child private InteropLibrary interop;
         private final JSClassProfile jsclassProfile = JSClassProfile.create();
+        private final MegamorphicPropertyCache megamorphicCache;
 
-        public GenericHasPropertyCacheNode() {
+        public GenericHasPropertyCacheNode(JSContext context, Object key) {
             super(null);
             this.interop = InteropLibrary.getFactory().createDispatched(JSConfig.InteropLibraryLimit);
+            MegamorphicPropertyCache cache = context.getMegamorphicPropertyCache();
+            this.megamorphicCache = cache != null && MegamorphicPropertyCache.isCacheableKey(key) ? cache : null;
         }
 
         @Override
         protected boolean hasProperty(Object thisObj, HasPropertyCacheNode root) {
             if (JSDynamicObject.isJSDynamicObject(thisObj)) {
                 Object key = root.getKey();
+                if (megamorphicCache != null) {
+                    MegamorphicPropertyCache.Entry entry = megamorphicCache.lookup((JSDynamicObject) thisObj, key);
+                    if (entry != null) {
+                        return root.isOwnProperty() ? entry.isOwn() : entry.isPresent();
+                    }
+                }
                 if (root.isOwnProperty()) {
                     return JSObject.hasOwnProperty((JSDynamicObject) thisObj, key, jsclassProfile);
                 } else {
@@ -381,7 +390,7 @@ public class HasPropertyCacheNode extends PropertyCacheNode<HasPropertyCacheNode
      */
     @Override
     protected HasCacheNode createGenericPropertyNode() {
-        return new GenericHasPropertyCacheNode();
+        return new GenericHasPropertyCacheNode(context, key);
     }
 
     @Override
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.access;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.builtins.JSClass;
+import com.oracle.truffle.js.runtime.builtins.JSDictionary;
+import com.oracle.truffle.js.runtime.builtins.JSModuleNamespace;
+import com.oracle.truffle.js.runtime.builtins.JSNonProxy;
+import com.oracle.truffle.js.runtime.java.JavaImporter;
+import com.oracle.truffle.js.runtime.java.JavaPackage;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
+/**
+ * Fixed-size, direct-mapped cache of property lookups shared by all generic (megamorphic) property
+ * access nodes of a {@code JSContext}.
+ *
+ * Entries map a (receiver shape, property key) pair to the property found and the prototype depth
+ * of the object holding it, or record that the property is absent from the whole prototype chain.
+ * Lookups that go beyond the receiver are only cached if every object on the way has its prototype
+ * in the shape, so that the holder is determined by the receiver shape alone. Such entries are
+ * guarded by the same shape, property, and prototype assumptions as the prototype chain shape
+ * checks of the inline caches, and are ignored as soon as one of them is invalidated.
+ *
+ * Only objects whose named property lookups are fully described by their shape are cached, and only
+ * for keys that are neither array indices nor canonical numeric strings. Shapes are only weakly
+ * referenced, so the cache does not keep objects of disposed contexts alive.
+ */
+public final class MegamorphicPropertyCache {
+
+    private static final DebugCounter cacheHitCount = DebugCounter.create("Megamorphic property lookup cache hits");
+    private static final DebugCounter cacheMissCount = DebugCounter.create("Megamorphic property lookup cache misses");
+
+    private static final Assumption[] EMPTY_ASSUMPTIONS = new Assumption[0];
+
+    private final Entry[] entries;
+    private final int mask;
+
+    public MegamorphicPropertyCache(int size) {
+        assert size > 0;
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns whether lookups of this key may be cached. Array indices and canonical numeric
+     * strings are excluded since arrays, strings, and typed arrays handle them specially.
+     */
+    @TruffleBoundary
+    public static boolean isCacheableKey(Object key) {
+        if (key instanceof Symbol) {
+            return true;
+        } else if (key instanceof TruffleString) {
+            return JSRuntime.canonicalNumericIndexString((TruffleString) key) == Undefined.instance;
+        }
+        return false;
+    }
+
+    /**
+     * Looks up the key in the object and its prototype chain, consulting and populating the cache.
+     *
+     * @param key a key for which {@link #isCacheableKey} is true
+     * @return the (possibly newly cached) lookup result, or {@code null} if the lookup cannot be
+     *         cached and must be performed by the caller.
+     */
+    @TruffleBoundary
+    public Entry lookup(JSDynamicObject object, Object key) {
+        assert isCacheableKey(key) : key;
+        Shape shape = object.getShape();
+        int index = (System.identityHashCode(shape) * 31 + key.hashCode()) & mask;
+        Entry entry = entries[index];
+        if (entry != null && entry.get() == shape && (entry.key == key || entry.key.equals(key)) && entry.isValid()) {
+            cacheHitCount.inc();
+            return entry;
+        }
+        cacheMissCount.inc();
+        entry = createEntry(object, shape, key);
+        if (entry != null) {
+            entries[index] = entry;
+        }
+        return entry;
+    }
+
+    private static Entry createEntry(JSDynamicObject object, Shape shape, Object key) {
+        List<Assumption> assumptions = null;
+        JSDynamicObject current = object;
+        Shape currentShape = shape;
+        int depth = 0;
+        while (true) {
+            if (!hasOrdinaryNamedPropertyLookup(JSShape.getJSClass(currentShape))) {
+                return null;
+            }
+            Property property = currentShape.getProperty(key);
+            if (property != null) {
+                if (property.getLocation().isConstant()) {
+                    // do not retain the constant value
+                    return null;
+                }
+                return newEntry(shape, key, property, depth, assumptions);
+            }
+            if (!JSShape.isPrototypeInShape(currentShape)) {
+                return null;
+            }
+            JSDynamicObject prototype = JSObject.getPrototype(current);
+            if (prototype == Null.instance) {
+                return newEntry(shape, key, null, depth, assumptions);
+            }
+            if (assumptions == null) {
+                assumptions = new ArrayList<>();
+            }
+            if (depth != 0) {
+                assumptions.add(JSShape.getPrototypeAssumption(currentShape));
+            }
+            current = prototype;
+            currentShape = prototype.getShape();
+            assumptions.add(currentShape.getValidAssumption());
+            assumptions.add(JSShape.getPropertyAssumption(currentShape, key, true));
+            depth++;
+        }
+    }
+
+    private static Entry newEntry(Shape shape, Object key, Property property, int depth, List<Assumption> assumptions) {
+        Entry entry = new Entry(shape, key, property, depth, assumptions == null ? EMPTY_ASSUMPTIONS : assumptions.toArray(EMPTY_ASSUMPTIONS));
+        return entry.isValid() ? entry : null;
+    }
+
+    /**
+     * Whether named property lookups of this class only consult the shape and the prototype.
+     */
+    private static boolean hasOrdinaryNamedPropertyLookup(JSClass jsclass) {
+        return jsclass instanceof JSNonProxy && !(jsclass instanceof JSDictionary) && !(jsclass instanceof JSModuleNamespace) &&
+                        !(jsclass instanceof JavaImporter) && !(jsclass instanceof JavaPackage);
+    }
+
+    /**
+     * Cached result of a property lookup for a particular receiver shape and key.
+     */
+    public static final class Entry extends WeakReference<Shape> {
+        final Object key;
+        private final Property property;
+        private final int depth;
+        private final Assumption[] assumptions;
+
+        Entry(Shape shape, Object key, Property property, int depth, Assumption[] assumptions) {
+            super(shape);
+            this.key = key;
+            this.property = property;
+            this.depth = depth;
+            this.assumptions = assumptions;
+        }
+
+        boolean isValid() {
+            for (Assumption assumption : assumptions) {
+                if (!assumption.isValid()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns whether the property was found on the receiver or one of its prototypes.
+         */
+        public boolean isPresent() {
+            return property != null;
+        }
+
+        /**
+         * Returns whether the property was found on the receiver itself.
+         */
+        public boolean isOwn() {
+            return property != null && depth == 0;
+        }
+
+        public Property getProperty() {
+            return property;
+        }
+
+        /**
+         * Returns the object holding the property, given the receiver the entry was looked up for.
+         */
+        public JSDynamicObject getStore(JSDynamicObject receiver) {
+            assert isPresent();
+            JSDynamicObject store = receiver;
+            for (int i = 0; i < depth; i++) {
+                store = JSObject.getPrototype(store);
+            }
+            return store;
+        }
+    }
+}
@@ -1438,6 +1438,7 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
         private final Object key;
         private final boolean isRequired;
         private final JSContext context;
+        private final MegamorphicPropertyCache megamorphicCache;
         private final BranchProfile nullOrUndefinedBranch = BranchProfile.create();
         private final BranchProfile fallbackBranch = BranchProfile.create();
 
@@ -1445,6 +1446,8 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
             this.key = root.getKey();
             this.isRequired = root.isRequired();
             this.context = root.getContext();
+            MegamorphicPropertyCache cache = context.getMegamorphicPropertyCache();
+            this.megamorphicCache = cache != null && MegamorphicPropertyCache.isCacheableKey(key) ? cache : null;
         }
 
         public abstract Object executeWithJSObject(JSDynamicObject thisObj, Object receiver, Object defaultValue, PropertyGetNode root);
@@ -1489,17 +1492,34 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
                 throw Errors.createTypeErrorCannotGetProperty(root.getContext(), key, object, isMethod, this);
             }
 
-            // 1. try to get a JS property
+            // 1. try the context-wide lookup cache
+            if (megamorphicCache != null) {
+                MegamorphicPropertyCache.Entry entry = megamorphicCache.lookup(object, key);
+                if (entry != null) {
+                    if (entry.isPresent()) {
+                        return getCachedValue(entry, object, receiver);
+                    }
+                    fallbackBranch.enter();
+                    return getNoSuchProperty(object, defaultValue, root);
+                }
+            }
+
+            // 2. try to get a JS property
             Object value = isMethod ? jsclass.getMethodHelper(object, receiver, key, this) : jsclass.getHelper(object, receiver, key, this);
             if (value != null) {
                 return value;
             }
 
-            // 2. try to call fallback handler or return undefined
+            // 3. try to call fallback handler or return undefined
             fallbackBranch.enter();
             return getNoSuchProperty(object, defaultValue, root);
         }
 
+        @TruffleBoundary
+        private Object getCachedValue(MegamorphicPropertyCache.Entry entry, JSDynamicObject object, Object receiver) {
+            return JSProperty.getValue(entry.getProperty(), entry.getStore(object), receiver, this);
+        }
+
         protected Object getNoSuchProperty(JSDynamicObject thisObj, Object defaultValue, PropertyGetNode root) {
             if (root.getContext().isOptionNashornCompatibilityMode() &&
                             (!root.getContext().getNoSuchPropertyUnusedAssumption().isValid() || (root.isMethod() && !root.getContext().getNoSuchMethodUnusedAssumption().isValid()))) {
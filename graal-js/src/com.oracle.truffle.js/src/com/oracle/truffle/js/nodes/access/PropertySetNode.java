@@ -780,10 +780,13 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
         private final ConditionProfile isObject = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isStrictSymbol = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isForeignObject = ConditionProfile.createBinaryProfile();
+        private final MegamorphicPropertyCache megamorphicCache;
 
-        public GenericPropertySetNode(JSContext context) {
+        public GenericPropertySetNode(JSContext context, Object key) {
             super(null);
             this.toObjectNode = JSToObjectNode.createToObjectNoCheck(context);
+            MegamorphicPropertyCache cache = context.getMegamorphicPropertyCache();
+            this.megamorphicCache = cache != null && MegamorphicPropertyCache.isCacheableKey(key) ? cache : null;
         }
 
         @Override
@@ -816,11 +819,25 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
                 } else {
                     JSObject.defineOwnProperty(thisJSObj, key, PropertyDescriptor.createData(value, root.getAttributeFlags()), root.isStrict());
                 }
-            } else {
+            } else if (megamorphicCache == null || receiver != thisJSObj || !setCachedValue(thisJSObj, key, value, root)) {
                 JSObject.setWithReceiver(thisJSObj, key, value, receiver, root.isStrict(), jsclassProfile, root);
             }
         }
 
+        /**
+         * Assigns an existing own property or calls an inherited setter found via the context-wide
+         * lookup cache. Returns false if the ordinary [[Set]] has to be performed instead.
+         */
+        @TruffleBoundary
+        private boolean setCachedValue(JSDynamicObject thisObj, Object key, Object value, PropertySetNode root) {
+            MegamorphicPropertyCache.Entry entry = megamorphicCache.lookup(thisObj, key);
+            if (entry != null && (entry.isOwn() || (entry.isPresent() && JSProperty.isAccessor(entry.getProperty())))) {
+                JSProperty.setValue(entry.getProperty(), entry.getStore(thisObj), thisObj, value, root.isStrict(), root);
+                return true;
+            }
+            return false;
+        }
+
         @Override
         protected boolean setValueInt(Object thisObj, int value, Object receiver, PropertySetNode root, boolean guard) {
             return setValue(thisObj, value, receiver, root, guard);
@@ -1152,7 +1169,7 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
 
     @Override
     protected SetCacheNode createGenericPropertyNode() {
-        return new GenericPropertySetNode(context);
+        return new GenericPropertySetNode(context, key);
     }
 
     @Override
@@ -577,7 +577,7 @@ public class ReadElementNode extends JSTargetableNode implements ReadNode {
         }
 
         private static ArrayReadElementCacheNode purgeStaleCacheEntries(ArrayReadElementCacheNode head, JSDynamicObject target) {
-            if (JSConfig.TrackArrayAllocationSites && head != null && JSArray.isJSArray(target)) {
+            if (head != null && JSArray.isJSArray(target)) {
                 ArrayAllocationSite allocationSite = JSAbstractArray.arrayGetAllocationSite(target);
                 if (allocationSite != null && allocationSite.getInitialArrayType() != null) {
                     for (ArrayReadElementCacheNode c = head, prev = null; c != null; prev = c, c = c.arrayCacheNext) {
@@ -680,7 +680,7 @@ public class WriteElementNode extends JSTargetableNode {
         }
 
         private static ArrayWriteElementCacheNode purgeStaleCacheEntries(ArrayWriteElementCacheNode head, JSDynamicObject target) {
-            if (JSConfig.TrackArrayAllocationSites && head != null && JSArray.isJSArray(target)) {
+            if (head != null && JSArray.isJSArray(target)) {
                 ArrayAllocationSite allocationSite = JSAbstractArray.arrayGetAllocationSite(target);
                 if (allocationSite != null && allocationSite.getInitialArrayType() != null) {
                     for (ArrayWriteElementCacheNode c = head, prev = null; c != null; prev = c, c = c.arrayCacheNext) {
@@ -55,14 +55,11 @@ import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.Tag;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RootNode;
-import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.access.JSReadFrameSlotNode;
-import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.access.PropertySetNode;
-import com.oracle.truffle.js.nodes.arguments.AccessIndexedArgumentNode;
 import com.oracle.truffle.js.nodes.function.FunctionRootNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.nodes.instrumentation.JSTags;
@@ -75,14 +72,12 @@ import com.oracle.truffle.js.nodes.promise.PromiseResolveNode;
 import com.oracle.truffle.js.runtime.JSArguments;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
-import com.oracle.truffle.js.runtime.JSFrameUtil;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
-import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.UserScriptException;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
-import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
+import com.oracle.truffle.js.runtime.objects.AwaitContinuation;
 import com.oracle.truffle.js.runtime.objects.Completion;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
@@ -102,20 +97,12 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
     @Child private PromiseResolveNode promiseResolveNode;
     @Child private JSFunctionCallNode callPromiseResolveNode;
     @Child private PropertySetNode setPromiseIsHandledNode;
-    @Child private PropertySetNode setAsyncContextNode;
-    @Child private PropertySetNode setAsyncTargetNode;
-    @Child private PropertySetNode setAsyncCallNode;
-    @Child private PropertySetNode setAsyncGeneratorNode;
     protected final JSContext context;
+    private final boolean recordAsyncCallNode;
     private final ConditionProfile asyncTypeProf = ConditionProfile.createBinaryProfile();
     private final ConditionProfile resumptionTypeProf = ConditionProfile.createBinaryProfile();
     private final BranchProfile saveStackBranch = BranchProfile.create();
 
-    static final HiddenKey ASYNC_CONTEXT = new HiddenKey("AsyncContext");
-    static final HiddenKey ASYNC_TARGET = new HiddenKey("AsyncTarget");
-    static final HiddenKey ASYNC_GENERATOR = new HiddenKey("AsyncGenerator");
-    static final HiddenKey ASYNC_CALL_NODE = new HiddenKey("AsyncCallNode");
-
     protected AbstractAwaitNode(JSContext context, int stateSlot, JavaScriptNode expression, JSReadFrameSlotNode readAsyncContextNode, JSReadFrameSlotNode readAsyncResultNode) {
         this.stateSlot = stateSlot;
         this.context = context;
@@ -123,13 +110,7 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
         this.readAsyncResultNode = readAsyncResultNode;
         this.readAsyncContextNode = readAsyncContextNode;
 
-        this.setAsyncContextNode = PropertySetNode.createSetHidden(ASYNC_CONTEXT, context);
-        this.setAsyncTargetNode = PropertySetNode.createSetHidden(ASYNC_TARGET, context);
-        this.setAsyncGeneratorNode = PropertySetNode.createSetHidden(ASYNC_GENERATOR, context);
-
-        if (context.isOptionAsyncStackTraces() && expression != null && expression.hasTag(StandardTags.CallTag.class)) {
-            this.setAsyncCallNode = PropertySetNode.createSetHidden(ASYNC_CALL_NODE, context);
-        }
+        this.recordAsyncCallNode = context.isOptionAsyncStackTraces() && expression != null && expression.hasTag(StandardTags.CallTag.class);
 
         this.performPromiseThenNode = PerformPromiseThenNode.create(context);
         if (context.usePromiseResolve()) {
@@ -159,23 +140,21 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
         }
 
         JSDynamicObject promise = promiseResolve(value);
-        JSFunctionObject onFulfilled = createAwaitFulfilledFunction(resumeTarget, asyncContext, generatorOrCapability);
-        JSFunctionObject onRejected = createAwaitRejectedFunction(resumeTarget, asyncContext, generatorOrCapability);
+        // Both reactions resume the suspended frame directly; the handlers are internal and
+        // never reachable from user code, so no closure objects are needed.
+        Node asyncCallNode = recordAsyncCallNode ? expression : null;
+        AwaitContinuation continuation = AwaitContinuation.create(resumeTarget, asyncContext, generatorOrCapability, asyncCallNode);
         PromiseCapabilityRecord throwawayCapability = newThrowawayCapability();
 
-        fillAsyncStackTrace(frame, onFulfilled, onRejected);
+        fillAsyncStackTrace(frame);
         context.notifyPromiseHook(-1 /* parent info */, promise);
 
         echoInput(frame, promise);
-        performPromiseThenNode.execute(promise, onFulfilled, onRejected, throwawayCapability);
+        performPromiseThenNode.executeAwait(promise, continuation, throwawayCapability);
         throw YieldException.AWAIT_NULL; // value is ignored
     }
 
-    private void fillAsyncStackTrace(VirtualFrame frame, JSDynamicObject onFulfilled, JSDynamicObject onRejected) {
-        if (setAsyncCallNode != null) {
-            setAsyncCallNode.setValue(onFulfilled, expression);
-            setAsyncCallNode.setValue(onRejected, expression);
-        }
+    private void fillAsyncStackTrace(VirtualFrame frame) {
         if (context.isOptionAsyncStackTraces()) {
             Object[] asyncContext = (Object[]) readAsyncContextNode.execute(frame);
             int asyncStackDepth = 0;
@@ -259,82 +238,6 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
         return newPromiseCapabilityNode.executeDefault();
     }
 
-    private JSFunctionObject createAwaitFulfilledFunction(CallTarget resumeTarget, MaterializedFrame asyncContext, Object generator) {
-        JSFunctionData functionData = context.getOrCreateBuiltinFunctionData(JSContext.BuiltinFunctionKey.AwaitFulfilled, (c) -> createAwaitFulfilledImpl(c));
-        JSFunctionObject function = JSFunction.create(getRealm(), functionData);
-        setAsyncTargetNode.setValue(function, resumeTarget);
-        setAsyncContextNode.setValue(function, asyncContext);
-        setAsyncGeneratorNode.setValue(function, generator);
-        return function;
-    }
-
-    static class AwaitSettledRootNode extends JavaScriptRootNode implements AsyncHandlerRootNode {
-        @Child private JavaScriptNode valueNode;
-        @Child private PropertyGetNode getAsyncTarget;
-        @Child private PropertyGetNode getAsyncContext;
-        @Child private PropertyGetNode getAsyncGenerator;
-        @Child private AwaitResumeNode awaitResumeNode;
-
-        AwaitSettledRootNode(JSContext context, boolean rejected) {
-            this.valueNode = AccessIndexedArgumentNode.create(0);
-            this.getAsyncTarget = PropertyGetNode.createGetHidden(ASYNC_TARGET, context);
-            this.getAsyncContext = PropertyGetNode.createGetHidden(ASYNC_CONTEXT, context);
-            this.getAsyncGenerator = PropertyGetNode.createGetHidden(ASYNC_GENERATOR, context);
-            this.awaitResumeNode = AwaitResumeNode.create(rejected);
-        }
-
-        @Override
-        public Object execute(VirtualFrame frame) {
-            JSDynamicObject functionObject = JSFrameUtil.getFunctionObject(frame);
-            CallTarget asyncTarget = (CallTarget) getAsyncTarget.getValue(functionObject);
-            Object asyncContext = getAsyncContext.getValue(functionObject);
-            Object generator = getAsyncGenerator.getValue(functionObject);
-            Object value = valueNode.execute(frame);
-            return awaitResumeNode.execute(asyncTarget, asyncContext, generator, value);
-        }
-
-        @Override
-        public AsyncStackTraceInfo getAsyncStackTraceInfo(JSFunctionObject handlerFunction) {
-            assert JSFunction.isJSFunction(handlerFunction) && ((RootCallTarget) JSFunction.getFunctionData(handlerFunction).getCallTarget()).getRootNode() == this;
-            RootCallTarget asyncTarget = (RootCallTarget) JSObjectUtil.getHiddenProperty(handlerFunction, ASYNC_TARGET);
-            if (asyncTarget.getRootNode() instanceof AsyncRootNode) {
-                MaterializedFrame asyncContextFrame = (MaterializedFrame) JSObjectUtil.getHiddenProperty(handlerFunction, ASYNC_CONTEXT);
-                Node callNode = (Node) JSObjectUtil.getHiddenProperty(handlerFunction, AbstractAwaitNode.ASYNC_CALL_NODE);
-                TruffleStackTraceElement asyncStackTraceElement = TruffleStackTraceElement.create(callNode, asyncTarget, asyncContextFrame);
-                JSDynamicObject asyncPromise = ((AsyncRootNode) asyncTarget.getRootNode()).getAsyncFunctionPromise(asyncContextFrame);
-                return new AsyncStackTraceInfo(asyncPromise, asyncStackTraceElement);
-            }
-            return new AsyncStackTraceInfo();
-        }
-    }
-
-    private static JSFunctionData createAwaitFulfilledImpl(JSContext context) {
-        class AwaitFulfilledRootNode extends AwaitSettledRootNode {
-            AwaitFulfilledRootNode() {
-                super(context, false);
-            }
-        }
-        return JSFunctionData.createCallOnly(context, new AwaitFulfilledRootNode().getCallTarget(), 1, Strings.EMPTY_STRING);
-    }
-
-    private JSFunctionObject createAwaitRejectedFunction(CallTarget resumeTarget, MaterializedFrame asyncContext, Object generator) {
-        JSFunctionData functionData = context.getOrCreateBuiltinFunctionData(JSContext.BuiltinFunctionKey.AwaitRejected, (c) -> createAwaitRejectedImpl(c));
-        JSFunctionObject function = JSFunction.create(getRealm(), functionData);
-        setAsyncTargetNode.setValue(function, resumeTarget);
-        setAsyncContextNode.setValue(function, asyncContext);
-        setAsyncGeneratorNode.setValue(function, generator);
-        return function;
-    }
-
-    private static JSFunctionData createAwaitRejectedImpl(JSContext context) {
-        class AwaitRejectedRootNode extends AwaitSettledRootNode {
-            AwaitRejectedRootNode() {
-                super(context, true);
-            }
-        }
-        return JSFunctionData.createCallOnly(context, new AwaitRejectedRootNode().getCallTarget(), 1, Strings.EMPTY_STRING);
-    }
-
     @SuppressWarnings("unused")
     protected void echoInput(VirtualFrame frame, Object value) {
     }
@@ -360,7 +263,14 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
                 SimpleArrayList<?> fulfillList = (SimpleArrayList<?>) fulfillReactions;
                 PromiseReactionRecord reaction = (PromiseReactionRecord) fulfillList.get(0);
                 Object handler = reaction.getHandler();
-                if (JSFunction.isJSFunction(handler)) {
+                if (handler instanceof AwaitContinuation) {
+                    AsyncStackTraceInfo result = getAsyncStackTraceInfo((AwaitContinuation) handler);
+                    if (result.stackTraceElement != null) {
+                        stackTrace.add(result.stackTraceElement);
+                    }
+                    nextPromise = result.promise;
+                    continue;
+                } else if (JSFunction.isJSFunction(handler)) {
                     JSFunctionObject handlerFunction = (JSFunctionObject) handler;
                     RootNode rootNode = ((RootCallTarget) JSFunction.getCallTarget(handlerFunction)).getRootNode();
                     if (rootNode instanceof AsyncHandlerRootNode) {
@@ -393,4 +303,24 @@ public abstract class AbstractAwaitNode extends JavaScriptNode implements Resuma
         }
         return stackTrace;
     }
+
+    public static List<TruffleStackTraceElement> findAsyncStackFramesFromContinuation(AwaitContinuation continuation) {
+        List<TruffleStackTraceElement> stackTrace = new ArrayList<>(4);
+        JSDynamicObject promise = getAsyncStackTraceInfo(continuation).promise;
+        if (promise != null) {
+            collectAsyncStackFramesFromPromise(promise, stackTrace);
+        }
+        return stackTrace;
+    }
+
+    private static AsyncStackTraceInfo getAsyncStackTraceInfo(AwaitContinuation continuation) {
+        RootCallTarget asyncTarget = (RootCallTarget) continuation.getResumeTarget();
+        if (asyncTarget.getRootNode() instanceof AsyncRootNode) {
+            MaterializedFrame asyncContextFrame = continuation.getAsyncContext();
+            TruffleStackTraceElement asyncStackTraceElement = TruffleStackTraceElement.create(continuation.getCallNode(), asyncTarget, asyncContextFrame);
+            JSDynamicObject asyncPromise = ((AsyncRootNode) asyncTarget.getRootNode()).getAsyncFunctionPromise(asyncContextFrame);
+            return new AsyncStackTraceInfo(asyncPromise, asyncStackTraceElement);
+        }
+        return new AsyncStackTraceInfo();
+    }
 }
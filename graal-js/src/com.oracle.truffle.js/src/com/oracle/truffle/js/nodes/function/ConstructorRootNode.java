@@ -42,6 +42,7 @@ package com.oracle.truffle.js.nodes.function;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
@@ -56,6 +57,7 @@ import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.InstanceLayoutProfile;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
@@ -69,6 +71,7 @@ public final class ConstructorRootNode extends JavaScriptRootNode {
     private final ConditionProfile isObject = ConditionProfile.createBinaryProfile();
     private final boolean newTarget;
     private final JSOrdinary instanceLayout;
+    @CompilationFinal private InstanceLayoutProfile instanceLayoutProfile;
 
     protected ConstructorRootNode(JSFunctionData functionData, CallTarget callTarget, boolean newTarget, JSOrdinary instanceLayout) {
         super(functionData.getContext().getLanguage(), ((RootCallTarget) callTarget).getRootNode().getSourceSection(), null);
@@ -131,15 +134,29 @@ public final class ConstructorRootNode extends JavaScriptRootNode {
         Object[] arguments = frame.getArguments();
         Object thisObject = allocateThisObject(frame, arguments);
         Object result = callNode.call(arguments);
-        return filterConstructorResult(thisObject, result);
+        Object constructed = filterConstructorResult(thisObject, result);
+        if (CompilerDirectives.inInterpreter() && instanceLayoutProfile != null && constructed == thisObject && instanceLayoutProfile.isSampling()) {
+            instanceLayoutProfile.sample((JSDynamicObject) thisObject);
+        }
+        return constructed;
     }
 
     private void initialize() {
+        this.instanceLayoutProfile = createInstanceLayoutProfile();
         this.callNode = insert(Truffle.getRuntime().createDirectCallNode(callTarget));
-        this.newObjectNode = insert(SpecializedNewObjectNode.create(functionData, instanceLayout));
+        this.newObjectNode = insert(SpecializedNewObjectNode.create(functionData, instanceLayout, instanceLayoutProfile));
         this.isObjectNode = insert(IsObjectNode.create());
     }
 
+    private InstanceLayoutProfile createInstanceLayoutProfile() {
+        JSFunctionData fd = getFunctionData();
+        if (JSConfig.InstanceLayoutPrediction && instanceLayout == JSOrdinary.INSTANCE && fd.isConstructor() && !fd.isBuiltin() && !fd.isDerived() &&
+                        !fd.getContext().isMultiContext()) {
+            return fd.getOrCreateInstanceLayoutProfile();
+        }
+        return null;
+    }
+
     private JSFunctionData getFunctionData() {
         return functionData;
     }
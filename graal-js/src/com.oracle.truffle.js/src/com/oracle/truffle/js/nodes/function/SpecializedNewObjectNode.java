@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.nodes.function;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
@@ -61,6 +62,7 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.InstanceLayoutProfile;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
@@ -74,19 +76,23 @@ public abstract class SpecializedNewObjectNode extends JavaScriptBaseNode {
     protected final boolean isAsyncGenerator;
     @Child private JSTargetableNode getPrototypeNode;
     protected final JSOrdinary instanceLayout;
+    /** Predicted layout of the instances of a base constructor, or {@code null}. */
+    protected final InstanceLayoutProfile instanceLayoutProfile;
 
-    public SpecializedNewObjectNode(JSContext context, boolean isBuiltin, boolean isConstructor, boolean isGenerator, boolean isAsyncGenerator, JSOrdinary instanceLayout) {
+    public SpecializedNewObjectNode(JSContext context, boolean isBuiltin, boolean isConstructor, boolean isGenerator, boolean isAsyncGenerator, JSOrdinary instanceLayout,
+                    InstanceLayoutProfile instanceLayoutProfile) {
         this.context = context;
         this.isBuiltin = isBuiltin;
         this.isConstructor = isConstructor;
         this.isGenerator = isGenerator;
         this.isAsyncGenerator = isAsyncGenerator;
         this.instanceLayout = instanceLayout;
+        this.instanceLayoutProfile = instanceLayoutProfile;
         this.getPrototypeNode = (!isBuiltin && isConstructor) ? PropertyNode.createProperty(context, null, JSObject.PROTOTYPE) : null;
     }
 
     public static SpecializedNewObjectNode create(JSContext context, boolean isBuiltin, boolean isConstructor, boolean isGenerator, boolean isAsyncGenerator, JSOrdinary instanceLayout) {
-        return SpecializedNewObjectNodeGen.create(context, isBuiltin, isConstructor, isGenerator, isAsyncGenerator, instanceLayout);
+        return SpecializedNewObjectNodeGen.create(context, isBuiltin, isConstructor, isGenerator, isAsyncGenerator, instanceLayout, null);
     }
 
     public static SpecializedNewObjectNode create(JSContext context, boolean isBuiltin, boolean isConstructor, boolean isGenerator, boolean isAsyncGenerator) {
@@ -94,7 +100,12 @@ public abstract class SpecializedNewObjectNode extends JavaScriptBaseNode {
     }
 
     public static SpecializedNewObjectNode create(JSFunctionData functionData, JSOrdinary instanceLayout) {
-        return create(functionData.getContext(), functionData.isBuiltin(), functionData.isConstructor(), functionData.isGenerator(), functionData.isAsyncGenerator(), instanceLayout);
+        return create(functionData, instanceLayout, null);
+    }
+
+    public static SpecializedNewObjectNode create(JSFunctionData functionData, JSOrdinary instanceLayout, InstanceLayoutProfile instanceLayoutProfile) {
+        return SpecializedNewObjectNodeGen.create(functionData.getContext(), functionData.isBuiltin(), functionData.isConstructor(), functionData.isGenerator(), functionData.isAsyncGenerator(),
+                        instanceLayout, instanceLayoutProfile);
     }
 
     public final JSDynamicObject execute(VirtualFrame frame, JSDynamicObject newTarget) {
@@ -108,29 +119,45 @@ public abstract class SpecializedNewObjectNode extends JavaScriptBaseNode {
         CompilerAsserts.neverPartOfCompilation();
         if (JSGuards.isJSObject(prototype)) {
             JSObject jsproto = (JSObject) prototype;
+            if (instanceLayoutProfile != null) {
+                return JSObjectUtil.getProtoChildShape(jsproto, instanceLayout, instanceLayoutProfile.getLayout(), context);
+            }
             return JSObjectUtil.getProtoChildShape(jsproto, instanceLayout, context);
         }
         return null;
     }
 
+    protected Assumption getInstanceLayoutAssumption() {
+        return instanceLayoutProfile != null ? instanceLayoutProfile.getLayoutAssumption() : Assumption.ALWAYS_VALID;
+    }
+
     protected Shape getShapeWithoutProto() {
         CompilerAsserts.neverPartOfCompilation();
         return JSObjectUtil.getProtoChildShape(null, instanceLayout, context);
     }
 
-    @Specialization(guards = {"!isBuiltin", "isConstructor", "!context.isMultiContext()", "isJSObject(cachedPrototype)", "prototype == cachedPrototype"}, limit = "context.getPropertyCacheLimit()")
+    @Specialization(guards = {"!isBuiltin", "isConstructor", "!context.isMultiContext()", "isJSObject(cachedPrototype)", "prototype == cachedPrototype"}, //
+                    assumptions = "instanceLayoutAssumption", limit = "context.getPropertyCacheLimit()")
     public JSDynamicObject doCachedProto(@SuppressWarnings("unused") JSDynamicObject target, @SuppressWarnings("unused") Object prototype,
                     @Cached("prototype") @SuppressWarnings("unused") Object cachedPrototype,
+                    @Cached("getInstanceLayoutAssumption()") @SuppressWarnings("unused") Assumption instanceLayoutAssumption,
                     @Cached("getProtoChildShape(prototype)") Shape shape) {
         return JSOrdinary.create(context, shape);
     }
 
     /** Many different prototypes. */
     @ReportPolymorphism.Megamorphic
-    @Specialization(guards = {"!isBuiltin", "isConstructor", "!context.isMultiContext()", "isJSObject(prototype)"}, replaces = "doCachedProto")
+    @Specialization(guards = {"!isBuiltin", "isConstructor", "!context.isMultiContext()", "isJSObject(prototype)"}, //
+                    assumptions = "instanceLayoutAssumption", replaces = "doCachedProto")
     public JSDynamicObject doUncachedProto(@SuppressWarnings("unused") JSDynamicObject target, JSDynamicObject prototype,
+                    @Cached("getInstanceLayoutAssumption()") @SuppressWarnings("unused") Assumption instanceLayoutAssumption,
                     @Cached("create()") BranchProfile slowBranch) {
-        Shape shape = JSObjectUtil.getProtoChildShape(prototype, instanceLayout, context, slowBranch);
+        Shape shape;
+        if (instanceLayoutProfile != null) {
+            shape = JSObjectUtil.getProtoChildShape(prototype, instanceLayout, instanceLayoutProfile.getLayout(), context, slowBranch);
+        } else {
+            shape = JSObjectUtil.getProtoChildShape(prototype, instanceLayout, context, slowBranch);
+        }
         return JSOrdinary.create(context, shape);
     }
 
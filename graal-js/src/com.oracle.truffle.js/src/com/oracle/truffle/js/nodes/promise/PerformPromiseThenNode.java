@@ -52,6 +52,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.builtins.JSPromise;
+import com.oracle.truffle.js.runtime.objects.AwaitContinuation;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
 import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
@@ -84,7 +85,6 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
         return new PerformPromiseThenNode(context);
     }
 
-    @SuppressWarnings("unchecked")
     public JSDynamicObject execute(JSDynamicObject promise, Object onFulfilled, Object onRejected, PromiseCapabilityRecord resultCapability) {
         assert JSPromise.isJSPromise(promise);
         Object onFulfilledHandler = isCallableFulfillNode.executeBoolean(onFulfilled) ? onFulfilled : Undefined.instance;
@@ -92,7 +92,22 @@ public class PerformPromiseThenNode extends JavaScriptBaseNode {
         assert resultCapability != null || (onFulfilledHandler != Undefined.instance && onRejectedHandler != Undefined.instance);
         PromiseReactionRecord fulfillReaction = PromiseReactionRecord.create(resultCapability, onFulfilledHandler, true);
         PromiseReactionRecord rejectReaction = PromiseReactionRecord.create(resultCapability, onRejectedHandler, false);
+        return performPromiseThen(promise, fulfillReaction, rejectReaction, resultCapability);
+    }
+
+    /**
+     * PerformPromiseThen for {@code await}: both reactions resume the given continuation, which
+     * takes the place of the onFulfilled and onRejected closures of the specification.
+     */
+    public void executeAwait(JSDynamicObject promise, AwaitContinuation continuation, PromiseCapabilityRecord throwawayCapability) {
+        assert JSPromise.isJSPromise(promise);
+        PromiseReactionRecord fulfillReaction = PromiseReactionRecord.create(throwawayCapability, continuation, true);
+        PromiseReactionRecord rejectReaction = PromiseReactionRecord.create(throwawayCapability, continuation, false);
+        performPromiseThen(promise, fulfillReaction, rejectReaction, throwawayCapability);
+    }
 
+    @SuppressWarnings("unchecked")
+    private JSDynamicObject performPromiseThen(JSDynamicObject promise, PromiseReactionRecord fulfillReaction, PromiseReactionRecord rejectReaction, PromiseCapabilityRecord resultCapability) {
         int promiseState = JSPromise.getPromiseState(promise);
         if (pendingProf.profile(promiseState == JSPromise.PENDING)) {
             ((SimpleArrayList<? super PromiseReactionRecord>) getPromiseFulfillReactionsNode.getValue(promise)).add(fulfillReaction, growProfile);
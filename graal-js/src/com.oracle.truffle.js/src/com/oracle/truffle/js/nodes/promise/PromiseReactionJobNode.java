@@ -57,6 +57,7 @@ import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.access.PropertySetNode;
 import com.oracle.truffle.js.nodes.control.AwaitNode;
+import com.oracle.truffle.js.nodes.control.AwaitResumeNode;
 import com.oracle.truffle.js.nodes.control.TryCatchNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.runtime.Errors;
@@ -69,6 +70,7 @@ import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
+import com.oracle.truffle.js.runtime.objects.AwaitContinuation;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
 import com.oracle.truffle.js.runtime.objects.PromiseReactionRecord;
@@ -111,8 +113,11 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
         @Child private JSFunctionCallNode callResolveNode;
         @Child private JSFunctionCallNode callRejectNode;
         @Child private JSFunctionCallNode callHandlerNode;
+        @Child private AwaitResumeNode resumeFulfilledNode;
+        @Child private AwaitResumeNode resumeRejectedNode;
         @Child private TryCatchNode.GetErrorObjectNode getErrorObjectNode;
         private final ConditionProfile handlerProf = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile awaitProf = ConditionProfile.createBinaryProfile();
 
         PromiseReactionJobRootNode(JSContext context) {
             super(context.getLanguage(), null, null);
@@ -142,7 +147,11 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
                 fulfill = reaction.isFulfill();
             } else {
                 try {
-                    handlerResult = callHandler().executeCall(JSArguments.createOneArg(Undefined.instance, handler, argument));
+                    if (awaitProf.profile(handler instanceof AwaitContinuation)) {
+                        handlerResult = resumeAwait((AwaitContinuation) handler, argument, reaction.isReject());
+                    } else {
+                        handlerResult = callHandler().executeCall(JSArguments.createOneArg(Undefined.instance, handler, argument));
+                    }
                     // If promiseCapability is undefined, return NormalCompletion(empty).
                     if (promiseCapability == null) {
                         return Undefined.instance;
@@ -171,6 +180,24 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
             return status;
         }
 
+        private Object resumeAwait(AwaitContinuation continuation, Object argument, boolean rejected) {
+            AwaitResumeNode resumeNode;
+            if (rejected) {
+                if (resumeRejectedNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    resumeRejectedNode = insert(AwaitResumeNode.create(true));
+                }
+                resumeNode = resumeRejectedNode;
+            } else {
+                if (resumeFulfilledNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    resumeFulfilledNode = insert(AwaitResumeNode.create(false));
+                }
+                resumeNode = resumeFulfilledNode;
+            }
+            return resumeNode.execute(continuation.getResumeTarget(), continuation.getAsyncContext(), continuation.getGeneratorOrCapability(), argument);
+        }
+
         private JSFunctionCallNode callResolve() {
             if (callResolveNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -219,6 +246,8 @@ public class PromiseReactionJobNode extends JavaScriptBaseNode {
             PromiseCapabilityRecord promiseCapability = reaction.getCapability();
             if (promiseCapability != null) {
                 return AwaitNode.findAsyncStackFramesFromPromise(promiseCapability.getPromise());
+            } else if (reaction.getHandler() instanceof AwaitContinuation) {
+                return AwaitNode.findAsyncStackFramesFromContinuation((AwaitContinuation) reaction.getHandler());
             } else if (JSFunction.isJSFunction(reaction.getHandler())) {
                 return AwaitNode.findAsyncStackFramesFromHandler((JSFunctionObject) reaction.getHandler());
             }
@@ -95,6 +95,13 @@ public interface Evaluator {
      */
     JSModuleData parseModule(JSContext context, Source source);
 
+    /**
+     * Like {@link #parseModule(JSContext, Source)}, but returns {@code null} instead of throwing a
+     * syntax error. Parsing and translation only use the {@link JSContext}, never the realm, so
+     * this method may be called on a thread that has not entered the context.
+     */
+    JSModuleData parseModuleOrNull(JSContext context, Source source);
+
     /**
      * Like {@link #parseModule(JSContext, Source)}, but parses the source via TruffleLanguage.Env
      * in order to make use of Truffle code caching.
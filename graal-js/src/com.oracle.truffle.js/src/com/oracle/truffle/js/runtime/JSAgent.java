@@ -42,8 +42,10 @@ package com.oracle.truffle.js.runtime;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -59,6 +61,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.PromiseJobQueue;
 
 /**
  * Base class for ECMA2017 8.7 Agents.
@@ -74,7 +77,7 @@ public abstract class JSAgent {
     /**
      * ECMA 8.4 "PromiseJobs" job queue.
      */
-    private final Deque<JSFunctionObject> promiseJobsQueue;
+    private final PromiseJobQueue promiseJobsQueue;
 
     /**
      * According to ECMA2017 8.4 the queue of pending jobs (promises reactions) must be processed
@@ -95,8 +98,25 @@ public abstract class JSAgent {
 
     private final Deque<WaiterRecord> waitAsyncJobsQueue;
 
+    /**
+     * Set when a waiter record has been added to {@link #waitAsyncJobsQueue} or notified, so that
+     * the queue is scanned only when one of its records may have become ready to resolve.
+     */
+    private volatile boolean waiterRecordsChanged;
+
+    /**
+     * Earliest time (in milliseconds, see {@link WaiterRecord#getCreationTime()}) at which a
+     * waiter record with a finite timeout in {@link #waitAsyncJobsQueue} times out.
+     */
+    private long nextWaiterTimeout = Long.MAX_VALUE;
+
     private final PromiseRejectionTracker promiseRejectionTracker;
 
+    /**
+     * Workers started by this agent, terminated together with it.
+     */
+    private List<WorkerAgent> workers;
+
     public JSAgent(boolean canBlock) {
         this(null, canBlock);
     }
@@ -105,7 +125,7 @@ public abstract class JSAgent {
         this.promiseRejectionTracker = promiseRejectionTracker;
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
-        this.promiseJobsQueue = new ArrayDeque<>();
+        this.promiseJobsQueue = new PromiseJobQueue();
         this.waitAsyncJobsQueue = new ConcurrentLinkedDeque<>();
         this.finalizationRegistryQueue = new ArrayDeque<>(4);
     }
@@ -122,31 +142,66 @@ public abstract class JSAgent {
 
     @TruffleBoundary
     public final void enqueuePromiseJob(JSFunctionObject job) {
-        promiseJobsQueue.push(job);
+        promiseJobsQueue.add(job);
+    }
+
+    /**
+     * Returns the queue of pending promise jobs, e.g. to inspect its statistics.
+     */
+    public final PromiseJobQueue getPromiseJobQueue() {
+        return promiseJobsQueue;
     }
 
     @TruffleBoundary
     public void enqueueWaitAsyncPromiseJob(WaiterRecord waiter) {
+        if (Double.isFinite(waiter.getTimeout()) && waiter.getAgent() == this) {
+            nextWaiterTimeout = Math.min(nextWaiterTimeout, getTimeoutTime(waiter));
+        }
         waitAsyncJobsQueue.push(waiter);
+        waiterRecordsChanged = true;
         // Wake up agent to process waitAsync and promise queue now.
         if (waiter.isReadyToResolve()) {
             waiter.getAgent().wake();
         }
     }
 
+    /**
+     * Notifies this agent that one of its async waiter records has been notified.
+     */
+    public final void waiterRecordNotified() {
+        waiterRecordsChanged = true;
+    }
+
+    private static long getTimeoutTime(WaiterRecord waiter) {
+        double timeoutTime = waiter.getCreationTime() + Math.ceil(waiter.getTimeout());
+        return timeoutTime >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) timeoutTime;
+    }
+
+    private boolean shouldCheckWaiterRecords() {
+        return waiterRecordsChanged || (nextWaiterTimeout != Long.MAX_VALUE && System.nanoTime() / JSRealm.NANOSECONDS_PER_MILLISECOND >= nextWaiterTimeout);
+    }
+
     @TruffleBoundary
     public final void processAllPromises(boolean processWeakRefs) {
+        PromiseJobQueue queue = promiseJobsQueue;
         try {
             interopBoundaryEnter();
-            boolean checkWaiterRecords = !waitAsyncJobsQueue.isEmpty();
-            while (!promiseJobsQueue.isEmpty() || checkWaiterRecords) {
-                if (checkWaiterRecords) {
-                    checkWaiterRecords = processWaitAsyncJobs();
+            queue.startDrain();
+            while (true) {
+                if (shouldCheckWaiterRecords()) {
+                    processWaitAsyncJobs();
                 }
-                if (!promiseJobsQueue.isEmpty()) {
-                    JSFunctionObject nextJob = promiseJobsQueue.pollLast();
+                int batchSize = queue.beginBatch();
+                if (batchSize == 0) {
+                    break;
+                }
+                for (int i = 0; i < batchSize; i++) {
+                    JSFunctionObject nextJob = queue.poll();
+                    if (nextJob == null) {
+                        // drained by a nested call
+                        break;
+                    }
                     if (JSFunction.isJSFunction(nextJob)) {
-                        checkWaiterRecords = true;
                         JSFunction.call(nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
                     }
                 }
@@ -154,10 +209,12 @@ public abstract class JSAgent {
         } catch (Throwable t) {
             // Ensure that there are no leftovers when the processing
             // is terminated by an exception (like ExitException).
-            promiseJobsQueue.clear();
+            queue.clear();
             waitAsyncJobsQueue.clear();
+            nextWaiterTimeout = Long.MAX_VALUE;
             throw t;
         } finally {
+            queue.endDrain();
             interopBoundaryExit();
             if (processWeakRefs) {
                 if (weakRefTargets != null) {
@@ -171,8 +228,10 @@ public abstract class JSAgent {
         }
     }
 
-    private boolean processWaitAsyncJobs() {
-        boolean checkWaiterRecords = false;
+    private void processWaitAsyncJobs() {
+        // clear before scanning so that concurrent notifications are not lost
+        waiterRecordsChanged = false;
+        long nextTimeout = Long.MAX_VALUE;
         Iterator<WaiterRecord> iter = waitAsyncJobsQueue.descendingIterator();
         while (iter.hasNext()) {
             WaiterRecord wr = iter.next();
@@ -182,11 +241,12 @@ public abstract class JSAgent {
             try {
                 if (isReadyToResolve) {
                     iter.remove();
-                    checkWaiterRecords = true;
                     if (wl.contains(wr)) {
                         wr.setResult(Strings.TIMED_OUT);
                         wl.remove(wr);
                     }
+                } else if (Double.isFinite(wr.getTimeout())) {
+                    nextTimeout = Math.min(nextTimeout, getTimeoutTime(wr));
                 }
             } finally {
                 wl.leaveCriticalSection();
@@ -198,7 +258,7 @@ public abstract class JSAgent {
                 JSFunction.call(JSArguments.createOneArg(Undefined.instance, resolve, result));
             }
         }
-        return checkWaiterRecords;
+        nextWaiterTimeout = nextTimeout;
     }
 
     /**
@@ -261,6 +321,38 @@ public abstract class JSAgent {
         this.canBlock = canBlock;
     }
 
+    @TruffleBoundary
+    final synchronized void registerWorker(WorkerAgent worker) {
+        if (workers == null) {
+            workers = new ArrayList<>();
+        }
+        workers.add(worker);
+    }
+
+    /**
+     * Terminate all workers started by this agent and wait (for a bounded time) for their threads
+     * to finish.
+     */
+    @TruffleBoundary
+    public final void terminateWorkers() {
+        List<WorkerAgent> toTerminate;
+        synchronized (this) {
+            if (workers == null) {
+                return;
+            }
+            toTerminate = workers;
+            workers = null;
+        }
+        for (WorkerAgent worker : toTerminate) {
+            try {
+                worker.awaitTermination();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
     /**
      * Terminate the agent.
      */
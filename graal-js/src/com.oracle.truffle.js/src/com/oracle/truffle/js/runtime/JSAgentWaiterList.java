@@ -189,6 +189,9 @@ public class JSAgentWaiterList {
             assert wl.inCriticalSection();
             assert !notified;
             notified = true;
+            if (promiseCapability != null) {
+                agent.waiterRecordNotified();
+            }
         }
 
         public boolean isNotified() {
@@ -94,6 +94,12 @@ public final class JSConfig {
     /** Migrate objects to dictionary mode when the number of properties exceeds this threshold. */
     public static final int DictionaryObjectThreshold = 256;
     public static final int DictionaryObjectTransitionThreshold = 1024;
+    /** Store data properties of dictionary objects as value slots instead of descriptors. */
+    public static final boolean CompactDictionaryObject = !Boolean.getBoolean("truffle.js.DescriptorDictionaryObject");
+    /** Predict the instance layout of base constructors from the objects they created. */
+    public static final boolean InstanceLayoutPrediction = !Boolean.getBoolean("truffle.js.NoInstanceLayoutPrediction");
+    /** Number of constructed instances sampled before the instance layout prediction is final. */
+    public static final int InstanceLayoutSampleCount = 8;
     public static final boolean MergeShapes = true;
     // GR-31859
     public static boolean MergeCompatibleLocations = true;
@@ -74,6 +74,7 @@ import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.ThrowTypeErrorRootNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
+import com.oracle.truffle.js.nodes.access.MegamorphicPropertyCache;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
 import com.oracle.truffle.js.nodes.promise.BuiltinPromiseRejectionTracker;
 import com.oracle.truffle.js.runtime.array.TypedArray;
@@ -117,6 +118,7 @@ import com.oracle.truffle.js.runtime.builtins.JSUncheckedProxyHandler;
 import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
 import com.oracle.truffle.js.runtime.builtins.JSWeakRef;
 import com.oracle.truffle.js.runtime.builtins.JSWeakSet;
+import com.oracle.truffle.js.runtime.builtins.JSWorker;
 import com.oracle.truffle.js.runtime.builtins.JSWrapForValidAsyncIterator;
 import com.oracle.truffle.js.runtime.builtins.JSWrapForValidIterator;
 import com.oracle.truffle.js.runtime.builtins.PrototypeSupplier;
@@ -156,7 +158,9 @@ import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.ScriptOrModule;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
+import com.oracle.truffle.js.runtime.util.CompiledRegexCache;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.JSONParseShapeCache;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
@@ -215,6 +219,15 @@ public class JSContext {
      */
     private final Assumption globalObjectPristineAssumption;
 
+    /** Remembered JSON.parse object layouts, or {@code null} if disabled. */
+    private final JSONParseShapeCache jsonParseShapeCache;
+
+    /** Property lookups shared by all megamorphic property accesses, or {@code null} if disabled. */
+    private final MegamorphicPropertyCache megamorphicPropertyCache;
+
+    /** Compiled regexes shared by all realms of this context, or {@code null} if disabled. */
+    private final CompiledRegexCache sharedRegexCache;
+
     private final Map<TruffleString, Symbol> symbolRegistry = new ConcurrentHashMap<>();
 
     private final Object nodeFactory;
@@ -276,8 +289,6 @@ public class JSContext {
         BoundFunctionAsync,
         BoundConstructorAsync,
         ArrayFlattenIntoArray,
-        AwaitFulfilled,
-        AwaitRejected,
         AsyncGeneratorReturnFulfilled,
         AsyncGeneratorReturnRejected,
         AsyncFromSyncIteratorValueUnwrap,
@@ -499,6 +510,7 @@ public class JSContext {
     private final JSObjectFactory webAssemblyGlobalFactory;
 
     private final JSObjectFactory shadowRealmFactory;
+    private final JSObjectFactory workerFactory;
 
     private final int factoryCount;
 
@@ -553,6 +565,14 @@ public class JSContext {
         this.regExpStaticResultUnusedAssumption = Truffle.getRuntime().createAssumption("regExpStaticResultUnusedAssumption");
         this.globalObjectPristineAssumption = Truffle.getRuntime().createAssumption("globalObjectPristineAssumption");
 
+        int jsonParseShapeCacheSize = contextOptions.getJSONParseShapeCacheSize();
+        this.jsonParseShapeCache = jsonParseShapeCacheSize > 0 ? new JSONParseShapeCache(jsonParseShapeCacheSize) : null;
+        // Nashorn compatibility mode may resolve methods of primitives outside of the shape.
+        int megamorphicPropertyCacheSize = contextOptions.isNashornCompatibilityMode() ? 0 : contextOptions.getMegamorphicPropertyCacheSize();
+        this.megamorphicPropertyCache = megamorphicPropertyCacheSize > 0 ? new MegamorphicPropertyCache(megamorphicPropertyCacheSize) : null;
+        int sharedRegexCacheSize = contextOptions.getSharedRegexCacheSize();
+        this.sharedRegexCache = sharedRegexCacheSize > 0 ? new CompiledRegexCache(sharedRegexCacheSize) : null;
+
         this.evaluator = evaluator;
         this.nodeFactory = evaluator.getDefaultNodeFactory();
 
@@ -688,6 +708,7 @@ public class JSContext {
         this.webAssemblyGlobalFactory = builder.create(JSWebAssemblyGlobal.INSTANCE);
 
         this.shadowRealmFactory = builder.create(JSShadowRealm.INSTANCE);
+        this.workerFactory = builder.create(JSWorker.INSTANCE);
 
         this.factoryCount = builder.finish();
 
@@ -755,6 +776,18 @@ public class JSContext {
         return globalObjectPristineAssumption;
     }
 
+    public final JSONParseShapeCache getJSONParseShapeCache() {
+        return jsonParseShapeCache;
+    }
+
+    public final MegamorphicPropertyCache getMegamorphicPropertyCache() {
+        return megamorphicPropertyCache;
+    }
+
+    public final CompiledRegexCache getSharedRegexCache() {
+        return sharedRegexCache;
+    }
+
     public static JSContext createContext(Evaluator evaluator, JSContextOptions contextOptions, JavaScriptLanguage lang, TruffleLanguage.Env env) {
         return new JSContext(evaluator, contextOptions, lang, env);
     }
@@ -809,6 +842,14 @@ public class JSContext {
         return nullPrototypeData.getOrAddProtoChildTree(jsclass, JSShape.makeEmptyRoot(jsclass, this));
     }
 
+    public final Shape makeEmptyShapeWithNullPrototype(JSClass jsclass, Class<? extends JSDynamicObject> layout) {
+        Shape protoChildTree = nullPrototypeData.getProtoChildTree(jsclass, layout);
+        if (protoChildTree != null) {
+            return protoChildTree;
+        }
+        return nullPrototypeData.getOrAddProtoChildTree(jsclass, JSShape.makeEmptyRoot(jsclass, layout, this));
+    }
+
     public final Shape makeEmptyShapeWithPrototypeInObject(JSClass jsclass) {
         Shape protoChildTree = inObjectPrototypeData.getProtoChildTree(jsclass);
         if (protoChildTree != null) {
@@ -1180,6 +1221,10 @@ public class JSContext {
         return shadowRealmFactory;
     }
 
+    public final JSObjectFactory getWorkerFactory() {
+        return workerFactory;
+    }
+
     private static final String REGEX_OPTION_REGRESSION_TEST_MODE = "RegressionTestMode";
     private static final String REGEX_OPTION_DUMP_AUTOMATA = "DumpAutomata";
     private static final String REGEX_OPTION_STEP_EXECUTION = "StepExecution";
@@ -1377,6 +1422,10 @@ public class JSContext {
         return contextOptions.getPropertyCacheLimit();
     }
 
+    public int getArrayLiteralPreallocationLimit() {
+        return contextOptions.getArrayLiteralPreallocationLimit();
+    }
+
     public int getFunctionCacheLimit() {
         return contextOptions.getFunctionCacheLimit();
     }
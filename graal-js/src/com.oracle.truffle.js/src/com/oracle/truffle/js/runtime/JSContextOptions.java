@@ -49,6 +49,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -316,6 +317,25 @@ public final class JSContextOptions {
                         }
                     }));
 
+    public enum CommonJSResolutionCacheMode {
+        NONE,
+        UNCHECKED,
+        MTIME;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    public static final String COMMONJS_RESOLUTION_CACHE_NAME = JS_OPTION_PREFIX + "commonjs-resolution-cache";
+    @Option(name = COMMONJS_RESOLUTION_CACHE_NAME, category = OptionCategory.EXPERT, help = "" +
+                    "Cache CommonJS module resolution results, file lookups and parsed package.json files. Accepted values: " +
+                    "'none', every require resolves the module on the file system. " +
+                    "'unchecked', cached entries are kept for the lifetime of the realm. " +
+                    "'mtime', cached entries are revalidated against file modification times.") //
+    public static final OptionKey<CommonJSResolutionCacheMode> COMMONJS_RESOLUTION_CACHE = new OptionKey<>(CommonJSResolutionCacheMode.NONE);
+
     public static final String GRAAL_BUILTIN_NAME = JS_OPTION_PREFIX + "graal-builtin";
     @Option(name = GRAAL_BUILTIN_NAME, category = OptionCategory.USER, help = "Provide 'Graal' global property.") //
     public static final OptionKey<Boolean> GRAAL_BUILTIN = new OptionKey<>(true);
@@ -420,6 +440,30 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> REGEX_CACHE_SIZE = new OptionKey<>(128);
     @CompilationFinal private int regexCacheSize;
 
+    public static final String SHARED_REGEX_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "shared-regex-cache-size";
+    @Option(name = SHARED_REGEX_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum size of the compiled regex cache shared by all contexts of an engine. If enabled, it is used instead of the per-context regex cache (0 disables the shared cache).") //
+    public static final OptionKey<Integer> SHARED_REGEX_CACHE_SIZE = new OptionKey<>(0);
+    @CompilationFinal private int sharedRegexCacheSize;
+
+    public static final String JSON_PARSE_SHAPE_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "json-parse-shape-cache-size";
+    @Option(name = JSON_PARSE_SHAPE_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum number of object layouts remembered by JSON.parse to speed up parsing of repeated object shapes (0 disables the cache).") //
+    public static final OptionKey<Integer> JSON_PARSE_SHAPE_CACHE_SIZE = new OptionKey<>(0);
+    @CompilationFinal private int jsonParseShapeCacheSize;
+
+    public static final String JSON_PARSE_BYTES_NAME = JS_OPTION_PREFIX + "json-parse-bytes";
+    @Option(name = JSON_PARSE_BYTES_NAME, category = OptionCategory.EXPERT, help = "Provide JSON.parseBytes to parse UTF-8 encoded JSON from binary data without converting it to a string.") //
+    public static final OptionKey<Boolean> JSON_PARSE_BYTES = new OptionKey<>(false);
+    @CompilationFinal private boolean jsonParseBytes;
+
+    public static final String INTL_FORMATTER_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "intl-formatter-cache-size";
+    @Option(name = INTL_FORMATTER_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum number of initialized Intl formatters cached per realm for toLocaleString and localeCompare calls without options (0 disables the cache).") //
+    public static final OptionKey<Integer> INTL_FORMATTER_CACHE_SIZE = new OptionKey<>(32);
+    @CompilationFinal private int intlFormatterCacheSize;
+
+    public static final String INTL_FORMATTER_CACHE_STATS_NAME = JS_OPTION_PREFIX + "intl-formatter-cache-stats";
+    @Option(name = INTL_FORMATTER_CACHE_STATS_NAME, category = OptionCategory.INTERNAL, help = "Print Intl formatter cache hit rates when the context is closed.") //
+    public static final OptionKey<Boolean> INTL_FORMATTER_CACHE_STATS = new OptionKey<>(false);
+
     public static final String STRING_LENGTH_LIMIT_NAME = JS_OPTION_PREFIX + "string-length-limit";
     @Option(name = STRING_LENGTH_LIMIT_NAME, category = OptionCategory.EXPERT, usageSyntax = "<chars>", help = "Maximum string length.") //
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
@@ -491,6 +535,20 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> PROPERTY_CACHE_LIMIT = new OptionKey<>(JSConfig.PropertyCacheLimit);
     @CompilationFinal private int propertyCacheLimit;
 
+    public static final String MEGAMORPHIC_PROPERTY_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "megamorphic-property-cache-size";
+    @Option(name = MEGAMORPHIC_PROPERTY_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Number of entries of the property lookup cache shared by all megamorphic property accesses (0 disables the cache).") //
+    public static final OptionKey<Integer> MEGAMORPHIC_PROPERTY_CACHE_SIZE = new OptionKey<>(1024);
+    @CompilationFinal private int megamorphicPropertyCacheSize;
+
+    public static final String ARRAY_LITERAL_PREALLOCATION_LIMIT_NAME = JS_OPTION_PREFIX + "array-literal-preallocation-limit";
+    @Option(name = ARRAY_LITERAL_PREALLOCATION_LIMIT_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Maximum capacity pre-allocated by array literals based on the arrays previously created at the same site (0 disables array literal allocation site feedback).") //
+    public static final OptionKey<Integer> ARRAY_LITERAL_PREALLOCATION_LIMIT = new OptionKey<>(1024);
+    @CompilationFinal private int arrayLiteralPreallocationLimit;
+
+    public static final String CODE_CACHE_DIR_NAME = JS_OPTION_PREFIX + "code-cache-dir";
+    @Option(name = CODE_CACHE_DIR_NAME, category = OptionCategory.EXPERT, usageSyntax = "<path>", help = "Directory used to persist binary snapshots of parsed scripts across runs (empty disables the code cache).") //
+    public static final OptionKey<String> CODE_CACHE_DIR = new OptionKey<>("");
+
     public static final String FUNCTION_CACHE_LIMIT_NAME = JS_OPTION_PREFIX + "function-cache-limit";
     @Option(name = FUNCTION_CACHE_LIMIT_NAME, category = OptionCategory.INTERNAL, usageSyntax = "<int>", help = "Maximum allowed size of a function cache.") //
     public static final OptionKey<Integer> FUNCTION_CACHE_LIMIT = new OptionKey<>(JSConfig.FunctionCacheLimit);
@@ -532,6 +590,11 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> SHADOW_REALM = new OptionKey<>(false);
     @CompilationFinal private boolean shadowRealm;
 
+    public static final String WORKER_NAME = JS_OPTION_PREFIX + "worker";
+    @Option(name = WORKER_NAME, category = OptionCategory.EXPERT, help = "Enable the Worker API for running modules on separate threads.") //
+    public static final OptionKey<Boolean> WORKER = new OptionKey<>(false);
+    @CompilationFinal private boolean worker;
+
     public static final String V8_INTRINSICS_NAME = JS_OPTION_PREFIX + "v8-intrinsics";
     @Option(name = V8_INTRINSICS_NAME, category = OptionCategory.INTERNAL, help = "Enable parsing of V8 intrinsics.") //
     public static final OptionKey<Boolean> V8_INTRINSICS = new OptionKey<>(false);
@@ -607,6 +670,11 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> ESM_BARE_SPECIFIER_RELATIVE_LOOKUP = new OptionKey<>(false);
     @CompilationFinal private boolean esmBareSpecifierRelativeLookup;
 
+    public static final String MODULE_PARSE_THREADS_NAME = JS_OPTION_PREFIX + "module-parse-threads";
+    @Option(name = MODULE_PARSE_THREADS_NAME, category = OptionCategory.EXPERT, usageSyntax = "<int>", help = "Number of background threads used to parse statically imported ES modules ahead of linking (0 = parse on the evaluating thread).") //
+    public static final OptionKey<Integer> MODULE_PARSE_THREADS = new OptionKey<>(0);
+    @CompilationFinal private int moduleParseThreads;
+
     public static final String CHARSET_NAME = JS_OPTION_PREFIX + "charset";
     @Option(name = CHARSET_NAME, category = OptionCategory.EXPERT, usageSyntax = "UTF-8|UTF-32|<name>", help = "Charset used for decoding/encoding of the input/output streams.") //
     public static final OptionKey<String> CHARSET = new OptionKey<>("", new OptionType<>("CharsetName", new Function<String, String>() {
@@ -702,6 +770,10 @@ public final class JSContextOptions {
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
         this.regexCacheSize = readIntegerOption(REGEX_CACHE_SIZE);
+        this.sharedRegexCacheSize = readIntegerOption(SHARED_REGEX_CACHE_SIZE);
+        this.jsonParseShapeCacheSize = readIntegerOption(JSON_PARSE_SHAPE_CACHE_SIZE);
+        this.jsonParseBytes = readBooleanOption(JSON_PARSE_BYTES);
+        this.intlFormatterCacheSize = readIntegerOption(INTL_FORMATTER_CACHE_SIZE);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
         this.stringLazySubstrings = readBooleanOption(STRING_LAZY_SUBSTRINGS);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
@@ -721,6 +793,7 @@ public final class JSContextOptions {
         this.newSetMethods = readBooleanOption(NEW_SET_METHODS);
         this.iteratorHelpers = getEcmaScriptVersion() >= JSConfig.ECMAScript2018 && readBooleanOption(ITERATOR_HELPERS);
         this.shadowRealm = getEcmaScriptVersion() >= JSConfig.ECMAScript2015 && readBooleanOption(SHADOW_REALM);
+        this.worker = getEcmaScriptVersion() >= JSConfig.ECMAScript2015 && readBooleanOption(WORKER);
         this.operatorOverloading = readBooleanOption(OPERATOR_OVERLOADING);
         this.errorCause = ERROR_CAUSE.hasBeenSet(optionValues) ? readBooleanOption(ERROR_CAUSE) : getEcmaScriptVersion() >= JSConfig.ECMAScript2022;
         this.importAssertions = readBooleanOption(IMPORT_ASSERTIONS);
@@ -731,8 +804,11 @@ public final class JSContextOptions {
         this.mleMode = readBooleanOption(MLE_MODE) || readBooleanOption(INTEROP_COMPLETE_PROMISES);
         this.privateFieldsIn = PRIVATE_FIELDS_IN.hasBeenSet(optionValues) ? readBooleanOption(PRIVATE_FIELDS_IN) : getEcmaScriptVersion() >= JSConfig.ECMAScript2022;
         this.esmBareSpecifierRelativeLookup = readBooleanOption(ESM_BARE_SPECIFIER_RELATIVE_LOOKUP);
+        this.moduleParseThreads = readIntegerOption(MODULE_PARSE_THREADS);
         this.temporal = readBooleanOption(TEMPORAL);
         this.propertyCacheLimit = readIntegerOption(PROPERTY_CACHE_LIMIT);
+        this.megamorphicPropertyCacheSize = readIntegerOption(MEGAMORPHIC_PROPERTY_CACHE_SIZE);
+        this.arrayLiteralPreallocationLimit = readIntegerOption(ARRAY_LITERAL_PREALLOCATION_LIMIT);
         this.functionCacheLimit = readIntegerOption(FUNCTION_CACHE_LIMIT);
         this.scopeOptimization = readBooleanOption(SCOPE_OPTIMIZATION);
         this.v8Intrinsics = readBooleanOption(V8_INTRINSICS);
@@ -784,6 +860,19 @@ public final class JSContextOptions {
         }
     }
 
+    /**
+     * Passes the name and value of every explicitly set option to the consumer, in declaration
+     * order. Options that have not been set have values determined by the engine version.
+     */
+    public void forEachSetOption(BiConsumer<String, Object> consumer) {
+        for (OptionDescriptor desc : new JSContextOptionsOptionDescriptors()) {
+            OptionKey<?> key = desc.getKey();
+            if (key.hasBeenSet(optionValues)) {
+                consumer.accept(desc.getName(), key.getValue(optionValues));
+            }
+        }
+    }
+
     public <T> boolean optionWillChange(OptionKey<T> option, OptionValues newOptionValues) {
         return !option.getValue(this.optionValues).equals(option.getValue(newOptionValues));
     }
@@ -962,6 +1051,11 @@ public final class JSContextOptions {
         return COMMONJS_REQUIRE_CWD.getValue(optionValues);
     }
 
+    public CommonJSResolutionCacheMode getCommonJSResolutionCacheMode() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option commonjs-resolution-cache was assumed not to be accessed in compiled code.");
+        return COMMONJS_RESOLUTION_CACHE.getValue(optionValues);
+    }
+
     public boolean isPerformance() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option performance was assumed not to be accessed in compiled code.");
         return PERFORMANCE.getValue(optionValues) || (!PERFORMANCE.hasBeenSet(optionValues) && isShell());
@@ -1031,6 +1125,27 @@ public final class JSContextOptions {
         return regexCacheSize;
     }
 
+    public int getSharedRegexCacheSize() {
+        return sharedRegexCacheSize;
+    }
+
+    public int getJSONParseShapeCacheSize() {
+        return jsonParseShapeCacheSize;
+    }
+
+    public boolean isJSONParseBytes() {
+        return jsonParseBytes;
+    }
+
+    public int getIntlFormatterCacheSize() {
+        return intlFormatterCacheSize;
+    }
+
+    public boolean isIntlFormatterCacheStats() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option intl-formatter-cache-stats was assumed not to be accessed in compiled code.");
+        return INTL_FORMATTER_CACHE_STATS.getValue(optionValues);
+    }
+
     public int getStringLengthLimit() {
         return stringLengthLimit;
     }
@@ -1090,6 +1205,19 @@ public final class JSContextOptions {
         return propertyCacheLimit;
     }
 
+    public int getMegamorphicPropertyCacheSize() {
+        return megamorphicPropertyCacheSize;
+    }
+
+    public int getArrayLiteralPreallocationLimit() {
+        return arrayLiteralPreallocationLimit;
+    }
+
+    public String getCodeCacheDir() {
+        CompilerAsserts.neverPartOfCompilation("Context patchable option load was assumed not to be accessed in compiled code.");
+        return CODE_CACHE_DIR.getValue(optionValues);
+    }
+
     public int getFunctionCacheLimit() {
         return functionCacheLimit;
     }
@@ -1126,6 +1254,10 @@ public final class JSContextOptions {
         return shadowRealm;
     }
 
+    public boolean isWorker() {
+        return worker;
+    }
+
     public boolean isOperatorOverloading() {
         return operatorOverloading;
     }
@@ -1158,6 +1290,10 @@ public final class JSContextOptions {
         return esmBareSpecifierRelativeLookup;
     }
 
+    public int getModuleParseThreads() {
+        return moduleParseThreads;
+    }
+
     public boolean isScopeOptimization() {
         return scopeOptimization;
     }
@@ -1196,6 +1332,10 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
         hash = 53 * hash + this.regexCacheSize;
+        hash = 53 * hash + this.sharedRegexCacheSize;
+        hash = 53 * hash + this.jsonParseShapeCacheSize;
+        hash = 53 * hash + (this.jsonParseBytes ? 1 : 0);
+        hash = 53 * hash + this.intlFormatterCacheSize;
         hash = 53 * hash + this.stringLengthLimit;
         hash = 53 * hash + (this.stringLazySubstrings ? 1 : 0);
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
@@ -1209,6 +1349,8 @@ public final class JSContextOptions {
         hash = 53 * hash + this.maxApplyArgumentLength;
         hash = 53 * hash + this.maxPrototypeChainLength;
         hash = 53 * hash + this.propertyCacheLimit;
+        hash = 53 * hash + this.megamorphicPropertyCacheSize;
+        hash = 53 * hash + this.arrayLiteralPreallocationLimit;
         hash = 53 * hash + this.functionCacheLimit;
         hash = 53 * hash + (this.topLevelAwait ? 1 : 0);
         hash = 53 * hash + (this.useUTCForLegacyDates ? 1 : 0);
@@ -1217,6 +1359,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.newSetMethods ? 1 : 0);
         hash = 53 * hash + (this.iteratorHelpers ? 1 : 0);
         hash = 53 * hash + (this.shadowRealm ? 1 : 0);
+        hash = 53 * hash + (this.worker ? 1 : 0);
         hash = 53 * hash + (this.operatorOverloading ? 1 : 0);
         hash = 53 * hash + (this.errorCause ? 1 : 0);
         hash = 53 * hash + (this.importAssertions ? 1 : 0);
@@ -1227,6 +1370,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.mleMode ? 1 : 0);
         hash = 53 * hash + (this.privateFieldsIn ? 1 : 0);
         hash = 53 * hash + (this.esmBareSpecifierRelativeLookup ? 1 : 0);
+        hash = 53 * hash + this.moduleParseThreads;
         hash = 53 * hash + (this.temporal ? 1 : 0);
         hash = 53 * hash + (this.scopeOptimization ? 1 : 0);
         hash = 53 * hash + (this.v8Intrinsics ? 1 : 0);
@@ -1335,6 +1479,18 @@ public final class JSContextOptions {
         if (this.regexCacheSize != other.regexCacheSize) {
             return false;
         }
+        if (this.sharedRegexCacheSize != other.sharedRegexCacheSize) {
+            return false;
+        }
+        if (this.jsonParseShapeCacheSize != other.jsonParseShapeCacheSize) {
+            return false;
+        }
+        if (this.jsonParseBytes != other.jsonParseBytes) {
+            return false;
+        }
+        if (this.intlFormatterCacheSize != other.intlFormatterCacheSize) {
+            return false;
+        }
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
@@ -1374,6 +1530,12 @@ public final class JSContextOptions {
         if (this.propertyCacheLimit != other.propertyCacheLimit) {
             return false;
         }
+        if (this.megamorphicPropertyCacheSize != other.megamorphicPropertyCacheSize) {
+            return false;
+        }
+        if (this.arrayLiteralPreallocationLimit != other.arrayLiteralPreallocationLimit) {
+            return false;
+        }
         if (this.functionCacheLimit != other.functionCacheLimit) {
             return false;
         }
@@ -1398,6 +1560,9 @@ public final class JSContextOptions {
         if (this.shadowRealm != other.shadowRealm) {
             return false;
         }
+        if (this.worker != other.worker) {
+            return false;
+        }
         if (this.operatorOverloading != other.operatorOverloading) {
             return false;
         }
@@ -1428,6 +1593,9 @@ public final class JSContextOptions {
         if (this.esmBareSpecifierRelativeLookup != other.esmBareSpecifierRelativeLookup) {
             return false;
         }
+        if (this.moduleParseThreads != other.moduleParseThreads) {
+            return false;
+        }
         if (this.temporal != other.temporal) {
             return false;
         }
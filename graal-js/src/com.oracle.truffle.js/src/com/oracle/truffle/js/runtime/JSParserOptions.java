@@ -326,6 +326,26 @@ public final class JSParserOptions {
         return this;
     }
 
+    @Override
+    public String toString() {
+        return "JSParserOptions[strict=" + strict +
+                        ", scripting=" + scripting +
+                        ", shebang=" + shebang +
+                        ", ecmaScriptVersion=" + ecmaScriptVersion +
+                        ", syntaxExtensions=" + syntaxExtensions +
+                        ", constAsVar=" + constAsVar +
+                        ", functionStatementError=" + functionStatementError +
+                        ", dumpOnError=" + dumpOnError +
+                        ", emptyStatements=" + emptyStatements +
+                        ", annexB=" + annexB +
+                        ", allowBigInt=" + allowBigInt +
+                        ", classFields=" + classFields +
+                        ", importAssertions=" + importAssertions +
+                        ", privateFieldsIn=" + privateFieldsIn +
+                        ", topLevelAwait=" + topLevelAwait +
+                        ", v8Intrinsics=" + v8Intrinsics + "]";
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
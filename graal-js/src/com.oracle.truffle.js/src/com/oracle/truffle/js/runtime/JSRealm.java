@@ -110,6 +110,7 @@ import com.oracle.truffle.js.builtins.RegExpBuiltins;
 import com.oracle.truffle.js.builtins.RegExpStringIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.SetIteratorPrototypeBuiltins;
 import com.oracle.truffle.js.builtins.StringIteratorPrototypeBuiltins;
+import com.oracle.truffle.js.builtins.commonjs.CommonJSResolutionCache;
 import com.oracle.truffle.js.builtins.commonjs.GlobalCommonJSRequireBuiltins;
 import com.oracle.truffle.js.builtins.commonjs.NpmCompatibleESModuleLoader;
 import com.oracle.truffle.js.builtins.foreign.ForeignIterablePrototypeBuiltins;
@@ -160,6 +161,7 @@ import com.oracle.truffle.js.runtime.builtins.JSTestV8;
 import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
 import com.oracle.truffle.js.runtime.builtins.JSWeakRef;
 import com.oracle.truffle.js.runtime.builtins.JSWeakSet;
+import com.oracle.truffle.js.runtime.builtins.JSWorker;
 import com.oracle.truffle.js.runtime.builtins.JSWrapForValidAsyncIterator;
 import com.oracle.truffle.js.runtime.builtins.JSWrapForValidIterator;
 import com.oracle.truffle.js.runtime.builtins.intl.JSCollator;
@@ -205,6 +207,7 @@ import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.IntlFormatterCache;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
 import com.oracle.truffle.js.runtime.util.LRUCache;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
@@ -292,6 +295,7 @@ public class JSRealm {
     private final JSDynamicObject foreignObjectPrototype;
 
     private final Shape initialRegExpPrototypeShape;
+    private final Shape initialObjectPrototypeShape;
     private final JSObjectFactory.RealmData objectFactories;
 
     private final JSFunctionObject temporalPlainTimeConstructor;
@@ -476,6 +480,9 @@ public class JSRealm {
     private final JSFunctionObject shadowRealmConstructor;
     private final JSDynamicObject shadowRealmPrototype;
 
+    private final JSFunctionObject workerConstructor;
+    private final JSDynamicObject workerPrototype;
+
     /** Foreign object prototypes. */
     private final JSDynamicObject foreignIterablePrototype;
 
@@ -552,6 +559,11 @@ public class JSRealm {
      */
     private final Map<TruffleFile, JSDynamicObject> commonJSRequireCache;
 
+    /**
+     * Per-realm CommonJS module resolution cache, created on first use if enabled.
+     */
+    private CommonJSResolutionCache commonJSResolutionCache;
+
     /**
      * Stack of receivers of (Typed)Array.prototype.join. Used to avoid cyclic calls.
      */
@@ -562,6 +574,11 @@ public class JSRealm {
      */
     private Map<Source, Object> compiledRegexCache;
 
+    /**
+     * Cache of initialized Intl formatters used by toLocaleString and localeCompare.
+     */
+    private IntlFormatterCache intlFormatterCache;
+
     /**
      * Private MLE-only custom Path resolution callback for ESM.
      */
@@ -625,6 +642,7 @@ public class JSRealm {
         this.objectConstructor = createObjectConstructor(this, objectPrototype);
         JSObjectUtil.putDataProperty(this.objectPrototype, JSObject.CONSTRUCTOR, objectConstructor, JSAttributes.getDefaultNotEnumerable());
         JSObjectUtil.putFunctionsFromContainer(this, this.objectPrototype, JSObjectPrototype.BUILTINS);
+        this.initialObjectPrototypeShape = this.objectPrototype.getShape();
         this.functionConstructor = JSFunction.createFunctionConstructor(this);
         JSFunction.fillFunctionPrototype(this);
 
@@ -1048,6 +1066,15 @@ public class JSRealm {
             this.shadowRealmPrototype = null;
         }
 
+        if (context.getContextOptions().isWorker()) {
+            ctor = JSWorker.createConstructor(this);
+            this.workerConstructor = ctor.getFunctionObject();
+            this.workerPrototype = ctor.getPrototype();
+        } else {
+            this.workerConstructor = null;
+            this.workerPrototype = null;
+        }
+
         // always create, regardless of context.isOptionForeignObjectPrototype()
         // we use them in some scenarios even when option is turned off
         this.foreignArrayPrototype = JSOrdinary.createInit(this, this.arrayPrototype);
@@ -1390,6 +1417,10 @@ public class JSRealm {
         return initialRegExpPrototypeShape;
     }
 
+    public final Shape getInitialObjectPrototypeShape() {
+        return initialObjectPrototypeShape;
+    }
+
     public final JSFunctionObject getArrayBufferConstructor() {
         return arrayBufferConstructor;
     }
@@ -1776,6 +1807,14 @@ public class JSRealm {
         return shadowRealmPrototype;
     }
 
+    public final JSFunctionObject getWorkerConstructor() {
+        return workerConstructor;
+    }
+
+    public final JSDynamicObject getWorkerPrototype() {
+        return workerPrototype;
+    }
+
     public void setupGlobals() {
         CompilerAsserts.neverPartOfCompilation("do not setup globals from compiled code");
         long time = context.getContextOptions().isProfileTime() ? System.nanoTime() : 0L;
@@ -1920,6 +1959,9 @@ public class JSRealm {
         if (context.getContextOptions().isShadowRealm()) {
             putGlobalProperty(JSShadowRealm.CLASS_NAME, getShadowRealmConstructor());
         }
+        if (context.getContextOptions().isWorker()) {
+            putGlobalProperty(JSWorker.CLASS_NAME, getWorkerConstructor());
+        }
         if (context.getContextOptions().isProfileTime()) {
             System.out.println("SetupGlobals: " + (System.nanoTime() - time) / 1000000);
         }
@@ -2550,6 +2592,7 @@ public class JSRealm {
         if (localTimeZoneId != null) {
             localTimeZoneId = getTimeZoneFromEnv();
         }
+        intlFormatterCache = null;
         initTimeOffsetAndRandom();
 
         // Patch the RegExp constructor's static result properties
@@ -2766,6 +2809,12 @@ public class JSRealm {
         return moduleLoader;
     }
 
+    public void disposeModuleLoader() {
+        if (moduleLoader != null) {
+            moduleLoader.dispose();
+        }
+    }
+
     @TruffleBoundary
     private synchronized void createModuleLoader() {
         if (moduleLoader == null) {
@@ -2967,6 +3016,22 @@ public class JSRealm {
         return commonJSRequireCache;
     }
 
+    /**
+     * Returns the CommonJS module resolution cache, or {@code null} if resolution caching is
+     * disabled.
+     */
+    @TruffleBoundary
+    public final CommonJSResolutionCache getCommonJSResolutionCache() {
+        if (commonJSResolutionCache == null) {
+            JSContextOptions.CommonJSResolutionCacheMode mode = context.getContextOptions().getCommonJSResolutionCacheMode();
+            if (mode == JSContextOptions.CommonJSResolutionCacheMode.NONE) {
+                return null;
+            }
+            commonJSResolutionCache = new CommonJSResolutionCache(mode == JSContextOptions.CommonJSResolutionCacheMode.MTIME);
+        }
+        return commonJSResolutionCache;
+    }
+
     private boolean isWasmAvailable() {
         return truffleLanguageEnv.isPolyglotBindingsAccessAllowed() && truffleLanguageEnv.getInternalLanguages().get("wasm") != null;
     }
@@ -3219,6 +3284,8 @@ public class JSRealm {
         jsShortTimeLocalFormat = null;
         jsShortDateFormat = null;
         jsShortDateLocalFormat = null;
+        // Cached Intl formatters have resolved the old default time zone.
+        intlFormatterCache = null;
     }
 
     /**
@@ -3257,6 +3324,20 @@ public class JSRealm {
         return null;
     }
 
+    /**
+     * Returns the Intl formatter cache of this realm or {@code null} if the cache is disabled.
+     */
+    @TruffleBoundary
+    public IntlFormatterCache getIntlFormatterCache() {
+        if (intlFormatterCache == null) {
+            int cacheSize = context.getContextOptions().getIntlFormatterCacheSize();
+            if (cacheSize > 0) {
+                intlFormatterCache = new IntlFormatterCache(cacheSize);
+            }
+        }
+        return intlFormatterCache;
+    }
+
     public void storeParentPromise(JSDynamicObject promise) {
         parentPromise = promise;
     }
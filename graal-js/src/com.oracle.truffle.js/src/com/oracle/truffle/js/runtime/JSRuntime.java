@@ -100,6 +100,7 @@ import com.oracle.truffle.js.runtime.objects.OperatorSet;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.JSHashMap;
+import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 
 public final class JSRuntime {
     private static final long NEGATIVE_ZERO_DOUBLE_BITS = Double.doubleToRawLongBits(-0.0);
@@ -2791,6 +2792,77 @@ public final class JSRuntime {
         return Strings.builderToString(builder);
     }
 
+    /**
+     * Appends the JSON quoted form of {@code valueStr} as produced by {@code JSON.stringify}.
+     */
+    public static TruffleStringBuilder jsonQuote(StringBuilderProfile stringBuilderProfile, TruffleStringBuilder sb, TruffleString valueStr,
+                    TruffleStringBuilder.AppendCharUTF16Node appendCharNode,
+                    TruffleStringBuilder.AppendStringNode appendStringNode) {
+        stringBuilderProfile.append(appendCharNode, sb, '"');
+        for (int i = 0; i < Strings.length(valueStr);) {
+            char ch = Strings.charAt(valueStr, i);
+            if (ch < ' ') {
+                if (ch == '\b') {
+                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_B);
+                } else if (ch == '\f') {
+                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_F);
+                } else if (ch == '\n') {
+                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_N);
+                } else if (ch == '\r') {
+                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_R);
+                } else if (ch == '\t') {
+                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_T);
+                } else {
+                    jsonQuoteUnicode(stringBuilderProfile, sb, ch, appendCharNode, appendStringNode);
+                }
+            } else {
+                if (ch == '\\') {
+                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_BACKSLASH);
+                } else if (ch == '"') {
+                    stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_DOUBLE_QUOTE);
+                } else if (Character.isSurrogate(ch)) {
+                    if (Character.isHighSurrogate(ch)) {
+                        char nextCh;
+                        if (i + 1 < Strings.length(valueStr) && (Character.isLowSurrogate(nextCh = Strings.charAt(valueStr, i + 1)))) {
+                            // paired surrogates
+                            stringBuilderProfile.append(appendCharNode, sb, ch);
+                            stringBuilderProfile.append(appendCharNode, sb, nextCh);
+                            i++;
+                        } else {
+                            // unpaired high surrogate
+                            jsonQuoteSurrogate(stringBuilderProfile, sb, ch, appendCharNode, appendStringNode);
+                        }
+                    } else {
+                        // unpaired low surrogate
+                        jsonQuoteSurrogate(stringBuilderProfile, sb, ch, appendCharNode, appendStringNode);
+                    }
+                } else {
+                    stringBuilderProfile.append(appendCharNode, sb, ch);
+                }
+            }
+            i++;
+        }
+        stringBuilderProfile.append(appendCharNode, sb, '"');
+        return sb;
+    }
+
+    private static void jsonQuoteUnicode(StringBuilderProfile stringBuilderProfile, TruffleStringBuilder sb, char c,
+                    TruffleStringBuilder.AppendCharUTF16Node appendCharNode,
+                    TruffleStringBuilder.AppendStringNode appendStringNode) {
+        stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_U00);
+        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit((c >> 4) & 0xF, 16));
+        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit(c & 0xF, 16));
+    }
+
+    private static void jsonQuoteSurrogate(StringBuilderProfile stringBuilderProfile, TruffleStringBuilder sb, char c,
+                    TruffleStringBuilder.AppendCharUTF16Node appendCharNode,
+                    TruffleStringBuilder.AppendStringNode appendStringNode) {
+        stringBuilderProfile.append(appendStringNode, sb, Strings.BACKSLASH_UD);
+        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit((c >> 8) & 0xF, 16));
+        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit((c >> 4) & 0xF, 16));
+        stringBuilderProfile.append(appendCharNode, sb, Character.forDigit(c & 0xF, 16));
+    }
+
     public static JSDynamicObject expectJSObject(Object to, BranchProfile errorBranch) {
         if (!JSDynamicObject.isJSDynamicObject(to)) {
             errorBranch.enter();
@@ -47,6 +47,7 @@ import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.util.CompiledRegexCache;
 
 public final class RegexCompilerInterface {
     private static final String REPEATED_REG_EXP_FLAG_MSG = "Repeated RegExp flag: %c";
@@ -66,7 +67,7 @@ public final class RegexCompilerInterface {
 
     public static Object compile(String pattern, String flags, JSContext context, JSRealm realm, InteropLibrary isCompiledRegexNull) {
         Source regexSource = createRegexSource(pattern, flags, context.getRegexOptions());
-        Object compiledRegex = compile(regexSource, flags, context, realm);
+        Object compiledRegex = compile(regexSource, pattern, flags, context, realm);
         if (isCompiledRegexNull.isNull(compiledRegex)) {
             throw Errors.createSyntaxError("regular expression not supported");
         }
@@ -74,8 +75,9 @@ public final class RegexCompilerInterface {
     }
 
     @TruffleBoundary
-    private static Object compile(Source regexSource, String flags, JSContext context, JSRealm realm) {
-        Object compiledRegex = realm.getCachedCompiledRegex(regexSource);
+    private static Object compile(Source regexSource, String pattern, String flags, JSContext context, JSRealm realm) {
+        CompiledRegexCache sharedCache = context.getSharedRegexCache();
+        Object compiledRegex = sharedCache != null ? sharedCache.get(pattern, flags) : realm.getCachedCompiledRegex(regexSource);
         if (compiledRegex != null) {
             return compiledRegex;
         }
@@ -84,10 +86,15 @@ public final class RegexCompilerInterface {
         validateFlags(flags, context.getEcmaScriptVersion(), context.isOptionNashornCompatibilityMode(), context.isOptionRegexpMatchIndices());
         try {
             compiledRegex = realm.getEnv().parseInternal(regexSource).call();
-            realm.putCachedCompiledRegex(regexSource, compiledRegex);
         } catch (AbstractTruffleException e) {
             throw rethrowAsSyntaxError(e);
         }
+        if (sharedCache != null) {
+            // the regex options are fixed per JSContext, so pattern and flags identify the source
+            compiledRegex = sharedCache.putIfAbsent(pattern, flags, compiledRegex);
+        } else {
+            realm.putCachedCompiledRegex(regexSource, compiledRegex);
+        }
         return compiledRegex;
     }
 
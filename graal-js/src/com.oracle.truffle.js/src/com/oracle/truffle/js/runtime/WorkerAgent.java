@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleContext;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.builtins.WorkerGlobalScopeBuiltins;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.StructuredClone;
+
+/**
+ * Agent of a {@code Worker}: runs a module in a new inner context on its own thread.
+ * <p>
+ * Messages are {@link StructuredClone structured clones} and are exchanged through two queues. The
+ * worker delivers incoming messages to the {@code onmessage} handler of its global object and
+ * processes its promise jobs in between, so that no external event loop is needed. The worker ends
+ * when its module has been evaluated and no {@code onmessage} handler is installed, when it calls
+ * {@code close()}, or when it is terminated by its parent. An uncaught error ends the worker, too,
+ * and is rethrown to the parent by {@code receiveMessage()}. The inner context is closed when the
+ * worker ends; termination closes it as cancelled, which also stops a worker that never yields.
+ * </p>
+ */
+public final class WorkerAgent extends JSAgent {
+
+    private static final TruffleString ONMESSAGE = Strings.constant("onmessage");
+    private static final TruffleString DATA = Strings.constant("data");
+
+    static final int POLL_TIMEOUT_MS = 100;
+    private static final int TERMINATION_TIMEOUT_MS = 10000;
+
+    private final Source source;
+    private final BlockingQueue<Object> toWorker;
+    private final BlockingQueue<Object> fromWorker;
+
+    private final Lock queueLock;
+    private final Condition queueCondition;
+
+    private volatile boolean closed;
+    private volatile boolean finished;
+    /** Message of the error that ended the worker, if any. Reported once to the parent. */
+    private volatile String uncaughtError;
+    private Thread thread;
+    private TruffleContext workerContext;
+
+    private WorkerAgent(PromiseRejectionTracker promiseRejectionTracker, Source source) {
+        super(promiseRejectionTracker, true);
+        this.source = source;
+        this.toWorker = new LinkedBlockingQueue<>();
+        this.fromWorker = new LinkedBlockingQueue<>();
+        this.queueLock = new ReentrantLock();
+        this.queueCondition = queueLock.newCondition();
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        return "WorkerAgent{signifier=" + getSignifier() + "}";
+    }
+
+    /**
+     * Starts a worker that evaluates the given module source in a new inner context.
+     */
+    @TruffleBoundary
+    public static WorkerAgent start(JSRealm parentRealm, Source source) {
+        TruffleLanguage.Env env = parentRealm.getEnv();
+        if (!env.isCreateThreadAllowed()) {
+            throw Errors.createError("Creating a Worker requires thread creation to be allowed.");
+        }
+        TruffleContext workerContext = env.newInnerContextBuilder().inheritAllAccess(true).build();
+        workerContext.initializePublic(null, JavaScriptLanguage.ID);
+
+        WorkerAgent worker = new WorkerAgent(parentRealm.getContext().getPromiseRejectionTracker(), source);
+        Thread thread = env.createThread(worker::run, workerContext);
+        thread.setName("JS-Worker-Thread-" + worker.getSignifier());
+        worker.thread = thread;
+        worker.workerContext = workerContext;
+        parentRealm.getAgent().registerWorker(worker);
+        thread.start();
+        return worker;
+    }
+
+    private void run() {
+        JSRealm realm = JavaScriptLanguage.getCurrentJSRealm();
+        realm.setAgent(this);
+        JSDynamicObject global = realm.getGlobalObject();
+        JSObjectUtil.putFunctionsFromContainer(realm, global, WorkerGlobalScopeBuiltins.BUILTINS);
+        try {
+            realm.getEnv().parsePublic(source).call();
+            processAllPromises(true);
+            while (!closed) {
+                Object handler = JSObject.get(global, ONMESSAGE);
+                if (!JSRuntime.isCallable(handler)) {
+                    return;
+                }
+                queueLock.lock();
+                try {
+                    if (!closed && toWorker.isEmpty()) {
+                        queueCondition.await(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    }
+                } finally {
+                    queueLock.unlock();
+                }
+                // Signal received or timeout. Process all pending messages.
+                Object message;
+                while (!closed && (message = toWorker.poll()) != null) {
+                    JSRuntime.call(handler, global, new Object[]{createMessageEvent(realm, StructuredClone.deserialize(realm, message))});
+                    processAllPromises(true);
+                }
+                processAllPromises(true);
+            }
+        } catch (InterruptedException | JSInterruptedExecutionException e) {
+            // terminated
+        } catch (AbstractTruffleException e) {
+            if (!closed) {
+                uncaughtError = e.getMessage();
+                realm.getErrorWriter().println("Uncaught error in worker: " + e.getMessage());
+                realm.getErrorWriter().flush();
+            }
+        } finally {
+            closed = true;
+            finished = true;
+            // This thread is still entered in the worker context, so closing it throws a cancel
+            // exception that ends the thread, after which the context is disposed.
+            workerContext.closeCancelled(null, "Worker ended");
+        }
+    }
+
+    private static JSDynamicObject createMessageEvent(JSRealm realm, Object data) {
+        JSDynamicObject event = JSOrdinary.create(realm.getContext(), realm);
+        JSObjectUtil.putDataProperty(event, DATA, data, JSAttributes.getDefault());
+        return event;
+    }
+
+    /**
+     * Sends a message to the worker. Called by the parent.
+     */
+    @TruffleBoundary
+    public void postMessageToWorker(Object value) {
+        Object message = StructuredClone.serialize(value);
+        if (!closed) {
+            toWorker.add(message);
+            wake();
+        }
+    }
+
+    /**
+     * Sends a message from the worker to its parent. Called by the worker.
+     */
+    @TruffleBoundary
+    public void postMessageToParent(Object value) {
+        fromWorker.add(StructuredClone.serialize(value));
+    }
+
+    /**
+     * Receives the next message sent by the worker, blocking for at most {@code timeout}
+     * milliseconds. Returns {@code undefined} on timeout or if the worker has ended and all its
+     * messages have been received. If the worker ended with an uncaught error, the error is thrown
+     * (once) instead. Called by the parent.
+     */
+    @TruffleBoundary
+    public Object receiveMessageFromWorker(JSRealm realm, double timeout, Node location) {
+        return receive(fromWorker, realm, timeout, location);
+    }
+
+    /**
+     * Receives the next message sent by the parent, blocking for at most {@code timeout}
+     * milliseconds. Called by the worker, as an alternative to an {@code onmessage} handler.
+     */
+    @TruffleBoundary
+    public Object receiveMessageFromParent(JSRealm realm, double timeout, Node location) {
+        return receive(toWorker, realm, timeout, location);
+    }
+
+    private Object receive(BlockingQueue<Object> queue, JSRealm realm, double timeout, Node location) {
+        boolean finiteTimeout = Double.isFinite(timeout);
+        long timeoutRemaining = finiteTimeout ? TimeUnit.MILLISECONDS.toNanos((long) Math.max(timeout, 0)) : 0L;
+        long pollTimeout = TimeUnit.MILLISECONDS.toNanos(POLL_TIMEOUT_MS);
+        try {
+            while (true) {
+                long waitTime = finiteTimeout ? Math.min(timeoutRemaining, pollTimeout) : pollTimeout;
+                long start = System.nanoTime();
+                Object message = queue.poll(waitTime, TimeUnit.NANOSECONDS);
+                if (message != null) {
+                    return StructuredClone.deserialize(realm, message);
+                }
+                timeoutRemaining -= System.nanoTime() - start;
+                boolean senderDone = queue == fromWorker ? finished : closed;
+                if (senderDone || (finiteTimeout && timeoutRemaining <= 0)) {
+                    // a message may have arrived just before the sender ended
+                    message = queue.poll();
+                    if (message != null) {
+                        return StructuredClone.deserialize(realm, message);
+                    }
+                    if (senderDone && queue == fromWorker && uncaughtError != null) {
+                        String error = uncaughtError;
+                        uncaughtError = null;
+                        throw JSException.create(JSErrorType.Error, "Uncaught error in worker: " + error, location);
+                    }
+                    return Undefined.instance;
+                }
+                TruffleSafepoint.poll(location);
+            }
+        } catch (InterruptedException e) {
+            throw JSInterruptedExecutionException.wrap(e);
+        }
+    }
+
+    /**
+     * Lets the worker end after its current message. Called by the worker itself.
+     */
+    @TruffleBoundary
+    public void close() {
+        closed = true;
+        wake();
+    }
+
+    /**
+     * Terminates the worker: no further messages are delivered, blocking operations of the worker
+     * are interrupted, and its context is closed as cancelled, which stops running code at the next
+     * safepoint. Returns when the worker has left its context. Called by the parent.
+     */
+    @TruffleBoundary
+    public void requestTermination(Node location) {
+        closed = true;
+        if (thread.isAlive()) {
+            thread.interrupt();
+        }
+        if (!workerContext.isClosed()) {
+            workerContext.closeCancelled(location, "Worker terminated");
+        }
+    }
+
+    @TruffleBoundary
+    void awaitTermination() throws InterruptedException {
+        requestTermination(null);
+        thread.join(TERMINATION_TIMEOUT_MS);
+    }
+
+    @Override
+    public void wake() {
+        CompilerAsserts.neverPartOfCompilation();
+        queueLock.lock();
+        try {
+            queueCondition.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    @Override
+    public void terminate() {
+        // Spawned workers are terminated by terminateWorkers().
+    }
+}
@@ -44,6 +44,20 @@ public interface ArrayAllocationSite {
     default void notifyArrayTransition(@SuppressWarnings("unused") ScriptArray arrayType, @SuppressWarnings("unused") int length) {
     }
 
+    /**
+     * Called (in the interpreter only) whenever an array created at this site changes its array
+     * type.
+     */
+    default void notifyArrayTypeChange(@SuppressWarnings("unused") ScriptArray arrayType) {
+    }
+
+    /**
+     * Called (in the interpreter only) whenever the storage of an array created at this site has
+     * to be reallocated to hold at least {@code minCapacity} elements.
+     */
+    default void notifyArrayGrowth(@SuppressWarnings("unused") int minCapacity) {
+    }
+
     default ScriptArray getInitialArrayType() {
         return null;
     }
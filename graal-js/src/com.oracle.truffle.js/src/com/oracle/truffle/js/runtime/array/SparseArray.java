@@ -47,13 +47,8 @@ import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetLen
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.TreeMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Strings;
@@ -61,7 +56,7 @@ import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
- * Array that stores its elements in a HashMap-like structure, e.g. in a TreeMap.
+ * Array that stores its elements in an ordered map-like structure, see {@link SparseArrayStorage}.
  */
 public final class SparseArray extends DynamicArray {
 
@@ -77,7 +72,7 @@ public final class SparseArray extends DynamicArray {
 
     public static SparseArray makeSparseArray(JSDynamicObject object, ScriptArray fromArray) {
         assert !(fromArray instanceof SparseArray);
-        TreeMap<Long, Object> arrayMap = createArrayMap();
+        SparseArrayStorage arrayMap = createArrayMap();
         copyArrayToMap(object, fromArray, arrayMap);
         arraySetLength(object, fromArray.length(object));
         arraySetArray(object, arrayMap);
@@ -85,20 +80,20 @@ public final class SparseArray extends DynamicArray {
     }
 
     @TruffleBoundary
-    public static TreeMap<Long, Object> createArrayMap() {
-        return new TreeMap<>();
+    public static SparseArrayStorage createArrayMap() {
+        return new SparseArrayStorage();
     }
 
-    protected static void copyArrayToMap(JSDynamicObject object, ScriptArray fromArray, Map<Long, Object> toMap) {
+    @TruffleBoundary
+    protected static void copyArrayToMap(JSDynamicObject object, ScriptArray fromArray, SparseArrayStorage toMap) {
         for (long index = fromArray.firstElementIndex(object); index <= fromArray.lastElementIndex(object); index = fromArray.nextElementIndex(object, index)) {
             assert fromArray.hasElement(object, index);
-            Boundaries.mapPut(toMap, index, fromArray.getElement(object, index));
+            toMap.put(index, fromArray.getElement(object, index));
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static TreeMap<Long, Object> arrayMap(JSDynamicObject object) {
-        return (TreeMap<Long, Object>) arrayGetArray(object);
+    private static SparseArrayStorage arrayMap(JSDynamicObject object) {
+        return (SparseArrayStorage) arrayGetArray(object);
     }
 
     @TruffleBoundary
@@ -144,47 +139,40 @@ public final class SparseArray extends DynamicArray {
     @Override
     public SparseArray setLengthImpl(JSDynamicObject object, long len, ProfileHolder profile) {
         arraySetLength(object, len);
-        arrayMap(object).tailMap(len).clear();
+        arrayMap(object).removeFrom(len);
         return this;
     }
 
     @TruffleBoundary
     @Override
     public long firstElementIndex(JSDynamicObject object) {
-        try {
-            return arrayMap(object).firstKey();
-        } catch (NoSuchElementException ex) {
-            return 0;
-        }
+        SparseArrayStorage map = arrayMap(object);
+        return map.isEmpty() ? 0 : map.firstKey();
     }
 
     @TruffleBoundary
     @Override
     public long lastElementIndex(JSDynamicObject object) {
-        try {
-            return arrayMap(object).lastKey();
-        } catch (NoSuchElementException ex) {
-            return -1;
-        }
+        return arrayMap(object).lastKey();
     }
 
     @TruffleBoundary
     @Override
     public long nextElementIndex(JSDynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).higherKey(index);
-        return nextIndex != null ? nextIndex.longValue() : JSRuntime.MAX_SAFE_INTEGER_LONG;
+        long nextIndex = arrayMap(object).higherKey(index);
+        return nextIndex >= 0 ? nextIndex : JSRuntime.MAX_SAFE_INTEGER_LONG;
     }
 
     @TruffleBoundary
     @Override
     public long previousElementIndex(JSDynamicObject object, long index) {
-        Long nextIndex = arrayMap(object).lowerKey(index);
-        return nextIndex != null ? nextIndex.longValue() : -1;
+        return arrayMap(object).lowerKey(index);
     }
 
     @Override
+    @TruffleBoundary
     public Object cloneArray(JSDynamicObject object) {
-        return arrayMap(object).clone();
+        return arrayMap(object).copy();
     }
 
     @TruffleBoundary
@@ -255,9 +243,9 @@ public final class SparseArray extends DynamicArray {
     @TruffleBoundary
     @Override
     public List<Object> ownPropertyKeys(JSDynamicObject object) {
-        Set<Long> keySet = arrayMap(object).keySet();
-        List<Object> list = new ArrayList<>(keySet.size());
-        for (long index : keySet) {
+        long[] keys = arrayMap(object).keys();
+        List<Object> list = new ArrayList<>(keys.length);
+        for (long index : keys) {
             list.add(Strings.fromLong(index));
         }
         return list;
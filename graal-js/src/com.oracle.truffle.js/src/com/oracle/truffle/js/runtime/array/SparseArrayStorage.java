@@ -0,0 +1,664 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.array;
+
+import java.util.Arrays;
+
+/**
+ * Element storage of {@link SparseArray}: an ordered map from non-negative {@code long} indices to
+ * element values, without boxing the keys.
+ * <p>
+ * Elements are grouped into pages of {@value #PAGE_SIZE} consecutive indices. A page has a
+ * presence bitmap and stores its values densely (in index order) in an {@code int[]},
+ * {@code double[]} or {@code Object[]}, depending on the values stored so far, so memory use is
+ * proportional to the number of elements. Pages are kept in a two-level B-tree like directory of
+ * sorted blocks of up to {@value #BLOCK_SIZE} pages, keyed by the page number. Ordered traversal
+ * ({@link #higherKey}, {@link #lowerKey}) uses the bitmaps and the directory order.
+ */
+public final class SparseArrayStorage {
+
+    static final int PAGE_BITS = 6;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+    static final int BLOCK_SIZE = 128;
+
+    private Block[] blocks;
+    private int blockCount;
+    private int size;
+
+    public SparseArrayStorage() {
+        this.blocks = new Block[4];
+    }
+
+    private SparseArrayStorage(SparseArrayStorage other) {
+        this.blocks = new Block[Math.max(4, other.blockCount)];
+        for (int i = 0; i < other.blockCount; i++) {
+            blocks[i] = other.blocks[i].copy();
+        }
+        this.blockCount = other.blockCount;
+        this.size = other.size;
+    }
+
+    /**
+     * Returns the number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value at the given index, or {@code null} if there is no element.
+     */
+    public Object get(long index) {
+        Page page = findPage(index >>> PAGE_BITS);
+        return page == null ? null : page.get((int) index & PAGE_MASK);
+    }
+
+    public boolean containsKey(long index) {
+        Page page = findPage(index >>> PAGE_BITS);
+        return page != null && page.has((int) index & PAGE_MASK);
+    }
+
+    public void put(long index, Object value) {
+        assert index >= 0 && value != null;
+        long pageKey = index >>> PAGE_BITS;
+        int offset = (int) index & PAGE_MASK;
+        if (blockCount == 0) {
+            insertBlock(0, new Block());
+        }
+        // pages before the first block are inserted into the first block
+        int b = Math.max(0, findBlock(pageKey));
+        Block block = blocks[b];
+        int pos = block.indexOf(pageKey);
+        Page page;
+        if (pos >= 0) {
+            page = block.pages[pos];
+        } else {
+            page = new Page();
+            pos = -(pos + 1);
+            if (block.count == BLOCK_SIZE) {
+                Block upper = block.split();
+                insertBlock(b + 1, upper);
+                if (pos > block.count) {
+                    block = upper;
+                    pos -= blocks[b].count;
+                }
+            }
+            block.insert(pos, pageKey, page);
+        }
+        if (page.put(offset, value)) {
+            size++;
+        }
+    }
+
+    /**
+     * Removes the element at the given index, if present.
+     */
+    public void remove(long index) {
+        long pageKey = index >>> PAGE_BITS;
+        int b = findBlock(pageKey);
+        if (b < 0) {
+            return;
+        }
+        Block block = blocks[b];
+        int pos = block.indexOf(pageKey);
+        if (pos < 0) {
+            return;
+        }
+        Page page = block.pages[pos];
+        if (page.remove((int) index & PAGE_MASK)) {
+            size--;
+            if (page.isEmpty()) {
+                removePage(b, pos);
+            }
+        }
+    }
+
+    /**
+     * Removes all elements with an index greater than or equal to {@code fromIndex}.
+     */
+    public void removeFrom(long fromIndex) {
+        if (size == 0) {
+            return;
+        }
+        long pageKey = fromIndex >>> PAGE_BITS;
+        int b = findBlock(pageKey);
+        if (b < 0) {
+            clear();
+            return;
+        }
+        Block block = blocks[b];
+        int pos = block.indexOf(pageKey);
+        int keep;
+        if (pos >= 0) {
+            Page page = block.pages[pos];
+            size -= page.truncate((int) fromIndex & PAGE_MASK);
+            keep = page.isEmpty() ? pos : pos + 1;
+        } else {
+            keep = -(pos + 1);
+        }
+        for (int i = keep; i < block.count; i++) {
+            size -= block.pages[i].count;
+        }
+        block.truncate(keep);
+        for (int i = b + 1; i < blockCount; i++) {
+            size -= blocks[i].elementCount();
+            blocks[i] = null;
+        }
+        blockCount = b + 1;
+        if (block.count == 0) {
+            removeBlock(b);
+        }
+        assert size >= 0;
+    }
+
+    public void clear() {
+        Arrays.fill(blocks, 0, blockCount, null);
+        blockCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the lowest index, or -1 if empty.
+     */
+    public long firstKey() {
+        if (blockCount == 0) {
+            return -1;
+        }
+        Block block = blocks[0];
+        return block.keyAt(0, block.pages[0].first());
+    }
+
+    /**
+     * Returns the highest index, or -1 if empty.
+     */
+    public long lastKey() {
+        if (blockCount == 0) {
+            return -1;
+        }
+        Block block = blocks[blockCount - 1];
+        int last = block.count - 1;
+        return block.keyAt(last, block.pages[last].last());
+    }
+
+    /**
+     * Returns the lowest index strictly greater than the given index, or -1 if there is none.
+     */
+    public long higherKey(long index) {
+        if (index < 0) {
+            return firstKey();
+        }
+        long pageKey = index >>> PAGE_BITS;
+        int offset = (int) index & PAGE_MASK;
+        int b = findBlock(pageKey);
+        if (b < 0) {
+            return firstKey();
+        }
+        Block block = blocks[b];
+        int pos = block.indexOf(pageKey);
+        if (pos >= 0) {
+            if (offset < PAGE_MASK) {
+                int next = block.pages[pos].nextSetBit(offset + 1);
+                if (next >= 0) {
+                    return block.keyAt(pos, next);
+                }
+            }
+            pos++;
+        } else {
+            pos = -(pos + 1);
+        }
+        if (pos == block.count) {
+            if (b + 1 == blockCount) {
+                return -1;
+            }
+            block = blocks[b + 1];
+            pos = 0;
+        }
+        return block.keyAt(pos, block.pages[pos].first());
+    }
+
+    /**
+     * Returns the highest index strictly less than the given index, or -1 if there is none.
+     */
+    public long lowerKey(long index) {
+        if (index <= 0) {
+            return -1;
+        }
+        long pageKey = index >>> PAGE_BITS;
+        int offset = (int) index & PAGE_MASK;
+        int b = findBlock(pageKey);
+        if (b < 0) {
+            return -1;
+        }
+        Block block = blocks[b];
+        int pos = block.indexOf(pageKey);
+        if (pos >= 0) {
+            if (offset > 0) {
+                int prev = block.pages[pos].previousSetBit(offset - 1);
+                if (prev >= 0) {
+                    return block.keyAt(pos, prev);
+                }
+            }
+            pos--;
+        } else {
+            pos = -(pos + 1) - 1;
+        }
+        if (pos < 0) {
+            if (b == 0) {
+                return -1;
+            }
+            block = blocks[b - 1];
+            pos = block.count - 1;
+        }
+        return block.keyAt(pos, block.pages[pos].last());
+    }
+
+    /**
+     * Returns all indices in ascending order.
+     */
+    public long[] keys() {
+        long[] keys = new long[size];
+        int k = 0;
+        for (int b = 0; b < blockCount; b++) {
+            Block block = blocks[b];
+            for (int p = 0; p < block.count; p++) {
+                long base = block.keys[p] << PAGE_BITS;
+                long bits = block.pages[p].bits;
+                while (bits != 0) {
+                    keys[k++] = base + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        assert k == size;
+        return keys;
+    }
+
+    public SparseArrayStorage copy() {
+        return new SparseArrayStorage(this);
+    }
+
+    /**
+     * Returns the index of the block that may contain the given page, or -1 if the page would be
+     * before the first block.
+     */
+    private int findBlock(long pageKey) {
+        int low = 0;
+        int high = blockCount - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks[mid].firstKey() <= pageKey) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private Page findPage(long pageKey) {
+        int b = findBlock(pageKey);
+        if (b < 0) {
+            return null;
+        }
+        Block block = blocks[b];
+        int pos = block.indexOf(pageKey);
+        return pos >= 0 ? block.pages[pos] : null;
+    }
+
+    private void insertBlock(int index, Block block) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+        }
+        System.arraycopy(blocks, index, blocks, index + 1, blockCount - index);
+        blocks[index] = block;
+        blockCount++;
+    }
+
+    private void removeBlock(int index) {
+        System.arraycopy(blocks, index + 1, blocks, index, blockCount - index - 1);
+        blocks[--blockCount] = null;
+    }
+
+    private void removePage(int b, int pos) {
+        Block block = blocks[b];
+        block.remove(pos);
+        if (block.count == 0) {
+            removeBlock(b);
+        }
+    }
+
+    /**
+     * Sorted run of pages, keyed by page number.
+     */
+    private static final class Block {
+        long[] keys;
+        Page[] pages;
+        int count;
+
+        Block() {
+            this(4);
+        }
+
+        Block(int capacity) {
+            this.keys = new long[capacity];
+            this.pages = new Page[capacity];
+        }
+
+        long firstKey() {
+            return count == 0 ? Long.MIN_VALUE : keys[0];
+        }
+
+        int indexOf(long pageKey) {
+            return Arrays.binarySearch(keys, 0, count, pageKey);
+        }
+
+        long keyAt(int pos, int offset) {
+            return (keys[pos] << PAGE_BITS) + offset;
+        }
+
+        void insert(int pos, long pageKey, Page page) {
+            if (count == keys.length) {
+                int newCapacity = Math.min(BLOCK_SIZE, count * 2);
+                keys = Arrays.copyOf(keys, newCapacity);
+                pages = Arrays.copyOf(pages, newCapacity);
+            }
+            System.arraycopy(keys, pos, keys, pos + 1, count - pos);
+            System.arraycopy(pages, pos, pages, pos + 1, count - pos);
+            keys[pos] = pageKey;
+            pages[pos] = page;
+            count++;
+        }
+
+        void remove(int pos) {
+            System.arraycopy(keys, pos + 1, keys, pos, count - pos - 1);
+            System.arraycopy(pages, pos + 1, pages, pos, count - pos - 1);
+            pages[--count] = null;
+        }
+
+        void truncate(int newCount) {
+            Arrays.fill(pages, newCount, count, null);
+            count = newCount;
+        }
+
+        /**
+         * Moves the upper half of the pages into a new block.
+         */
+        Block split() {
+            int half = count / 2;
+            Block upper = new Block(BLOCK_SIZE);
+            upper.count = count - half;
+            System.arraycopy(keys, half, upper.keys, 0, upper.count);
+            System.arraycopy(pages, half, upper.pages, 0, upper.count);
+            truncate(half);
+            return upper;
+        }
+
+        int elementCount() {
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                n += pages[i].count;
+            }
+            return n;
+        }
+
+        Block copy() {
+            Block copy = new Block(keys.length);
+            System.arraycopy(keys, 0, copy.keys, 0, count);
+            for (int i = 0; i < count; i++) {
+                copy.pages[i] = pages[i].copy();
+            }
+            copy.count = count;
+            return copy;
+        }
+    }
+
+    /**
+     * Up to {@value SparseArrayStorage#PAGE_SIZE} elements with consecutive indices. Values are
+     * stored densely in index order; the rank of an element is the number of present elements
+     * with a lower offset.
+     */
+    private static final class Page {
+        long bits;
+        int count;
+        /** {@code int[]}, {@code double[]} or {@code Object[]}. */
+        Object values;
+
+        Page() {
+            this.values = new int[2];
+        }
+
+        boolean isEmpty() {
+            return bits == 0;
+        }
+
+        boolean has(int offset) {
+            return (bits & (1L << offset)) != 0;
+        }
+
+        int rank(int offset) {
+            return Long.bitCount(bits & ((1L << offset) - 1));
+        }
+
+        int first() {
+            return Long.numberOfTrailingZeros(bits);
+        }
+
+        int last() {
+            return PAGE_MASK - Long.numberOfLeadingZeros(bits);
+        }
+
+        int nextSetBit(int from) {
+            long m = bits & (-1L << from);
+            return m == 0 ? -1 : Long.numberOfTrailingZeros(m);
+        }
+
+        int previousSetBit(int from) {
+            long m = bits & (-1L >>> (PAGE_MASK - from));
+            return m == 0 ? -1 : PAGE_MASK - Long.numberOfLeadingZeros(m);
+        }
+
+        Object get(int offset) {
+            if (!has(offset)) {
+                return null;
+            }
+            int r = rank(offset);
+            Object array = values;
+            if (array instanceof int[]) {
+                return ((int[]) array)[r];
+            } else if (array instanceof double[]) {
+                return ((double[]) array)[r];
+            } else {
+                return ((Object[]) array)[r];
+            }
+        }
+
+        /**
+         * Stores the value at the given offset. Returns {@code true} if a new element was added.
+         */
+        boolean put(int offset, Object value) {
+            ensureValueKind(value);
+            int r = rank(offset);
+            boolean added = !has(offset);
+            if (added) {
+                makeRoom(r);
+                bits |= 1L << offset;
+                count++;
+            }
+            Object array = values;
+            if (array instanceof int[]) {
+                ((int[]) array)[r] = (Integer) value;
+            } else if (array instanceof double[]) {
+                ((double[]) array)[r] = ((Number) value).doubleValue();
+            } else {
+                ((Object[]) array)[r] = value;
+            }
+            return added;
+        }
+
+        /**
+         * Returns {@code true} if an element was removed.
+         */
+        boolean remove(int offset) {
+            if (!has(offset)) {
+                return false;
+            }
+            int r = rank(offset);
+            Object array = values;
+            int tail = count - r - 1;
+            System.arraycopy(array, r + 1, array, r, tail);
+            if (array instanceof Object[]) {
+                ((Object[]) array)[count - 1] = null;
+            }
+            bits &= ~(1L << offset);
+            count--;
+            return true;
+        }
+
+        /**
+         * Removes all elements at or above the given offset. Returns the number of removed
+         * elements.
+         */
+        int truncate(int fromOffset) {
+            long keepMask = (1L << fromOffset) - 1;
+            int newCount = Long.bitCount(bits & keepMask);
+            int removed = count - newCount;
+            if (values instanceof Object[]) {
+                Arrays.fill((Object[]) values, newCount, count, null);
+            }
+            bits &= keepMask;
+            count = newCount;
+            return removed;
+        }
+
+        private void makeRoom(int r) {
+            Object array = values;
+            int capacity = capacity(array);
+            if (count == capacity) {
+                int newCapacity = Math.min(PAGE_SIZE, capacity * 2);
+                Object newArray = newArrayOfKind(array, newCapacity);
+                System.arraycopy(array, 0, newArray, 0, r);
+                System.arraycopy(array, r, newArray, r + 1, count - r);
+                values = newArray;
+            } else {
+                System.arraycopy(array, r, array, r + 1, count - r);
+            }
+        }
+
+        private static int capacity(Object array) {
+            if (array instanceof int[]) {
+                return ((int[]) array).length;
+            } else if (array instanceof double[]) {
+                return ((double[]) array).length;
+            } else {
+                return ((Object[]) array).length;
+            }
+        }
+
+        private static Object newArrayOfKind(Object array, int capacity) {
+            if (array instanceof int[]) {
+                return new int[capacity];
+            } else if (array instanceof double[]) {
+                return new double[capacity];
+            } else {
+                return new Object[capacity];
+            }
+        }
+
+        /**
+         * Generalizes the value array if the value cannot be stored in it: int[] to double[] to
+         * Object[].
+         */
+        private void ensureValueKind(Object value) {
+            Object array = values;
+            if (array instanceof int[]) {
+                if (value instanceof Integer) {
+                    return;
+                }
+                int[] ints = (int[]) array;
+                if (value instanceof Double) {
+                    double[] doubles = new double[ints.length];
+                    for (int i = 0; i < count; i++) {
+                        doubles[i] = ints[i];
+                    }
+                    values = doubles;
+                } else {
+                    Object[] objects = new Object[ints.length];
+                    for (int i = 0; i < count; i++) {
+                        objects[i] = ints[i];
+                    }
+                    values = objects;
+                }
+            } else if (array instanceof double[]) {
+                if (value instanceof Double || value instanceof Integer) {
+                    return;
+                }
+                double[] doubles = (double[]) array;
+                Object[] objects = new Object[doubles.length];
+                for (int i = 0; i < count; i++) {
+                    objects[i] = doubles[i];
+                }
+                values = objects;
+            }
+        }
+
+        Page copy() {
+            Page copy = new Page();
+            copy.bits = bits;
+            copy.count = count;
+            Object array = values;
+            if (array instanceof int[]) {
+                copy.values = ((int[]) array).clone();
+            } else if (array instanceof double[]) {
+                copy.values = ((double[]) array).clone();
+            } else {
+                copy.values = ((Object[]) array).clone();
+            }
+            return copy;
+        }
+    }
+}
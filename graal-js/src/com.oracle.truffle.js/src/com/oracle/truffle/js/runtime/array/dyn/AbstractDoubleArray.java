@@ -45,7 +45,10 @@ import static com.oracle.truffle.api.CompilerDirectives.injectBranchProbability;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArray;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArray;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
@@ -113,6 +116,35 @@ public abstract class AbstractDoubleArray extends AbstractWritableArray {
         }
     }
 
+    /**
+     * Sorts the elements in the index range [0, length) in numeric order, in place, with the same
+     * result as a stable sort using {@code (a, b) => a - b}. The range must be in bounds and must
+     * not contain holes. Returns {@code false} (and leaves the array unmodified) if the range
+     * contains NaN or -0, for which the numeric order of {@link Arrays#sort(double[])} differs.
+     */
+    @TruffleBoundary
+    public final boolean sortInBounds(JSDynamicObject object, int length, boolean descending) {
+        assert !isHolesType() && firstElementIndex(object) == 0 && lastElementIndex(object) >= length - 1;
+        double[] array = getArray(object);
+        int start = prepareInBoundsFast(object, 0);
+        int end = start + length;
+        for (int i = start; i < end; i++) {
+            double value = array[i];
+            if (Double.isNaN(value) || (value == 0d && Double.doubleToRawLongBits(value) != 0L)) {
+                return false;
+            }
+        }
+        Arrays.sort(array, start, end);
+        if (descending) {
+            for (int i = start, j = end - 1; i < j; i++, j--) {
+                double tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+        return true;
+    }
+
     public final void setInBounds(JSDynamicObject object, int index, double value, ProfileHolder profile) {
         getArray(object)[prepareInBounds(object, index, profile)] = value;
         if (JSConfig.TraceArrayWrites) {
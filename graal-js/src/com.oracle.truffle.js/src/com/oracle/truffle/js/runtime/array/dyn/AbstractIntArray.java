@@ -47,7 +47,10 @@ import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArr
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetArrayOffset;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arraySetArray;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
@@ -118,6 +121,26 @@ public abstract class AbstractIntArray extends AbstractWritableArray {
 
     public abstract void setInBoundsFast(JSDynamicObject object, int index, int value);
 
+    /**
+     * Sorts the elements in the index range [0, length) in numeric order, in place. The range must
+     * be in bounds and must not contain holes.
+     */
+    @TruffleBoundary
+    public final void sortInBounds(JSDynamicObject object, int length, boolean descending) {
+        assert !isHolesType() && firstElementIndex(object) == 0 && lastElementIndex(object) >= length - 1;
+        int[] array = getArray(object);
+        int start = prepareInBoundsFast(object, 0);
+        int end = start + length;
+        Arrays.sort(array, start, end);
+        if (descending) {
+            for (int i = start, j = end - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+
     public final void setInBounds(JSDynamicObject object, int index, int value, ProfileHolder profile) {
         getArray(object)[prepareInBounds(object, index, profile)] = value;
         if (JSConfig.TraceArrayWrites) {
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.runtime.array.dyn;
 
+import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetAllocationSite;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetHoleCount;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetLength;
 import static com.oracle.truffle.js.runtime.builtins.JSAbstractArray.arrayGetUsedLength;
@@ -56,12 +57,14 @@ import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.ArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.DynamicArray;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.SparseArray;
 import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
 /**
@@ -80,6 +83,8 @@ import com.oracle.truffle.js.runtime.util.SimpleArrayList;
  */
 public abstract class AbstractWritableArray extends DynamicArray {
 
+    private static final DebugCounter arrayStorageReallocations = DebugCounter.create("Array storage reallocations");
+
     protected static final void setArrayProperties(JSDynamicObject object, Object array, long length, int usedLength, long indexOffset, int arrayOffset) {
         arraySetArray(object, array);
         setArrayProperties(object, length, usedLength, indexOffset, arrayOffset);
@@ -262,11 +267,22 @@ public abstract class AbstractWritableArray extends DynamicArray {
                     offset = (int) indexOffset;
                 }
             }
+            arrayStorageReallocations.inc();
+            if (CompilerDirectives.inInterpreter()) {
+                notifyAllocationSiteGrowth(object, (int) minCapacity);
+            }
             resizeArray(object, (int) newCapacity, capacity, offset);
             return offset;
         }
     }
 
+    private static void notifyAllocationSiteGrowth(JSDynamicObject object, int minCapacity) {
+        ArrayAllocationSite site = arrayGetAllocationSite(object);
+        if (site != null) {
+            site.notifyArrayGrowth(minCapacity);
+        }
+    }
+
     private int ensureCapacityContiguous(JSDynamicObject object, int internalIndex, ProfileHolder profile) {
         int offset = ensureCapacity(object, internalIndex, getIndexOffset(object), profile);
         if (offset != 0) {
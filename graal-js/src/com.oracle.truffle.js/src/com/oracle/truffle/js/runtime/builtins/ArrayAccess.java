@@ -40,15 +40,18 @@
  */
 package com.oracle.truffle.js.runtime.builtins;
 
-import java.util.TreeMap;
-
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.ArrayAllocationSite;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.SparseArrayStorage;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
 
 public class ArrayAccess {
     public static final ArrayAccess SINGLETON = new ArrayAccess();
 
+    private static final DebugCounter arrayTypeTransitions = DebugCounter.create("Array type transitions");
+
     protected ArrayAccess() {
     }
 
@@ -73,7 +76,14 @@ public class ArrayAccess {
     }
 
     public void setArrayType(Object thisObj, ScriptArray arrayType) {
-        ((JSArrayBase) thisObj).setArrayType(arrayType);
+        JSArrayBase arrayObj = (JSArrayBase) thisObj;
+        if (arrayObj.arrayStrategy != arrayType) {
+            arrayTypeTransitions.inc();
+            if (CompilerDirectives.inInterpreter() && arrayObj.allocationSite != null) {
+                arrayObj.allocationSite.notifyArrayTypeChange(arrayType);
+            }
+        }
+        arrayObj.setArrayType(arrayType);
     }
 
     public void setLength(Object thisObj, long length) {
@@ -100,7 +110,7 @@ public class ArrayAccess {
     }
 
     public void setArray(Object thisObj, Object array) {
-        assert array != null && (array.getClass().isArray() || array instanceof TreeMap<?, ?>);
+        assert array != null && (array.getClass().isArray() || array instanceof SparseArrayStorage);
         ((JSArrayBase) thisObj).setArray(array);
     }
 
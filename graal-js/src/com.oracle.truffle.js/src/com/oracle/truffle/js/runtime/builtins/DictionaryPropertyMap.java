@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.builtins;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
+
+/**
+ * Property storage of {@link JSDictionary} objects: an insertion-ordered hash map from property
+ * keys to properties.
+ * <p>
+ * Data properties are stored as a key/value slot with packed attribute bits (using the
+ * {@link JSAttributes} encoding), so no {@link PropertyDescriptor} is kept per property. Only
+ * accessor properties are stored as (fully populated) property descriptors. With
+ * {@link JSConfig#CompactDictionaryObject} disabled, every property is stored as a descriptor.
+ * <p>
+ * Keys, values and attributes are kept in parallel arrays in insertion order; removed entries
+ * leave a gap that is compacted when the arrays are resized. Lookup uses an open-addressed index
+ * table of slot numbers.
+ */
+final class DictionaryPropertyMap {
+
+    /** The value slot holds a fully populated {@link PropertyDescriptor}. */
+    private static final byte DESCRIPTOR = 1 << 3;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    private Object[] keys;
+    private Object[] values;
+    private byte[] flags;
+    /** Number of used slots, including removed ones. */
+    private int used;
+    private int size;
+    /** Slot number + 1, or {@link #EMPTY} or {@link #DELETED}. */
+    private int[] table;
+
+    DictionaryPropertyMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    DictionaryPropertyMap(int expectedSize) {
+        int capacity = Math.max(INITIAL_CAPACITY, expectedSize);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.flags = new byte[capacity];
+        this.table = new int[tableSizeFor(capacity)];
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 2;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot of the given key, or -1 if not present.
+     */
+    int find(Object key) {
+        int[] t = table;
+        int mask = t.length - 1;
+        int i = hash(key) & mask;
+        while (true) {
+            int entry = t[i];
+            if (entry == EMPTY) {
+                return -1;
+            } else if (entry != DELETED && keys[entry - 1].equals(key)) {
+                return entry - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    boolean isAccessor(int slot) {
+        return (flags[slot] & DESCRIPTOR) != 0 && ((PropertyDescriptor) values[slot]).isAccessorDescriptor();
+    }
+
+    /**
+     * Value of the data property in the given slot.
+     */
+    Object getValue(int slot) {
+        if ((flags[slot] & DESCRIPTOR) != 0) {
+            return ((PropertyDescriptor) values[slot]).getValue();
+        }
+        return values[slot];
+    }
+
+    /**
+     * Sets the value of the (writable) data property in the given slot.
+     */
+    void setValue(int slot, Object value) {
+        if ((flags[slot] & DESCRIPTOR) != 0) {
+            ((PropertyDescriptor) values[slot]).setValue(value);
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    boolean isWritable(int slot) {
+        if ((flags[slot] & DESCRIPTOR) != 0) {
+            return ((PropertyDescriptor) values[slot]).getWritable();
+        }
+        return JSAttributes.isWritable(flags[slot]);
+    }
+
+    boolean isConfigurable(int slot) {
+        if ((flags[slot] & DESCRIPTOR) != 0) {
+            return ((PropertyDescriptor) values[slot]).getConfigurable();
+        }
+        return JSAttributes.isConfigurable(flags[slot]);
+    }
+
+    /**
+     * Returns the accessor property descriptor in the given slot.
+     */
+    PropertyDescriptor getAccessor(int slot) {
+        assert isAccessor(slot);
+        return (PropertyDescriptor) values[slot];
+    }
+
+    /**
+     * Returns a fully populated property descriptor of the property in the given slot. For data
+     * properties stored in compact form, a new descriptor is created; changes to it have to be
+     * written back with {@link #put}.
+     */
+    PropertyDescriptor getDescriptor(int slot) {
+        if ((flags[slot] & DESCRIPTOR) != 0) {
+            return (PropertyDescriptor) values[slot];
+        }
+        return PropertyDescriptor.createData(values[slot], flags[slot]);
+    }
+
+    PropertyDescriptor get(Object key) {
+        int slot = find(key);
+        return slot < 0 ? null : getDescriptor(slot);
+    }
+
+    /**
+     * Adds or replaces a property with a fully populated property descriptor.
+     */
+    void put(Object key, PropertyDescriptor desc) {
+        assert desc.isFullyPopulatedPropertyDescriptor();
+        if (JSConfig.CompactDictionaryObject && desc.isDataDescriptor()) {
+            putData(key, desc.getValue(), toAttributes(desc));
+        } else {
+            put(key, desc, DESCRIPTOR);
+        }
+    }
+
+    /**
+     * Adds or replaces a data property with the given {@link JSAttributes attributes}.
+     */
+    void putData(Object key, Object value, int attributes) {
+        assert (attributes & ~JSAttributes.ATTRIBUTES_MASK) == 0;
+        if (JSConfig.CompactDictionaryObject) {
+            put(key, value, (byte) attributes);
+        } else {
+            put(key, PropertyDescriptor.createData(value, attributes), DESCRIPTOR);
+        }
+    }
+
+    private static int toAttributes(PropertyDescriptor desc) {
+        return (desc.getEnumerable() ? 0 : JSAttributes.NOT_ENUMERABLE) |
+                        (desc.getConfigurable() ? 0 : JSAttributes.NOT_CONFIGURABLE) |
+                        (desc.getWritable() ? 0 : JSAttributes.NOT_WRITABLE);
+    }
+
+    private void put(Object key, Object value, byte slotFlags) {
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = value;
+            flags[slot] = slotFlags;
+            return;
+        }
+        if (used == keys.length) {
+            resize();
+        }
+        slot = used++;
+        keys[slot] = key;
+        values[slot] = value;
+        flags[slot] = slotFlags;
+        size++;
+        insertIntoTable(table, key, slot);
+    }
+
+    /**
+     * Removes the property with the given key. Returns {@code true} if it was present.
+     */
+    boolean remove(Object key) {
+        int[] t = table;
+        int mask = t.length - 1;
+        int i = hash(key) & mask;
+        while (true) {
+            int entry = t[i];
+            if (entry == EMPTY) {
+                return false;
+            } else if (entry != DELETED && keys[entry - 1].equals(key)) {
+                int slot = entry - 1;
+                t[i] = DELETED;
+                keys[slot] = null;
+                values[slot] = null;
+                flags[slot] = 0;
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the keys in insertion order.
+     */
+    List<Object> getKeys() {
+        List<Object> list = new ArrayList<>(size);
+        for (int slot = 0; slot < used; slot++) {
+            Object key = keys[slot];
+            if (key != null) {
+                list.add(key);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Compacts the slots (dropping removed entries) and grows the arrays if necessary.
+     */
+    private void resize() {
+        int newCapacity = size >= keys.length / 2 ? keys.length * 2 : keys.length;
+        Object[] newKeys = new Object[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        byte[] newFlags = new byte[newCapacity];
+        int[] newTable = new int[tableSizeFor(newCapacity)];
+        int newSlot = 0;
+        for (int slot = 0; slot < used; slot++) {
+            Object key = keys[slot];
+            if (key != null) {
+                newKeys[newSlot] = key;
+                newValues[newSlot] = values[slot];
+                newFlags[newSlot] = flags[slot];
+                newSlot++;
+            }
+        }
+        for (int slot = 0; slot < newSlot; slot++) {
+            insertIntoTable(newTable, newKeys[slot], slot);
+        }
+        assert newSlot == size;
+        this.keys = newKeys;
+        this.values = newValues;
+        this.flags = newFlags;
+        this.table = newTable;
+        this.used = newSlot;
+    }
+
+    private static void insertIntoTable(int[] t, Object key, int slot) {
+        int mask = t.length - 1;
+        int i = hash(key) & mask;
+        while (t[i] > 0) {
+            i = (i + 1) & mask;
+        }
+        t[i] = slot + 1;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        return "DictionaryPropertyMap" + Arrays.toString(Arrays.copyOf(keys, used));
+    }
+}
@@ -43,6 +43,7 @@ package com.oracle.truffle.js.runtime.builtins;
 import java.nio.ByteBuffer;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
@@ -126,6 +127,27 @@ public final class JSArrayBuffer extends JSAbstractBuffer implements JSConstruct
         return context.trackAllocation(obj);
     }
 
+    /**
+     * Creates an ArrayBuffer over a foreign buffer. A writable direct host {@link ByteBuffer}, like
+     * a memory-mapped file region, is adopted as the backing store of a direct ArrayBuffer, so that
+     * typed array and DataView accesses use direct memory loads instead of interop messages. Any
+     * other buffer is wrapped in an interop ArrayBuffer.
+     */
+    @TruffleBoundary
+    public static JSArrayBufferObject createArrayBufferFromForeignBuffer(JSContext context, JSRealm realm, Object buffer) {
+        TruffleLanguage.Env env = realm.getEnv();
+        if (env.isHostObject(buffer)) {
+            Object hostObject = env.asHostObject(buffer);
+            if (hostObject instanceof ByteBuffer && DirectByteBufferHelper.isDirectByteBuffer((ByteBuffer) hostObject)) {
+                // Like an interop buffer, the ArrayBuffer covers [0, limit) of the host buffer. The
+                // slice has capacity == limit (direct ArrayBuffers use the capacity as their length)
+                // and is not affected by later changes of position or limit by the host.
+                return createDirectArrayBuffer(context, realm, ((ByteBuffer) hostObject).duplicate().rewind().slice());
+            }
+        }
+        return createInteropArrayBuffer(context, realm, buffer);
+    }
+
     @Override
     public JSDynamicObject createPrototype(JSRealm realm, JSFunctionObject ctor) {
         JSContext context = realm.getContext();
@@ -49,8 +49,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.graalvm.collections.EconomicMap;
-
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.nodes.Node;
@@ -70,6 +68,7 @@ import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.ToDisplayStringFormat;
 import com.oracle.truffle.js.runtime.objects.Accessor;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
@@ -83,7 +82,7 @@ import com.oracle.truffle.js.runtime.util.DefinePropertyUtil;
 
 /**
  * This is a variant of {@link JSOrdinary} that stores its contents as a HashMap of properties
- * (excepts hidden properties, incl. prototype).
+ * (excepts hidden properties, incl. prototype), see {@link DictionaryPropertyMap}.
  */
 public final class JSDictionary extends JSNonProxy {
 
@@ -119,9 +118,13 @@ public final class JSDictionary extends JSNonProxy {
     @Override
     public Object getOwnHelper(JSDynamicObject store, Object thisObj, Object key, Node encapsulatingNode) {
         assert JSRuntime.isPropertyKey(key);
-        PropertyDescriptor desc = getHashMap(store).get(key);
-        if (desc != null) {
-            return getValue(desc, thisObj, encapsulatingNode);
+        DictionaryPropertyMap hashMap = getHashMap(store);
+        int slot = hashMap.find(key);
+        if (slot >= 0) {
+            if (hashMap.isAccessor(slot)) {
+                return getValue(hashMap.getAccessor(slot), thisObj, encapsulatingNode);
+            }
+            return hashMap.getValue(slot);
         }
 
         return super.getOwnHelper(store, thisObj, key, encapsulatingNode);
@@ -161,16 +164,16 @@ public final class JSDictionary extends JSNonProxy {
     @Override
     public boolean delete(JSDynamicObject thisObj, Object key, boolean isStrict) {
         assert JSRuntime.isPropertyKey(key);
-        EconomicMap<Object, PropertyDescriptor> hashMap = getHashMap(thisObj);
-        PropertyDescriptor desc = hashMap.get(key);
-        if (desc != null) {
-            if (!desc.getConfigurable()) {
+        DictionaryPropertyMap hashMap = getHashMap(thisObj);
+        int slot = hashMap.find(key);
+        if (slot >= 0) {
+            if (!hashMap.isConfigurable(slot)) {
                 if (isStrict) {
                     throw Errors.createTypeErrorNotConfigurableProperty(key);
                 }
                 return false;
             }
-            hashMap.removeKey(key);
+            hashMap.remove(key);
             return true;
         }
         return super.delete(thisObj, key, isStrict);
@@ -210,9 +213,10 @@ public final class JSDictionary extends JSNonProxy {
         if (receiver != thisObj) {
             return ordinarySetWithReceiver(thisObj, key, value, receiver, isStrict, encapsulatingNode);
         }
-        PropertyDescriptor property = getHashMap(thisObj).get(key);
-        if (property != null) {
-            return setValue(key, property, thisObj, receiver, value, isStrict, encapsulatingNode);
+        DictionaryPropertyMap hashMap = getHashMap(thisObj);
+        int slot = hashMap.find(key);
+        if (slot >= 0) {
+            return setValue(key, hashMap, slot, thisObj, receiver, value, isStrict, encapsulatingNode);
         }
         Property entry = DefinePropertyUtil.getPropertyByKey(thisObj, key);
         if (entry != null) {
@@ -221,9 +225,9 @@ public final class JSDictionary extends JSNonProxy {
         return setPropertySlow(thisObj, key, value, receiver, isStrict, false, encapsulatingNode);
     }
 
-    private static boolean setValue(Object key, PropertyDescriptor property, JSDynamicObject store, Object thisObj, Object value, boolean isStrict, Node encapsulatingNode) {
-        if (property.isAccessorDescriptor()) {
-            Object setter = property.getSet();
+    private static boolean setValue(Object key, DictionaryPropertyMap hashMap, int slot, JSDynamicObject store, Object thisObj, Object value, boolean isStrict, Node encapsulatingNode) {
+        if (hashMap.isAccessor(slot)) {
+            Object setter = hashMap.getAccessor(slot).getSet();
             if (setter != Undefined.instance) {
                 JSRuntime.call(setter, thisObj, new Object[]{value}, encapsulatingNode);
                 return true;
@@ -233,9 +237,8 @@ public final class JSDictionary extends JSNonProxy {
                 return false;
             }
         } else {
-            assert property.isDataDescriptor();
-            if (property.getWritable()) {
-                property.setValue(value);
+            if (hashMap.isWritable(slot)) {
+                hashMap.setValue(slot, value);
                 return true;
             } else {
                 if (isStrict) {
@@ -279,9 +282,9 @@ public final class JSDictionary extends JSNonProxy {
         }
     }
 
-    private static PropertyDescriptor validateAndPutDesc(JSDynamicObject thisObj, Object key, PropertyDescriptor newDesc) {
+    private static void validateAndPutDesc(JSDynamicObject thisObj, Object key, PropertyDescriptor newDesc) {
         assert newDesc.isFullyPopulatedPropertyDescriptor();
-        return getHashMap(thisObj).put(key, newDesc);
+        getHashMap(thisObj).put(key, newDesc);
     }
 
     /**
@@ -375,14 +378,15 @@ public final class JSDictionary extends JSNonProxy {
             if (descriptor.hasSet()) {
                 currentDesc.setSet(descriptor.getSet());
             }
+            // data properties are not stored as descriptors, so write back the changes
+            validateAndPutDesc(thisObj, key, currentDesc);
             return true;
         }
     }
 
-    @SuppressWarnings("unchecked")
-    static EconomicMap<Object, PropertyDescriptor> getHashMap(JSDynamicObject obj) {
+    static DictionaryPropertyMap getHashMap(JSDynamicObject obj) {
         assert JSDictionary.isJSDictionaryObject(obj);
-        return (EconomicMap<Object, PropertyDescriptor>) JSDynamicObject.getOrNull(obj, HASHMAP_PROPERTY_NAME);
+        return (DictionaryPropertyMap) JSDynamicObject.getOrNull(obj, HASHMAP_PROPERTY_NAME);
     }
 
     public static void makeDictionaryObject(JSDynamicObject obj, String reason) {
@@ -415,7 +419,7 @@ public final class JSDictionary extends JSNonProxy {
 
         lib.resetShape(obj, newRootShape);
 
-        EconomicMap<Object, PropertyDescriptor> hashMap = EconomicMap.create();
+        DictionaryPropertyMap hashMap = new DictionaryPropertyMap(allProperties.size());
         for (int i = 0; i < archive.size(); i++) {
             Property p = allProperties.get(i);
             Object key = p.getKey();
@@ -427,8 +431,11 @@ public final class JSDictionary extends JSNonProxy {
                     } else {
                         Properties.putWithFlags(lib, obj, key, value, p.getFlags());
                     }
-                } else {
+                } else if (JSProperty.isAccessor(p)) {
                     hashMap.put(key, toPropertyDescriptor(p, value));
+                } else {
+                    assert JSProperty.isData(p) && !JSProperty.isDataSpecial(p) : p;
+                    hashMap.putData(key, value, p.getFlags() & JSAttributes.ATTRIBUTES_MASK);
                 }
             }
         }
@@ -443,25 +450,22 @@ public final class JSDictionary extends JSNonProxy {
         if (!prototypeProperty.getLocation().isConstant()) {
             return context.makeEmptyShapeWithPrototypeInObject(jsclass);
         } else {
+            // keep the layout of the object, which may differ from the default layout of its class
+            Class<? extends JSDynamicObject> layout = JSShape.getLayout(currentShape);
             JSDynamicObject prototype = JSObjectUtil.getPrototype(fromObject);
             if (prototype == Null.instance) {
-                return context.makeEmptyShapeWithNullPrototype(jsclass);
+                return context.makeEmptyShapeWithNullPrototype(jsclass, layout);
             } else {
-                return JSObjectUtil.getProtoChildShape(prototype, jsclass, context);
+                return JSObjectUtil.getProtoChildShape(prototype, jsclass, layout, context);
             }
         }
     }
 
     private static PropertyDescriptor toPropertyDescriptor(Property p, Object value) {
-        PropertyDescriptor desc;
-        if (JSProperty.isAccessor(p)) {
-            desc = PropertyDescriptor.createAccessor(((Accessor) value).getGetter(), ((Accessor) value).getSetter());
-            desc.setConfigurable(JSProperty.isConfigurable(p));
-            desc.setEnumerable(JSProperty.isEnumerable(p));
-        } else {
-            assert JSProperty.isData(p) && !JSProperty.isDataSpecial(p) : p;
-            desc = PropertyDescriptor.createData(value, JSProperty.isEnumerable(p), JSProperty.isWritable(p), JSProperty.isConfigurable(p));
-        }
+        assert JSProperty.isAccessor(p);
+        PropertyDescriptor desc = PropertyDescriptor.createAccessor(((Accessor) value).getGetter(), ((Accessor) value).getSetter());
+        desc.setConfigurable(JSProperty.isConfigurable(p));
+        desc.setEnumerable(JSProperty.isEnumerable(p));
         return desc;
     }
 
@@ -478,8 +482,8 @@ public final class JSDictionary extends JSNonProxy {
         return context.trackAllocation(obj);
     }
 
-    private static EconomicMap<Object, PropertyDescriptor> newHashMap() {
-        return EconomicMap.create();
+    private static DictionaryPropertyMap newHashMap() {
+        return new DictionaryPropertyMap();
     }
 
     @Override
@@ -53,6 +53,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.objects.InstanceLayoutProfile;
 
 public final class JSFunctionData {
 
@@ -91,11 +92,17 @@ public final class JSFunctionData {
     private static final int NEEDS_NEW_TARGET = 1 << 9;
     /** Is this a bound function. */
     private static final int IS_BOUND = 1 << 10;
+    /** The body of this function is {@code return a - b} for its parameters {@code (a, b)}. */
+    private static final int IS_ASCENDING_NUMERIC_COMPARATOR = 1 << 11;
+    /** The body of this function is {@code return b - a} for its parameters {@code (a, b)}. */
+    private static final int IS_DESCENDING_NUMERIC_COMPARATOR = 1 << 12;
 
     /** Innermost root node used for lazy creation of the actual call targets. */
     private volatile RootNode rootNode;
     /** Lazy initialization function. */
     private volatile Initializer lazyInit;
+    /** Instance layout prediction of base constructors, created on first construction. */
+    private volatile InstanceLayoutProfile instanceLayoutProfile;
 
     private static final AtomicReferenceFieldUpdater<JSFunctionData, CallTarget> UPDATER_CALL_TARGET = //
                     AtomicReferenceFieldUpdater.newUpdater(JSFunctionData.class, CallTarget.class, "callTarget");
@@ -105,6 +112,8 @@ public final class JSFunctionData {
                     AtomicReferenceFieldUpdater.newUpdater(JSFunctionData.class, CallTarget.class, "constructNewTarget");
     private static final AtomicReferenceFieldUpdater<JSFunctionData, RootNode> UPDATER_ROOT_TARGET = //
                     AtomicReferenceFieldUpdater.newUpdater(JSFunctionData.class, RootNode.class, "rootNode");
+    private static final AtomicReferenceFieldUpdater<JSFunctionData, InstanceLayoutProfile> UPDATER_INSTANCE_LAYOUT_PROFILE = //
+                    AtomicReferenceFieldUpdater.newUpdater(JSFunctionData.class, InstanceLayoutProfile.class, "instanceLayoutProfile");
 
     private JSFunctionData(JSContext context, CallTarget callTarget, CallTarget constructTarget, CallTarget constructNewTarget, int length, TruffleString name, int flags) {
         this.context = context;
@@ -123,9 +132,21 @@ public final class JSFunctionData {
     public static JSFunctionData create(JSContext context, CallTarget callTarget, CallTarget constructTarget, CallTarget constructNewTarget, int length, TruffleString name, boolean isConstructor,
                     boolean isDerived, boolean isStrict, boolean isBuiltin, boolean needsParentFrame, boolean isGenerator, boolean isAsync, boolean isClassConstructor,
                     boolean strictFunctionProperties, boolean needsNewTarget, boolean isBound) {
+        return create(context, callTarget, constructTarget, constructNewTarget, length, name, isConstructor, isDerived, isStrict, isBuiltin, needsParentFrame, isGenerator, isAsync,
+                        isClassConstructor, strictFunctionProperties, needsNewTarget, isBound, 0);
+    }
+
+    /**
+     * @param numericComparator 1 if the function is known to be the numeric comparator
+     *            {@code (a, b) => a - b}, -1 if it is {@code (a, b) => b - a}, otherwise 0
+     */
+    public static JSFunctionData create(JSContext context, CallTarget callTarget, CallTarget constructTarget, CallTarget constructNewTarget, int length, TruffleString name, boolean isConstructor,
+                    boolean isDerived, boolean isStrict, boolean isBuiltin, boolean needsParentFrame, boolean isGenerator, boolean isAsync, boolean isClassConstructor,
+                    boolean strictFunctionProperties, boolean needsNewTarget, boolean isBound, int numericComparator) {
         int flags = (isConstructor ? IS_CONSTRUCTOR : 0) | (isDerived ? IS_DERIVED : 0) | (isStrict ? IS_STRICT : 0) | (isBuiltin ? IS_BUILTIN : 0) |
                         (needsParentFrame ? NEEDS_PARENT_FRAME : 0) | (isGenerator ? IS_GENERATOR : 0) | (isAsync ? IS_ASYNC : 0) | (isClassConstructor ? IS_CLASS_CONSTRUCTOR : 0) |
-                        (strictFunctionProperties ? STRICT_FUNCTION_PROPERTIES : 0) | (needsNewTarget ? NEEDS_NEW_TARGET : 0) | (isBound ? IS_BOUND : 0);
+                        (strictFunctionProperties ? STRICT_FUNCTION_PROPERTIES : 0) | (needsNewTarget ? NEEDS_NEW_TARGET : 0) | (isBound ? IS_BOUND : 0) |
+                        (numericComparator > 0 ? IS_ASCENDING_NUMERIC_COMPARATOR : 0) | (numericComparator < 0 ? IS_DESCENDING_NUMERIC_COMPARATOR : 0);
         return create(context, callTarget, constructTarget, constructNewTarget, length, name, flags);
     }
 
@@ -189,6 +210,18 @@ public final class JSFunctionData {
         return context;
     }
 
+    public InstanceLayoutProfile getOrCreateInstanceLayoutProfile() {
+        CompilerAsserts.neverPartOfCompilation();
+        InstanceLayoutProfile profile = instanceLayoutProfile;
+        if (profile == null) {
+            profile = new InstanceLayoutProfile();
+            if (!UPDATER_INSTANCE_LAYOUT_PROFILE.compareAndSet(this, null, profile)) {
+                profile = instanceLayoutProfile;
+            }
+        }
+        return profile;
+    }
+
     public TruffleString getName() {
         return name;
     }
@@ -257,6 +290,14 @@ public final class JSFunctionData {
         return (flags & IS_BOUND) != 0;
     }
 
+    public boolean isAscendingNumericComparator() {
+        return (flags & IS_ASCENDING_NUMERIC_COMPARATOR) != 0;
+    }
+
+    public boolean isDescendingNumericComparator() {
+        return (flags & IS_DESCENDING_NUMERIC_COMPARATOR) != 0;
+    }
+
     public int getFlags() {
         return flags;
     }
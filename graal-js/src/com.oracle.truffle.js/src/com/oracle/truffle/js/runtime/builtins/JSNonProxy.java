@@ -408,7 +408,7 @@ public abstract class JSNonProxy extends JSClass {
                 isDictionaryObject = true;
             }
             if (isDictionaryObject) {
-                JSDictionary.getHashMap(thisObj).put(key, PropertyDescriptor.createDataDefault(value));
+                JSDictionary.getHashMap(thisObj).putData(key, value, JSAttributes.getDefault());
                 return true;
             }
         }
@@ -58,6 +58,9 @@ public final class JSON {
         JSObject obj = JSOrdinary.createInit(realm);
         JSObjectUtil.putToStringTag(obj, CLASS_NAME);
         JSObjectUtil.putFunctionsFromContainer(realm, obj, JSONBuiltins.BUILTINS);
+        if (realm.getContext().getContextOptions().isJSONParseBytes()) {
+            JSObjectUtil.putFunctionsFromContainer(realm, obj, JSONBuiltins.BUILTINS_PARSE_BYTES);
+        }
         return obj;
     }
 }
@@ -56,6 +56,7 @@ import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.Strings;
 import com.oracle.truffle.js.runtime.UserScriptException;
@@ -72,6 +73,7 @@ public class DefaultESModuleLoader implements JSModuleLoader {
 
     protected final JSRealm realm;
     protected final Map<String, JSModuleRecord> moduleMap = new HashMap<>();
+    private ModuleParsePool parsePool;
 
     public static DefaultESModuleLoader create(JSRealm realm) {
         return new DefaultESModuleLoader(realm);
@@ -109,25 +111,7 @@ public class DefaultESModuleLoader implements JSModuleLoader {
                 canonicalPath = maybeCustomPath.toJavaStringUncached();
                 moduleFile = realm.getEnv().getPublicTruffleFile(canonicalPath).getCanonicalFile();
             } else {
-                if (refPath == null) {
-                    if (maybeUri != null) {
-                        moduleFile = realm.getEnv().getPublicTruffleFile(maybeUri);
-                    } else {
-                        moduleFile = realm.getEnv().getPublicTruffleFile(specifier);
-                    }
-                } else {
-                    TruffleFile refFile = realm.getEnv().getPublicTruffleFile(refPath);
-                    if (maybeUri != null) {
-                        String uriFile = realm.getEnv().getPublicTruffleFile(maybeUri).getCanonicalFile().getPath();
-                        moduleFile = refFile.resolveSibling(uriFile);
-                    } else {
-                        if (bareSpecifierDirectLookup(specifier)) {
-                            moduleFile = realm.getEnv().getPublicTruffleFile(specifier);
-                        } else {
-                            moduleFile = refFile.resolveSibling(specifier);
-                        }
-                    }
-                }
+                moduleFile = resolveModuleFile(refPath, specifier, maybeUri);
                 canonicalPath = null;
             }
             return loadModuleFromUrl(referrer, moduleRequest, moduleFile, canonicalPath);
@@ -151,6 +135,87 @@ public class DefaultESModuleLoader implements JSModuleLoader {
         }
     }
 
+    private TruffleFile resolveModuleFile(String refPath, String specifier, URI maybeUri) throws IOException {
+        if (refPath == null) {
+            if (maybeUri != null) {
+                return realm.getEnv().getPublicTruffleFile(maybeUri);
+            } else {
+                return realm.getEnv().getPublicTruffleFile(specifier);
+            }
+        } else {
+            TruffleFile refFile = realm.getEnv().getPublicTruffleFile(refPath);
+            if (maybeUri != null) {
+                String uriFile = realm.getEnv().getPublicTruffleFile(maybeUri).getCanonicalFile().getPath();
+                return refFile.resolveSibling(uriFile);
+            } else {
+                if (bareSpecifierDirectLookup(specifier)) {
+                    return realm.getEnv().getPublicTruffleFile(specifier);
+                } else {
+                    return refFile.resolveSibling(specifier);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves a module request to the file of the imported module, without loading it, so that
+     * the module can be parsed in the background. Returns {@code null} if the module cannot be
+     * parsed ahead of time. The returned file must have the same path as the one that
+     * {@link #resolveImportedModule} passes to {@link #loadModuleFromUrl} as canonical path.
+     */
+    protected TruffleFile resolveModuleFileAhead(ScriptOrModule referrer, ModuleRequest moduleRequest) throws IOException {
+        String refPath = referrer.getSource().getPath();
+        TruffleString specifierTS = moduleRequest.getSpecifier();
+        if (realm.getCustomEsmPathMapping(Strings.fromJavaString(refPath), specifierTS) != null) {
+            return null;
+        }
+        String specifier = Strings.toJavaString(specifierTS);
+        TruffleFile moduleFile = resolveModuleFile(refPath, specifier, asURI(specifier));
+        return moduleFile.exists() ? moduleFile.getCanonicalFile() : null;
+    }
+
+    /**
+     * Starts parsing the modules statically imported by the given module in the background, if
+     * enabled by {@link JSContextOptions#MODULE_PARSE_THREADS}.
+     */
+    protected final void parseRequestedModulesAhead(JSModuleRecord module) {
+        int threadCount = realm.getContext().getContextOptions().getModuleParseThreads();
+        if (threadCount <= 0 || module.getSource().getPath() == null) {
+            return;
+        }
+        for (ModuleRequest moduleRequest : module.getModule().getRequestedModules()) {
+            if (!moduleRequest.getAssertions().isEmpty()) {
+                continue;
+            }
+            TruffleFile moduleFile;
+            try {
+                moduleFile = resolveModuleFileAhead(module, moduleRequest);
+            } catch (IOException | SecurityException | UnsupportedOperationException | IllegalArgumentException | JSException e) {
+                // Reported when the module is resolved during linking.
+                continue;
+            }
+            if (moduleFile == null || isModuleType(getModuleType(moduleFile.getName()), JSON_MODULE_TYPE)) {
+                continue;
+            }
+            String canonicalPath = moduleFile.getPath();
+            if (moduleMap.containsKey(canonicalPath) || (parsePool != null && parsePool.isPending(canonicalPath))) {
+                continue;
+            }
+            if (parsePool == null) {
+                parsePool = new ModuleParsePool(realm, threadCount);
+            }
+            parsePool.submit(canonicalPath, moduleFile, Strings.toJavaString(moduleRequest.getSpecifier()));
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (parsePool != null) {
+            parsePool.shutdown();
+            parsePool = null;
+        }
+    }
+
     private boolean bareSpecifierDirectLookup(String specifier) {
         JSContextOptions options = realm.getContext().getContextOptions();
         if (options.isEsmBareSpecifierRelativeLookup()) {
@@ -185,21 +250,32 @@ public class DefaultESModuleLoader implements JSModuleLoader {
             return existingModule;
         }
 
-        Source source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(Strings.toJavaString(moduleRequest.getSpecifier())).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
+        String name = Strings.toJavaString(moduleRequest.getSpecifier());
         Map<TruffleString, TruffleString> assertions = moduleRequest.getAssertions();
         int moduleType = getModuleType(moduleFile.getName());
         TruffleString assertedType = assertions.get(JSContext.getTypeImportAssertion());
         if (!doesModuleTypeMatchAssertionType(assertedType, moduleType)) {
             throw Errors.createTypeError("Invalid module type was asserted");
         }
+        Source source;
         JSModuleRecord newModule;
         if (isModuleType(moduleType, JSON_MODULE_TYPE)) {
+            source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(name).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
             newModule = realm.getContext().getEvaluator().parseJSONModule(realm, source);
         } else {
-            JSModuleData parsedModule = realm.getContext().getEvaluator().envParseModule(realm, source);
+            JSModuleData parsedModule = parsePool == null ? null : parsePool.take(canonicalPath, name);
+            if (parsedModule != null) {
+                source = parsedModule.getSource();
+            } else {
+                source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(name).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
+                parsedModule = realm.getContext().getEvaluator().envParseModule(realm, source);
+            }
             newModule = new JSModuleRecord(parsedModule, this);
         }
         moduleMap.put(canonicalPath, newModule);
+        if (!isModuleType(moduleType, JSON_MODULE_TYPE)) {
+            parseRequestedModulesAhead(newModule);
+        }
 
         if (referrer != null) {
             referrer.rememberImportedModuleSource(moduleRequest.getSpecifier(), source);
@@ -231,7 +307,14 @@ public class DefaultESModuleLoader implements JSModuleLoader {
     @Override
     public JSModuleRecord loadModule(Source source, JSModuleData moduleData) {
         String canonicalPath = getCanonicalPath(source);
-        return moduleMap.computeIfAbsent(canonicalPath, (key) -> new JSModuleRecord(moduleData, this));
+        JSModuleRecord existingModule = moduleMap.get(canonicalPath);
+        if (existingModule != null) {
+            return existingModule;
+        }
+        JSModuleRecord newModule = new JSModuleRecord(moduleData, this);
+        moduleMap.put(canonicalPath, newModule);
+        parseRequestedModulesAhead(newModule);
+        return newModule;
     }
 
     private String getCanonicalPath(Source source) {
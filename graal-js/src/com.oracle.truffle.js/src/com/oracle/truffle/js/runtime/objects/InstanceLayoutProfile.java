@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.util.DebugCounter;
+
+/**
+ * Predicts the instance layout of a base constructor from the shapes of the objects it has
+ * constructed so far (in-object slack tracking).
+ *
+ * The first {@link JSConfig#InstanceLayoutSampleCount} instances are sampled in the interpreter
+ * after the constructor has returned. If any of them ended up with more properties than fit into
+ * the in-object fields of {@link JSOrdinaryObject.DefaultLayout}, further instances are allocated
+ * with {@link JSOrdinaryObject.LargeLayout}, so that the constructor's property additions are plain
+ * shape transitions that do not have to (re)allocate extension arrays. The layout changes at most
+ * once; the change is signaled by invalidating {@link #getLayoutAssumption()}.
+ */
+public final class InstanceLayoutProfile {
+
+    /** Number of instance properties that fit into the in-object fields of the default layout. */
+    private static final int DEFAULT_LAYOUT_PROPERTY_CAPACITY = 7;
+
+    private static final DebugCounter largeLayoutCount = DebugCounter.create("Constructors with large instance layout");
+
+    @CompilationFinal private Class<? extends JSDynamicObject> layout = JSOrdinaryObject.DefaultLayout.class;
+    @CompilationFinal private Assumption layoutAssumption = Truffle.getRuntime().createAssumption("instance layout");
+    private int sampleCount;
+
+    public InstanceLayoutProfile() {
+    }
+
+    public Class<? extends JSDynamicObject> getLayout() {
+        return layout;
+    }
+
+    public Assumption getLayoutAssumption() {
+        return layoutAssumption;
+    }
+
+    public boolean isSampling() {
+        return sampleCount < JSConfig.InstanceLayoutSampleCount;
+    }
+
+    /**
+     * Records the shape of a fully constructed instance.
+     */
+    public void sample(JSDynamicObject instance) {
+        CompilerAsserts.neverPartOfCompilation();
+        if (!isSampling()) {
+            return;
+        }
+        sampleCount++;
+        if (layout == JSOrdinaryObject.DefaultLayout.class && instance instanceof JSOrdinaryObject.DefaultLayout &&
+                        countInstanceProperties(instance) > DEFAULT_LAYOUT_PROPERTY_CAPACITY) {
+            largeLayoutCount.inc();
+            sampleCount = JSConfig.InstanceLayoutSampleCount;
+            layout = JSOrdinaryObject.LargeLayout.class;
+            Assumption oldAssumption = layoutAssumption;
+            layoutAssumption = Truffle.getRuntime().createAssumption("instance layout");
+            oldAssumption.invalidate("large instance layout");
+        }
+    }
+
+    private static int countInstanceProperties(JSDynamicObject instance) {
+        // the prototype is a constant property in single-context mode and occupies no field
+        int count = instance.getShape().getPropertyCount();
+        return JSShape.isPrototypeInShape(instance.getShape()) ? count - 1 : count;
+    }
+}
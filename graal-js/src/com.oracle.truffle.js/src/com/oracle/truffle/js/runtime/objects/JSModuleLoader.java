@@ -47,4 +47,10 @@ public interface JSModuleLoader {
     JSModuleRecord resolveImportedModule(ScriptOrModule referencingModule, ModuleRequest moduleRequest);
 
     JSModuleRecord loadModule(Source moduleSource, JSModuleData moduleData);
+
+    /**
+     * Releases resources held by the loader. Called when the realm is finalized.
+     */
+    default void dispose() {
+    }
 }
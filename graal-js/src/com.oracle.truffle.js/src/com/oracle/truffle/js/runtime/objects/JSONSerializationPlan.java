@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
+
+/**
+ * Per-shape serialization plan used by {@code JSON.stringify} for objects whose properties are all
+ * stored in the shape: the ordered list of enumerable string keys (as computed by
+ * EnumerableOwnPropertyNames), their properties, and the pre-escaped {@code "key":} prefixes.
+ *
+ * A plan is immutable and bound to a single {@link Shape}, so it is implicitly invalidated by any
+ * shape change of the serialized object.
+ *
+ * @see JSShapeData
+ */
+public final class JSONSerializationPlan {
+
+    private final Shape shape;
+    private final TruffleString[] keys;
+    private final Property[] properties;
+    private final TruffleString[] keyPrefixes;
+
+    private JSONSerializationPlan(Shape shape, TruffleString[] keys, Property[] properties, TruffleString[] keyPrefixes) {
+        this.shape = shape;
+        this.keys = keys;
+        this.properties = properties;
+        this.keyPrefixes = keyPrefixes;
+    }
+
+    /**
+     * Creates a plan for the given shape and its enumerable string keys in property order.
+     */
+    public static JSONSerializationPlan create(Shape shape, TruffleString[] enumerableKeys) {
+        CompilerAsserts.neverPartOfCompilation();
+        int count = enumerableKeys.length;
+        Property[] properties = new Property[count];
+        TruffleString[] keyPrefixes = new TruffleString[count];
+        StringBuilderProfile profile = StringBuilderProfile.create(Integer.MAX_VALUE);
+        TruffleStringBuilder.AppendCharUTF16Node appendCharNode = TruffleStringBuilder.AppendCharUTF16Node.getUncached();
+        TruffleStringBuilder.AppendStringNode appendStringNode = TruffleStringBuilder.AppendStringNode.getUncached();
+        for (int i = 0; i < count; i++) {
+            TruffleString key = enumerableKeys[i];
+            properties[i] = shape.getProperty(key);
+            assert properties[i] != null : key;
+            TruffleStringBuilder sb = Strings.builderCreate(Strings.length(key) + 3);
+            JSRuntime.jsonQuote(profile, sb, key, appendCharNode, appendStringNode);
+            Strings.builderAppend(sb, ':');
+            keyPrefixes[i] = Strings.builderToString(sb);
+        }
+        return new JSONSerializationPlan(shape, enumerableKeys, properties, keyPrefixes);
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public TruffleString getKey(int index) {
+        return keys[index];
+    }
+
+    public Property getProperty(int index) {
+        return properties[index];
+    }
+
+    /**
+     * Returns the quoted and escaped key followed by a colon.
+     */
+    public TruffleString getKeyPrefix(int index) {
+        return keyPrefixes[index];
+    }
+}
@@ -256,44 +256,57 @@ public final class JSObjectUtil {
         if (obj == null) {
             return context.makeEmptyShapeWithPrototypeInObject(jsclass);
         }
+        return getProtoChildShape(obj, jsclass, JSShape.getLayout(jsclass), context);
+    }
+
+    /**
+     * Like {@link #getProtoChildShape(JSDynamicObject, JSClass, JSContext)}, but for a (non-default)
+     * layout class of the instances.
+     */
+    public static Shape getProtoChildShape(JSDynamicObject obj, JSClass jsclass, Class<? extends JSDynamicObject> layout, JSContext context) {
+        CompilerAsserts.neverPartOfCompilation();
         assert JSRuntime.isObject(obj);
-        Shape protoChild = getProtoChildShapeMaybe(obj, jsclass);
+        Shape protoChild = getProtoChildShapeMaybe(obj, jsclass, layout);
         if (protoChild != null) {
             return protoChild;
         }
 
-        return getProtoChildShapeSlowPath(obj, jsclass, context);
+        return getProtoChildShapeSlowPath(obj, jsclass, layout, context);
     }
 
     public static Shape getProtoChildShape(JSDynamicObject obj, JSClass jsclass, JSContext context, BranchProfile branchProfile) {
-        Shape protoChild = getProtoChildShapeMaybe(obj, jsclass);
+        return getProtoChildShape(obj, jsclass, JSShape.getLayout(jsclass), context, branchProfile);
+    }
+
+    public static Shape getProtoChildShape(JSDynamicObject obj, JSClass jsclass, Class<? extends JSDynamicObject> layout, JSContext context, BranchProfile branchProfile) {
+        Shape protoChild = getProtoChildShapeMaybe(obj, jsclass, layout);
         if (protoChild != null) {
             return protoChild;
         }
 
         branchProfile.enter();
-        return getProtoChildShapeSlowPath(obj, jsclass, context);
+        return getProtoChildShapeSlowPath(obj, jsclass, layout, context);
     }
 
-    private static Shape getProtoChildShapeMaybe(JSDynamicObject obj, JSClass jsclass) {
-        Shape protoChild = JSShape.getProtoChildTree(obj, jsclass);
+    private static Shape getProtoChildShapeMaybe(JSDynamicObject obj, JSClass jsclass, Class<? extends JSDynamicObject> layout) {
+        Shape protoChild = JSShape.getProtoChildTree(obj, jsclass, layout);
         assert protoChild == null || JSShape.getJSClassNoCast(protoChild) == jsclass;
         return protoChild;
     }
 
     @TruffleBoundary
-    private static Shape getProtoChildShapeSlowPath(JSDynamicObject obj, JSClass jsclass, JSContext context) {
+    private static Shape getProtoChildShapeSlowPath(JSDynamicObject obj, JSClass jsclass, Class<? extends JSDynamicObject> layout, JSContext context) {
         JSPrototypeData prototypeData = getPrototypeData(obj);
         if (prototypeData == null) {
             prototypeData = putPrototypeData(obj);
         }
-        return prototypeData.getOrAddProtoChildTree(jsclass, createChildRootShape(obj, jsclass, context));
+        return prototypeData.getOrAddProtoChildTree(jsclass, createChildRootShape(obj, jsclass, layout, context));
     }
 
-    private static Shape createChildRootShape(JSDynamicObject proto, JSClass jsclass, JSContext context) {
+    private static Shape createChildRootShape(JSDynamicObject proto, JSClass jsclass, Class<? extends JSDynamicObject> layout, JSContext context) {
         CompilerAsserts.neverPartOfCompilation();
         assert proto != null && proto != Null.instance;
-        return JSShape.createObjectShape(context, jsclass, proto);
+        return JSShape.createObjectShape(context, jsclass, layout, proto);
     }
 
     public static JSPrototypeData putPrototypeData(JSDynamicObject obj) {
@@ -335,14 +348,16 @@ public final class JSObjectUtil {
         JSShape.invalidatePrototypeAssumption(oldShape);
         final Shape newRootShape;
         JSClass jsclass = JSShape.getJSClass(oldShape);
+        // keep the layout of the object, which may differ from the default layout of its class
+        Class<? extends JSDynamicObject> layout = JSShape.getLayout(oldShape);
         if (newPrototype == Null.instance) {
-            newRootShape = context.makeEmptyShapeWithNullPrototype(jsclass);
+            newRootShape = context.makeEmptyShapeWithNullPrototype(jsclass, layout);
         } else {
             assert JSRuntime.isObject(newPrototype) : newPrototype;
             if (context.isMultiContext()) {
                 newRootShape = context.makeEmptyShapeWithPrototypeInObject(jsclass);
             } else {
-                newRootShape = JSObjectUtil.getProtoChildShape(newPrototype, jsclass, context);
+                newRootShape = JSObjectUtil.getProtoChildShape(newPrototype, jsclass, layout, context);
             }
         }
 
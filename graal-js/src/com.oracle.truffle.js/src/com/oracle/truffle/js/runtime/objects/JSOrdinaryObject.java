@@ -60,6 +60,8 @@ public abstract class JSOrdinaryObject extends JSNonProxyObject implements JSCop
         Class<? extends DynamicObject> layout = shape.getLayoutClass();
         if (layout == DefaultLayout.class) {
             return new DefaultLayout(shape);
+        } else if (layout == LargeLayout.class) {
+            return new LargeLayout(shape);
         } else if (layout == InternalFieldLayout.class) {
             return new InternalFieldLayout(shape);
         } else {
@@ -114,6 +116,44 @@ public abstract class JSOrdinaryObject extends JSNonProxyObject implements JSCop
         }
     }
 
+    /**
+     * Layout with more in-object fields than {@link DefaultLayout}, used for the instances of
+     * constructors that have been observed to create objects with many properties.
+     *
+     * @see InstanceLayoutProfile
+     */
+    public static final class LargeLayout extends JSOrdinaryObject {
+        @DynamicField Object o0;
+        @DynamicField Object o1;
+        @DynamicField Object o2;
+        @DynamicField Object o3;
+        @DynamicField Object o4;
+        @DynamicField Object o5;
+        @DynamicField Object o6;
+        @DynamicField Object o7;
+        @DynamicField Object o8;
+        @DynamicField Object o9;
+        @DynamicField Object o10;
+        @DynamicField Object o11;
+        @DynamicField long p0;
+        @DynamicField long p1;
+        @DynamicField long p2;
+        @DynamicField long p3;
+        @DynamicField long p4;
+        @DynamicField long p5;
+        @DynamicField long p6;
+        @DynamicField long p7;
+
+        protected LargeLayout(Shape shape) {
+            super(shape);
+        }
+
+        @Override
+        protected JSObject copyWithoutProperties(Shape shape) {
+            return new LargeLayout(shape);
+        }
+    }
+
     public static final class InternalFieldLayout extends JSOrdinaryObject {
         @DynamicField Object o0;
         @DynamicField Object o1;
@@ -71,9 +71,9 @@ public final class JSPrototypeData {
     public JSPrototypeData() {
     }
 
-    private static Shape lookupShapeByType(Shape[] shapes, JSClass jsclass) {
+    private static Shape lookupShapeByType(Shape[] shapes, JSClass jsclass, Class<?> layout) {
         for (Shape shape : shapes) {
-            if (JSShape.getJSClassNoCast(shape) == jsclass) {
+            if (JSShape.getJSClassNoCast(shape) == jsclass && shape.getLayoutClass() == layout) {
                 return shape;
             }
         }
@@ -81,14 +81,20 @@ public final class JSPrototypeData {
     }
 
     public Shape getProtoChildTree(JSClass jsclass) {
-        return lookupShapeByType(getProtoChildTrees(), jsclass);
+        return getProtoChildTree(jsclass, JSShape.getLayout(jsclass));
+    }
+
+    public Shape getProtoChildTree(JSClass jsclass, Class<? extends JSDynamicObject> layout) {
+        return lookupShapeByType(getProtoChildTrees(), jsclass, layout);
     }
 
     public Shape getOrAddProtoChildTree(JSClass jsclass, Shape newRootShape) {
         CompilerAsserts.neverPartOfCompilation();
+        assert JSShape.getJSClassNoCast(newRootShape) == jsclass;
+        Class<?> layout = newRootShape.getLayoutClass();
         while (true) {
             Shape[] oldArray = getProtoChildTrees();
-            Shape existingRootShape = lookupShapeByType(oldArray, jsclass);
+            Shape existingRootShape = lookupShapeByType(oldArray, jsclass, layout);
             if (existingRootShape != null) {
                 return existingRootShape;
             }
@@ -89,7 +89,11 @@ public final class JSShape {
     }
 
     static Shape createObjectShape(JSContext context, JSClass jsclass, JSDynamicObject prototype) {
-        Shape rootShape = newBuilder(context, jsclass, prototype).build();
+        return createObjectShape(context, jsclass, getLayout(jsclass), prototype);
+    }
+
+    static Shape createObjectShape(JSContext context, JSClass jsclass, Class<? extends JSDynamicObject> layout, JSDynamicObject prototype) {
+        Shape rootShape = newBuilder(context, jsclass, layout, prototype).build();
         return Shape.newBuilder(rootShape).addConstantProperty(JSObject.HIDDEN_PROTO, prototype, 0).build();
     }
 
@@ -109,9 +113,13 @@ public final class JSShape {
      * Get empty shape for all objects inheriting from the prototype this shape is describing.
      */
     public static Shape getProtoChildTree(JSDynamicObject prototype, JSClass jsclass) {
+        return getProtoChildTree(prototype, jsclass, getLayout(jsclass));
+    }
+
+    public static Shape getProtoChildTree(JSDynamicObject prototype, JSClass jsclass, Class<? extends JSDynamicObject> layout) {
         JSPrototypeData prototypeData = JSObjectUtil.getPrototypeData(prototype);
         if (prototypeData != null) {
-            return prototypeData.getProtoChildTree(jsclass);
+            return prototypeData.getProtoChildTree(jsclass, layout);
         }
         return null;
     }
@@ -167,6 +175,11 @@ public final class JSShape {
         return JSShapeData.getEnumerablePropertyNames(shape);
     }
 
+    public static JSONSerializationPlan getJSONSerializationPlan(Shape shape) {
+        assert JSConfig.FastOwnKeys;
+        return JSShapeData.getJSONSerializationPlan(shape);
+    }
+
     public static UnmodifiableArrayList<Property> getPropertiesIfHasEnumerablePropertyNames(Shape shape) {
         assert JSConfig.FastOwnKeys;
         return JSShapeData.getPropertiesIfHasEnumerablePropertyNames(shape);
@@ -183,6 +196,10 @@ public final class JSShape {
         return createObjectShape(context, jsclass, Null.instance);
     }
 
+    public static Shape makeEmptyRoot(JSClass jsclass, Class<? extends JSDynamicObject> layout, JSContext context) {
+        return createObjectShape(context, jsclass, layout, Null.instance);
+    }
+
     public static Shape createRootWithNullProto(JSContext context, JSClass jsclass) {
         return createObjectShape(context, jsclass, Null.instance);
     }
@@ -202,6 +219,14 @@ public final class JSShape {
         return new JSSharedData(context, proto);
     }
 
+    /**
+     * Layout class of the objects with the given shape, which may differ from the default layout of
+     * its {@link JSClass} (e.g. for predicted constructor instance layouts).
+     */
+    public static Class<? extends JSDynamicObject> getLayout(Shape shape) {
+        return shape.getLayoutClass().asSubclass(JSDynamicObject.class);
+    }
+
     public static Class<? extends JSDynamicObject> getLayout(JSClass jsclass) {
         if (jsclass == JSOrdinary.INSTANCE || jsclass == JSDictionary.INSTANCE) {
             return JSOrdinaryObject.DefaultLayout.class;
@@ -216,9 +241,13 @@ public final class JSShape {
     }
 
     public static Shape.Builder newBuilder(JSContext context, JSClass jsclass, JSDynamicObject proto) {
+        return newBuilder(context, jsclass, getLayout(jsclass), proto);
+    }
+
+    public static Shape.Builder newBuilder(JSContext context, JSClass jsclass, Class<? extends JSDynamicObject> layout, JSDynamicObject proto) {
         assert !context.isMultiContext() || (proto == null || proto == Null.instance);
         return Shape.newBuilder().//
-                        layout(getLayout(jsclass)).//
+                        layout(layout).//
                         dynamicType(jsclass).//
                         sharedData(JSShape.makeJSSharedData(context, proto)).//
                         shapeFlags(getDefaultShapeFlags(jsclass)).//
@@ -74,6 +74,8 @@ public final class JSShapeData {
     private Property[] propertyArray;
     /** Only enumerable properties with string keys (no symbols). */
     private TruffleString[] enumerablePropertyNames;
+    /** JSON.stringify serialization plan, derived from {@link #enumerablePropertyNames}. */
+    private JSONSerializationPlan jsonSerializationPlan;
 
     private JSShapeData() {
     }
@@ -181,6 +183,18 @@ public final class JSShapeData {
         return asUnmodifiableList(shape.getPropertyCount() == 0 ? EMPTY_STRING_ARRAY : getEnumerablePropertyNamesArray(shape));
     }
 
+    @TruffleBoundary
+    static JSONSerializationPlan getJSONSerializationPlan(Shape shape) {
+        JSShapeData shapeData = getShapeData(shape);
+        JSONSerializationPlan plan = shapeData.jsonSerializationPlan;
+        if (plan == null) {
+            jsonSerializationPlanAllocCount.inc();
+            plan = JSONSerializationPlan.create(shape, getEnumerablePropertyNamesArray(shapeData, shape));
+            shapeData.jsonSerializationPlan = plan;
+        }
+        return plan;
+    }
+
     @TruffleBoundary
     private static Property[] getPropertiesArrayIfHasEnumerablePropertyNames(Shape shape) {
         assert shape.getPropertyCount() != 0;
@@ -229,4 +243,5 @@ public final class JSShapeData {
 
     private static final DebugCounter enumerablePropertyListAllocCount = DebugCounter.create("Enumerable property lists allocated");
     private static final DebugCounter propertyListAllocCount = DebugCounter.create("Property lists allocated");
+    private static final DebugCounter jsonSerializationPlanAllocCount = DebugCounter.create("JSON serialization plans allocated");
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.Evaluator;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSInterruptedExecutionException;
+import com.oracle.truffle.js.runtime.JSRealm;
+
+/**
+ * Parses statically imported ES modules on a bounded pool of background threads, ahead of the
+ * evaluating thread resolving them during module linking.
+ *
+ * Only parsing and translation happen in the background. Modules are resolved, and module records
+ * are created, linked, and evaluated on the evaluating thread, in unchanged order. A module that
+ * fails to parse in the background is parsed again on the evaluating thread to report the error.
+ *
+ * The background threads are system threads that never enter the context: JavaScript does not
+ * allow multi-threaded access to a context, so polyglot threads could not enter it concurrently
+ * with the evaluating thread anyway. Parsing and translation therefore must not access the realm;
+ * they only use the {@link JSContext}, which is shared by all threads, and syntax errors are
+ * reported as {@code null} instead of as JS errors (see {@link Evaluator#parseModuleOrNull}). Any
+ * other failure in the background is an internal error.
+ *
+ * @see com.oracle.truffle.js.runtime.JSContextOptions#MODULE_PARSE_THREADS
+ */
+final class ModuleParsePool {
+
+    private final JSContext context;
+    private final TruffleLanguage.Env env;
+    private final ExecutorService executor;
+    /** Modules being parsed, keyed by canonical path. Only accessed by the evaluating thread. */
+    private final Map<String, Future<JSModuleData>> pending = new HashMap<>();
+
+    ModuleParsePool(JSRealm realm, int threadCount) {
+        this.context = realm.getContext();
+        this.env = realm.getEnv();
+        this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = env.createSystemThread(runnable);
+            thread.setName("graaljs-module-parser");
+            return thread;
+        });
+    }
+
+    boolean isPending(String canonicalPath) {
+        return pending.containsKey(canonicalPath);
+    }
+
+    /**
+     * Starts parsing the given module file in the background.
+     */
+    void submit(String canonicalPath, TruffleFile moduleFile, String name) {
+        assert !pending.containsKey(canonicalPath) : canonicalPath;
+        pending.put(canonicalPath, executor.submit(() -> parse(moduleFile, name)));
+    }
+
+    private JSModuleData parse(TruffleFile moduleFile, String name) {
+        assert !env.getContext().isEntered() : "background module parsing must not enter the context";
+        boolean profileTime = context.getContextOptions().isProfileTime();
+        long startTime = profileTime ? System.nanoTime() : 0L;
+        try {
+            Source source;
+            try {
+                source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(name).mimeType(JavaScriptLanguage.MODULE_MIME_TYPE).build();
+            } catch (IOException | SecurityException e) {
+                // Reported when the module is loaded again on the evaluating thread.
+                return null;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                // Shut down while reading the file.
+                return null;
+            }
+            return context.getEvaluator().parseModuleOrNull(context, source);
+        } finally {
+            if (profileTime) {
+                context.getTimeProfiler().printElapsed(startTime, "background parsing " + name);
+            }
+        }
+    }
+
+    /**
+     * Returns the result of parsing the module in the background, waiting for it if necessary.
+     * Returns {@code null} if the module has not been submitted, if it failed to parse, or if it was
+     * requested under a different name.
+     */
+    JSModuleData take(String canonicalPath, String name) {
+        Future<JSModuleData> future = pending.remove(canonicalPath);
+        if (future == null) {
+            return null;
+        }
+        boolean profileTime = context.getContextOptions().isProfileTime();
+        long startTime = profileTime ? System.nanoTime() : 0L;
+        JSModuleData parsedModule;
+        try {
+            parsedModule = future.get();
+        } catch (ExecutionException e) {
+            throw Errors.shouldNotReachHere(e.getCause());
+        } catch (InterruptedException e) {
+            throw JSInterruptedExecutionException.wrap(e);
+        } finally {
+            if (profileTime) {
+                context.getTimeProfiler().printElapsed(startTime, "waiting for " + name);
+            }
+        }
+        if (parsedModule == null || !name.equals(parsedModule.getSource().getName())) {
+            return null;
+        }
+        return parsedModule;
+    }
+
+    /**
+     * Stops the background threads. Must be called before the context is disposed.
+     *
+     * Parsing itself does not check for interrupts, so a thread may still be busy with a module;
+     * its result is discarded. System threads must have finished before the context is disposed, so
+     * this waits for the current parses to complete, even if interrupted.
+     */
+    void shutdown() {
+        pending.clear();
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Bounded, thread-safe cache of compiled TRegex objects keyed by pattern and flags.
+ *
+ * Unlike the per-realm LRU cache, this cache is owned by the {@code JSContext} and therefore shared
+ * by all realms and polyglot contexts that share the same engine (and language instance). Compiled
+ * regex objects do not depend on a particular context, so they can be reused across contexts.
+ * Entries are evicted in insertion order once the maximum size is exceeded.
+ */
+public final class CompiledRegexCache {
+
+    private final int maxSize;
+    private final Map<Pair<String, String>, Object> map;
+    private final Queue<Pair<String, String>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CompiledRegexCache(int maxSize) {
+        assert maxSize > 0;
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+    }
+
+    @TruffleBoundary
+    public Object get(String pattern, String flags) {
+        Object compiledRegex = map.get(new Pair<>(pattern, flags));
+        if (compiledRegex != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return compiledRegex;
+    }
+
+    /**
+     * Adds a compiled regex to the cache. If another thread has already added a compiled regex for
+     * the same key, that one is returned instead.
+     */
+    @TruffleBoundary
+    public Object putIfAbsent(String pattern, String flags, Object compiledRegex) {
+        Pair<String, String> key = new Pair<>(pattern, flags);
+        Object existing = map.putIfAbsent(key, compiledRegex);
+        if (existing != null) {
+            return existing;
+        }
+        insertionOrder.add(key);
+        while (map.size() > maxSize) {
+            Pair<String, String> eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            if (map.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+        return compiledRegex;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        return "CompiledRegexCache[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.Strings;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+
+/**
+ * Per-realm cache of fully initialized Intl formatter objects used internally by the
+ * {@code toLocaleString} family of builtins (and {@code String.prototype.localeCompare}).
+ * <p>
+ * Creating an Intl formatter involves locale resolution and building the underlying ICU
+ * formatter, which is much more expensive than the formatting itself. These builtins create a
+ * fresh formatter on each call, although the formatter is never exposed to user code. The cache is
+ * only consulted when the formatter initialization is not observable. Formatters are keyed on the
+ * canonicalized locale list, so equivalent locale arguments share an entry, and on the entries of
+ * the options object, if any. Formatters resolve the default time zone on creation, so the realm
+ * drops the cache when its local time zone changes.
+ */
+public final class IntlFormatterCache {
+
+    /**
+     * The kind of formatter, including the variant of required/default components for date-time
+     * formatters.
+     */
+    public enum Kind {
+        NUMBER,
+        COLLATOR,
+        DATE_TIME_ANY_ALL,
+        DATE_TIME_DATE_DATE,
+        DATE_TIME_TIME_TIME
+    }
+
+    private final LRUCache<Key, JSDynamicObject> cache;
+    private long hitCount;
+    private long missCount;
+
+    public IntlFormatterCache(int maxSize) {
+        this.cache = new LRUCache<>(maxSize);
+    }
+
+    /**
+     * Returns the cache key of a formatter initialized with the given arguments, or {@code null} if
+     * the formatter cannot be cached because its initialization involves user-observable
+     * operations.
+     * <p>
+     * The locales can be {@code undefined}, a string, or a dense array of strings; they are
+     * canonicalized, which throws the same {@code RangeError} as the initialization would for an
+     * invalid language tag. The options can be {@code undefined} or an ordinary object inheriting
+     * from an unmodified {@code Object.prototype} whose own properties are data properties with
+     * primitive values, since reading them has no side effects.
+     */
+    @TruffleBoundary
+    public static Key createKey(JSRealm realm, Kind kind, Object locales, Object options) {
+        String[] languageTags = canonicalizeLocales(locales);
+        if (languageTags == null) {
+            return null;
+        }
+        Object[] optionEntries = getOptionEntries(realm, options);
+        if (optionEntries == null) {
+            return null;
+        }
+        return new Key(kind, languageTags, optionEntries);
+    }
+
+    private static String[] canonicalizeLocales(Object locales) {
+        if (locales == Undefined.instance) {
+            return new String[0];
+        } else if (locales instanceof TruffleString) {
+            return new String[]{IntlUtil.validateAndCanonicalizeLanguageTag(Strings.toJavaString((TruffleString) locales))};
+        } else if (JSArray.isJSFastArray(locales)) {
+            JSDynamicObject array = (JSDynamicObject) locales;
+            ScriptArray arrayType = JSArray.arrayGetArrayType(array);
+            long length = arrayType.length(array);
+            if (length > 0 && (arrayType.isHolesType() || arrayType.firstElementIndex(array) != 0 || arrayType.lastElementIndex(array) != length - 1)) {
+                return null;
+            }
+            List<String> result = new ArrayList<>();
+            for (long i = 0; i < length; i++) {
+                Object element = arrayType.getElement(array, i);
+                if (!(element instanceof TruffleString)) {
+                    // other elements are converted to strings in an observable way
+                    return null;
+                }
+                String languageTag = IntlUtil.validateAndCanonicalizeLanguageTag(Strings.toJavaString((TruffleString) element));
+                if (!result.contains(languageTag)) {
+                    result.add(languageTag);
+                }
+            }
+            return result.toArray(new String[result.size()]);
+        }
+        return null;
+    }
+
+    private static Object[] getOptionEntries(JSRealm realm, Object options) {
+        if (options == Undefined.instance) {
+            return new Object[0];
+        }
+        if (!JSOrdinary.isJSOrdinaryObject(options)) {
+            return null;
+        }
+        JSDynamicObject optionsObj = (JSDynamicObject) options;
+        JSDynamicObject objectPrototype = realm.getObjectPrototype();
+        if (JSObjectUtil.getPrototype(optionsObj) != objectPrototype || objectPrototype.getShape() != realm.getInitialObjectPrototypeShape()) {
+            return null;
+        }
+        List<Object> entries = new ArrayList<>();
+        for (Property property : optionsObj.getShape().getPropertyList()) {
+            if (!(property.getKey() instanceof TruffleString)) {
+                continue;
+            }
+            if (!JSProperty.isData(property) || JSProperty.isDataSpecial(property)) {
+                return null;
+            }
+            Object value = JSDynamicObject.getOrNull(optionsObj, property.getKey());
+            if (!(value instanceof TruffleString || value instanceof Boolean || value instanceof Integer || value instanceof Double || value == Undefined.instance)) {
+                return null;
+            }
+            entries.add(Strings.toJavaString((TruffleString) property.getKey()));
+            entries.add(value instanceof TruffleString ? Strings.toJavaString((TruffleString) value) : value);
+        }
+        return entries.toArray();
+    }
+
+    @TruffleBoundary
+    public JSDynamicObject get(Key key) {
+        JSDynamicObject formatter = cache.get(key);
+        if (formatter == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return formatter;
+    }
+
+    @TruffleBoundary
+    public void put(Key key, JSDynamicObject formatter) {
+        cache.put(key, formatter);
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    @TruffleBoundary
+    @Override
+    public String toString() {
+        long total = hitCount + missCount;
+        return "IntlFormatterCache[size=" + cache.size() + ", hits=" + hitCount + ", misses=" + missCount +
+                        ", hitRate=" + (total == 0 ? 0 : (hitCount * 100 / total)) + "%]";
+    }
+
+    public static final class Key {
+        private final Kind kind;
+        private final String[] languageTags;
+        private final Object[] optionEntries;
+
+        Key(Kind kind, String[] languageTags, Object[] optionEntries) {
+            this.kind = kind;
+            this.languageTags = languageTags;
+            this.optionEntries = optionEntries;
+        }
+
+        @Override
+        public int hashCode() {
+            return (kind.hashCode() * 31 + Arrays.hashCode(languageTags)) * 31 + Arrays.hashCode(optionEntries);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && Arrays.equals(languageTags, other.languageTags) && Arrays.equals(optionEntries, other.optionEntries);
+        }
+    }
+}
@@ -43,9 +43,15 @@ package com.oracle.truffle.js.runtime.util;
 import java.util.HashMap;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * While all keys are int or all keys are string, entries are stored in a compact, open-addressed
+ * table with parallel key and value arrays in insertion order. The first key of a different type
+ * switches the map to a generic layout based on {@link HashMap} and a linked list of entries.
+ * Cursors remain valid across both kinds of transitions.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -72,21 +78,25 @@ public final class JSHashMap {
         Cursor copy();
     }
 
-    private final HashMap<Object, Node> map;
-    private final Node head;
+    /**
+     * Compact table used while all keys are of the same primitive type; {@code null} once the map
+     * has switched to the generic layout.
+     */
+    private CompactTable table;
+
+    /** Generic layout: hash map of all entries and a linked list of entries in insertion order. */
+    private HashMap<Object, Node> map;
+    private Node head;
     private Node tail;
 
     @TruffleBoundary(allowInlining = true)
     public JSHashMap() {
-        this.map = new HashMap<>();
-        Node dummy = new Node(null, null, null, null);
-        this.head = dummy;
-        this.tail = dummy;
+        this.table = new CompactTable(CompactTable.UNTYPED, 0);
     }
 
     @TruffleBoundary(allowInlining = true)
     public int size() {
-        return map.size();
+        return table != null ? table.live : map.size();
     }
 
     /**
@@ -94,6 +104,39 @@ public final class JSHashMap {
      */
     @TruffleBoundary
     public void put(Object key, Object value) {
+        if (table != null) {
+            CompactTable t = table;
+            if (t.keyType == CompactTable.UNTYPED) {
+                int keyType = CompactTable.keyTypeOf(key);
+                if (keyType == CompactTable.UNTYPED) {
+                    switchToGeneric();
+                    putGeneric(key, value);
+                } else {
+                    t = rebuild(t, keyType, CompactTable.INITIAL_CAPACITY);
+                    t.append(key, value);
+                }
+            } else if (t.accepts(key)) {
+                int entry = t.find(key);
+                if (entry >= 0) {
+                    t.values[entry] = value;
+                } else {
+                    if (t.used == t.capacity()) {
+                        // grow, unless there are enough removed entries to compact in place
+                        int newCapacity = t.live < t.capacity() / 2 ? t.capacity() : t.capacity() * 2;
+                        t = rebuild(t, t.keyType, newCapacity);
+                    }
+                    t.append(key, value);
+                }
+            } else {
+                switchToGeneric();
+                putGeneric(key, value);
+            }
+        } else {
+            putGeneric(key, value);
+        }
+    }
+
+    private void putGeneric(Object key, Object value) {
         Node newNode = new Node(key, value, null, null);
         Node oldNode = map.putIfAbsent(key, newNode);
         if (oldNode == null) {
@@ -107,17 +150,34 @@ public final class JSHashMap {
 
     @TruffleBoundary
     public Object get(Object key) {
+        if (table != null) {
+            CompactTable t = table;
+            int entry = t.accepts(key) ? t.find(key) : -1;
+            return entry < 0 ? null : t.values[entry];
+        }
         Node node = map.get(key);
         return node == null ? null : node.getValue();
     }
 
     @TruffleBoundary
     public boolean has(Object key) {
+        if (table != null) {
+            return table.accepts(key) && table.find(key) >= 0;
+        }
         return map.containsKey(key);
     }
 
     @TruffleBoundary
     public boolean remove(Object key) {
+        if (table != null) {
+            CompactTable t = table;
+            int entry = t.accepts(key) ? t.find(key) : -1;
+            if (entry < 0) {
+                return false;
+            }
+            t.removeEntry(entry);
+            return true;
+        }
         Node node = map.remove(key);
         if (node == null) {
             return false;
@@ -141,6 +201,15 @@ public final class JSHashMap {
 
     @TruffleBoundary
     public void clear() {
+        if (table != null) {
+            CompactTable t = table;
+            if (t.used != 0) {
+                CompactTable cleared = t.copyEmpty();
+                t.forwardTo(cleared, null);
+                table = cleared;
+            }
+            return;
+        }
         map.clear();
         for (Node current = head.getNext(); current != null; current = current.getNext()) {
             current.setEmpty();
@@ -149,25 +218,310 @@ public final class JSHashMap {
         tail = head;
     }
 
+    /**
+     * Copies the live entries of the current table into a new table, which replaces it. Live
+     * cursors are forwarded to the new table lazily.
+     */
+    private CompactTable rebuild(CompactTable oldTable, int keyType, int newCapacity) {
+        CompactTable newTable = new CompactTable(keyType, newCapacity);
+        int[] remap = new int[oldTable.used + 1];
+        for (int i = 0; i < oldTable.used; i++) {
+            remap[i] = newTable.used;
+            if (oldTable.values[i] != null) {
+                newTable.append(oldTable.getKey(i), oldTable.values[i]);
+            }
+        }
+        remap[oldTable.used] = newTable.used;
+        oldTable.forwardTo(newTable, remap);
+        table = newTable;
+        return newTable;
+    }
+
+    /**
+     * Switches from the compact table to the generic layout, e.g. on the first key of a different
+     * type.
+     */
+    private void switchToGeneric() {
+        CompactTable t = table;
+        this.map = new HashMap<>();
+        Node dummy = new Node(null, null, null, null);
+        this.head = dummy;
+        this.tail = dummy;
+        Node[] migratedNodes = new Node[t.used];
+        for (int i = 0; i < t.used; i++) {
+            Object value = t.values[i];
+            if (value != null) {
+                Object key = t.getKey(i);
+                putGeneric(key, value);
+                migratedNodes[i] = tail;
+            }
+        }
+        t.migrateTo(dummy, migratedNodes);
+        table = null;
+    }
+
     @TruffleBoundary
     @Override
     public String toString() {
+        if (table != null) {
+            StringBuilder sb = new StringBuilder("{");
+            boolean first = true;
+            for (int i = 0; i < table.used; i++) {
+                if (table.values[i] != null) {
+                    if (!first) {
+                        sb.append(", ");
+                    }
+                    first = false;
+                    sb.append(table.getKey(i)).append('=').append(table.values[i]);
+                }
+            }
+            return sb.append('}').toString();
+        }
         return map.toString();
     }
 
     public Cursor getEntries() {
+        if (table != null) {
+            return new CursorImpl(table);
+        }
         return new CursorImpl(head);
     }
 
+    /**
+     * Insertion-ordered, open-addressed hash table with parallel arrays for int or string keys.
+     *
+     * Entries are appended to {@link #values} and the key array of the table's key type. Removed
+     * entries keep their slot (with a {@code null} value) until the table is rebuilt, so entry
+     * indices of a table never change. A rebuilt table forwards to its replacement with a mapping
+     * of old to new entry positions, which allows cursors to continue where they left off.
+     */
+    private static final class CompactTable {
+        static final int UNTYPED = 0;
+        static final int INT_KEYS = 1;
+        static final int STRING_KEYS = 2;
+
+        static final int INITIAL_CAPACITY = 8;
+
+        final int keyType;
+        final int[] intKeys;
+        final TruffleString[] stringKeys;
+        final Object[] values;
+        /** Hash index: entry index + 1, or 0 for an empty slot. */
+        final int[] index;
+        final int mask;
+        /** Number of appended entries, including removed ones. */
+        int used;
+        /** Number of entries that have not been removed. */
+        int live;
+
+        /** Table that replaced this table, if any. */
+        CompactTable next;
+        /** Mapping from entry positions of this table to positions in {@link #next}. */
+        int[] remap;
+        /** If the map switched to the generic layout, the nodes of the migrated entries. */
+        Node[] migratedNodes;
+        Node migratedHead;
+
+        CompactTable(int keyType, int capacity) {
+            this.keyType = keyType;
+            this.intKeys = keyType == INT_KEYS ? new int[capacity] : null;
+            this.stringKeys = keyType == STRING_KEYS ? new TruffleString[capacity] : null;
+            this.values = new Object[capacity];
+            int indexSize = capacity == 0 ? 1 : Integer.highestOneBit(capacity) << 1;
+            this.index = new int[indexSize];
+            this.mask = indexSize - 1;
+        }
+
+        static int keyTypeOf(Object key) {
+            if (key instanceof Integer) {
+                return INT_KEYS;
+            } else if (key instanceof TruffleString) {
+                return STRING_KEYS;
+            }
+            return UNTYPED;
+        }
+
+        CompactTable copyEmpty() {
+            return new CompactTable(keyType, capacity() == 0 ? 0 : INITIAL_CAPACITY);
+        }
+
+        int capacity() {
+            return values.length;
+        }
+
+        boolean accepts(Object key) {
+            return keyType != UNTYPED && keyTypeOf(key) == keyType;
+        }
+
+        Object getKey(int entry) {
+            return keyType == INT_KEYS ? (Object) intKeys[entry] : stringKeys[entry];
+        }
+
+        private static int hashInt(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private static int hashString(TruffleString key) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        int find(Object key) {
+            if (keyType == INT_KEYS) {
+                int intKey = (Integer) key;
+                for (int slot = hashInt(intKey) & mask;; slot = (slot + 1) & mask) {
+                    int entry = index[slot] - 1;
+                    if (entry < 0) {
+                        return -1;
+                    } else if (intKeys[entry] == intKey && values[entry] != null) {
+                        return entry;
+                    }
+                }
+            } else {
+                assert keyType == STRING_KEYS;
+                TruffleString stringKey = (TruffleString) key;
+                for (int slot = hashString(stringKey) & mask;; slot = (slot + 1) & mask) {
+                    int entry = index[slot] - 1;
+                    if (entry < 0) {
+                        return -1;
+                    } else if (values[entry] != null && stringKey.equals(stringKeys[entry])) {
+                        return entry;
+                    }
+                }
+            }
+        }
+
+        void append(Object key, Object value) {
+            assert used < capacity() && value != null;
+            int entry = used++;
+            int slot;
+            if (keyType == INT_KEYS) {
+                int intKey = (Integer) key;
+                intKeys[entry] = intKey;
+                slot = hashInt(intKey) & mask;
+            } else {
+                TruffleString stringKey = (TruffleString) key;
+                stringKeys[entry] = stringKey;
+                slot = hashString(stringKey) & mask;
+            }
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = entry + 1;
+            values[entry] = value;
+            live++;
+        }
+
+        void removeEntry(int entry) {
+            values[entry] = null;
+            if (stringKeys != null) {
+                stringKeys[entry] = null;
+            }
+            live--;
+        }
+
+        /**
+         * Returns the first entry at or after {@code position} that has not been removed, or
+         * {@link #used} if there is none.
+         */
+        int nextLiveEntry(int position) {
+            int entry = position;
+            while (entry < used && values[entry] == null) {
+                entry++;
+            }
+            return entry;
+        }
+
+        void forwardTo(CompactTable newTable, int[] positionMap) {
+            this.next = newTable;
+            this.remap = positionMap;
+        }
+
+        void migrateTo(Node head, Node[] nodes) {
+            this.migratedHead = head;
+            this.migratedNodes = nodes;
+        }
+
+        boolean isForwarded() {
+            return next != null || migratedHead != null;
+        }
+
+        /**
+         * Returns the node after which a cursor at the given position continues in the generic
+         * layout.
+         */
+        Node nodeBefore(int position) {
+            for (int i = Math.min(position, migratedNodes.length) - 1; i >= 0; i--) {
+                if (migratedNodes[i] != null) {
+                    return migratedNodes[i];
+                }
+            }
+            return migratedHead;
+        }
+    }
+
     private static final class CursorImpl implements Cursor {
+        /** Current compact table, or {@code null} if the cursor is on the generic layout. */
+        private CompactTable table;
+        /** Position of the next entry to visit in {@link #table}. */
+        private int position;
+        private Object currentKey;
+        private Object currentValue;
+
         private Node current;
 
         CursorImpl(Node head) {
             this.current = head;
         }
 
+        CursorImpl(CompactTable table) {
+            this.table = table;
+        }
+
+        private CursorImpl(CursorImpl other) {
+            this.table = other.table;
+            this.position = other.position;
+            this.currentKey = other.currentKey;
+            this.currentValue = other.currentValue;
+            this.current = other.current;
+        }
+
+        private void followForwarding() {
+            CompactTable t = table;
+            while (t.isForwarded()) {
+                if (t.migratedHead != null) {
+                    current = t.nodeBefore(position);
+                    table = null;
+                    return;
+                }
+                position = t.remap == null ? 0 : t.remap[Math.min(position, t.remap.length - 1)];
+                t = t.next;
+            }
+            table = t;
+        }
+
         @Override
         public boolean advance() {
+            if (table != null) {
+                followForwarding();
+            }
+            if (table != null) {
+                CompactTable t = table;
+                int entry = t.nextLiveEntry(position);
+                if (entry < t.used) {
+                    position = entry + 1;
+                    currentKey = t.getKey(entry);
+                    currentValue = t.values[entry];
+                    return true;
+                }
+                // exhausted, like a cursor at the end of the generic layout
+                table = null;
+                current = null;
+                currentKey = null;
+                currentValue = null;
+                return false;
+            }
             if (current == null) {
                 return false;
             } else {
@@ -184,26 +538,29 @@ public final class JSHashMap {
 
         @Override
         public Object getKey() {
-            Object key = current.getKey();
+            Object key = table != null ? currentKey : current.getKey();
             assert key != null;
             return key;
         }
 
         @Override
         public Object getValue() {
-            Object value = current.getValue();
+            Object value = table != null ? currentValue : current.getValue();
             assert value != null;
             return value;
         }
 
         @Override
         public String toString() {
+            if (table != null) {
+                return "Cursor [position=" + position + ", key=" + currentKey + "]";
+            }
             return "Cursor [current=" + current + "]";
         }
 
         @Override
         public Cursor copy() {
-            return new CursorImpl(current);
+            return new CursorImpl(this);
         }
     }
 
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Strings;
+
+/**
+ * Context-wide cache of the member layouts seen by {@code JSON.parse}.
+ *
+ * The cache is a trie of member keys: each path from a site root corresponds to the sequence of
+ * properties added to an object, i.e., to one shape transition chain, and every node holds the
+ * interned key string of its transition. Objects nested in a member value (or contained in an array
+ * at that position) get their own site, so the layout of a payload is remembered per nesting
+ * position. The parser follows the trie while reading members; as long as the input matches, the
+ * key string is reused instead of materialized and, since the set of keys already present in the
+ * object is fully determined by the path, the property can be added without the own-property
+ * lookup of the generic {@code CreateDataProperty} path.
+ *
+ * The total number of nodes is bounded; once the limit is reached, unknown layouts are parsed
+ * through the generic path without being recorded.
+ */
+public final class JSONParseShapeCache {
+
+    /** Maximum number of distinct successors (i.e. transitions) recorded per node. */
+    static final int MAX_SUCCESSORS = 8;
+
+    private static final Node[] EMPTY = new Node[0];
+
+    private final int maxSize;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Node root = new Node(null);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JSONParseShapeCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public void recordParse(int hitCount, int missCount) {
+        if (hitCount != 0) {
+            hits.add(hitCount);
+        }
+        if (missCount != 0) {
+            misses.add(missCount);
+        }
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public final class Node {
+        /** Key added by this transition, or {@code null} for a site root. */
+        private final TruffleString key;
+        private volatile Node[] successors = EMPTY;
+        private volatile Node nested;
+
+        Node(TruffleString key) {
+            this.key = key;
+        }
+
+        public TruffleString getKey() {
+            return key;
+        }
+
+        /**
+         * Finds the successor whose key equals the unescaped characters of {@code source} in the
+         * range [{@code start}, {@code start + length}).
+         */
+        public Node findSuccessor(TruffleString source, int start, int length) {
+            CompilerAsserts.neverPartOfCompilation();
+            for (Node successor : successors) {
+                TruffleString successorKey = successor.key;
+                if (Strings.length(successorKey) == length && Strings.regionEquals(source, start, successorKey, 0, length)) {
+                    return successor;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Records a transition adding {@code newKey} to the layout described by this node. The
+         * caller guarantees that the key is not yet part of the layout. Returns {@code null} if the
+         * cache is full.
+         */
+        public Node addSuccessor(TruffleString newKey) {
+            CompilerAsserts.neverPartOfCompilation();
+            synchronized (this) {
+                Node[] current = successors;
+                for (Node successor : current) {
+                    if (Strings.equals(successor.key, newKey)) {
+                        return successor;
+                    }
+                }
+                if (current.length >= MAX_SUCCESSORS || !reserve()) {
+                    return null;
+                }
+                Node successor = new Node(newKey);
+                Node[] updated = new Node[current.length + 1];
+                System.arraycopy(current, 0, updated, 0, current.length);
+                updated[current.length] = successor;
+                successors = updated;
+                return successor;
+            }
+        }
+
+        /**
+         * Returns the site root for objects nested at this position, or {@code null} if the cache
+         * is full.
+         */
+        public Node getNested() {
+            Node result = nested;
+            if (result == null) {
+                synchronized (this) {
+                    result = nested;
+                    if (result == null && reserve()) {
+                        result = new Node(null);
+                        nested = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
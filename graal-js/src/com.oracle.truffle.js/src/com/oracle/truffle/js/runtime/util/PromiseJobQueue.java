@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import com.oracle.truffle.js.runtime.builtins.JSFunctionObject;
+
+/**
+ * FIFO queue of pending promise jobs of an agent (ECMA 8.4 "PromiseJobs").
+ *
+ * The queue is a ring of fixed-size chunks: jobs are appended to the tail chunk and consumed from
+ * the head chunk, and an exhausted head chunk is kept as a spare for the next chunk that is needed,
+ * so steady-state enqueueing and draining does not allocate. The queue is confined to the thread
+ * of its agent and is not synchronized.
+ *
+ * Draining happens in batches: {@link #beginBatch()} fixes the number of jobs to take before
+ * anything else (e.g. waiter records) is checked again; jobs enqueued by the batch are taken by
+ * the next batch. The queue also collects simple statistics about the drains.
+ */
+public final class PromiseJobQueue {
+
+    static final int CHUNK_SIZE = 256;
+
+    private static final class Chunk {
+        final JSFunctionObject[] jobs = new JSFunctionObject[CHUNK_SIZE];
+        Chunk next;
+    }
+
+    private Chunk head;
+    private Chunk tail;
+    /** Read position in {@link #head}. */
+    private int headIndex;
+    /** Write position in {@link #tail}. */
+    private int tailIndex;
+    /** A cleared chunk kept for reuse. */
+    private Chunk spare;
+    private int size;
+
+    private long drainCount;
+    private long processedJobCount;
+    private long maxJobsPerDrain;
+    private long currentDrainJobs;
+    private int maxDepth;
+    private long drainTimeNanos;
+    private long currentDrainStart;
+    /** Nesting depth of drains; only the outermost drain is measured. */
+    private int drainDepth;
+
+    public PromiseJobQueue() {
+        this.head = this.tail = new Chunk();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(JSFunctionObject job) {
+        if (tailIndex == CHUNK_SIZE) {
+            Chunk chunk = spare;
+            if (chunk == null) {
+                chunk = new Chunk();
+            } else {
+                spare = null;
+            }
+            tail.next = chunk;
+            tail = chunk;
+            tailIndex = 0;
+        }
+        tail.jobs[tailIndex++] = job;
+        if (++size > maxDepth) {
+            maxDepth = size;
+        }
+    }
+
+    /**
+     * Removes and returns the oldest job, or {@code null} if the queue is empty.
+     */
+    public JSFunctionObject poll() {
+        if (size == 0) {
+            return null;
+        }
+        if (headIndex == CHUNK_SIZE) {
+            Chunk exhausted = head;
+            head = exhausted.next;
+            headIndex = 0;
+            exhausted.next = null;
+            spare = exhausted;
+        }
+        JSFunctionObject job = head.jobs[headIndex];
+        head.jobs[headIndex++] = null;
+        if (--size == 0) {
+            // reset to the start of the (only) chunk
+            assert head == tail && headIndex == tailIndex;
+            headIndex = tailIndex = 0;
+        }
+        currentDrainJobs++;
+        return job;
+    }
+
+    /**
+     * Returns the number of jobs in the next batch, i.e. the number of jobs currently queued.
+     */
+    public int beginBatch() {
+        return size;
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            currentDrainJobs--;
+        }
+    }
+
+    public void startDrain() {
+        if (drainDepth++ == 0) {
+            currentDrainJobs = 0;
+            currentDrainStart = System.nanoTime();
+        }
+    }
+
+    public void endDrain() {
+        if (--drainDepth != 0) {
+            return;
+        }
+        drainTimeNanos += System.nanoTime() - currentDrainStart;
+        drainCount++;
+        processedJobCount += currentDrainJobs;
+        if (currentDrainJobs > maxJobsPerDrain) {
+            maxJobsPerDrain = currentDrainJobs;
+        }
+    }
+
+    /**
+     * Number of times the queue was drained.
+     */
+    public long getDrainCount() {
+        return drainCount;
+    }
+
+    /**
+     * Total number of jobs taken from the queue by all drains.
+     */
+    public long getProcessedJobCount() {
+        return processedJobCount;
+    }
+
+    /**
+     * Maximum number of jobs processed by a single drain.
+     */
+    public long getMaxJobsPerDrain() {
+        return maxJobsPerDrain;
+    }
+
+    /**
+     * Maximum number of jobs that were queued at the same time.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Total time spent draining the queue, in nanoseconds.
+     */
+    public long getDrainTimeNanos() {
+        return drainTimeNanos;
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferObject;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+import com.oracle.truffle.js.runtime.builtins.JSDateObject;
+import com.oracle.truffle.js.runtime.builtins.JSMap;
+import com.oracle.truffle.js.runtime.builtins.JSOrdinary;
+import com.oracle.truffle.js.runtime.builtins.JSSet;
+import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.objects.JSDynamicObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+
+/**
+ * Structured cloning of values passed between agents, e.g. by {@code Worker.prototype.postMessage}.
+ * <p>
+ * Values are first {@link #serialize serialized} on the sending thread into a representation that
+ * does not reference any object of the sending realm, and then {@link #deserialize deserialized}
+ * into the realm of the receiving agent. Primitives, plain objects, arrays, dates, maps, sets,
+ * array buffers and typed arrays are copied, preserving object identity and cycles within a
+ * message. Arrays with holes are copied by their own properties, so holes stay holes.
+ * SharedArrayBuffers are not copied: the deserialized buffer shares the memory and the waiter list
+ * of the original one, so that {@code Atomics} operations synchronize across agents.
+ * </p>
+ */
+public final class StructuredClone {
+
+    private final Map<Object, Object> memory = new IdentityHashMap<>();
+
+    private StructuredClone() {
+    }
+
+    /**
+     * Serializes a value on the sending thread. Throws a {@code TypeError} for values that cannot
+     * be cloned, like functions, symbols, proxies and foreign objects.
+     */
+    @TruffleBoundary
+    public static Object serialize(Object value) {
+        return new StructuredClone().serializeValue(value);
+    }
+
+    /**
+     * Deserializes a value produced by {@link #serialize} into the given realm.
+     */
+    @TruffleBoundary
+    public static Object deserialize(JSRealm realm, Object serialized) {
+        return new StructuredClone().deserializeValue(realm, serialized);
+    }
+
+    private Object serializeValue(Object value) {
+        if (value instanceof Symbol) {
+            throw cannotClone(value);
+        } else if (JSRuntime.isJSPrimitive(value)) {
+            return value;
+        } else if (!JSDynamicObject.isJSDynamicObject(value)) {
+            throw cannotClone(value);
+        }
+        Object serialized = memory.get(value);
+        if (serialized != null) {
+            return serialized;
+        }
+        JSDynamicObject object = (JSDynamicObject) value;
+        if (JSArray.isJSArray(object)) {
+            long length = JSRuntime.toLength(JSObject.get(object, JSArray.LENGTH));
+            if (hasNoHoles(object, length)) {
+                SerializedArray array = new SerializedArray((int) length);
+                memory.put(object, array);
+                for (int i = 0; i < array.elements.length; i++) {
+                    array.elements[i] = serializeValue(JSObject.get(object, i));
+                }
+                return array;
+            }
+            // Copy only the own elements, so that holes stay holes and sparse arrays stay small.
+            SerializedSparseArray array = new SerializedSparseArray(length);
+            memory.put(object, array);
+            serializeProperties(object, array.keys, array.values);
+            return array;
+        } else if (JSDate.isJSDate(object)) {
+            return remember(object, new SerializedDate(JSDate.getTimeMillisField((JSDateObject) object)));
+        } else if (JSSharedArrayBuffer.isJSSharedArrayBuffer(object)) {
+            return remember(object, new SerializedSharedArrayBuffer(JSSharedArrayBuffer.getDirectByteBuffer(object), JSSharedArrayBuffer.getWaiterList(object)));
+        } else if (JSArrayBuffer.isJSHeapArrayBuffer(object) || JSArrayBuffer.isJSDirectArrayBuffer(object)) {
+            if (JSArrayBuffer.isDetachedBuffer(object)) {
+                throw cannotClone(value);
+            }
+            return remember(object, serializeArrayBuffer((JSArrayBufferObject) object));
+        } else if (JSArrayBufferView.isJSArrayBufferView(object)) {
+            JSArrayBufferObject arrayBuffer = JSArrayBufferView.getArrayBuffer(object);
+            if (JSArrayBuffer.isJSInteropArrayBuffer(arrayBuffer)) {
+                throw cannotClone(value);
+            }
+            Object buffer = serializeValue(arrayBuffer);
+            return remember(object, new SerializedTypedArray(buffer, JSArrayBufferView.typedArrayGetArrayType(object),
+                            JSArrayBufferView.typedArrayGetOffset(object), JSArrayBufferView.typedArrayGetLength(object)));
+        } else if (JSMap.isJSMap(object) || JSSet.isJSSet(object)) {
+            boolean isMap = JSMap.isJSMap(object);
+            SerializedCollection collection = new SerializedCollection(isMap);
+            memory.put(object, collection);
+            JSHashMap.Cursor cursor = (isMap ? JSMap.getInternalMap(object) : JSSet.getInternalSet(object)).getEntries();
+            while (cursor.advance()) {
+                collection.keys.add(serializeValue(cursor.getKey()));
+                // set entries map to an opaque marker that can be passed on as is
+                collection.values.add(isMap ? serializeValue(cursor.getValue()) : cursor.getValue());
+            }
+            return collection;
+        } else if (JSOrdinary.isJSOrdinaryObject(object)) {
+            SerializedObject serializedObject = new SerializedObject();
+            memory.put(object, serializedObject);
+            serializeProperties(object, serializedObject.keys, serializedObject.values);
+            return serializedObject;
+        }
+        throw cannotClone(value);
+    }
+
+    private void serializeProperties(JSDynamicObject object, List<TruffleString> keys, List<Object> values) {
+        for (TruffleString key : JSObject.enumerableOwnNames(object)) {
+            keys.add(key);
+            values.add(serializeValue(JSObject.get(object, key)));
+        }
+    }
+
+    /**
+     * Returns {@code true} if the array has an element at every index below its length.
+     */
+    private static boolean hasNoHoles(JSDynamicObject array, long length) {
+        if (length == 0) {
+            return true;
+        } else if (!JSArray.isJSFastArray(array)) {
+            return false;
+        }
+        ScriptArray arrayType = JSArray.arrayGetArrayType(array);
+        return !arrayType.isHolesType() && arrayType.firstElementIndex(array) == 0 && arrayType.lastElementIndex(array) == length - 1;
+    }
+
+    private Object remember(JSDynamicObject object, Object serialized) {
+        memory.put(object, serialized);
+        return serialized;
+    }
+
+    private static SerializedArrayBuffer serializeArrayBuffer(JSArrayBufferObject arrayBuffer) {
+        if (JSArrayBuffer.isJSHeapArrayBuffer(arrayBuffer)) {
+            return new SerializedArrayBuffer(JSArrayBuffer.getByteArray(arrayBuffer).clone(), false);
+        }
+        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+        byte[] bytes = new byte[JSArrayBuffer.getDirectByteLength(arrayBuffer)];
+        byteBuffer.duplicate().position(0).get(bytes);
+        return new SerializedArrayBuffer(bytes, true);
+    }
+
+    private Object deserializeValue(JSRealm realm, Object serialized) {
+        if (!(serialized instanceof Serialized)) {
+            return serialized;
+        }
+        Object value = memory.get(serialized);
+        if (value != null) {
+            return value;
+        }
+        return ((Serialized) serialized).deserialize(this, realm);
+    }
+
+    private <T> T remember(Serialized serialized, T value) {
+        memory.put(serialized, value);
+        return value;
+    }
+
+    private static RuntimeException cannotClone(Object value) {
+        return Errors.createTypeErrorFormat("%s could not be cloned.", JSRuntime.safeToString(value));
+    }
+
+    private abstract static class Serialized {
+        abstract Object deserialize(StructuredClone clone, JSRealm realm);
+    }
+
+    private static final class SerializedArray extends Serialized {
+        final Object[] elements;
+
+        SerializedArray(int length) {
+            this.elements = new Object[length];
+        }
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            Object[] values = new Object[elements.length];
+            JSDynamicObject array = clone.remember(this, JSArray.createZeroBasedObjectArray(realm.getContext(), realm, values));
+            for (int i = 0; i < elements.length; i++) {
+                values[i] = clone.deserializeValue(realm, elements[i]);
+            }
+            return array;
+        }
+    }
+
+    private static final class SerializedSparseArray extends Serialized {
+        final long length;
+        final List<TruffleString> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+
+        SerializedSparseArray(long length) {
+            this.length = length;
+        }
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            JSDynamicObject array = clone.remember(this, JSArray.createEmpty(realm.getContext(), realm, length));
+            for (int i = 0; i < keys.size(); i++) {
+                JSObject.set(array, keys.get(i), clone.deserializeValue(realm, values.get(i)));
+            }
+            return array;
+        }
+    }
+
+    private static final class SerializedObject extends Serialized {
+        final List<TruffleString> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            JSDynamicObject object = clone.remember(this, JSOrdinary.create(realm.getContext(), realm));
+            for (int i = 0; i < keys.size(); i++) {
+                JSObject.set(object, keys.get(i), clone.deserializeValue(realm, values.get(i)));
+            }
+            return object;
+        }
+    }
+
+    private static final class SerializedCollection extends Serialized {
+        final boolean isMap;
+        final List<Object> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+
+        SerializedCollection(boolean isMap) {
+            this.isMap = isMap;
+        }
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            JSContext context = realm.getContext();
+            JSDynamicObject collection = clone.remember(this, isMap ? JSMap.create(context, realm) : JSSet.create(context, realm));
+            JSHashMap internalMap = isMap ? JSMap.getInternalMap(collection) : JSSet.getInternalSet(collection);
+            for (int i = 0; i < keys.size(); i++) {
+                internalMap.put(clone.deserializeValue(realm, keys.get(i)), clone.deserializeValue(realm, values.get(i)));
+            }
+            return collection;
+        }
+    }
+
+    private static final class SerializedDate extends Serialized {
+        final double timeMillis;
+
+        SerializedDate(double timeMillis) {
+            this.timeMillis = timeMillis;
+        }
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            return clone.remember(this, JSDate.create(realm.getContext(), realm, timeMillis));
+        }
+    }
+
+    private static final class SerializedArrayBuffer extends Serialized {
+        final byte[] bytes;
+        final boolean direct;
+
+        SerializedArrayBuffer(byte[] bytes, boolean direct) {
+            this.bytes = bytes;
+            this.direct = direct;
+        }
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            JSContext context = realm.getContext();
+            if (direct) {
+                JSArrayBufferObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(context, realm, bytes.length);
+                JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate().position(0).put(bytes);
+                return clone.remember(this, arrayBuffer);
+            }
+            return clone.remember(this, JSArrayBuffer.createArrayBuffer(context, realm, bytes.clone()));
+        }
+    }
+
+    private static final class SerializedSharedArrayBuffer extends Serialized {
+        final ByteBuffer byteBuffer;
+        final JSAgentWaiterList waiterList;
+
+        SerializedSharedArrayBuffer(ByteBuffer byteBuffer, JSAgentWaiterList waiterList) {
+            this.byteBuffer = byteBuffer;
+            this.waiterList = waiterList;
+        }
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            JSArrayBufferObject sharedArrayBuffer = JSSharedArrayBuffer.createSharedArrayBuffer(realm.getContext(), realm, byteBuffer);
+            JSSharedArrayBuffer.setWaiterList(sharedArrayBuffer, waiterList);
+            return clone.remember(this, sharedArrayBuffer);
+        }
+    }
+
+    private static final class SerializedTypedArray extends Serialized {
+        final Object buffer;
+        final TypedArray arrayType;
+        final int offset;
+        final int length;
+
+        SerializedTypedArray(Object buffer, TypedArray arrayType, int offset, int length) {
+            this.buffer = buffer;
+            this.arrayType = arrayType;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        Object deserialize(StructuredClone clone, JSRealm realm) {
+            JSDynamicObject arrayBuffer = (JSDynamicObject) clone.deserializeValue(realm, buffer);
+            return clone.remember(this, JSArrayBufferView.createArrayBufferView(realm.getContext(), realm, arrayBuffer, arrayType, offset, length));
+        }
+    }
+}